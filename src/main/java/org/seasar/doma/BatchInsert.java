@@ -27,6 +27,7 @@ import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.SqlFileNotFoundException;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.seasar.doma.jdbc.dialect.Dialect;
 
 /**
  * バッチ挿入処理を示します。
@@ -119,6 +120,39 @@ public @interface BatchInsert {
      */
     String[] exclude() default {};
 
+    /**
+     * 複数行を1つのINSERT文で挿入するかどうかを返します。
+     * <p>
+     * {@code true} の場合、 {@code INSERT INTO ... VALUES (...), (...)} 形式のINSERT文でバッチ挿入を実行します。
+     * 1つのINSERT文で挿入する行の数は、 {@link #batchSize()} 、
+     * {@link Dialect#getMaxBindParameterCount()} 、および
+     * {@link Dialect#getMaxRowCountOfMultiRowInsert()} により制限されます。
+     * <p>
+     * {@link Dialect#supportsMultiRowInsertStatement()} が {@code false} を返す場合や、
+     * 識別子を複数行のINSERT文で生成できない場合は、この要素の値に関わらず通常のバッチ挿入を実行します。
+     * <p>
+     * この要素に対する指定は、{@link #sqlFile()} が {@code false} の場合にのみ有効です。
+     * 
+     * @return 複数行を1つのINSERT文で挿入するかどうか
+     * @since 2.20.0
+     */
+    boolean multiRow() default false;
+
+    /**
+     * SQLを行ごとに遅延して組み立てるかどうかを返します。
+     * <p>
+     * {@code true} の場合、実行前にすべての行のSQLを組み立てて保持せず、
+     * パラメータの {@link Iterable} から実行時に1行ずつエンティティを取り出してSQLを組み立てます。
+     * エンティティの後処理はバッチサイズごとの実行のたびに行われます。
+     * 大量の行を処理する際のメモリ使用量を抑えられます。
+     * <p>
+     * この要素に対する指定は、{@link #sqlFile()} が {@code false} の場合にのみ有効です。
+     * 
+     * @return SQLを行ごとに遅延して組み立てるかどうか
+     * @since 2.20.0
+     */
+    boolean streaming() default false;
+
     /**
      * SQLのログの出力形式を返します。
      * 
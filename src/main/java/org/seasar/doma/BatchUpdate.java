@@ -140,6 +140,21 @@ public @interface BatchUpdate {
      */
     boolean suppressOptimisticLockException() default false;
 
+    /**
+     * SQLを行ごとに遅延して組み立てるかどうかを返します。
+     * <p>
+     * {@code true} の場合、実行前にすべての行のSQLを組み立てて保持せず、
+     * パラメータの {@link Iterable} から実行時に1行ずつエンティティを取り出してSQLを組み立てます。
+     * エンティティの後処理はバッチサイズごとの実行のたびに行われます。
+     * 大量の行を処理する際のメモリ使用量を抑えられます。
+     * <p>
+     * この要素に対する指定は、{@link #sqlFile()} が {@code false} の場合にのみ有効です。
+     * 
+     * @return SQLを行ごとに遅延して組み立てるかどうか
+     * @since 2.20.0
+     */
+    boolean streaming() default false;
+
     /**
      * SQLのログの出力形式を返します。
      * 
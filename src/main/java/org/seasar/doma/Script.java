@@ -19,6 +19,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.sql.Statement;
 
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.ScriptException;
@@ -82,4 +83,20 @@ public @interface Script {
      * @since 2.0.0
      */
     SqlLogType sqlLog() default SqlLogType.FORMATTED;
+
+    /**
+     * バッチサイズを返します。
+     * <p>
+     * {@literal 1} 以上の値を指定した場合、SQLブロックではない連続したステートメントを1つの {@link Statement}
+     * に {@link Statement#addBatch(String)} で追加し、バッチサイズごとに
+     * {@link Statement#executeBatch()} で実行します。 SQLブロック、およびブロックの区切り文字で終了するステートメントは
+     * 単独で実行されます。
+     * <p>
+     * 指定しない場合、ステートメントは1つずつ実行されます。
+     * 
+     * @return バッチサイズ
+     * @see Statement#addBatch(String)
+     * @since 2.20.0
+     */
+    int batchSize() default 0;
 }
@@ -175,4 +175,16 @@ public @interface Select {
      * @since 2.0.0
      */
     SqlLogType sqlLog() default SqlLogType.FORMATTED;
+
+    /**
+     * 検索結果を読み取り専用として扱うかどうかを返します。
+     * <p>
+     * {@code true} の場合、結果のエンティティの元の状態は保存されません。 そのため、
+     * {@link OriginalStates} を利用した更新対象のプロパティの絞り込みは行われません。
+     * 更新することのない大量の行を取得する場合に使用します。
+     * 
+     * @return 読み取り専用として扱うかどうか
+     * @since 2.20.0
+     */
+    boolean readOnly() default false;
 }
@@ -25,6 +25,10 @@ public final class Constants {
 
     public static final String ROWNUMBER_COLUMN_NAME = "doma_rownumber_";
 
+    public static final String COUNT_COLUMN_NAME = "doma_count_";
+
+    public static final String SEEK_KEY_PARAMETER_NAME_PREFIX = "doma_seekkey_";
+
     public static final Charset UTF_8 = Charset.forName("UTF-8");
 
     public static final String SQL_PATH_PREFIX = "META-INF/";
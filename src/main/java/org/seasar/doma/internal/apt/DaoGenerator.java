@@ -551,6 +551,9 @@ public class DaoGenerator extends AbstractGenerator {
             if (m.isResultStream()) {
                 iprint("__query.setResultStream(true);%n");
             }
+            if (m.isReadOnly()) {
+                iprint("__query.setReadOnly(true);%n");
+            }
             iprint("__query.prepare();%n");
 
             QueryReturnMeta returnMeta = m.getReturnMeta();
@@ -619,6 +622,9 @@ public class DaoGenerator extends AbstractGenerator {
             iprint("__query.setHaltOnError(%1$s);%n", m.getHaltOnError());
             iprint("__query.setSqlLogType(%1$s.%2$s);%n",
                     m.getSqlLogType().getClass().getName(), m.getSqlLogType());
+            if (m.getBatchSize() > 0) {
+                iprint("__query.setBatchSize(%1$s);%n", m.getBatchSize());
+            }
             iprint("__query.prepare();%n");
             iprint("%1$s __command = getCommandImplementors().create%2$s(%3$s, __query);%n",
                     /* 1 */m.getCommandClass().getName(),
@@ -854,6 +860,16 @@ public class DaoGenerator extends AbstractGenerator {
                         suppressOptimisticLockException);
             }
 
+            Boolean multiRow = m.getMultiRow();
+            if (multiRow != null) {
+                iprint("__query.setMultiRowEnabled(%1$s);%n", multiRow);
+            }
+
+            Boolean streaming = m.getStreaming();
+            if (streaming != null) {
+                iprint("__query.setStreamingEnabled(%1$s);%n", streaming);
+            }
+
             iprint("__query.prepare();%n");
             iprint("%1$s __command = getCommandImplementors().create%2$s(%3$s, __query);%n",
                     /* 1 */m.getCommandClass().getName(),
@@ -416,9 +416,11 @@ public class EntityTypeGenerator extends AbstractGenerator {
         printGetVersionPropertyTypeMethod();
         printGetTenantIdPropertyTypeMethod();
         printNewEntityMethod();
+        printNewEntityWithPositionalArgsMethod();
         printGetEntityClassMethod();
         printGetOriginalStatesMethod();
         printSaveCurrentStatesMethod();
+        printSaveCurrentStatesWithPropertiesMethod();
         printGetSingletonInternalMethod();
         printNewInstanceMethod();
     }
@@ -689,6 +691,53 @@ public class EntityTypeGenerator extends AbstractGenerator {
         print("%n");
     }
 
+    protected void printNewEntityWithPositionalArgsMethod() {
+        if (entityMeta.isAbstract() || hasEmbeddedProperty()) {
+            return;
+        }
+        if (hasGenericTypeProperty()) {
+            iprint("@SuppressWarnings(\"unchecked\")%n");
+        }
+        iprint("@Override%n");
+        iprint("public %1$s newEntity(%2$s<%1$s, ?>[] __args) {%n",
+                entityMeta.getEntityTypeName(), Property.class.getName());
+        if (entityMeta.isImmutable()) {
+            iprint("    return new %1$s(%n", entityMeta.getEntityTypeName());
+            int index = 0;
+            for (Iterator<EntityPropertyMeta> it = entityMeta
+                    .getAllPropertyMetas().iterator(); it.hasNext(); index++) {
+                EntityPropertyMeta propertyMeta = it.next();
+                iprint("        (%1$s)(__args[%2$s] != null ? __args[%2$s].get() : null)",
+                        TypeMirrorUtil.boxIfPrimitive(propertyMeta.getType(),
+                                env), index);
+                if (it.hasNext()) {
+                    print(",%n");
+                }
+            }
+            print(");%n");
+        } else {
+            iprint("    %1$s entity = new %1$s();%n",
+                    entityMeta.getEntityTypeName());
+            int size = entityMeta.getAllPropertyMetas().size();
+            for (int index = 0; index < size; index++) {
+                iprint("    if (__args[%1$s] != null) __args[%1$s].save(entity);%n",
+                        index);
+            }
+            iprint("    return entity;%n");
+        }
+        iprint("}%n");
+        print("%n");
+    }
+
+    protected boolean hasEmbeddedProperty() {
+        for (EntityPropertyMeta propertyMeta : entityMeta.getAllPropertyMetas()) {
+            if (propertyMeta.isEmbedded()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean hasGenericTypeProperty() {
         if (entityMeta.isImmutable()) {
             for (EntityPropertyMeta propertyMeta : entityMeta
@@ -744,6 +793,26 @@ public class EntityTypeGenerator extends AbstractGenerator {
         print("%n");
     }
 
+    protected void printSaveCurrentStatesWithPropertiesMethod() {
+        if (entityMeta.isAbstract() || !entityMeta.hasOriginalStatesMeta()) {
+            return;
+        }
+        iprint("@Override%n");
+        iprint("public void saveCurrentStates(%1$s __entity, %2$s<%1$s, ?>[] __args) {%n",
+                entityMeta.getEntityTypeName(), Property.class.getName());
+        iprint("    %1$s __currentStates = new %1$s();%n",
+                entityMeta.getEntityTypeName());
+        int index = 0;
+        for (EntityPropertyMeta pm : entityMeta.getAllPropertyMetas()) {
+            iprint("    if (__args[%1$s] != null) %2$s.copy(__currentStates, __args[%1$s]); else %2$s.copy(__currentStates, __entity);%n",
+                    index, pm.getFieldName());
+            index++;
+        }
+        iprint("    __originalStatesAccessor.set(__entity, __currentStates);%n");
+        iprint("}%n");
+        print("%n");
+    }
+
     protected void printGetSingletonInternalMethod() {
         iprint("/**%n");
         iprint(" * @return the singleton%n");
@@ -18,6 +18,8 @@ package org.seasar.doma.internal.apt.cttype;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 import static org.seasar.doma.internal.util.AssertionUtil.assertUnreachable;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Array;
@@ -56,6 +58,7 @@ import org.seasar.doma.wrapper.DateWrapper;
 import org.seasar.doma.wrapper.DoubleWrapper;
 import org.seasar.doma.wrapper.EnumWrapper;
 import org.seasar.doma.wrapper.FloatWrapper;
+import org.seasar.doma.wrapper.InputStreamWrapper;
 import org.seasar.doma.wrapper.IntegerWrapper;
 import org.seasar.doma.wrapper.LocalDateTimeWrapper;
 import org.seasar.doma.wrapper.LocalDateWrapper;
@@ -63,6 +66,7 @@ import org.seasar.doma.wrapper.LocalTimeWrapper;
 import org.seasar.doma.wrapper.LongWrapper;
 import org.seasar.doma.wrapper.NClobWrapper;
 import org.seasar.doma.wrapper.ObjectWrapper;
+import org.seasar.doma.wrapper.ReaderWrapper;
 import org.seasar.doma.wrapper.SQLXMLWrapper;
 import org.seasar.doma.wrapper.ShortWrapper;
 import org.seasar.doma.wrapper.StringWrapper;
@@ -209,6 +213,12 @@ public class WrapperCtType extends AbstractCtType {
             if (TypeMirrorUtil.isAssignable(t, SQLXML.class, env)) {
                 return SQLXMLWrapper.class;
             }
+            if (TypeMirrorUtil.isAssignable(t, InputStream.class, env)) {
+                return InputStreamWrapper.class;
+            }
+            if (TypeMirrorUtil.isAssignable(t, Reader.class, env)) {
+                return ReaderWrapper.class;
+            }
             return null;
         }
 
@@ -80,6 +80,14 @@ public class AutoBatchModifyQueryMeta extends AbstractQueryMeta {
         return batchModifyMirror.getSuppressOptimisticLockExceptionValue();
     }
 
+    public Boolean getMultiRow() {
+        return batchModifyMirror.getMultiRowValue();
+    }
+
+    public Boolean getStreaming() {
+        return batchModifyMirror.getStreamingValue();
+    }
+
     public List<String> getInclude() {
         return batchModifyMirror.getIncludeValue();
     }
@@ -53,6 +53,10 @@ public class SqlFileScriptQueryMeta extends AbstractSqlFileQueryMeta {
         return scriptMirror.getSqlLogValue();
     }
 
+    public int getBatchSize() {
+        return scriptMirror.getBatchSizeValue();
+    }
+
     @Override
     public <R, P> R accept(QueryMetaVisitor<R, P> visitor, P p) {
         return visitor.visitSqlFileScriptQueryMeta(this, p);
@@ -156,6 +156,10 @@ public class SqlFileSelectQueryMeta extends AbstractSqlFileQueryMeta {
         return selectMirror.getSqlLogValue();
     }
 
+    public boolean isReadOnly() {
+        return selectMirror.getReadOnlyValue();
+    }
+
     public boolean isExpandable() {
         return entityCtType != null;
     }
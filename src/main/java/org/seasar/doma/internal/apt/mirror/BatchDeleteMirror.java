@@ -63,6 +63,8 @@ public class BatchDeleteMirror extends BatchModifyMirror {
                 result.suppressOptimisticLockException = value;
             } else if ("sqlLog".equals(name)) {
                 result.sqlLog = value;
+            } else if ("streaming".equals(name)) {
+                result.streaming = value;
             }
         }
         return result;
@@ -63,6 +63,10 @@ public class BatchInsertMirror extends BatchModifyMirror {
                 result.exclude = value;
             } else if ("sqlLog".equals(name)) {
                 result.sqlLog = value;
+            } else if ("streaming".equals(name)) {
+                result.streaming = value;
+            } else if ("multiRow".equals(name)) {
+                result.multiRow = value;
             }
         }
         return result;
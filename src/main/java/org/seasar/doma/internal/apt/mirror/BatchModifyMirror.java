@@ -51,6 +51,10 @@ public abstract class BatchModifyMirror {
 
     protected AnnotationValue sqlLog;
 
+    protected AnnotationValue multiRow;
+
+    protected AnnotationValue streaming;
+
     protected BatchModifyMirror(AnnotationMirror annotationMirror) {
         assertNotNull(annotationMirror);
         this.annotationMirror = annotationMirror;
@@ -92,6 +96,14 @@ public abstract class BatchModifyMirror {
         return sqlLog;
     }
 
+    public AnnotationValue getMultiRow() {
+        return multiRow;
+    }
+
+    public AnnotationValue getStreaming() {
+        return streaming;
+    }
+
     public int getQueryTimeoutValue() {
         Integer value = AnnotationValueUtil.toInteger(queryTimeout);
         if (value == null) {
@@ -116,6 +128,14 @@ public abstract class BatchModifyMirror {
         return AnnotationValueUtil.toBoolean(suppressOptimisticLockException);
     }
 
+    public Boolean getMultiRowValue() {
+        return AnnotationValueUtil.toBoolean(multiRow);
+    }
+
+    public Boolean getStreamingValue() {
+        return AnnotationValueUtil.toBoolean(streaming);
+    }
+
     public List<String> getIncludeValue() {
         return AnnotationValueUtil.toStringList(include);
     }
@@ -67,6 +67,8 @@ public class BatchUpdateMirror extends BatchModifyMirror {
                 result.exclude = value;
             } else if ("sqlLog".equals(name)) {
                 result.sqlLog = value;
+            } else if ("streaming".equals(name)) {
+                result.streaming = value;
             }
         }
         return result;
@@ -60,6 +60,8 @@ public class SelectMirror {
 
     protected AnnotationValue sqlLog;
 
+    protected AnnotationValue readOnly;
+
     protected SelectMirror(AnnotationMirror annotationMirror) {
         this.annotationMirror = annotationMirror;
     }
@@ -100,6 +102,10 @@ public class SelectMirror {
         return sqlLog;
     }
 
+    public AnnotationValue getReadOnly() {
+        return readOnly;
+    }
+
     public int getQueryTimeoutValue() {
         Integer value = AnnotationValueUtil.toInteger(queryTimeout);
         if (value == null) {
@@ -177,6 +183,14 @@ public class SelectMirror {
         return SqlLogType.valueOf(enumConstant.getSimpleName().toString());
     }
 
+    public boolean getReadOnlyValue() {
+        Boolean value = AnnotationValueUtil.toBoolean(readOnly);
+        if (value == null) {
+            throw new AptIllegalStateException("readOnly");
+        }
+        return value.booleanValue();
+    }
+
     public AnnotationMirror getAnnotationMirror() {
         return annotationMirror;
     }
@@ -213,6 +227,8 @@ public class SelectMirror {
                 result.mapKeyNaming = value;
             } else if ("sqlLog".equals(name)) {
                 result.sqlLog = value;
+            } else if ("readOnly".equals(name)) {
+                result.readOnly = value;
             }
         }
         return result;
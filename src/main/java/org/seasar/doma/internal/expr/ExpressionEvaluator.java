@@ -38,6 +38,8 @@ import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.WrapException;
@@ -87,6 +89,28 @@ import org.seasar.doma.message.Message;
 public class ExpressionEvaluator implements
         ExpressionNodeVisitor<EvaluationResult, Void> {
 
+    /**
+     * クラスごとにメソッドの候補を保持するキャッシュ
+     * <p>
+     * 引数の型ではなくメソッドの名前と引数の数をキーにするため、キャッシュの大きさはクラスのメソッドの数で抑えられ、
+     * 引数として渡されたアプリケーションのクラスを保持することもありません。
+     */
+    protected static final ClassValue<ConcurrentMap<MethodKey, MethodCandidates>> methodCache = new ClassValue<ConcurrentMap<MethodKey, MethodCandidates>>() {
+        @Override
+        protected ConcurrentMap<MethodKey, MethodCandidates> computeValue(
+                Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** クラスごとに解決済みのフィールドを保持するキャッシュ */
+    protected static final ClassValue<ConcurrentMap<String, Field>> fieldCache = new ClassValue<ConcurrentMap<String, Field>>() {
+        @Override
+        protected ConcurrentMap<String, Field> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     protected final Map<String, Value> variableValues;
 
     protected final ExpressionFunctions expressionFunctions;
@@ -539,6 +563,28 @@ public class ExpressionEvaluator implements
 
     protected Method findMethod(String methodName, Object target,
             Class<?> targetClass, Class<?>[] paramTypes) {
+        ConcurrentMap<MethodKey, MethodCandidates> methods = methodCache
+                .get(targetClass);
+        MethodKey key = new MethodKey(methodName, paramTypes.length);
+        MethodCandidates candidates = methods.get(key);
+        if (candidates == null) {
+            candidates = new MethodCandidates(collectMethodsFromInterfaces(
+                    methodName, targetClass, paramTypes.length),
+                    collectMethodsFromClasses(methodName, targetClass,
+                            paramTypes.length));
+            methods.putIfAbsent(key, candidates);
+        }
+        Method result = findSuiteMethod(candidates.interfaceMethods, target,
+                targetClass, paramTypes);
+        if (result != null) {
+            return result;
+        }
+        return findSuiteMethod(candidates.classMethods, target, targetClass,
+                paramTypes);
+    }
+
+    protected Method findMethodNoCache(String methodName, Object target,
+            Class<?> targetClass, Class<?>[] paramTypes) {
         Method result = findMethodFromInterfaces(methodName, target,
                 targetClass, paramTypes);
         if (result != null) {
@@ -550,32 +596,48 @@ public class ExpressionEvaluator implements
 
     protected Method findMethodFromInterfaces(String methodName, Object target,
             Class<?> targetClass, Class<?>[] paramTypes) {
+        List<Method> methods = collectMethodsFromInterfaces(methodName,
+                targetClass, paramTypes.length);
+        return findSuiteMethod(methods, target, targetClass, paramTypes);
+    }
+
+    protected Method findMethodFromClasses(String methodName, Object target,
+            Class<?> targetClass, Class<?>[] paramTypes) {
+        List<Method> methods = collectMethodsFromClasses(methodName,
+                targetClass, paramTypes.length);
+        return findSuiteMethod(methods, target, targetClass, paramTypes);
+    }
+
+    protected List<Method> collectMethodsFromInterfaces(String methodName,
+            Class<?> targetClass, int paramCount) {
         LinkedList<Method> methods = new LinkedList<Method>();
         for (Class<?> clazz = targetClass; clazz != null
                 && clazz != Object.class; clazz = clazz.getSuperclass()) {
             for (Class<?> interfaze : clazz.getInterfaces()) {
                 for (Method method : interfaze.getMethods()) {
-                    if (method.getName().equals(methodName)) {
+                    if (method.getName().equals(methodName)
+                            && method.getParameterCount() == paramCount) {
                         methods.addFirst(method);
                     }
                 }
             }
         }
-        return findSuiteMethod(methods, target, targetClass, paramTypes);
+        return methods;
     }
 
-    protected Method findMethodFromClasses(String methodName, Object target,
-            Class<?> targetClass, Class<?>[] paramTypes) {
+    protected List<Method> collectMethodsFromClasses(String methodName,
+            Class<?> targetClass, int paramCount) {
         LinkedList<Method> methods = new LinkedList<Method>();
         for (Class<?> clazz = targetClass; clazz != null
                 && clazz != Object.class; clazz = clazz.getSuperclass()) {
             for (Method method : clazz.getMethods()) {
-                if (method.getName().equals(methodName)) {
+                if (method.getName().equals(methodName)
+                        && method.getParameterCount() == paramCount) {
                     methods.addFirst(method);
                 }
             }
         }
-        return findSuiteMethod(methods, target, targetClass, paramTypes);
+        return methods;
     }
 
     protected Method findSuiteMethod(List<Method> methods, Object target,
@@ -711,6 +773,18 @@ public class ExpressionEvaluator implements
     }
 
     protected Field findField(String fieldName, Class<?> targetClass) {
+        ConcurrentMap<String, Field> fields = fieldCache.get(targetClass);
+        Field field = fields.get(fieldName);
+        if (field == null) {
+            field = findFieldNoCache(fieldName, targetClass);
+            if (field != null) {
+                fields.putIfAbsent(fieldName, field);
+            }
+        }
+        return field;
+    }
+
+    protected Field findFieldNoCache(String fieldName, Class<?> targetClass) {
         for (Class<?> clazz = targetClass; clazz != Object.class; clazz = clazz
                 .getSuperclass()) {
             try {
@@ -1217,6 +1291,52 @@ public class ExpressionEvaluator implements
 
     }
 
+    protected static class MethodKey {
+
+        protected final String methodName;
+
+        protected final int paramCount;
+
+        protected final int hashCode;
+
+        protected MethodKey(String methodName, int paramCount) {
+            this.methodName = methodName;
+            this.paramCount = paramCount;
+            this.hashCode = 31 * methodName.hashCode() + paramCount;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey other = (MethodKey) obj;
+            return paramCount == other.paramCount
+                    && methodName.equals(other.methodName);
+        }
+    }
+
+    protected static class MethodCandidates {
+
+        protected final List<Method> interfaceMethods;
+
+        protected final List<Method> classMethods;
+
+        protected MethodCandidates(List<Method> interfaceMethods,
+                List<Method> classMethods) {
+            this.interfaceMethods = new ArrayList<Method>(interfaceMethods);
+            this.classMethods = new ArrayList<Method>(classMethods);
+        }
+    }
+
     protected static class CandidateMethod {
         final int degreeOfcoincidence;
         final Method method;
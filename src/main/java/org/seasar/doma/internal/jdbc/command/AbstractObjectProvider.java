@@ -36,9 +36,15 @@ public abstract class AbstractObjectProvider<TARGET> implements
     protected <BASIC> void fetch(ResultSet resultSet,
             JdbcMappable<BASIC> mappable, int index,
             JdbcMappingVisitor jdbcMappingVisitor) throws SQLException {
+        fetch(mappable, new JdbcValueGetter(resultSet, index),
+                jdbcMappingVisitor);
+    }
+
+    protected <BASIC> void fetch(JdbcMappable<BASIC> mappable,
+            JdbcValueGetter valueGetter, JdbcMappingVisitor jdbcMappingVisitor)
+            throws SQLException {
         Wrapper<?> wrapper = mappable.getWrapper();
-        wrapper.accept(jdbcMappingVisitor,
-                new JdbcValueGetter(resultSet, index), mappable);
+        wrapper.accept(jdbcMappingVisitor, valueGetter, mappable);
     }
 
 }
@@ -23,6 +23,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -32,6 +33,8 @@ import org.seasar.doma.FetchType;
 import org.seasar.doma.internal.jdbc.command.ResultSetIterator.SQLRuntimeException;
 import org.seasar.doma.internal.util.IteratorUtil;
 import org.seasar.doma.jdbc.ObjectProvider;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.command.ResultSetHandler;
 import org.seasar.doma.jdbc.command.ResultSetRowIndexConsumer;
 import org.seasar.doma.jdbc.query.SelectQuery;
@@ -54,10 +57,16 @@ public abstract class AbstractStreamHandler<TARGET, RESULT> implements
         this.mapper = mapper;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Supplier<RESULT> handle(ResultSet resultSet, SelectQuery query,
             ResultSetRowIndexConsumer consumer) throws SQLException {
         ObjectProvider<TARGET> provider = createObjectProvider(query);
+        if (SelectOptionsAccessor.isParallelFetch(query.getOptions())
+                && provider instanceof ParallelObjectProvider) {
+            return handleInParallel(resultSet, query, consumer,
+                    (ParallelObjectProvider<TARGET>) provider);
+        }
         Iterator<TARGET> iterator = new ResultSetIterator<>(resultSet, query,
                 consumer, provider);
         try {
@@ -78,7 +87,128 @@ public abstract class AbstractStreamHandler<TARGET, RESULT> implements
         }
     }
 
+    /**
+     * 結果セットの読み込みとオブジェクトの組み立てを分離し、組み立てを並列ストリームで行います。
+     * <p>
+     * 結果セットが複数のスレッドから同時に読み込まれることはありません。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @param query
+     *            クエリ
+     * @param consumer
+     *            行番号のコンシューマ
+     * @param provider
+     *            プロバイダ
+     * @return 結果のサプライヤ
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    protected Supplier<RESULT> handleInParallel(ResultSet resultSet,
+            SelectQuery query, ResultSetRowIndexConsumer consumer,
+            ParallelObjectProvider<TARGET> provider) throws SQLException {
+        SelectOptions options = query.getOptions();
+        boolean ordered = SelectOptionsAccessor
+                .isParallelFetchOrdered(options);
+        Iterator<Object[]> iterator = new ResultSetIterator<>(resultSet,
+                query, consumer, provider::fetchRow);
+        try {
+            if (query.getFetchType() == FetchType.EAGER) {
+                // consume ResultSet
+                List<Object[]> rows = IteratorUtil.toList(iterator);
+                return () -> {
+                    try {
+                        return mapper.apply(unorderedIfNecessary(rows
+                                .parallelStream().map(provider::build), ordered));
+                    } finally {
+                        provider.release();
+                    }
+                };
+            } else {
+                int chunkSize = SelectOptionsAccessor
+                        .getParallelFetchChunkSize(options);
+                Spliterator<Object[]> spliterator = new ChunkedSpliterator(
+                        iterator, chunkSize);
+                Stream<TARGET> stream = StreamSupport.stream(spliterator, true)
+                        .map(provider::build);
+                RESULT result;
+                try {
+                    result = mapper.apply(unorderedIfNecessary(stream, ordered));
+                } finally {
+                    provider.release();
+                }
+                return () -> result;
+            }
+        } catch (SQLRuntimeException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected Stream<TARGET> unorderedIfNecessary(Stream<TARGET> stream,
+            boolean ordered) {
+        return ordered ? stream : stream.unordered();
+    }
+
     protected abstract ObjectProvider<TARGET> createObjectProvider(
             SelectQuery query);
 
+    /**
+     * 行を一定の件数ごとに読み込んで分割するスプリッテレータです。
+     * <p>
+     * {@link #trySplit()} は結果セットを読み込み、読み込んだ行を配列として切り出します。
+     * 分割されずに残ったこのスプリッテレータは常に1つのタスクだけが所有するため、結果セットが同時に読み込まれることはありません。
+     * 
+     * @author nakamura-to
+     */
+    protected static class ChunkedSpliterator implements Spliterator<Object[]> {
+
+        protected final Iterator<Object[]> iterator;
+
+        protected final int chunkSize;
+
+        protected ChunkedSpliterator(Iterator<Object[]> iterator, int chunkSize) {
+            assertNotNull(iterator);
+            this.iterator = iterator;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object[]> action) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Object[]> action) {
+            iterator.forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<Object[]> trySplit() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Object[] chunk = new Object[chunkSize];
+            int size = 0;
+            while (size < chunkSize && iterator.hasNext()) {
+                chunk[size++] = iterator.next();
+            }
+            return Spliterators.spliterator(chunk, 0, size, ORDERED | NONNULL
+                    | IMMUTABLE);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
 }
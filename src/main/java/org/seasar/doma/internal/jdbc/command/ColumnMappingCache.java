@@ -0,0 +1,265 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 結果セットのカラムの対応付けをキャッシュします。
+ * <p>
+ * カラムの対応付けは、結果セットのカラムのラベルと対応付けに影響を与える値だけで決まるため、
+ * SQLではなくそれらの組をキーにします。そのため、SQLの文字列が異なっても同じ形の結果セットであればエントリを共有します。
+ * <p>
+ * インスタンスは、キーに含まれる値を定義したクラスごとに {@link ClassValue} で保持されます。
+ * そのクラスがアンロードされると、インスタンスもガベージコレクションの対象になります。
+ * エントリの数が上限に達した場合は、最も長い間使用されていないエントリが破棄されます。
+ * <p>
+ * キャッシュがヒットした場合はロックを取得せず、エントリに最後に使われた順番を記録するだけです。
+ * 追加と追い出しのみを排他し、追い出す際にはエントリを走査して最も長く使われていないものを探します。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class ColumnMappingCache {
+
+    /** デフォルトのエントリ数の上限 */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final ClassValue<ColumnMappingCache> instances = new ClassValue<ColumnMappingCache>() {
+
+        @Override
+        protected ColumnMappingCache computeValue(Class<?> type) {
+            return new ColumnMappingCache(DEFAULT_MAX_SIZE);
+        }
+    };
+
+    protected final int maxSize;
+
+    protected final ConcurrentHashMap<Key, Entry> entryMap = new ConcurrentHashMap<>();
+
+    /** エントリが使われた順番を採番するカウンタ */
+    protected final AtomicLong clock = new AtomicLong();
+
+    /** 追加と追い出しを排他するロック */
+    protected final Object evictionLock = new Object();
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param maxSize
+     *            エントリ数の上限
+     */
+    public ColumnMappingCache(int maxSize) {
+        assertTrue(maxSize > 0, maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * クラスに結び付けられたインスタンスを返します。
+     *
+     * @param owner
+     *            キーに含まれる値を定義したクラス
+     * @return クラスに結び付けられたインスタンス
+     */
+    public static ColumnMappingCache get(Class<?> owner) {
+        assertNotNull(owner);
+        return instances.get(owner);
+    }
+
+    /**
+     * キーを作成します。
+     *
+     * @param columnLabels
+     *            カラムのラベル
+     * @param discriminators
+     *            カラムのラベル以外にカラムの対応付けに影響を与える値
+     * @return キー
+     */
+    public static Key createKey(String[] columnLabels, Object... discriminators) {
+        assertNotNull(columnLabels);
+        assertNotNull(discriminators);
+        return new Key(columnLabels, discriminators);
+    }
+
+    /**
+     * カラムのラベルを返します。
+     *
+     * @param resultSetMeta
+     *            結果セットのメタデータ
+     * @return カラムのラベル
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    public static String[] getColumnLabels(ResultSetMetaData resultSetMeta)
+            throws SQLException {
+        int count = resultSetMeta.getColumnCount();
+        String[] columnLabels = new String[count];
+        for (int i = 0; i < count; i++) {
+            columnLabels[i] = resultSetMeta.getColumnLabel(i + 1);
+        }
+        return columnLabels;
+    }
+
+    /**
+     * カラムの対応付けを返します。
+     *
+     * @param <MAPPING>
+     *            カラムの対応付けの型
+     * @param key
+     *            キー
+     * @return カラムの対応付け、存在しない場合 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <MAPPING> MAPPING get(Key key) {
+        assertNotNull(key);
+        Entry entry = entryMap.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        return (MAPPING) entry.mapping;
+    }
+
+    /**
+     * カラムの対応付けを登録します。
+     * <p>
+     * 同じキーで登録済みのカラムの対応付けは置き換えられます。
+     *
+     * @param key
+     *            キー
+     * @param mapping
+     *            カラムの対応付け
+     */
+    public void put(Key key, Object mapping) {
+        assertNotNull(key, mapping);
+        Entry entry = new Entry(mapping);
+        synchronized (evictionLock) {
+            entry.lastAccess = clock.incrementAndGet();
+            entryMap.put(key, entry);
+            evict(entry);
+        }
+    }
+
+    /**
+     * エントリの数が上限を超えている間、最も長く使われていないエントリを追い出します。
+     * <p>
+     * 直前に追加されたエントリは追い出しません。 {@link #evictionLock} を取得した状態で呼び出されます。
+     *
+     * @param added
+     *            直前に追加されたエントリ
+     */
+    protected void evict(Entry added) {
+        while (entryMap.size() > maxSize) {
+            Map.Entry<Key, Entry> eldest = null;
+            for (Map.Entry<Key, Entry> e : entryMap.entrySet()) {
+                Entry candidate = e.getValue();
+                if (candidate != added
+                        && (eldest == null || candidate.lastAccess < eldest
+                                .getValue().lastAccess)) {
+                    eldest = e;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entryMap.remove(eldest.getKey());
+        }
+    }
+
+    /**
+     * エントリの数を返します。
+     *
+     * @return エントリの数
+     */
+    public int size() {
+        return entryMap.size();
+    }
+
+    /**
+     * すべてのエントリを破棄します。
+     */
+    public void clear() {
+        synchronized (evictionLock) {
+            entryMap.clear();
+        }
+    }
+
+    /**
+     * キャッシュのエントリです。
+     *
+     * @author nakamura-to
+     */
+    protected static class Entry {
+
+        protected final Object mapping;
+
+        /** 最後に使われた順番 */
+        protected volatile long lastAccess;
+
+        protected Entry(Object mapping) {
+            this.mapping = mapping;
+        }
+    }
+
+    /**
+     * キャッシュのキーです。
+     *
+     * @author nakamura-to
+     */
+    public static class Key {
+
+        protected final String[] columnLabels;
+
+        protected final Object[] discriminators;
+
+        protected final int hashCode;
+
+        protected Key(String[] columnLabels, Object[] discriminators) {
+            this.columnLabels = columnLabels;
+            this.discriminators = discriminators;
+            this.hashCode = 31 * Arrays.hashCode(columnLabels)
+                    + Arrays.hashCode(discriminators);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode
+                    && Arrays.equals(columnLabels, other.columnLabels)
+                    && Arrays.equals(discriminators, other.discriminators);
+        }
+    }
+
+}
@@ -15,8 +15,10 @@
  */
 package org.seasar.doma.internal.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.Constants.ROWNUMBER_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -27,7 +29,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.Naming;
@@ -38,12 +42,14 @@ import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
 import org.seasar.doma.jdbc.entity.Property;
 import org.seasar.doma.jdbc.query.Query;
+import org.seasar.doma.wrapper.Wrapper;
 
 /**
  * @author nakamura-to
  * 
  */
-public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
+public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY>
+        implements ParallelObjectProvider<ENTITY> {
 
     protected final EntityType<ENTITY> entityType;
 
@@ -51,22 +57,58 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
 
     protected final boolean resultMappingEnsured;
 
+    protected final boolean readOnly;
+
     protected final JdbcMappingVisitor jdbcMappingVisitor;
 
     protected final UnknownColumnHandler unknownColumnHandler;
 
     protected Map<Integer, EntityPropertyType<ENTITY, ?>> indexMap;
 
+    /** {@link EntityType#getEntityPropertyTypes()} と同じ順序で並んだプロパティ */
+    protected Property<ENTITY, ?>[] properties;
+
+    /** 結果セットのカラムに対応付けられたプロパティ */
+    protected Property<ENTITY, ?>[] mappedProperties;
+
+    /** {@link #mappedProperties} に対応するカラムのインデックス */
+    protected int[] columnIndexes;
+
+    protected ResultSet valueGettersResultSet;
+
+    protected JdbcValueGetter[] valueGetters;
+
+    /** {@link #build(Object[])} で使用するスレッドごとのプロパティ */
+    protected final ThreadLocal<RowProperties<ENTITY>> rowProperties = ThreadLocal
+            .withInitial(this::createRowProperties);
+
+    /** {@link #rowProperties} に設定されたすべてのプロパティ */
+    protected final Queue<RowProperties<ENTITY>> allRowProperties = new ConcurrentLinkedQueue<>();
+
     /**
      * @param entityType
      * @param query
      */
     public EntityProvider(EntityType<ENTITY> entityType, Query query,
             boolean resultMappingEnsured) {
+        this(entityType, query, resultMappingEnsured, false);
+    }
+
+    /**
+     * @param entityType
+     * @param query
+     * @param resultMappingEnsured
+     * @param readOnly
+     *            読み取り専用の場合 {@code true}、元の状態を保存しない
+     * @since 2.20.0
+     */
+    public EntityProvider(EntityType<ENTITY> entityType, Query query,
+            boolean resultMappingEnsured, boolean readOnly) {
         assertNotNull(entityType, query);
         this.entityType = entityType;
         this.query = query;
         this.resultMappingEnsured = resultMappingEnsured;
+        this.readOnly = readOnly;
         this.jdbcMappingVisitor = query.getConfig().getDialect()
                 .getJdbcMappingVisitor();
         this.unknownColumnHandler = query.getConfig().getUnknownColumnHandler();
@@ -78,24 +120,205 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
     }
 
     protected ENTITY build(ResultSet resultSet) throws SQLException {
+        fetchProperties(resultSet);
+        return newEntity(properties);
+    }
+
+    @Override
+    public Object[] fetchRow(ResultSet resultSet) throws SQLException {
+        fetchProperties(resultSet);
+        Object[] row = new Object[mappedProperties.length];
+        for (int i = 0; i < mappedProperties.length; i++) {
+            row[i] = mappedProperties[i].getWrapper().get();
+        }
+        return row;
+    }
+
+    @Override
+    public ENTITY build(Object[] row) {
+        assertNotNull(row);
+        RowProperties<ENTITY> current = rowProperties.get();
+        Property<ENTITY, ?>[] mapped = current.mappedProperties;
+        for (int i = 0; i < mapped.length; i++) {
+            setValue(mapped[i].getWrapper(), row[i]);
+        }
+        return newEntity(current.properties);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 並列ストリームを処理したスレッドは {@link #rowProperties} の値を保持し続けるため、
+     * プロパティが持つ最後の行の値を破棄します。
+     */
+    @Override
+    public void release() {
+        for (RowProperties<ENTITY> current; (current = allRowProperties
+                .poll()) != null;) {
+            current.clear();
+        }
+    }
+
+    protected void fetchProperties(ResultSet resultSet) throws SQLException {
         assertNotNull(resultSet);
         if (indexMap == null) {
-            indexMap = createIndexMap(resultSet.getMetaData(), entityType);
+            indexMap = getIndexMap(resultSet.getMetaData());
+            prepareProperties(indexMap);
+        }
+        if (valueGettersResultSet != resultSet) {
+            valueGetters = createValueGetters(resultSet);
+            valueGettersResultSet = resultSet;
+        }
+        for (int i = 0; i < mappedProperties.length; i++) {
+            fetch(mappedProperties[i], valueGetters[i], jdbcMappingVisitor);
+        }
+    }
+
+    protected ENTITY newEntity(Property<ENTITY, ?>[] properties) {
+        ENTITY entity = entityType.newEntity(properties);
+        if (!readOnly && !entityType.isImmutable()) {
+            entityType.saveCurrentStates(entity, properties);
+        }
+        return entity;
+    }
+
+    /**
+     * {@link #build(Object[])} で使用するプロパティを作成します。
+     * <p>
+     * {@link #prepareProperties(Map)} と同じ順序で並んだプロパティと、結果セットのカラムに対応付けられたプロパティの組を返します。
+     * 
+     * @return プロパティの組
+     */
+    protected RowProperties<ENTITY> createRowProperties() {
+        assertNotNull(indexMap);
+        List<EntityPropertyType<ENTITY, ?>> propertyTypes = entityType
+                .getEntityPropertyTypes();
+        Property<ENTITY, ?>[] rowProperties = newProperties(propertyTypes
+                .size());
+        Property<ENTITY, ?>[] rowMappedProperties = newProperties(indexMap
+                .size());
+        int i = 0;
+        for (EntityPropertyType<ENTITY, ?> propertyType : indexMap.values()) {
+            Property<ENTITY, ?> property = propertyType.createProperty();
+            rowProperties[propertyTypes.indexOf(propertyType)] = property;
+            rowMappedProperties[i] = property;
+            i++;
+        }
+        RowProperties<ENTITY> result = new RowProperties<>(rowProperties,
+                rowMappedProperties);
+        allRowProperties.add(result);
+        return result;
+    }
+
+    /**
+     * プロパティの配列を作成します。
+     * 
+     * @param <ENTITY>
+     *            エンティティの型
+     * @param size
+     *            配列の長さ
+     * @return プロパティの配列
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected static <ENTITY> Property<ENTITY, ?>[] newProperties(int size) {
+        return new Property[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static <BASIC> void setValue(Wrapper<BASIC> wrapper, Object value) {
+        wrapper.set((BASIC) value);
+    }
+
+    /**
+     * カラムのインデックスとプロパティ型の対応付けを返します。
+     * <p>
+     * 同じエンティティとカラムのラベルに対して作成済みの対応付けがある場合はそれを再利用します。
+     * 
+     * @param resultSetMeta
+     *            結果セットのメタデータ
+     * @return カラムのインデックスをキー、プロパティ型を値とするマップ
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    protected Map<Integer, EntityPropertyType<ENTITY, ?>> getIndexMap(
+            ResultSetMetaData resultSetMeta) throws SQLException {
+        String[] columnLabels = ColumnMappingCache
+                .getColumnLabels(resultSetMeta);
+        ColumnMappingCache.Key key = ColumnMappingCache.createKey(
+                columnLabels, entityType, query.getConfig().getNaming(),
+                resultMappingEnsured);
+        ColumnMappingCache cache = ColumnMappingCache.get(entityType
+                .getEntityClass());
+        Map<Integer, EntityPropertyType<ENTITY, ?>> indexMap = cache.get(key);
+        if (indexMap != null) {
+            return indexMap;
+        }
+        indexMap = createIndexMap(resultSetMeta, entityType);
+        if (isEveryColumnMapped(indexMap, columnLabels)) {
+            cache.put(key, Collections.unmodifiableMap(indexMap));
+        }
+        return indexMap;
+    }
+
+    /**
+     * 未知のカラムが存在しないかどうかを返します。
+     * <p>
+     * 未知のカラムが存在する場合は {@link UnknownColumnHandler} を毎回呼び出す必要があるため、対応付けをキャッシュしません。
+     * 
+     * @param indexMap
+     *            カラムのインデックスをキー、プロパティ型を値とするマップ
+     * @param columnLabels
+     *            カラムのラベル
+     * @return 未知のカラムが存在しない場合 {@code true}
+     */
+    protected boolean isEveryColumnMapped(
+            Map<Integer, EntityPropertyType<ENTITY, ?>> indexMap,
+            String[] columnLabels) {
+        int count = indexMap.size();
+        for (String columnLabel : columnLabels) {
+            if (ROWNUMBER_COLUMN_NAME.equalsIgnoreCase(columnLabel)
+                    || COUNT_COLUMN_NAME.equalsIgnoreCase(columnLabel)) {
+                count++;
+            }
         }
-        Map<String, Property<ENTITY, ?>> states = new HashMap<>(indexMap.size());
+        return count == columnLabels.length;
+    }
+
+    /**
+     * 行をまたいで再利用するプロパティを準備します。
+     * <p>
+     * プロパティの値は行ごとに上書きされるため、行ごとにプロパティやマップを生成する必要はありません。
+     * 
+     * @param indexMap
+     *            カラムのインデックスをキー、プロパティ型を値とするマップ
+     */
+    protected void prepareProperties(
+            Map<Integer, EntityPropertyType<ENTITY, ?>> indexMap) {
+        List<EntityPropertyType<ENTITY, ?>> propertyTypes = entityType
+                .getEntityPropertyTypes();
+        properties = newProperties(propertyTypes.size());
+        mappedProperties = newProperties(indexMap.size());
+        columnIndexes = new int[indexMap.size()];
+        int i = 0;
         for (Map.Entry<Integer, EntityPropertyType<ENTITY, ?>> entry : indexMap
                 .entrySet()) {
-            Integer index = entry.getKey();
             EntityPropertyType<ENTITY, ?> propertyType = entry.getValue();
             Property<ENTITY, ?> property = propertyType.createProperty();
-            fetch(resultSet, property, index, jdbcMappingVisitor);
-            states.put(propertyType.getName(), property);
+            int position = propertyTypes.indexOf(propertyType);
+            assertTrue(position > -1, propertyType.getName());
+            properties[position] = property;
+            mappedProperties[i] = property;
+            columnIndexes[i] = entry.getKey();
+            i++;
         }
-        ENTITY entity = entityType.newEntity(states);
-        if (!entityType.isImmutable()) {
-            entityType.saveCurrentStates(entity);
+    }
+
+    protected JdbcValueGetter[] createValueGetters(ResultSet resultSet) {
+        JdbcValueGetter[] valueGetters = new JdbcValueGetter[columnIndexes.length];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            valueGetters[i] = new JdbcValueGetter(resultSet, columnIndexes[i]);
         }
-        return entity;
+        return valueGetters;
     }
 
     protected HashMap<Integer, EntityPropertyType<ENTITY, ?>> createIndexMap(
@@ -112,7 +335,8 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
             EntityPropertyType<ENTITY, ?> propertyType = columnNameMap
                     .get(lowerCaseColumnName);
             if (propertyType == null) {
-                if (ROWNUMBER_COLUMN_NAME.equals(lowerCaseColumnName)) {
+                if (ROWNUMBER_COLUMN_NAME.equals(lowerCaseColumnName)
+                        || COUNT_COLUMN_NAME.equals(lowerCaseColumnName)) {
                     continue;
                 }
                 unknownColumnHandler.handle(query, entityType,
@@ -160,4 +384,35 @@ public class EntityProvider<ENTITY> extends AbstractObjectProvider<ENTITY> {
                 sql.getSqlFilePath());
     }
 
+    /**
+     * {@link #build(Object[])} で使用するプロパティの組です。
+     * 
+     * @author nakamura-to
+     * @param <ENTITY>
+     *            エンティティの型
+     * @since 2.20.0
+     */
+    protected static class RowProperties<ENTITY> {
+
+        /** {@link EntityType#getEntityPropertyTypes()} と同じ順序で並んだプロパティ */
+        protected final Property<ENTITY, ?>[] properties;
+
+        /** 結果セットのカラムに対応付けられたプロパティ */
+        protected final Property<ENTITY, ?>[] mappedProperties;
+
+        protected RowProperties(Property<ENTITY, ?>[] properties,
+                Property<ENTITY, ?>[] mappedProperties) {
+            this.properties = properties;
+            this.mappedProperties = mappedProperties;
+        }
+
+        /**
+         * プロパティの値を破棄します。
+         */
+        protected void clear() {
+            for (Property<ENTITY, ?> property : mappedProperties) {
+                property.getWrapper().set(null);
+            }
+        }
+    }
 }
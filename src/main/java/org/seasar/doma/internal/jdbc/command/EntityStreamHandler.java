@@ -46,7 +46,7 @@ public class EntityStreamHandler<ENTITY, RESULT> extends
     @Override
     protected ObjectProvider<ENTITY> createObjectProvider(SelectQuery query) {
         return new EntityProvider<>(entityType, query,
-                query.isResultMappingEnsured());
+                query.isResultMappingEnsured(), query.isReadOnly());
     }
 
 }
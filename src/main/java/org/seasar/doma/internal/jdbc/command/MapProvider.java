@@ -15,12 +15,14 @@
  */
 package org.seasar.doma.internal.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -63,7 +65,7 @@ public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
     public Map<String, Object> get(ResultSet resultSet) throws SQLException {
         Map<String, Object> map = new LinkedHashMap<String, Object>();
         if (indexMap == null) {
-            indexMap = createIndexMap(resultSet.getMetaData());
+            indexMap = getIndexMap(resultSet.getMetaData());
         }
         for (Map.Entry<Integer, String> entry : indexMap.entrySet()) {
             Integer index = entry.getKey();
@@ -76,6 +78,25 @@ public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
         return map;
     }
 
+    protected Map<Integer, String> getIndexMap(ResultSetMetaData resultSetMeta)
+            throws SQLException {
+        Method method = query.getMethod();
+        MapKeyNaming naming = query.getConfig().getMapKeyNaming();
+        String[] columnLabels = ColumnMappingCache
+                .getColumnLabels(resultSetMeta);
+        ColumnMappingCache.Key key = ColumnMappingCache.createKey(
+                columnLabels, method, mapKeyNamingType, naming);
+        ColumnMappingCache cache = ColumnMappingCache
+                .get(method != null ? method.getDeclaringClass() : naming
+                        .getClass());
+        Map<Integer, String> indexMap = cache.get(key);
+        if (indexMap == null) {
+            indexMap = createIndexMap(resultSetMeta);
+            cache.put(key, Collections.unmodifiableMap(indexMap));
+        }
+        return indexMap;
+    }
+
     protected HashMap<Integer, String> createIndexMap(
             ResultSetMetaData resultSetMeta) throws SQLException {
         MapKeyNaming naming = query.getConfig().getMapKeyNaming();
@@ -84,6 +105,9 @@ public class MapProvider extends AbstractObjectProvider<Map<String, Object>> {
         int count = resultSetMeta.getColumnCount();
         for (int i = 1; i < count + 1; i++) {
             String columnName = resultSetMeta.getColumnLabel(i);
+            if (COUNT_COLUMN_NAME.equalsIgnoreCase(columnName)) {
+                continue;
+            }
             String key = naming.apply(method, mapKeyNamingType, columnName);
             indexMap.put(i, key);
         }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * メモリマップドファイルを使用するSQLスクリプトファイルの行のリーダです。
+ * <p>
+ * ファイルを一定の大きさの領域ごとにメモリにマッピングし、文字のバッファへ逐次デコードします。
+ * 読み取った行はバッファの一部を参照するビューとして返されるため、行ごとの文字列の生成やコピーは行われません。
+ * 返された行は次に {@link #readLine()} を呼び出すまで有効です。
+ * <p>
+ * 行の終端の扱いは {@link java.io.BufferedReader#readLine()} と同じです。
+ * <p>
+ * Java SE 8には、マッピングした領域を明示的に解放する公開されたAPIがありません。
+ * そのため、マッピングした領域はガベージコレクションによって解放されるまで残ります。
+ * {@link #close()} はチャネルを閉じて領域への参照を破棄しますが、領域を即座に解放しません。
+ * プラットフォームによっては、解放されるまでファイルを削除できないことがあります。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class MappedScriptFileReader implements Closeable {
+
+    /** 一度にマッピングする領域のデフォルトの大きさ */
+    protected static final long DEFAULT_MAPPING_SIZE = 64L * 1024L * 1024L;
+
+    /** 文字のバッファのデフォルトの初期容量 */
+    protected static final int DEFAULT_BUFFER_CAPACITY = 64 * 1024;
+
+    /** ファイルのチャネル */
+    protected final FileChannel channel;
+
+    /** ファイルの大きさ */
+    protected final long fileSize;
+
+    /** 一度にマッピングする領域の大きさ */
+    protected final long mappingSize;
+
+    /** デコーダ */
+    protected final CharsetDecoder decoder;
+
+    /** マッピングしている領域の先頭のファイル上の位置 */
+    protected long mappingStart;
+
+    /** マッピングしている領域 */
+    protected ByteBuffer bytes;
+
+    /** デコードされた文字のバッファ、未読の文字が位置と上限の間に格納される */
+    protected CharBuffer chars;
+
+    /** 入力の終端までデコードした場合{@code true} */
+    protected boolean endOfInput;
+
+    /** 次の文字が改行文字の場合に読み飛ばす場合{@code true} */
+    protected boolean skipLF;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param path
+     *            ファイルのパス
+     * @param charset
+     *            文字セット
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     */
+    public MappedScriptFileReader(Path path, Charset charset)
+            throws IOException {
+        this(path, charset, DEFAULT_MAPPING_SIZE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * マッピングする領域の大きさと文字のバッファの初期容量を指定してインスタンスを構築します。
+     * 
+     * @param path
+     *            ファイルのパス
+     * @param charset
+     *            文字セット
+     * @param mappingSize
+     *            一度にマッピングする領域の大きさ
+     * @param bufferCapacity
+     *            文字のバッファの初期容量
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     */
+    protected MappedScriptFileReader(Path path, Charset charset,
+            long mappingSize, int bufferCapacity) throws IOException {
+        assertNotNull(path, charset);
+        assertTrue(mappingSize >= 16 && mappingSize <= Integer.MAX_VALUE);
+        assertTrue(bufferCapacity > 0);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.mappingSize = mappingSize;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.allocate(bufferCapacity);
+        this.chars.flip();
+        try {
+            this.fileSize = channel.size();
+            map(0L);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 1行を読み取ります。
+     * 
+     * @return 行の終端文字を含まない1行、ファイルの終端に達した場合 {@code null}
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     */
+    public CharSequence readLine() throws IOException {
+        for (;;) {
+            if (skipLF && chars.hasRemaining()) {
+                if (chars.get(chars.position()) == '\n') {
+                    chars.position(chars.position() + 1);
+                }
+                skipLF = false;
+            }
+            int start = chars.position();
+            int limit = chars.limit();
+            for (int i = start; i < limit; i++) {
+                char c = chars.get(i);
+                if (c == '\n' || c == '\r') {
+                    chars.position(i + 1);
+                    skipLF = c == '\r';
+                    return slice(start, i);
+                }
+            }
+            if (!fill()) {
+                if (start < limit) {
+                    chars.position(limit);
+                    return slice(start, limit);
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 文字のバッファの一部を参照するビューを返します。
+     * 
+     * @param start
+     *            開始位置
+     * @param end
+     *            終了位置
+     * @return ビュー
+     */
+    protected CharSequence slice(int start, int end) {
+        return CharBuffer.wrap(chars.array(), chars.arrayOffset() + start,
+                end - start);
+    }
+
+    /**
+     * 未読の文字を残したまま文字のバッファにデコードした文字を追加します。
+     * 
+     * @return 入力の終端までデコード済みで追加する文字がない場合 {@code false}
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     */
+    protected boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        chars.compact();
+        if (!chars.hasRemaining()) {
+            CharBuffer newChars = CharBuffer.allocate(chars.capacity() * 2);
+            chars.flip();
+            newChars.put(chars);
+            chars = newChars;
+        }
+        try {
+            for (;;) {
+                boolean last = mappingStart + bytes.limit() == fileSize;
+                CoderResult result = decoder.decode(bytes, chars, last);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (result.isOverflow()) {
+                    break;
+                }
+                if (last) {
+                    decoder.flush(chars);
+                    endOfInput = true;
+                    break;
+                }
+                map(mappingStart + bytes.position());
+            }
+        } catch (CharacterCodingException e) {
+            throw new IOException(e);
+        } finally {
+            chars.flip();
+        }
+        return true;
+    }
+
+    /**
+     * ファイルの指定された位置から領域をマッピングします。
+     * <p>
+     * マルチバイト文字の途中で前の領域が終わっている場合、デコードされていないバイトは新しい領域の先頭に含まれます。
+     * 前の領域は参照を破棄するだけで、解放はガベージコレクションに任せます。
+     * 
+     * @param position
+     *            ファイル上の位置
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     */
+    protected void map(long position) throws IOException {
+        long size = Math.min(mappingSize, fileSize - position);
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        mappingStart = position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        bytes = null;
+        channel.close();
+    }
+}
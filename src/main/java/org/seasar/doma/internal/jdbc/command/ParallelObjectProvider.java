@@ -0,0 +1,64 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.seasar.doma.jdbc.ObjectProvider;
+
+/**
+ * 結果セットからの値の読み込みと、オブジェクトの組み立てを分離できるプロバイダです。
+ * <p>
+ * {@link #fetchRow(ResultSet)} が複数のスレッドから同時に呼び出されることはありません。
+ * {@link #build(Object[])} は複数のスレッドから同時に呼び出される可能性があるため、スレッドセーフでなければいけません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ * @param <TARGET>
+ *            提供する型
+ */
+public interface ParallelObjectProvider<TARGET> extends ObjectProvider<TARGET> {
+
+    /**
+     * 結果セットの現在の行の値を読み込みます。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @return 行の値
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    Object[] fetchRow(ResultSet resultSet) throws SQLException;
+
+    /**
+     * 行の値からオブジェクトを組み立てます。
+     * 
+     * @param row
+     *            {@link #fetchRow(ResultSet)} が返した行の値
+     * @return オブジェクト
+     */
+    TARGET build(Object[] row);
+
+    /**
+     * {@link #build(Object[])} のためにスレッドごとに保持している値を解放します。
+     * <p>
+     * 並列ストリームの処理が終わった後に、結果セットを読み込むスレッドから呼び出されます。
+     * デフォルトの実装は何も行いません。
+     */
+    default void release() {
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.seasar.doma.internal.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.Constants.ROWNUMBER_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
@@ -34,7 +35,8 @@ import org.seasar.doma.jdbc.query.Query;
  * 
  */
 public class ScalarProvider<BASIC, CONTAINER> extends
-        AbstractObjectProvider<CONTAINER> {
+        AbstractObjectProvider<CONTAINER> implements
+        ParallelObjectProvider<CONTAINER> {
 
     protected final Supplier<Scalar<BASIC, CONTAINER>> supplier;
 
@@ -68,6 +70,25 @@ public class ScalarProvider<BASIC, CONTAINER> extends
         return scalar.get();
     }
 
+    @Override
+    public Object[] fetchRow(ResultSet resultSet) throws SQLException {
+        if (!columnCountValidated) {
+            validateColumnCount(resultSet);
+        }
+        Scalar<BASIC, CONTAINER> scalar = supplier.get();
+        fetch(resultSet, scalar, 1, jdbcMappingVisitor);
+        return new Object[] { scalar.getWrapper().get() };
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CONTAINER build(Object[] row) {
+        assertNotNull(row);
+        Scalar<BASIC, CONTAINER> scalar = supplier.get();
+        scalar.getWrapper().set((BASIC) row[0]);
+        return scalar.get();
+    }
+
     protected void validateColumnCount(ResultSet resultSet) throws SQLException {
         int columnCount = getColumnCount(resultSet);
         if (columnCount != 1) {
@@ -81,10 +102,14 @@ public class ScalarProvider<BASIC, CONTAINER> extends
     protected int getColumnCount(ResultSet resultSet) throws SQLException {
         ResultSetMetaData resultSetMeta = resultSet.getMetaData();
         int columnCount = resultSetMeta.getColumnCount();
-        if (columnCount == 2) {
-            String columnName = resultSetMeta.getColumnLabel(2).toLowerCase();
-            return ROWNUMBER_COLUMN_NAME.equals(columnName) ? 1 : 2;
+        int result = columnCount;
+        for (int i = 2; i < columnCount + 1; i++) {
+            String columnName = resultSetMeta.getColumnLabel(i).toLowerCase();
+            if (ROWNUMBER_COLUMN_NAME.equals(columnName)
+                    || COUNT_COLUMN_NAME.equals(columnName)) {
+                result--;
+            }
         }
-        return columnCount;
+        return result;
     }
 }
@@ -21,6 +21,11 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +43,13 @@ import org.seasar.doma.message.Message;
  */
 public class ScriptReader {
 
+    /**
+     * メモリマップドファイルとして読み取るファイルの最小サイズ（バイト）
+     * 
+     * @since 2.20.0
+     */
+    protected static final long MAPPED_FILE_THRESHOLD = 8L * 1024 * 1024;
+
     /** クエリ */
     protected ScriptQuery query;
 
@@ -47,6 +59,13 @@ public class ScriptReader {
     /** リーダ */
     protected BufferedReader reader;
 
+    /**
+     * メモリマップドファイルのリーダ
+     * 
+     * @since 2.20.0
+     */
+    protected MappedScriptFileReader mappedReader;
+
     /** 行番号のカウント */
     protected int lineCount;
 
@@ -59,6 +78,9 @@ public class ScriptReader {
     /** 行の終端に達した場合{@code true} */
     protected boolean endOfLine = true;
 
+    /** 読み取ったSQLがSQLブロックの場合{@code true} */
+    protected boolean block;
+
     /**
      * インスタンスを構築します。
      * 
@@ -81,14 +103,14 @@ public class ScriptReader {
             return null;
         }
         try {
-            if (reader == null) {
-                reader = createBufferedReader();
+            if (reader == null && mappedReader == null) {
+                openReader();
             }
             SqlBuilder builder = new SqlBuilder();
             readLineLoop: for (;;) {
                 if (endOfLine) {
                     lineCount++;
-                    tokenizer.addLine(reader.readLine());
+                    tokenizer.addLine(readLine());
                     builder.notifyLineChanged();
                 }
                 for (;;) {
@@ -121,11 +143,97 @@ public class ScriptReader {
         return lineNumber;
     }
 
+    /**
+     * 直前に読み取ったSQLがSQLブロックかどうかを返します。
+     * <p>
+     * ブロックの区切り文字で終了したSQLもSQLブロックとみなします。
+     * 
+     * @return SQLブロックの場合{@code true}
+     * @since 2.20.0
+     */
+    public boolean isBlock() {
+        return block;
+    }
+
     /**
      * クローズします。
      */
     public void close() {
         IOUtil.close(reader);
+        IOUtil.close(mappedReader);
+    }
+
+    /**
+     * SQLスクリプトファイルを開きます。
+     * <p>
+     * ファイルシステム上のファイルで、サイズが {@link #MAPPED_FILE_THRESHOLD} 以上のものはメモリマップドファイルとして読み取ります。
+     * それ以外の場合や、サブクラスが {@link #createBufferedReader()} をオーバーライドしている場合は
+     * {@link #createBufferedReader()} で作成した {@link BufferedReader} で読み取ります。
+     * マップされた領域はガベージコレクションまで解放されず、その間ファイルを削除できない環境があるため、小さなファイルはマップしません。
+     * 
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    protected void openReader() throws IOException {
+        Path path = getScriptFilePath();
+        if (path != null && !isBufferedReaderCustomized()
+                && Files.size(path) >= MAPPED_FILE_THRESHOLD) {
+            mappedReader = new MappedScriptFileReader(path, Constants.UTF_8);
+        } else {
+            reader = createBufferedReader();
+        }
+    }
+
+    /**
+     * サブクラスが {@link #createBufferedReader()} をオーバーライドしているかどうかを返します。
+     * 
+     * @return オーバーライドしている場合 {@code true}
+     * @since 2.20.0
+     */
+    protected boolean isBufferedReaderCustomized() {
+        for (Class<?> c = getClass(); c != ScriptReader.class; c = c
+                .getSuperclass()) {
+            try {
+                c.getDeclaredMethod("createBufferedReader");
+                return true;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
+
+    /**
+     * ファイルシステム上のSQLスクリプトファイルのパスを返します。
+     * 
+     * @return パス、ファイルシステム上のファイルでない場合 {@code null}
+     * @since 2.20.0
+     */
+    protected Path getScriptFilePath() {
+        URL url = query.getScriptFileUrl();
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 1行を読み取ります。
+     * 
+     * @return 1行、ファイルの終端に達した場合 {@code null}
+     * @throws IOException
+     *             IOに関する例外が発生した場合
+     * @since 2.20.0
+     */
+    protected CharSequence readLine() throws IOException {
+        if (mappedReader != null) {
+            return mappedReader.readLine();
+        }
+        return reader.readLine();
     }
 
     /**
@@ -207,6 +315,7 @@ public class ScriptReader {
                     appendToken(token);
                     requireToken();
                 } else {
+                    block = false;
                     complete();
                 }
                 break;
@@ -214,11 +323,13 @@ public class ScriptReader {
                 if (isSqlEmpty()) {
                     requireToken();
                 } else {
+                    block = true;
                     complete();
                 }
                 break;
             case END_OF_FILE:
                 endOfFile = true;
+                block = isInBlock();
                 complete();
                 break;
             default:
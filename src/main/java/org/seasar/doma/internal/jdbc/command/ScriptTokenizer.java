@@ -29,7 +29,7 @@ public class ScriptTokenizer {
     protected String blockDelimiter;
 
     /** SQLの行 */
-    protected String line;
+    protected CharSequence line;
 
     /** 現在の位置 */
     protected int pos;
@@ -66,7 +66,7 @@ public class ScriptTokenizer {
      * @param line
      *            1行の文字列
      */
-    public void addLine(String line) {
+    public void addLine(CharSequence line) {
         if (line == null) {
             type = END_OF_FILE;
             return;
@@ -78,7 +78,7 @@ public class ScriptTokenizer {
 
         if (blockCommentStarted) {
             type = BLOCK_COMMENT;
-        } else if (line.trim().equalsIgnoreCase(blockDelimiter)) {
+        } else if (isBlockDelimiter(line)) {
             type = BLOCK_DELIMITER;
             nextPos = length;
         } else {
@@ -161,19 +161,19 @@ public class ScriptTokenizer {
             type = END_OF_LINE;
             return END_OF_LINE;
         case BLOCK_DELIMITER:
-            token = line;
+            token = line.toString();
             type = END_OF_LINE;
             return BLOCK_DELIMITER;
         case STATEMENT_DELIMITER:
-            token = line.substring(pos, nextPos);
+            token = line.subSequence(pos, nextPos).toString();
             peek(nextPos);
             return STATEMENT_DELIMITER;
         case LINE_COMMENT:
-            token = line.substring(pos, length);
+            token = line.subSequence(pos, length).toString();
             type = END_OF_LINE;
             return LINE_COMMENT;
         case START_OF_BLOCK_COMMENT:
-            token = line.substring(pos, nextPos);
+            token = line.subSequence(pos, nextPos).toString();
             type = BLOCK_COMMENT;
             pos = pos + 2;
             nextPos = pos + 2;
@@ -186,7 +186,7 @@ public class ScriptTokenizer {
                     char c2 = line.charAt(nextIndex);
                     if (c == '*' && c2 == '/') {
                         blockCommentStarted = false;
-                        token = line.substring(pos, i);
+                        token = line.subSequence(pos, i).toString();
                         type = END_OF_BLOCK_COMMENT;
                         pos = i;
                         nextPos = i + 2;
@@ -195,11 +195,11 @@ public class ScriptTokenizer {
                 }
             }
             blockCommentStarted = true;
-            token = line.substring(pos, length);
+            token = line.subSequence(pos, length).toString();
             type = END_OF_LINE;
             return BLOCK_COMMENT;
         case END_OF_BLOCK_COMMENT:
-            token = line.substring(pos, nextPos);
+            token = line.subSequence(pos, nextPos).toString();
             peek(nextPos);
             return END_OF_BLOCK_COMMENT;
         case QUOTE:
@@ -208,30 +208,30 @@ public class ScriptTokenizer {
                 if (c == '\'') {
                     i++;
                     if (i >= length) {
-                        token = line.substring(pos, i);
+                        token = line.subSequence(pos, i).toString();
                         type = END_OF_LINE;
                         return QUOTE;
                     } else if (line.charAt(i) != '\'') {
-                        token = line.substring(pos, i);
+                        token = line.subSequence(pos, i).toString();
                         peek(i);
                         return QUOTE;
                     }
                 }
             }
-            token = line.substring(pos, length);
+            token = line.subSequence(pos, length).toString();
             type = END_OF_LINE;
             return QUOTE;
         case WORD:
             int wordStartPos = pos;
             for (; type == WORD && pos < length; peek(nextPos)) {
             }
-            token = line.substring(wordStartPos, pos);
+            token = line.subSequence(wordStartPos, pos).toString();
             return WORD;
         case OTHER:
             int otherStartPos = pos;
             for (; type == OTHER && pos < length; peek(nextPos)) {
             }
-            token = line.substring(otherStartPos, pos);
+            token = line.subSequence(otherStartPos, pos).toString();
             return OTHER;
         default:
             assertUnreachable(type.name());
@@ -239,6 +239,42 @@ public class ScriptTokenizer {
         }
     }
 
+    /**
+     * 行がブロックの区切り文字のみからなる場合 {@code true} を返します。
+     * <p>
+     * 前後の空白を無視し、大文字と小文字を区別せずに比較します。
+     * 
+     * @param line
+     *            1行の文字列
+     * @return ブロックの区切り文字のみからなる場合 {@code true}
+     */
+    protected boolean isBlockDelimiter(CharSequence line) {
+        if (blockDelimiter == null) {
+            return false;
+        }
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (start < end && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != blockDelimiter.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c1 = line.charAt(i);
+            char c2 = blockDelimiter.charAt(i - start);
+            if (c1 != c2
+                    && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+                    && Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * コメントや単語以外の場合{@code true}を返します。
      * 
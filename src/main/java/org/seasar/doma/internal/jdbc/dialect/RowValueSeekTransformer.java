@@ -0,0 +1,64 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import java.util.List;
+
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhereClauseNode;
+
+/**
+ * 行値式の比較をサポートするRDBMS用にキーセットページング用のSQLに変換します。
+ * <p>
+ * order by句の並び順がすべて同じ場合、条件を {@code (k1, k2) > (?, ?)} の形式で組み立てます。
+ * 並び順が混在する場合は {@link StandardSeekTransformer} と同じ形式で組み立てます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class RowValueSeekTransformer extends StandardSeekTransformer {
+
+    public RowValueSeekTransformer(int keyCount) {
+        super(keyCount);
+    }
+
+    @Override
+    protected void appendSeekCondition(WhereClauseNode where,
+            List<SortKey> sortKeys) {
+        boolean descending = sortKeys.get(0).isDescending();
+        if (sortKeys.size() == 1
+                || sortKeys.stream().anyMatch(
+                        k -> k.isDescending() != descending)) {
+            super.appendSeekCondition(where, sortKeys);
+            return;
+        }
+        StringBuilder columns = new StringBuilder("(");
+        for (SortKey sortKey : sortKeys) {
+            columns.append(sortKey.getColumn()).append(", ");
+        }
+        columns.setLength(columns.length() - 2);
+        columns.append(") ").append(sortKeys.get(0).getOperator())
+                .append(" (");
+        where.appendNode(new FragmentNode(columns.toString()));
+        for (int i = 0; i < sortKeys.size(); i++) {
+            if (i > 0) {
+                where.appendNode(new FragmentNode(", "));
+            }
+            where.appendNode(createBindVariableNode(i));
+        }
+        where.appendNode(new FragmentNode(")"));
+    }
+}
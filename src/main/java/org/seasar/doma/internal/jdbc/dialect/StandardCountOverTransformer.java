@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
+
+import java.util.List;
+
+import org.seasar.doma.internal.jdbc.sql.SimpleSqlNodeVisitor;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.CommentNode;
+import org.seasar.doma.internal.jdbc.sql.node.EolNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.OtherNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhitespaceNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * ウィンドウ関数を使って集計を計算するSQLに変換します。
+ * <p>
+ * select句の末尾に {@code count(*) over()} を追加し、検索結果の各行に集計件数を含めます。
+ * select句が {@code distinct} で始まる場合や {@code *} のみの場合、および
+ * {@code union} などの集合演算子を含む場合は変換しません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class StandardCountOverTransformer extends
+        SimpleSqlNodeVisitor<SqlNode, Void> {
+
+    protected boolean processed;
+
+    public SqlNode transform(SqlNode sqlNode) {
+        if (containsSetOperator(sqlNode)) {
+            return sqlNode;
+        }
+        AnonymousNode result = new AnonymousNode();
+        for (SqlNode child : sqlNode.getChildren()) {
+            result.appendNode(child.accept(this, null));
+        }
+        return result;
+    }
+
+    @Override
+    public SqlNode visitSelectStatementNode(SelectStatementNode node, Void p) {
+        if (processed) {
+            return node;
+        }
+        processed = true;
+
+        SelectClauseNode originalSelect = node.getSelectClauseNode();
+        List<SqlNode> children = originalSelect.getChildren();
+        int lastIndex = getLastSignificantIndex(children);
+        if (lastIndex < 0 || !isExtensible(children, lastIndex)) {
+            return node;
+        }
+        SelectClauseNode select = new SelectClauseNode(
+                originalSelect.getWordNode());
+        for (int i = 0; i < children.size(); i++) {
+            select.appendNode(children.get(i));
+            if (i == lastIndex) {
+                select.appendNode(new FragmentNode(
+                        ", count(*) over() as " + COUNT_COLUMN_NAME));
+            }
+        }
+
+        SelectStatementNode result = new SelectStatementNode();
+        result.setSelectClauseNode(select);
+        result.setFromClauseNode(node.getFromClauseNode());
+        result.setWhereClauseNode(node.getWhereClauseNode());
+        result.setGroupByClauseNode(node.getGroupByClauseNode());
+        result.setHavingClauseNode(node.getHavingClauseNode());
+        result.setOrderByClauseNode(node.getOrderByClauseNode());
+        result.setForUpdateClauseNode(node.getForUpdateClauseNode());
+        result.setOptionClauseNode(node.getOptionClauseNode());
+        return result;
+    }
+
+    protected boolean containsSetOperator(SqlNode sqlNode) {
+        for (SqlNode child : sqlNode.getChildren()) {
+            if (child instanceof AnonymousNode
+                    && !child.getChildren().isEmpty()) {
+                SqlNode first = child.getChildren().get(0);
+                if (first instanceof WordNode
+                        && isSetOperator(((WordNode) first).getWord())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected boolean isSetOperator(String word) {
+        return "union".equalsIgnoreCase(word)
+                || "except".equalsIgnoreCase(word)
+                || "minus".equalsIgnoreCase(word)
+                || "intersect".equalsIgnoreCase(word);
+    }
+
+    protected int getLastSignificantIndex(List<SqlNode> children) {
+        for (int i = children.size() - 1; i >= 0; i--) {
+            if (isSignificant(children.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected boolean isExtensible(List<SqlNode> children, int lastIndex) {
+        SqlNode first = null;
+        int count = 0;
+        for (int i = 0; i <= lastIndex; i++) {
+            SqlNode child = children.get(i);
+            if (isSignificant(child)) {
+                if (first == null) {
+                    first = child;
+                }
+                count++;
+            }
+        }
+        if (first instanceof WordNode
+                && "distinct".equalsIgnoreCase(((WordNode) first).getWord())) {
+            return false;
+        }
+        if (count == 1 && first instanceof OtherNode
+                && "*".equals(((OtherNode) first).getOther())) {
+            return false;
+        }
+        return true;
+    }
+
+    protected boolean isSignificant(SqlNode node) {
+        return !(node instanceof WhitespaceNode || node instanceof EolNode
+                || node instanceof CommentNode);
+    }
+
+    @Override
+    protected SqlNode defaultAction(SqlNode node, Void p) {
+        return node;
+    }
+}
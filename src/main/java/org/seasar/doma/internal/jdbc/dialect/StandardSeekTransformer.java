@@ -0,0 +1,263 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import static org.seasar.doma.internal.Constants.SEEK_KEY_PARAMETER_NAME_PREFIX;
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.seasar.doma.internal.jdbc.sql.SimpleSqlNodeVisitor;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.CommentNode;
+import org.seasar.doma.internal.jdbc.sql.node.EolNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.LogicalOperatorNode;
+import org.seasar.doma.internal.jdbc.sql.node.OrderByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OtherNode;
+import org.seasar.doma.internal.jdbc.sql.node.ParensNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.SqlLocation;
+import org.seasar.doma.internal.jdbc.sql.node.ValueNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhereClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhitespaceNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.message.Message;
+
+/**
+ * キーセットページング用のSQLに変換します。
+ * <p>
+ * order by句の項目に対応するキーの値を受け取り、前のページの最後の行より後ろの行だけを検索する条件をwhere句に追加します。
+ * 条件は行値式を使用せずに {@code k1 >= ? and (k1 > ? or (k1 = ? and k2 > ?))} の形式で組み立てます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class StandardSeekTransformer extends
+        SimpleSqlNodeVisitor<SqlNode, Void> {
+
+    protected final int keyCount;
+
+    protected boolean processed;
+
+    public StandardSeekTransformer(int keyCount) {
+        assertTrue(keyCount > 0);
+        this.keyCount = keyCount;
+    }
+
+    public SqlNode transform(SqlNode sqlNode) {
+        AnonymousNode result = new AnonymousNode();
+        for (SqlNode child : sqlNode.getChildren()) {
+            result.appendNode(child.accept(this, null));
+        }
+        return result;
+    }
+
+    @Override
+    public SqlNode visitSelectStatementNode(SelectStatementNode node, Void p) {
+        if (processed) {
+            return node;
+        }
+        processed = true;
+
+        OrderByClauseNode orderBy = node.getOrderByClauseNode();
+        if (orderBy == null) {
+            throw new JdbcException(Message.DOMA2234);
+        }
+        List<SortKey> sortKeys = getSortKeys(orderBy);
+        if (sortKeys.size() != keyCount) {
+            throw new JdbcException(Message.DOMA2236, keyCount,
+                    sortKeys.size());
+        }
+
+        WhereClauseNode originalWhere = node.getWhereClauseNode();
+        WhereClauseNode where;
+        if (originalWhere == null) {
+            where = new WhereClauseNode("where");
+            where.appendNode(WhitespaceNode.of(" "));
+        } else {
+            where = new WhereClauseNode(originalWhere.getWordNode());
+            where.appendNode(WhitespaceNode.of(" "));
+            ParensNode parens = new ParensNode(new SqlLocation("", 0, 0));
+            parens.setEmpty(false);
+            for (SqlNode child : originalWhere.getChildren()) {
+                parens.appendNode(child);
+            }
+            parens.close();
+            where.appendNode(parens);
+            where.appendNode(new LogicalOperatorNode(new WordNode(" and ")));
+        }
+        appendSeekCondition(where, sortKeys);
+        where.appendNode(WhitespaceNode.of(" "));
+
+        SelectStatementNode result = new SelectStatementNode();
+        result.setSelectClauseNode(node.getSelectClauseNode());
+        result.setFromClauseNode(node.getFromClauseNode());
+        result.setWhereClauseNode(where);
+        result.setGroupByClauseNode(node.getGroupByClauseNode());
+        result.setHavingClauseNode(node.getHavingClauseNode());
+        result.setOrderByClauseNode(orderBy);
+        result.setForUpdateClauseNode(node.getForUpdateClauseNode());
+        result.setOptionClauseNode(node.getOptionClauseNode());
+        return result;
+    }
+
+    /**
+     * order by句からソートキーを取得します。
+     * 
+     * @param orderBy
+     *            order by句
+     * @return ソートキーのリスト
+     */
+    protected List<SortKey> getSortKeys(OrderByClauseNode orderBy) {
+        List<SortKey> sortKeys = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+        for (SqlNode child : orderBy.getChildren()) {
+            if (child instanceof WordNode) {
+                words.add(((WordNode) child).getWord());
+            } else if (child instanceof OtherNode
+                    && ",".equals(((OtherNode) child).getOther())) {
+                sortKeys.add(createSortKey(words));
+                words = new ArrayList<>();
+            } else if (!(child instanceof WhitespaceNode
+                    || child instanceof EolNode || child instanceof CommentNode)) {
+                words.add(getText(child));
+                throw new JdbcException(Message.DOMA2235, String.join(" ",
+                        words));
+            }
+        }
+        if (!words.isEmpty()) {
+            sortKeys.add(createSortKey(words));
+        }
+        return sortKeys;
+    }
+
+    protected String getText(SqlNode node) {
+        if (node instanceof ValueNode) {
+            return ((ValueNode) node).getText();
+        }
+        if (node instanceof OtherNode) {
+            return ((OtherNode) node).getOther();
+        }
+        return "...";
+    }
+
+    protected SortKey createSortKey(List<String> words) {
+        if (words.size() == 1) {
+            return new SortKey(words.get(0), false);
+        }
+        if (words.size() == 2) {
+            String order = words.get(1);
+            if ("asc".equalsIgnoreCase(order)) {
+                return new SortKey(words.get(0), false);
+            }
+            if ("desc".equalsIgnoreCase(order)) {
+                return new SortKey(words.get(0), true);
+            }
+        }
+        throw new JdbcException(Message.DOMA2235, String.join(" ", words));
+    }
+
+    /**
+     * キーセットページング用の条件を追加します。
+     * 
+     * @param where
+     *            where句
+     * @param sortKeys
+     *            ソートキーのリスト
+     */
+    protected void appendSeekCondition(WhereClauseNode where,
+            List<SortKey> sortKeys) {
+        SortKey first = sortKeys.get(0);
+        if (sortKeys.size() == 1) {
+            appendComparison(where, first, first.getOperator(), 0);
+            return;
+        }
+        appendComparison(where, first, first.getOperator() + "=", 0);
+        where.appendNode(new FragmentNode(" and ("));
+        for (int i = 0; i < sortKeys.size(); i++) {
+            if (i > 0) {
+                where.appendNode(new FragmentNode(" or ("));
+            }
+            for (int j = 0; j < i; j++) {
+                appendComparison(where, sortKeys.get(j), "=", j);
+                where.appendNode(new FragmentNode(" and "));
+            }
+            SortKey sortKey = sortKeys.get(i);
+            appendComparison(where, sortKey, sortKey.getOperator(), i);
+            if (i > 0) {
+                where.appendNode(new FragmentNode(")"));
+            }
+        }
+        where.appendNode(new FragmentNode(")"));
+    }
+
+    protected void appendComparison(WhereClauseNode where, SortKey sortKey,
+            String operator, int index) {
+        where.appendNode(new FragmentNode(sortKey.getColumn() + " "
+                + operator + " "));
+        where.appendNode(createBindVariableNode(index));
+    }
+
+    protected BindVariableNode createBindVariableNode(int index) {
+        String variableName = SEEK_KEY_PARAMETER_NAME_PREFIX + index;
+        String text = "/*" + variableName + "*/0";
+        BindVariableNode node = new BindVariableNode(new SqlLocation(text, 0,
+                0), variableName, text);
+        node.setWordNode(new WordNode("0"));
+        return node;
+    }
+
+    @Override
+    protected SqlNode defaultAction(SqlNode node, Void p) {
+        return node;
+    }
+
+    /**
+     * order by句の項目です。
+     * 
+     * @author nakamura-to
+     */
+    protected static class SortKey {
+
+        protected final String column;
+
+        protected final boolean descending;
+
+        protected SortKey(String column, boolean descending) {
+            assertNotNull(column);
+            this.column = column;
+            this.descending = descending;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public boolean isDescending() {
+            return descending;
+        }
+
+        public String getOperator() {
+            return descending ? "<" : ">";
+        }
+    }
+}
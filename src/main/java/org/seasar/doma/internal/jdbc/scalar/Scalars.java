@@ -18,6 +18,8 @@ package org.seasar.doma.internal.jdbc.scalar;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Array;
@@ -51,6 +53,7 @@ import org.seasar.doma.wrapper.DateWrapper;
 import org.seasar.doma.wrapper.DoubleWrapper;
 import org.seasar.doma.wrapper.EnumWrapper;
 import org.seasar.doma.wrapper.FloatWrapper;
+import org.seasar.doma.wrapper.InputStreamWrapper;
 import org.seasar.doma.wrapper.IntegerWrapper;
 import org.seasar.doma.wrapper.LocalDateTimeWrapper;
 import org.seasar.doma.wrapper.LocalDateWrapper;
@@ -58,6 +61,7 @@ import org.seasar.doma.wrapper.LocalTimeWrapper;
 import org.seasar.doma.wrapper.LongWrapper;
 import org.seasar.doma.wrapper.NClobWrapper;
 import org.seasar.doma.wrapper.ObjectWrapper;
+import org.seasar.doma.wrapper.ReaderWrapper;
 import org.seasar.doma.wrapper.SQLXMLWrapper;
 import org.seasar.doma.wrapper.ShortWrapper;
 import org.seasar.doma.wrapper.StringWrapper;
@@ -225,6 +229,16 @@ public final class Scalars {
                     (Short) value);
             return createBasicScalarSupplier(supplier, optional, primitive);
         }
+        if (valueClass == InputStream.class) {
+            Supplier<Wrapper<InputStream>> supplier = () -> new InputStreamWrapper(
+                    (InputStream) value);
+            return createBasicScalarSupplier(supplier, optional, primitive);
+        }
+        if (valueClass == Reader.class) {
+            Supplier<Wrapper<Reader>> supplier = () -> new ReaderWrapper(
+                    (Reader) value);
+            return createBasicScalarSupplier(supplier, optional, primitive);
+        }
         if (valueClass == SQLXML.class) {
             Supplier<Wrapper<SQLXML>> supplier = () -> new SQLXMLWrapper(
                     (SQLXML) value);
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.seasar.doma.jdbc.InParameter;
+import org.seasar.doma.jdbc.SqlLogFormattingFunction;
+import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
+
+/**
+ * 未加工のSQLのプレースホルダをパラメータのログ形式で置き換えてフォーマット済みのSQLを組み立てるサプライヤです。
+ * <p>
+ * ロガーや例外がフォーマット済みのSQLを必要としたときにだけ組み立てるために使用します。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class DeferredFormattedSql implements Supplier<String> {
+
+    protected final SqlLogFormattingVisitor formattingVisitor;
+
+    protected final String rawSql;
+
+    protected final int[] positions;
+
+    protected final List<? extends InParameter<?>> parameters;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param formattingVisitor
+     *            SQLのログのフォーマットを行うビジター
+     * @param rawSql
+     *            未加工のSQL
+     * @param positions
+     *            パラメータに対応するプレースホルダの位置、無効な場合 {@code -1}
+     * @param parameters
+     *            パラメータのリスト
+     */
+    public DeferredFormattedSql(SqlLogFormattingVisitor formattingVisitor,
+            String rawSql, int[] positions,
+            List<? extends InParameter<?>> parameters) {
+        assertNotNull(formattingVisitor, rawSql, positions, parameters);
+        this.formattingVisitor = formattingVisitor;
+        this.rawSql = rawSql;
+        this.positions = positions;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public String get() {
+        if (parameters.isEmpty()) {
+            return rawSql;
+        }
+        SqlLogFormattingFunction formattingFunction = new ConvertToLogFormatFunction();
+        StringBuilder buf = new StringBuilder(rawSql.length() + 16
+                * parameters.size());
+        int start = 0;
+        int size = Math.min(positions.length, parameters.size());
+        for (int i = 0; i < size; i++) {
+            int position = positions[i];
+            if (position < start || position >= rawSql.length()) {
+                continue;
+            }
+            buf.append(rawSql, start, position);
+            buf.append(parameters.get(i).getWrapper()
+                    .accept(formattingVisitor, formattingFunction, null));
+            start = position + 1;
+        }
+        buf.append(rawSql, start, rawSql.length());
+        return buf.toString();
+    }
+
+    /**
+     * プレースホルダの位置を保持するバッファです。
+     *
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    public static class PositionBuffer {
+
+        protected int[] positions = new int[16];
+
+        protected int size;
+
+        /**
+         * プレースホルダの位置を追加します。
+         *
+         * @param position
+         *            位置
+         */
+        public void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        /**
+         * オフセットを加えたほかのバッファの位置をすべて追加します。
+         *
+         * @param other
+         *            ほかのバッファ
+         * @param offset
+         *            オフセット
+         */
+        public void addAll(PositionBuffer other, int offset) {
+            for (int i = 0; i < other.size; i++) {
+                int position = other.positions[i];
+                add(position < 0 ? position : position + offset);
+            }
+        }
+
+        /**
+         * 指定された長さ以降の位置を無効にします。
+         *
+         * @param length
+         *            SQLの長さ
+         */
+        public void invalidateFrom(int length) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (positions[i] >= length) {
+                    positions[i] = -1;
+                }
+            }
+        }
+
+        /**
+         * 位置の配列を返します。
+         *
+         * @return 位置の配列
+         */
+        public int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
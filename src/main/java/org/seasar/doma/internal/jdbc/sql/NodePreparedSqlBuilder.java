@@ -38,6 +38,7 @@ import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.internal.jdbc.scalar.Scalar;
 import org.seasar.doma.internal.jdbc.scalar.ScalarException;
 import org.seasar.doma.internal.jdbc.scalar.Scalars;
+import org.seasar.doma.internal.jdbc.sql.SqlPlan.Segment;
 import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
 import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
 import org.seasar.doma.internal.jdbc.sql.node.ClauseNode;
@@ -48,6 +49,7 @@ import org.seasar.doma.internal.jdbc.sql.node.EmbeddedVariableNode;
 import org.seasar.doma.internal.jdbc.sql.node.EndNode;
 import org.seasar.doma.internal.jdbc.sql.node.EolNode;
 import org.seasar.doma.internal.jdbc.sql.node.ExpandNode;
+import org.seasar.doma.internal.jdbc.sql.node.ExpressionHolderNode;
 import org.seasar.doma.internal.jdbc.sql.node.ForBlockNode;
 import org.seasar.doma.internal.jdbc.sql.node.ForNode;
 import org.seasar.doma.internal.jdbc.sql.node.ForUpdateClauseNode;
@@ -85,6 +87,7 @@ import org.seasar.doma.jdbc.SqlLogFormattingFunction;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.SqlNode;
 import org.seasar.doma.jdbc.SqlNodeVisitor;
+import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.message.Message;
 import org.seasar.doma.wrapper.WrapperVisitor;
 
@@ -164,17 +167,63 @@ public class NodePreparedSqlBuilder implements
     public PreparedSql build(SqlNode sqlNode, Function<String, String> commenter) {
         assertNotNull(sqlNode, commenter);
         Context context = new Context(config, evaluator);
-        sqlNode.accept(this, context);
-        return new PreparedSql(kind, context.getSqlBuf(),
-                context.getFormattedSqlBuf(), sqlFilePath,
+        SqlPlan plan = getPlan(sqlNode);
+        if (plan == null) {
+            sqlNode.accept(this, context);
+        } else {
+            context.setPlan(plan);
+            execute(plan.getSegments(), context);
+        }
+        String sql = context.getSqlBuf().toString();
+        DeferredFormattedSql formattedSql = new DeferredFormattedSql(config
+                .getDialect().getSqlLogFormattingVisitor(), sql,
+                context.getParameterPositions(), context.getParameters());
+        return new PreparedSql(kind, sql, formattedSql, sqlFilePath,
                 context.getParameters(), sqlLogType, commenter);
     }
 
-    @Override
-    public Void visitAnonymousNode(AnonymousNode node, Context p) {
+    protected SqlPlan getPlan(SqlNode sqlNode) {
+        if (sqlNode instanceof AnonymousNode) {
+            return ((AnonymousNode) sqlNode).getPlan();
+        }
+        return null;
+    }
+
+    protected void execute(Segment[] segments, Context p) {
+        for (Segment segment : segments) {
+            SqlNode node = segment.getNode();
+            if (node != null) {
+                node.accept(this, p);
+                continue;
+            }
+            if (segment.isAvailable()) {
+                p.setAvailable(true);
+            }
+            if (segment.isWhitespaceChecked()) {
+                p.appendWhitespaceIfNecessary();
+            }
+            String text = segment.getText();
+            p.appendRawSql(text);
+        }
+    }
+
+    protected void visitChildren(SqlNode node, Context p) {
+        SqlPlan plan = p.getPlan();
+        if (plan != null) {
+            Segment[] segments = plan.getChildSegments(node);
+            if (segments != null) {
+                execute(segments, p);
+                return;
+            }
+        }
         for (SqlNode child : node.getChildren()) {
             child.accept(this, p);
         }
+    }
+
+    @Override
+    public Void visitAnonymousNode(AnonymousNode node, Context p) {
+        visitChildren(node, p);
         return null;
     }
 
@@ -183,7 +232,6 @@ public class NodePreparedSqlBuilder implements
         p.setAvailable(true);
         String other = node.getOther();
         p.appendRawSql(other);
-        p.appendFormattedSql(other);
         return null;
     }
 
@@ -191,7 +239,6 @@ public class NodePreparedSqlBuilder implements
     public Void visitWhitespaceNode(WhitespaceNode node, Context p) {
         String whitespace = node.getWhitespace();
         p.appendRawSql(whitespace);
-        p.appendFormattedSql(whitespace);
         return null;
     }
 
@@ -199,7 +246,6 @@ public class NodePreparedSqlBuilder implements
     public Void visitCommentNode(CommentNode node, Context p) {
         String comment = node.getComment();
         p.appendRawSql(comment);
-        p.appendFormattedSql(comment);
         return null;
     }
 
@@ -231,7 +277,7 @@ public class NodePreparedSqlBuilder implements
             Consumer<Scalar<?, ?>> valueHandler) {
         SqlLocation location = node.getLocation();
         String name = node.getVariableName();
-        EvaluationResult result = p.evaluate(location, name);
+        EvaluationResult result = p.evaluate(location, name, node);
         Object value = result.getValue();
         Class<?> valueClass = result.getValueClass();
         p.setAvailable(true);
@@ -239,11 +285,12 @@ public class NodePreparedSqlBuilder implements
             handleSingleValueNode(node, p, value, valueClass, valueHandler);
         } else if (node.isParensNodeIgnored()) {
             ParensNode parensNode = node.getParensNode();
+            boolean inListOperand = p.endsWithInKeyword();
             OtherNode openedFragmentNode = parensNode.getOpenedFragmentNode();
             openedFragmentNode.accept(this, p);
             if (Iterable.class.isAssignableFrom(valueClass)) {
                 handleIterableValueNode(node, p, (Iterable<?>) value,
-                        valueClass, valueHandler);
+                        valueClass, valueHandler, inListOperand);
             } else {
                 throw new JdbcException(Message.DOMA2112, location.getSql(),
                         location.getLineNumber(), location.getPosition(),
@@ -261,7 +308,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitEmbeddedVariableNode(EmbeddedVariableNode node, Context p) {
         SqlLocation location = node.getLocation();
         String name = node.getVariableName();
-        EvaluationResult result = p.evaluate(location, name);
+        EvaluationResult result = p.evaluate(location, name, node);
         Object value = result.getValue();
         if (value != null) {
             String fragment = value.toString();
@@ -289,11 +336,8 @@ public class NodePreparedSqlBuilder implements
                 p.setAvailable(true);
             }
             p.appendRawSql(fragment);
-            p.appendFormattedSql(fragment);
-        }
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
         }
+        visitChildren(node, p);
         return null;
     }
 
@@ -314,7 +358,14 @@ public class NodePreparedSqlBuilder implements
     protected void handleIterableValueNode(ValueNode node, Context p,
             Iterable<?> values, Class<?> valueClass,
             Consumer<Scalar<?, ?>> consumer) {
+        handleIterableValueNode(node, p, values, valueClass, consumer, false);
+    }
+
+    protected void handleIterableValueNode(ValueNode node, Context p,
+            Iterable<?> values, Class<?> valueClass,
+            Consumer<Scalar<?, ?>> consumer, boolean inListOperand) {
         int index = 0;
+        Supplier<Scalar<?, ?>> supplier = null;
         for (Object v : values) {
             if (v == null) {
                 SqlLocation location = node.getLocation();
@@ -322,22 +373,60 @@ public class NodePreparedSqlBuilder implements
                         location.getLineNumber(), location.getPosition(),
                         node.getText(), index);
             }
-            Supplier<Scalar<?, ?>> supplier = wrap(node.getLocation(),
-                    node.getText(), v, v.getClass());
+            supplier = wrap(node.getLocation(), node.getText(), v,
+                    v.getClass());
             consumer.accept(supplier.get());
             p.appendRawSql(", ");
-            p.appendFormattedSql(", ");
             index++;
         }
         if (index == 0) {
             p.appendRawSql("null");
-            p.appendFormattedSql("null");
         } else {
+            if (inListOperand && node instanceof BindVariableNode
+                    && config.isInListPaddingEnabled()) {
+                int paddedSize = getPaddedSize(index,
+                        p.getBoundParameterCount() - index);
+                for (int i = index; i < paddedSize; i++) {
+                    consumer.accept(supplier.get());
+                    p.appendRawSql(", ");
+                }
+            }
             p.cutBackSqlBuf(2);
-            p.cutBackFormattedSqlBuf(2);
         }
     }
 
+    /**
+     * 展開したIN句の要素数を2のべき乗に切り上げた数を返します。
+     * <p>
+     * 切り上げた数が
+     * {@link org.seasar.doma.jdbc.dialect.Dialect#getMaxInListElementCount()}
+     * を超える場合、切り上げた数とすでにバインドされたパラメータの数の合計が
+     * {@link org.seasar.doma.jdbc.dialect.Dialect#getMaxBindParameterCount()}
+     * を超える場合、およびパラメータの上限が不明な場合は切り上げません。
+     * 
+     * @param size
+     *            要素数
+     * @param boundParameterCount
+     *            IN句より前にバインドされたパラメータの数
+     * @return 切り上げた要素数
+     */
+    protected int getPaddedSize(int size, int boundParameterCount) {
+        int paddedSize = Integer.highestOneBit(size);
+        if (paddedSize < size) {
+            paddedSize <<= 1;
+        }
+        Dialect dialect = config.getDialect();
+        int maxSize = dialect.getMaxBindParameterCount() - boundParameterCount;
+        int maxElementCount = dialect.getMaxInListElementCount();
+        if (maxElementCount > 0) {
+            maxSize = Math.min(maxSize, maxElementCount);
+        }
+        if (paddedSize <= 0 || paddedSize > maxSize) {
+            return size;
+        }
+        return paddedSize;
+    }
+
     @Override
     public Void visitIfBlockNode(IfBlockNode node, Context p) {
         if (!handleIfNode(node, p)) {
@@ -354,7 +443,7 @@ public class NodePreparedSqlBuilder implements
         IfNode ifNode = node.getIfNode();
         SqlLocation location = ifNode.getLocation();
         String expression = ifNode.getExpression();
-        EvaluationResult ifResult = p.evaluate(location, expression);
+        EvaluationResult ifResult = p.evaluate(location, expression, ifNode);
         if (ifResult.getBooleanValue()) {
             ifNode.accept(this, p);
             return true;
@@ -366,7 +455,8 @@ public class NodePreparedSqlBuilder implements
         for (ElseifNode elseifNode : node.getElseifNodes()) {
             SqlLocation location = elseifNode.getLocation();
             String expression = elseifNode.getExpression();
-            EvaluationResult elseifResult = p.evaluate(location, expression);
+            EvaluationResult elseifResult = p.evaluate(location, expression,
+                    elseifNode);
             if (elseifResult.getBooleanValue()) {
                 elseifNode.accept(this, p);
                 return true;
@@ -384,33 +474,25 @@ public class NodePreparedSqlBuilder implements
 
     @Override
     public Void visitIfNode(IfNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
     @Override
     public Void visitElseifNode(ElseifNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
     @Override
     public Void visitElseNode(ElseNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
     @Override
     public Void visitEndNode(EndNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -419,7 +501,7 @@ public class NodePreparedSqlBuilder implements
         ForNode forNode = node.getForNode();
         SqlLocation location = forNode.getLocation();
         EvaluationResult expressionResult = p.evaluate(location,
-                forNode.getExpression());
+                forNode.getExpression(), forNode);
         Object expressionValue = expressionResult.getValue();
         Class<?> expressionValueClass = expressionResult.getValueClass();
         if (!Iterable.class.isAssignableFrom(expressionValueClass)) {
@@ -443,9 +525,7 @@ public class NodePreparedSqlBuilder implements
             p.putValue(identifier, value);
             p.putValue(hasNextVariable, new Value(boolean.class, it.hasNext()));
             p.putValue(indexVariable, new Value(int.class, index));
-            for (SqlNode child : forNode.getChildren()) {
-                child.accept(this, p);
-            }
+            visitChildren(forNode, p);
             index++;
         }
         if (originalIdentifierValue == null) {
@@ -471,17 +551,13 @@ public class NodePreparedSqlBuilder implements
 
     @Override
     public Void visitForNode(ForNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
     @Override
     public Void visitSelectStatementNode(SelectStatementNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -489,9 +565,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitSelectClauseNode(SelectClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -499,9 +573,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitFromClauseNode(FromClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -515,9 +587,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitGroupByClauseNode(GroupByClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -531,9 +601,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitOptionClauseNode(OptionClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -541,9 +609,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitOrderByClauseNode(OrderByClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -551,30 +617,22 @@ public class NodePreparedSqlBuilder implements
     public Void visitForUpdateClauseNode(ForUpdateClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
     protected void handleConditionalClauseNode(ClauseNode node, Context p) {
         Context context = new Context(p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, context);
-        }
+        visitChildren(node, context);
         if (context.isAvailable()) {
             node.getWordNode().accept(this, p);
             p.setAvailable(true);
-            p.appendRawSql(context.getSqlBuf());
-            p.appendFormattedSql(context.getFormattedSqlBuf());
-            p.addAllParameters(context.getParameters());
+            p.appendContext(context);
         } else {
             String fragment = context.getSqlBuf().toString();
             if (startsWithClauseKeyword(fragment)) {
                 p.setAvailable(true);
-                p.appendRawSql(context.getSqlBuf());
-                p.appendFormattedSql(context.getFormattedSqlBuf());
-                p.addAllParameters(context.getParameters());
+                p.appendContext(context);
             }
         }
     }
@@ -585,17 +643,13 @@ public class NodePreparedSqlBuilder implements
             WordNode wordNode = node.getWordNode();
             wordNode.accept(this, p);
         }
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
     @Override
     public Void visitUpdateStatementNode(UpdateStatementNode node, Context p) {
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -603,9 +657,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitUpdateClauseNode(UpdateClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -613,9 +665,7 @@ public class NodePreparedSqlBuilder implements
     public Void visitSetClauseNode(SetClauseNode node, Context p) {
         WordNode wordNode = node.getWordNode();
         wordNode.accept(this, p);
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, p);
-        }
+        visitChildren(node, p);
         return null;
     }
 
@@ -626,13 +676,11 @@ public class NodePreparedSqlBuilder implements
             @Override
             public void cutBackSql(int length) {
                 p.cutBackSqlBuf(length);
-                p.cutBackFormattedSqlBuf(length);
             }
 
             @Override
             public void appendSql(String sql) {
                 p.appendRawSql(sql);
-                p.appendFormattedSql(sql);
             }
 
             @Override
@@ -651,7 +699,6 @@ public class NodePreparedSqlBuilder implements
             p.appendWhitespaceIfNecessary();
         }
         p.appendRawSql(word);
-        p.appendFormattedSql(word);
         return null;
     }
 
@@ -660,7 +707,6 @@ public class NodePreparedSqlBuilder implements
         p.setAvailable(true);
         String fragment = node.getFragment();
         p.appendRawSql(fragment);
-        p.appendFormattedSql(fragment);
         return null;
     }
 
@@ -673,15 +719,11 @@ public class NodePreparedSqlBuilder implements
         if (node.isEmpty()) {
             context.setAvailable(true);
         }
-        for (SqlNode child : node.getChildren()) {
-            child.accept(this, context);
-        }
+        visitChildren(node, context);
         if (context.isAvailable()) {
             node.getOpenedFragmentNode().accept(this, p);
             p.setAvailable(true);
-            p.appendRawSql(context.getSqlBuf());
-            p.appendFormattedSql(context.getFormattedSqlBuf());
-            p.addAllParameters(context.getParameters());
+            p.appendContext(context);
             node.getClosedFragmentNode().accept(this, p);
         }
         return null;
@@ -691,14 +733,13 @@ public class NodePreparedSqlBuilder implements
     public Void visitEolNode(EolNode node, Context p) {
         String eol = node.getEol();
         p.appendRawSql(eol);
-        p.appendFormattedSql(eol);
         return null;
     }
 
     @Override
     public Void visitExpandNode(ExpandNode node, Context p) {
         EvaluationResult evalResult = p.evaluate(node.getLocation(),
-                node.getAlias());
+                node.getAlias(), node);
         String alias = evalResult.getValue().toString();
         String prefix = alias.isEmpty() ? "" : alias + ".";
         StringJoiner joiner = new StringJoiner(", ");
@@ -707,7 +748,6 @@ public class NodePreparedSqlBuilder implements
         }
         String joined = joiner.toString();
         p.appendRawSql(joined);
-        p.appendFormattedSql(joined);
         return null;
     }
 
@@ -735,14 +775,20 @@ public class NodePreparedSqlBuilder implements
 
         private final StringBuilder rawSqlBuf = new StringBuilder(200);
 
-        private final StringBuilder formattedSqlBuf = new StringBuilder(200);
+        private final DeferredFormattedSql.PositionBuffer parameterPositions = new DeferredFormattedSql.PositionBuffer();
 
         private final List<InParameter<?>> parameters = new ArrayList<>();
 
         private boolean available;
 
+        private SqlPlan plan;
+
+        private Context parent;
+
         protected Context(Context context) {
             this(context.config, context.evaluator);
+            this.plan = context.plan;
+            this.parent = context;
         }
 
         protected Context(Config config, ExpressionEvaluator evaluator) {
@@ -753,7 +799,6 @@ public class NodePreparedSqlBuilder implements
         protected void appendWhitespaceIfNecessary() {
             if (endsWithWordPart()) {
                 rawSqlBuf.append(WHITESPACE);
-                formattedSqlBuf.append(WHITESPACE);
             }
         }
 
@@ -765,28 +810,46 @@ public class NodePreparedSqlBuilder implements
             return SqlTokenUtil.isWordPart(c);
         }
 
-        protected void appendRawSql(CharSequence sql) {
-            rawSqlBuf.append(sql);
+        protected boolean endsWithInKeyword() {
+            int end = rawSqlBuf.length();
+            while (end > 0
+                    && Character.isWhitespace(rawSqlBuf.charAt(end - 1))) {
+                end--;
+            }
+            if (end == 0) {
+                return parent != null && parent.endsWithInKeyword();
+            }
+            int start = end;
+            while (start > 0
+                    && SqlTokenUtil.isWordPart(rawSqlBuf.charAt(start - 1))) {
+                start--;
+            }
+            return end - start == 2
+                    && rawSqlBuf.substring(start, end).equalsIgnoreCase("in");
         }
 
-        protected void appendFormattedSql(CharSequence sql) {
-            formattedSqlBuf.append(sql);
+        protected void appendRawSql(CharSequence sql) {
+            rawSqlBuf.append(sql);
         }
 
         protected void cutBackSqlBuf(int size) {
             rawSqlBuf.setLength(rawSqlBuf.length() - size);
+            parameterPositions.invalidateFrom(rawSqlBuf.length());
         }
 
-        protected void cutBackFormattedSqlBuf(int size) {
-            formattedSqlBuf.setLength(formattedSqlBuf.length() - size);
+        protected void appendContext(Context context) {
+            parameterPositions.addAll(context.parameterPositions,
+                    rawSqlBuf.length());
+            rawSqlBuf.append(context.rawSqlBuf);
+            parameters.addAll(context.parameters);
         }
 
         protected CharSequence getSqlBuf() {
             return rawSqlBuf;
         }
 
-        protected CharSequence getFormattedSqlBuf() {
-            return formattedSqlBuf;
+        protected int[] getParameterPositions() {
+            return parameterPositions.toArray();
         }
 
         protected <BASIC, CONTAINER> void addLiteralValue(
@@ -795,7 +858,6 @@ public class NodePreparedSqlBuilder implements
                     config.getDialect().getSqlLogFormattingVisitor(),
                     formattingFunction, null);
             rawSqlBuf.append(literal);
-            formattedSqlBuf.append(literal);
         }
 
         protected <BASIC, CONTAINER> void addBindValue(
@@ -811,21 +873,22 @@ public class NodePreparedSqlBuilder implements
         protected <BASIC> void appendParameterInternal(
                 InParameter<BASIC> parameter) {
             parameters.add(parameter);
+            parameterPositions.add(rawSqlBuf.length());
             rawSqlBuf.append("?");
-            String formatted = parameter.getWrapper().accept(
-                    config.getDialect().getSqlLogFormattingVisitor(),
-                    formattingFunction, null);
-            formattedSqlBuf.append(formatted);
-        }
-
-        protected void addAllParameters(List<InParameter<?>> values) {
-            parameters.addAll(values);
         }
 
         protected List<InParameter<?>> getParameters() {
             return parameters;
         }
 
+        protected int getBoundParameterCount() {
+            int count = parameters.size();
+            if (parent != null) {
+                count += parent.getBoundParameterCount();
+            }
+            return count;
+        }
+
         void setAvailable(boolean available) {
             this.available = available;
         }
@@ -834,6 +897,14 @@ public class NodePreparedSqlBuilder implements
             return available;
         }
 
+        void setPlan(SqlPlan plan) {
+            this.plan = plan;
+        }
+
+        SqlPlan getPlan() {
+            return plan;
+        }
+
         public void putValue(String variableName, Value value) {
             evaluator.putValue(variableName, value);
         }
@@ -843,10 +914,14 @@ public class NodePreparedSqlBuilder implements
         }
 
         protected EvaluationResult evaluate(SqlLocation location,
-                String expression) {
+                String expression, ExpressionHolderNode holder) {
             try {
-                ExpressionParser parser = new ExpressionParser(expression);
-                ExpressionNode expressionNode = parser.parse();
+                ExpressionNode expressionNode = holder.getParsedExpression();
+                if (expressionNode == null) {
+                    ExpressionParser parser = new ExpressionParser(expression);
+                    expressionNode = parser.parse();
+                    holder.setParsedExpression(expressionNode);
+                }
                 return evaluator.evaluate(expressionNode);
             } catch (ExpressionException e) {
                 throw new JdbcException(Message.DOMA2111, e, location.getSql(),
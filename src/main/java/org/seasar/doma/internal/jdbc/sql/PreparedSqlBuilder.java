@@ -25,9 +25,7 @@ import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
-import org.seasar.doma.jdbc.SqlLogFormattingFunction;
 import org.seasar.doma.jdbc.SqlLogType;
-import org.seasar.doma.wrapper.Wrapper;
 
 public class PreparedSqlBuilder implements SqlContext {
 
@@ -35,14 +33,12 @@ public class PreparedSqlBuilder implements SqlContext {
 
     protected final StringBuilder rawSql = new StringBuilder(200);
 
-    protected final StringBuilder formattedSql = new StringBuilder(200);
+    protected final DeferredFormattedSql.PositionBuffer parameterPositions = new DeferredFormattedSql.PositionBuffer();
 
     protected final Config config;
 
     protected final SqlKind kind;
 
-    protected final SqlLogFormattingFunction formattingFunction;
-
     protected final SqlLogType sqlLogType;
 
     public PreparedSqlBuilder(Config config, SqlKind kind, SqlLogType sqlLogType) {
@@ -50,31 +46,60 @@ public class PreparedSqlBuilder implements SqlContext {
         this.config = config;
         this.kind = kind;
         this.sqlLogType = sqlLogType;
-        this.formattingFunction = new ConvertToLogFormatFunction();
     }
 
     public void appendSql(String sql) {
         rawSql.append(sql);
-        formattedSql.append(sql);
     }
 
     public void cutBackSql(int length) {
         rawSql.setLength(rawSql.length() - length);
-        formattedSql.setLength(formattedSql.length() - length);
+        parameterPositions.invalidateFrom(rawSql.length());
     }
 
     public <BASIC> void appendParameter(InParameter<BASIC> parameter) {
+        parameterPositions.add(rawSql.length());
         rawSql.append("?");
-        Wrapper<BASIC> wrapper = parameter.getWrapper();
-        formattedSql.append(wrapper.accept(config.getDialect()
-                .getSqlLogFormattingVisitor(), formattingFunction, null));
         parameters.add(parameter);
     }
 
+    /**
+     * パラメータを追加せずにプレースホルダを追加します。
+     * <p>
+     * {@link #buildTemplate(Function)} でテンプレートを組み立てる場合に使用します。
+     *
+     * @since 2.20.0
+     */
+    public void appendPlaceholder() {
+        parameterPositions.add(rawSql.length());
+        rawSql.append("?");
+    }
+
     public PreparedSql build(Function<String, String> commenter) {
         assertNotNull(commenter);
-        return new PreparedSql(kind, rawSql, formattedSql, null, parameters,
+        String sql = rawSql.toString();
+        DeferredFormattedSql formattedSql = new DeferredFormattedSql(config
+                .getDialect().getSqlLogFormattingVisitor(), sql,
+                parameterPositions.toArray(), parameters);
+        return new PreparedSql(kind, sql, formattedSql, null, parameters,
                 sqlLogType, commenter);
     }
 
+    /**
+     * 追加したSQLの文字列からテンプレートを組み立てます。
+     * <p>
+     * 追加したパラメータは無視されます。
+     *
+     * @param commenter
+     *            コメントを付与する関数
+     * @return テンプレート
+     * @since 2.20.0
+     */
+    public PreparedSqlTemplate buildTemplate(Function<String, String> commenter) {
+        assertNotNull(commenter);
+        return new PreparedSqlTemplate(kind, rawSql.toString(),
+                parameterPositions.toArray(), config.getDialect()
+                        .getSqlLogFormattingVisitor(), sqlLogType, commenter);
+    }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.seasar.doma.jdbc.InParameter;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogFormattingVisitor;
+import org.seasar.doma.jdbc.SqlLogType;
+
+/**
+ * 同じ形のSQLをパラメータだけを変えて繰り返し組み立てるためのテンプレートです。
+ * <p>
+ * SQLの文字列は1度だけ組み立て、 {@link #build(List)} で作成するすべての {@link PreparedSql}
+ * で共有します。フォーマット済みのSQLは必要になったときにだけ組み立てます。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class PreparedSqlTemplate {
+
+    protected final SqlKind kind;
+
+    protected final String rawSql;
+
+    protected final String commentedRawSql;
+
+    protected final int[] positions;
+
+    protected final SqlLogFormattingVisitor formattingVisitor;
+
+    protected final SqlLogType sqlLogType;
+
+    protected final Function<String, String> commenter;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param kind
+     *            SQLの種別
+     * @param rawSql
+     *            未加工のSQL
+     * @param positions
+     *            パラメータに対応するプレースホルダの位置、無効な場合 {@code -1}
+     * @param formattingVisitor
+     *            SQLのログのフォーマットを行うビジター
+     * @param sqlLogType
+     *            SQLのログの出力形式
+     * @param commenter
+     *            コメントを付与する関数
+     */
+    public PreparedSqlTemplate(SqlKind kind, String rawSql, int[] positions,
+            SqlLogFormattingVisitor formattingVisitor, SqlLogType sqlLogType,
+            Function<String, String> commenter) {
+        assertNotNull(kind, rawSql, positions, formattingVisitor, sqlLogType,
+                commenter);
+        this.kind = kind;
+        this.rawSql = rawSql;
+        this.commentedRawSql = commenter.apply(rawSql.trim());
+        this.positions = positions;
+        this.formattingVisitor = formattingVisitor;
+        this.sqlLogType = sqlLogType;
+        this.commenter = commenter;
+    }
+
+    /**
+     * パラメータをバインドするSQLを組み立てます。
+     *
+     * @param parameters
+     *            プレースホルダの順に並んだパラメータのリスト
+     * @return SQL
+     */
+    public PreparedSql build(List<? extends InParameter<?>> parameters) {
+        assertNotNull(parameters);
+        DeferredFormattedSql formattedSql = new DeferredFormattedSql(
+                formattingVisitor, rawSql, positions, parameters);
+        return new PreparedSql(kind, commentedRawSql,
+                () -> commenter.apply(formattedSql.get().trim()), null,
+                parameters, sqlLogType, Function.identity());
+    }
+
+    /**
+     * 未加工のSQLを返します。
+     *
+     * @return 未加工のSQL
+     */
+    public String getRawSql() {
+        return rawSql;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.Map;
+
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * SQLノードのツリーをコンパイルした実行計画です。
+ * <p>
+ * 静的なノードの連続は1つのテキストのセグメントにまとめられ、評価を必要とするノードはノードのセグメントとして保持されます。
+ * 評価を必要とするノードの子ノードも同様にコンパイルされます。
+ * <p>
+ * このクラスはイミュータブルです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see SqlPlanCompiler
+ */
+public class SqlPlan {
+
+    protected final Segment[] segments;
+
+    protected final Map<SqlNode, Segment[]> childSegmentsMap;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param segments
+     *            ルートのセグメント
+     * @param childSegmentsMap
+     *            ノードをキー、子ノードのセグメントを値とするマップ
+     */
+    public SqlPlan(Segment[] segments,
+            Map<SqlNode, Segment[]> childSegmentsMap) {
+        assertNotNull(segments, childSegmentsMap);
+        this.segments = segments;
+        this.childSegmentsMap = childSegmentsMap;
+    }
+
+    /**
+     * SQLノードのツリーをコンパイルします。
+     *
+     * @param sqlNode
+     *            ルートのノード
+     * @return 実行計画
+     */
+    public static SqlPlan compile(SqlNode sqlNode) {
+        return new SqlPlanCompiler().compile(sqlNode);
+    }
+
+    /**
+     * ルートのセグメントを返します。
+     *
+     * @return ルートのセグメント
+     */
+    public Segment[] getSegments() {
+        return segments;
+    }
+
+    /**
+     * 子ノードのセグメントを返します。
+     *
+     * @param node
+     *            ノード
+     * @return 子ノードのセグメント、コンパイルされていない場合 {@code null}
+     */
+    public Segment[] getChildSegments(SqlNode node) {
+        return childSegmentsMap.get(node);
+    }
+
+    /**
+     * 実行計画のセグメントです。
+     *
+     * @author nakamura-to
+     */
+    public static class Segment {
+
+        protected final String text;
+
+        protected final boolean available;
+
+        protected final boolean whitespaceChecked;
+
+        protected final SqlNode node;
+
+        protected Segment(String text, boolean available,
+                boolean whitespaceChecked) {
+            this.text = text;
+            this.available = available;
+            this.whitespaceChecked = whitespaceChecked;
+            this.node = null;
+        }
+
+        protected Segment(SqlNode node) {
+            this.text = null;
+            this.available = false;
+            this.whitespaceChecked = false;
+            this.node = node;
+        }
+
+        /**
+         * テキストを返します。
+         *
+         * @return テキスト、ノードのセグメントの場合 {@code null}
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * テキストの追加によってSQLが有効になるかどうかを返します。
+         *
+         * @return 有効になる場合 {@code true}
+         */
+        public boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * テキストの前に必要に応じて空白を追加するかどうかを返します。
+         *
+         * @return 空白を追加するかどうかを確認する場合 {@code true}
+         */
+        public boolean isWhitespaceChecked() {
+            return whitespaceChecked;
+        }
+
+        /**
+         * ノードを返します。
+         *
+         * @return ノード、テキストのセグメントの場合 {@code null}
+         */
+        public SqlNode getNode() {
+            return node;
+        }
+
+        @Override
+        public String toString() {
+            return node != null ? node.toString() : text;
+        }
+    }
+}
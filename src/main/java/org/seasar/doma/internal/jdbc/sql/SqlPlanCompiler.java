@@ -0,0 +1,460 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.seasar.doma.internal.jdbc.sql.SqlPlan.Segment;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.ClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.CommentNode;
+import org.seasar.doma.internal.jdbc.sql.node.ElseNode;
+import org.seasar.doma.internal.jdbc.sql.node.ElseifNode;
+import org.seasar.doma.internal.jdbc.sql.node.EmbeddedVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.EndNode;
+import org.seasar.doma.internal.jdbc.sql.node.EolNode;
+import org.seasar.doma.internal.jdbc.sql.node.ExpandNode;
+import org.seasar.doma.internal.jdbc.sql.node.ForBlockNode;
+import org.seasar.doma.internal.jdbc.sql.node.ForNode;
+import org.seasar.doma.internal.jdbc.sql.node.ForUpdateClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.FragmentNode;
+import org.seasar.doma.internal.jdbc.sql.node.FromClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.GroupByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.HavingClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.IfBlockNode;
+import org.seasar.doma.internal.jdbc.sql.node.IfNode;
+import org.seasar.doma.internal.jdbc.sql.node.LiteralVariableNode;
+import org.seasar.doma.internal.jdbc.sql.node.LogicalOperatorNode;
+import org.seasar.doma.internal.jdbc.sql.node.OptionClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OrderByClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.OtherNode;
+import org.seasar.doma.internal.jdbc.sql.node.ParensNode;
+import org.seasar.doma.internal.jdbc.sql.node.PopulateNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.SelectStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.SetClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.UpdateClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.UpdateStatementNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhereClauseNode;
+import org.seasar.doma.internal.jdbc.sql.node.WhitespaceNode;
+import org.seasar.doma.internal.jdbc.sql.node.WordNode;
+import org.seasar.doma.internal.util.SqlTokenUtil;
+import org.seasar.doma.internal.util.StringUtil;
+import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.SqlNodeVisitor;
+
+/**
+ * SQLノードのツリーを {@link SqlPlan} にコンパイルします。
+ * <p>
+ * {@link NodePreparedSqlBuilder} と同じ規則で、評価を必要としないノードをテキストに展開します。 WHERE句、HAVING句、括弧、
+ * 論理演算子の要否がコンパイル時に決まる場合は、その判定もコンパイル時に行います。
+ * <p>
+ * このクラスはスレッドセーフではありません。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class SqlPlanCompiler implements
+        SqlNodeVisitor<Void, SqlPlanCompiler.Run> {
+
+    protected final Map<SqlNode, Segment[]> childSegmentsMap = new IdentityHashMap<>();
+
+    /**
+     * SQLノードのツリーをコンパイルします。
+     *
+     * @param sqlNode
+     *            ルートのノード
+     * @return 実行計画
+     */
+    public SqlPlan compile(SqlNode sqlNode) {
+        assertNotNull(sqlNode);
+        Run run = new Run(true, Boolean.FALSE);
+        sqlNode.accept(this, run);
+        return new SqlPlan(run.finish(), childSegmentsMap);
+    }
+
+    @Override
+    public Void visitAnonymousNode(AnonymousNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitOtherNode(OtherNode node, Run p) {
+        p.appendText(node.getOther(), true);
+        return null;
+    }
+
+    @Override
+    public Void visitWhitespaceNode(WhitespaceNode node, Run p) {
+        p.appendText(node.getWhitespace(), false);
+        return null;
+    }
+
+    @Override
+    public Void visitCommentNode(CommentNode node, Run p) {
+        p.appendText(node.getComment(), false);
+        return null;
+    }
+
+    @Override
+    public Void visitBindVariableNode(BindVariableNode node, Run p) {
+        p.appendNode(node, Boolean.TRUE);
+        return null;
+    }
+
+    @Override
+    public Void visitLiteralVariableNode(LiteralVariableNode node, Run p) {
+        p.appendNode(node, Boolean.TRUE);
+        return null;
+    }
+
+    @Override
+    public Void visitEmbeddedVariableNode(EmbeddedVariableNode node, Run p) {
+        compileChildren(node, p);
+        p.appendNode(node, p.getAvailableAfterDynamicNode());
+        return null;
+    }
+
+    @Override
+    public Void visitIfBlockNode(IfBlockNode node, Run p) {
+        compileChildren(node.getIfNode(), p);
+        for (ElseifNode elseifNode : node.getElseifNodes()) {
+            compileChildren(elseifNode, p);
+        }
+        if (node.getElseNode() != null) {
+            compileChildren(node.getElseNode(), p);
+        }
+        compileChildren(node.getEndNode(), p);
+        p.appendNode(node, p.getAvailableAfterDynamicNode());
+        return null;
+    }
+
+    @Override
+    public Void visitIfNode(IfNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitElseifNode(ElseifNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitElseNode(ElseNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitEndNode(EndNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitForBlockNode(ForBlockNode node, Run p) {
+        compileChildren(node.getForNode(), p);
+        compileChildren(node.getEndNode(), p);
+        p.appendNode(node, p.getAvailableAfterDynamicNode());
+        return null;
+    }
+
+    @Override
+    public Void visitForNode(ForNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitSelectStatementNode(SelectStatementNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitSelectClauseNode(SelectClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitFromClauseNode(FromClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitWhereClauseNode(WhereClauseNode node, Run p) {
+        handleConditionalClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitGroupByClauseNode(GroupByClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitHavingClauseNode(HavingClauseNode node, Run p) {
+        handleConditionalClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitOptionClauseNode(OptionClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitOrderByClauseNode(OrderByClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitForUpdateClauseNode(ForUpdateClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    protected void visitClauseNode(ClauseNode node, Run p) {
+        node.getWordNode().accept(this, p);
+        visitChildren(node, p);
+    }
+
+    protected void handleConditionalClauseNode(ClauseNode node, Run p) {
+        Run run = new Run(true, Boolean.FALSE);
+        visitChildren(node, run);
+        Segment[] segments = run.finish();
+        if (!isStatic(segments)) {
+            childSegmentsMap.put(node, segments);
+            p.appendNode(node, p.getAvailableAfterDynamicNode());
+            return;
+        }
+        String text = getText(segments);
+        if (run.available == Boolean.TRUE) {
+            node.getWordNode().accept(this, p);
+            p.appendText(text, true);
+        } else if (startsWithClauseKeyword(text)) {
+            p.appendText(text, true);
+        }
+    }
+
+    @Override
+    public Void visitLogicalOperatorNode(LogicalOperatorNode node, Run p) {
+        if (p.available == null) {
+            compileChildren(node, p);
+            p.appendNode(node, null);
+            return null;
+        }
+        if (p.available) {
+            node.getWordNode().accept(this, p);
+        }
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitUpdateStatementNode(UpdateStatementNode node, Run p) {
+        visitChildren(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitUpdateClauseNode(UpdateClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitSetClauseNode(SetClauseNode node, Run p) {
+        visitClauseNode(node, p);
+        return null;
+    }
+
+    @Override
+    public Void visitPopulateNode(PopulateNode node, Run p) {
+        p.appendNode(node, p.available);
+        return null;
+    }
+
+    @Override
+    public Void visitWordNode(WordNode node, Run p) {
+        if (node.isReserved()) {
+            p.appendWhitespaceIfNecessary();
+        }
+        p.appendText(node.getWord(), true);
+        return null;
+    }
+
+    @Override
+    public Void visitFragmentNode(FragmentNode node, Run p) {
+        p.appendText(node.getFragment(), true);
+        return null;
+    }
+
+    @Override
+    public Void visitParensNode(ParensNode node, Run p) {
+        if (node.isAttachedWithValue()) {
+            return null;
+        }
+        Run run = new Run(true, node.isEmpty());
+        visitChildren(node, run);
+        Segment[] segments = run.finish();
+        if (!isStatic(segments)) {
+            childSegmentsMap.put(node, segments);
+            p.appendNode(node, p.getAvailableAfterDynamicNode());
+            return null;
+        }
+        if (run.available == Boolean.TRUE) {
+            node.getOpenedFragmentNode().accept(this, p);
+            p.appendText(getText(segments), true);
+            node.getClosedFragmentNode().accept(this, p);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitEolNode(EolNode node, Run p) {
+        p.appendText(node.getEol(), false);
+        return null;
+    }
+
+    @Override
+    public Void visitExpandNode(ExpandNode node, Run p) {
+        p.appendNode(node, p.available);
+        return null;
+    }
+
+    protected void visitChildren(SqlNode node, Run p) {
+        for (SqlNode child : node.getChildren()) {
+            child.accept(this, p);
+        }
+    }
+
+    protected void compileChildren(SqlNode node, Run p) {
+        Run run = new Run(false, p.getAvailableAfterDynamicNode());
+        visitChildren(node, run);
+        childSegmentsMap.put(node, run.finish());
+    }
+
+    protected boolean isStatic(Segment[] segments) {
+        for (Segment segment : segments) {
+            if (segment.getNode() != null || segment.isWhitespaceChecked()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected String getText(Segment[] segments) {
+        StringBuilder buf = new StringBuilder();
+        for (Segment segment : segments) {
+            buf.append(segment.getText());
+        }
+        return buf.toString();
+    }
+
+    protected boolean startsWithClauseKeyword(String fragment) {
+        return NodePreparedSqlBuilder.clauseKeywordPattern.matcher(
+                StringUtil.trimWhitespace(fragment)).lookingAt();
+    }
+
+    /**
+     * SQLの組み立てに用いられる1つのバッファに対応するコンパイルの状態です。
+     *
+     * @author nakamura-to
+     */
+    protected static class Run {
+
+        private final List<Segment> segments = new ArrayList<>();
+
+        private final StringBuilder text = new StringBuilder();
+
+        private boolean textAvailable;
+
+        private boolean textWhitespaceChecked;
+
+        /** バッファが空であることがわかっている場合 {@code true} */
+        private boolean empty;
+
+        /** SQLが有効かどうか、実行時まで決まらない場合 {@code null} */
+        private Boolean available;
+
+        protected Run(boolean empty, Boolean available) {
+            this.empty = empty;
+            this.available = available;
+        }
+
+        protected void appendText(String s, boolean available) {
+            text.append(s);
+            if (available) {
+                textAvailable = true;
+                this.available = Boolean.TRUE;
+            }
+            if (!s.isEmpty()) {
+                empty = false;
+            }
+        }
+
+        protected void appendWhitespaceIfNecessary() {
+            if (text.length() > 0) {
+                if (SqlTokenUtil.isWordPart(text.charAt(text.length() - 1))) {
+                    text.append(' ');
+                }
+            } else if (!empty) {
+                textWhitespaceChecked = true;
+            }
+        }
+
+        protected void appendNode(SqlNode node, Boolean availableAfter) {
+            flush();
+            segments.add(new Segment(node));
+            empty = false;
+            available = availableAfter;
+        }
+
+        protected Boolean getAvailableAfterDynamicNode() {
+            return available == Boolean.TRUE ? Boolean.TRUE : null;
+        }
+
+        protected Segment[] finish() {
+            flush();
+            return segments.toArray(new Segment[segments.size()]);
+        }
+
+        private void flush() {
+            if (text.length() > 0 || textAvailable || textWhitespaceChecked) {
+                segments.add(new Segment(text.toString(), textAvailable,
+                        textWhitespaceChecked));
+            }
+            text.setLength(0);
+            textAvailable = false;
+            textWhitespaceChecked = false;
+        }
+    }
+}
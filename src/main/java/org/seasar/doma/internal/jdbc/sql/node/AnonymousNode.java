@@ -16,6 +16,7 @@
 package org.seasar.doma.internal.jdbc.sql.node;
 
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.jdbc.sql.SqlPlan;
 import org.seasar.doma.jdbc.SqlNodeVisitor;
 
 /**
@@ -24,9 +25,35 @@ import org.seasar.doma.jdbc.SqlNodeVisitor;
  */
 public class AnonymousNode extends AbstractSqlNode {
 
+    protected volatile boolean visited;
+
+    protected volatile SqlPlan plan;
+
     public AnonymousNode() {
     }
 
+    /**
+     * このノードをルートとする実行計画を返します。
+     * <p>
+     * 同じノードから繰り返しSQLが組み立てられる場合にのみ実行計画をコンパイルしてキャッシュします。
+     * 初回の呼び出しでは {@code null} を返します。
+     *
+     * @return 実行計画、コンパイルされていない場合 {@code null}
+     * @since 2.20.0
+     */
+    public SqlPlan getPlan() {
+        SqlPlan result = plan;
+        if (result == null) {
+            if (visited) {
+                result = SqlPlan.compile(this);
+                plan = result;
+            } else {
+                visited = true;
+            }
+        }
+        return result;
+    }
+
     @Override
     public <R, P> R accept(SqlNodeVisitor<R, P> visitor, P p) {
         if (visitor == null) {
@@ -18,13 +18,15 @@ package org.seasar.doma.internal.jdbc.sql.node;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.jdbc.SqlNodeVisitor;
 
 /**
  * @author taedium
  * 
  */
-public class ElseifNode extends AbstractSqlNode implements SpaceStrippingNode {
+public class ElseifNode extends AbstractSqlNode implements SpaceStrippingNode,
+        ExpressionHolderNode {
 
     protected final SqlLocation location;
 
@@ -32,6 +34,8 @@ public class ElseifNode extends AbstractSqlNode implements SpaceStrippingNode {
 
     protected final String text;
 
+    protected volatile ExpressionNode parsedExpression;
+
     public ElseifNode(SqlLocation location, String expression, String text) {
         assertNotNull(location, expression, text);
         this.location = location;
@@ -47,6 +51,16 @@ public class ElseifNode extends AbstractSqlNode implements SpaceStrippingNode {
         return expression;
     }
 
+    @Override
+    public ExpressionNode getParsedExpression() {
+        return parsedExpression;
+    }
+
+    @Override
+    public void setParsedExpression(ExpressionNode parsedExpression) {
+        this.parsedExpression = parsedExpression;
+    }
+
     @Override
     public void clearChildren() {
         children.clear();
@@ -18,9 +18,11 @@ package org.seasar.doma.internal.jdbc.sql.node;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.jdbc.SqlNodeVisitor;
 
-public class EmbeddedVariableNode extends AbstractSqlNode {
+public class EmbeddedVariableNode extends AbstractSqlNode implements
+        ExpressionHolderNode {
 
     protected final SqlLocation location;
 
@@ -28,6 +30,8 @@ public class EmbeddedVariableNode extends AbstractSqlNode {
 
     protected final String text;
 
+    protected volatile ExpressionNode parsedExpression;
+
     public EmbeddedVariableNode(SqlLocation location, String variableName,
             String text) {
         assertNotNull(location, variableName, text);
@@ -48,6 +52,16 @@ public class EmbeddedVariableNode extends AbstractSqlNode {
         return text;
     }
 
+    @Override
+    public ExpressionNode getParsedExpression() {
+        return parsedExpression;
+    }
+
+    @Override
+    public void setParsedExpression(ExpressionNode parsedExpression) {
+        this.parsedExpression = parsedExpression;
+    }
+
     @Override
     public <R, P> R accept(SqlNodeVisitor<R, P> visitor, P p) {
         if (visitor == null) {
@@ -18,11 +18,13 @@ package org.seasar.doma.internal.jdbc.sql.node;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.jdbc.JdbcUnsupportedOperationException;
 import org.seasar.doma.jdbc.SqlNode;
 import org.seasar.doma.jdbc.SqlNodeVisitor;
 
-public class ExpandNode extends AbstractSqlNode {
+public class ExpandNode extends AbstractSqlNode implements
+        ExpressionHolderNode {
 
     protected final SqlLocation location;
 
@@ -30,6 +32,8 @@ public class ExpandNode extends AbstractSqlNode {
 
     protected final String text;
 
+    protected volatile ExpressionNode parsedExpression;
+
     public ExpandNode(SqlLocation location, String alias, String text) {
         assertNotNull(location, alias, text);
         this.location = location;
@@ -49,6 +53,16 @@ public class ExpandNode extends AbstractSqlNode {
         return text;
     }
 
+    @Override
+    public ExpressionNode getParsedExpression() {
+        return parsedExpression;
+    }
+
+    @Override
+    public void setParsedExpression(ExpressionNode parsedExpression) {
+        this.parsedExpression = parsedExpression;
+    }
+
     @Override
     public void appendNode(SqlNode child) {
         throw new JdbcUnsupportedOperationException(getClass().getName(),
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql.node;
+
+import org.seasar.doma.internal.expr.node.ExpressionNode;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * 評価される式を持つノードです。
+ * <p>
+ * 解析済みの式を保持し、SQLを組み立てるたびに式を解析することを避けます。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public interface ExpressionHolderNode extends SqlNode {
+
+    /**
+     * 解析済みの式を返します。
+     *
+     * @return 解析済みの式、まだ解析されていない場合 {@code null}
+     */
+    ExpressionNode getParsedExpression();
+
+    /**
+     * 解析済みの式を設定します。
+     *
+     * @param expressionNode
+     *            解析済みの式
+     */
+    void setParsedExpression(ExpressionNode expressionNode);
+}
@@ -18,13 +18,15 @@ package org.seasar.doma.internal.jdbc.sql.node;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.jdbc.SqlNodeVisitor;
 
 /**
  * @author taedium
  * 
  */
-public class ForNode extends AbstractSqlNode implements SpaceStrippingNode {
+public class ForNode extends AbstractSqlNode implements SpaceStrippingNode,
+        ExpressionHolderNode {
 
     protected final SqlLocation location;
 
@@ -34,6 +36,8 @@ public class ForNode extends AbstractSqlNode implements SpaceStrippingNode {
 
     protected final String text;
 
+    protected volatile ExpressionNode parsedExpression;
+
     public ForNode(SqlLocation location, String identifier, String expression,
             String text) {
         assertNotNull(location, identifier, expression, text);
@@ -55,6 +59,16 @@ public class ForNode extends AbstractSqlNode implements SpaceStrippingNode {
         return expression;
     }
 
+    @Override
+    public ExpressionNode getParsedExpression() {
+        return parsedExpression;
+    }
+
+    @Override
+    public void setParsedExpression(ExpressionNode parsedExpression) {
+        this.parsedExpression = parsedExpression;
+    }
+
     @Override
     public void clearChildren() {
         children.clear();
@@ -30,7 +30,7 @@ public class LogicalOperatorNode extends AbstractSqlNode {
         this(new WordNode(word, true));
     }
 
-    protected LogicalOperatorNode(WordNode wordNode) {
+    public LogicalOperatorNode(WordNode wordNode) {
         this.wordNode = wordNode;
     }
 
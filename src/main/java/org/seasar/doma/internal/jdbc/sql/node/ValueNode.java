@@ -17,6 +17,7 @@ package org.seasar.doma.internal.jdbc.sql.node;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.jdbc.JdbcUnsupportedOperationException;
 import org.seasar.doma.jdbc.SqlNode;
 
@@ -24,7 +25,8 @@ import org.seasar.doma.jdbc.SqlNode;
  * @author nakamura-to
  *
  */
-public abstract class ValueNode extends AbstractSqlNode {
+public abstract class ValueNode extends AbstractSqlNode implements
+        ExpressionHolderNode {
 
     protected final SqlLocation location;
 
@@ -32,6 +34,8 @@ public abstract class ValueNode extends AbstractSqlNode {
 
     protected final String text;
 
+    protected volatile ExpressionNode parsedExpression;
+
     protected WordNode wordNode;
 
     protected ParensNode parensNode;
@@ -55,6 +59,16 @@ public abstract class ValueNode extends AbstractSqlNode {
         return text;
     }
 
+    @Override
+    public ExpressionNode getParsedExpression() {
+        return parsedExpression;
+    }
+
+    @Override
+    public void setParsedExpression(ExpressionNode parsedExpression) {
+        this.parsedExpression = parsedExpression;
+    }
+
     @Override
     public void appendNode(SqlNode child) {
         throw new JdbcUnsupportedOperationException(getClass().getName(),
@@ -3,6 +3,7 @@ package org.seasar.doma.jdbc;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.seasar.doma.DomaNullPointerException;
 
@@ -12,7 +13,11 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
 
     protected final String rawSql;
 
-    protected final String formattedSql;
+    protected volatile String formattedSql;
+
+    protected volatile Supplier<? extends CharSequence> formattedSqlSupplier;
+
+    protected final Function<String, String> commenter;
 
     protected final String sqlFilePath;
 
@@ -24,14 +29,45 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
             CharSequence formattedSql, String sqlFilePath,
             List<? extends P> parameters, SqlLogType sqlLogType,
             Function<String, String> commenter) {
+        this(kind, rawSql, toSupplier(formattedSql), sqlFilePath, parameters,
+                sqlLogType, commenter);
+        this.formattedSql = commenter.apply(formattedSql.toString().trim());
+        this.formattedSqlSupplier = null;
+    }
+
+    /**
+     * フォーマット済みのSQLを遅延して組み立てるインスタンスを構築します。
+     * <p>
+     * フォーマット済みのSQLは {@link #getFormattedSql()} が最初に呼び出されたときに組み立てられます。
+     *
+     * @param kind
+     *            SQLの種別
+     * @param rawSql
+     *            未加工のSQL
+     * @param formattedSqlSupplier
+     *            フォーマット済みのSQLのサプライヤ
+     * @param sqlFilePath
+     *            SQLファイルのパス
+     * @param parameters
+     *            パラメータのリスト
+     * @param sqlLogType
+     *            SQLのログの出力形式
+     * @param commenter
+     *            コメントを付与する関数
+     * @since 2.20.0
+     */
+    protected AbstractSql(SqlKind kind, CharSequence rawSql,
+            Supplier<? extends CharSequence> formattedSqlSupplier,
+            String sqlFilePath, List<? extends P> parameters,
+            SqlLogType sqlLogType, Function<String, String> commenter) {
         if (kind == null) {
             throw new DomaNullPointerException("kind");
         }
         if (rawSql == null) {
             throw new DomaNullPointerException("rawSql");
         }
-        if (formattedSql == null) {
-            throw new DomaNullPointerException("formattedSql");
+        if (formattedSqlSupplier == null) {
+            throw new DomaNullPointerException("formattedSqlSupplier");
         }
         if (parameters == null) {
             throw new DomaNullPointerException("parameters");
@@ -44,12 +80,20 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
         }
         this.kind = kind;
         this.rawSql = commenter.apply(rawSql.toString().trim());
-        this.formattedSql = commenter.apply(formattedSql.toString().trim());
+        this.formattedSqlSupplier = formattedSqlSupplier;
+        this.commenter = commenter;
         this.sqlFilePath = sqlFilePath;
         this.parameters = Collections.unmodifiableList(parameters);
         this.sqlLogType = sqlLogType;
     }
 
+    private static Supplier<CharSequence> toSupplier(CharSequence formattedSql) {
+        if (formattedSql == null) {
+            throw new DomaNullPointerException("formattedSql");
+        }
+        return () -> formattedSql;
+    }
+
     @Override
     public SqlKind getKind() {
         return kind;
@@ -62,7 +106,17 @@ public abstract class AbstractSql<P extends SqlParameter> implements Sql<P> {
 
     @Override
     public String getFormattedSql() {
-        return formattedSql;
+        String result = formattedSql;
+        if (result == null) {
+            Supplier<? extends CharSequence> supplier = formattedSqlSupplier;
+            if (supplier == null) {
+                return formattedSql;
+            }
+            result = commenter.apply(supplier.get().toString().trim());
+            formattedSql = result;
+            formattedSqlSupplier = null;
+        }
+        return result;
     }
 
     @Override
@@ -239,6 +239,20 @@ public interface Config {
         return 0;
     }
 
+    /**
+     * バインド変数コメントで展開するIN句の要素数を2のべき乗に切り上げるかどうかを返します。
+     * <p>
+     * {@code true} を返す場合、IN句のバインド変数コメントに5つの値を持つ {@link Iterable} が渡されると、
+     * 最後の値を繰り返して8つのバインド変数に展開します。
+     * 要素数ごとに異なるSQLが発行されることを避け、RDBMSの実行計画のキャッシュや文のキャッシュを効率よく利用できます。
+     * 
+     * @return 切り上げる場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean isInListPaddingEnabled() {
+        return false;
+    }
+
     /**
      * {@link EntityListener} のプロバイダを返します。
      * 
@@ -249,6 +263,16 @@ public interface Config {
         return ConfigSupport.defaultEntityListenerProvider;
     }
 
+    /**
+     * SQLの実行に関するメトリクスの記録者を返します。
+     * 
+     * @return メトリクスの記録者
+     * @since 2.20.0
+     */
+    default SqlMetricsRecorder getSqlMetricsRecorder() {
+        return ConfigSupport.defaultSqlMetricsRecorder;
+    }
+
     /**
      * {@link ConfigProvider} から {@link Config} を取得します。
      * 
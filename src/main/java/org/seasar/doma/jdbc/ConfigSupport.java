@@ -61,4 +61,10 @@ public final class ConfigSupport {
      */
     public static EntityListenerProvider defaultEntityListenerProvider = new EntityListenerProvider() {
     };
+
+    /**
+     * @since 2.20.0
+     */
+    public static SqlMetricsRecorder defaultSqlMetricsRecorder = new SqlMetricsRecorder() {
+    };
 }
@@ -16,13 +16,21 @@
 package org.seasar.doma.jdbc;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
 import org.seasar.doma.jdbc.dialect.Dialect;
 
 /**
  * SQLの解析結果をメモリが許す限り最大限にキャッシュする {@link SqlFileRepository} の実装です。
+ * <p>
+ * {@link #preload(Dialect, Class...)} を使用すると、アプリケーションの起動時にSQLファイルを読み込んでおくことができます。
  * 
  * @author taedium
  * 
@@ -45,6 +53,93 @@ public class GreedyCacheSqlFileRepository extends AbstractSqlFileRepository {
         return current != null ? current : file;
     }
 
+    /**
+     * Daoのメソッドに対応するSQLファイルを並列に読み込み、キャッシュします。
+     * <p>
+     * SQLファイルのパスはDaoのインタフェースの名前とメソッドの名前から決定します。
+     * 方言に固有のSQLファイルが存在する場合はそのファイルを読み込みます。
+     * SQLファイルを使用しないメソッドは無視されます。
+     *
+     * @param dialect
+     *            方言
+     * @param daoClasses
+     *            Daoのインタフェース
+     * @return 読み込みの結果
+     * @throws JdbcException
+     *             SQLファイルの読み込みや解析に失敗した場合
+     * @since 2.20.0
+     */
+    public SqlFilePreloadResult preload(Dialect dialect,
+            Class<?>... daoClasses) {
+        if (dialect == null) {
+            throw new DomaNullPointerException("dialect");
+        }
+        if (daoClasses == null) {
+            throw new DomaNullPointerException("daoClasses");
+        }
+        Set<String> paths = new LinkedHashSet<String>();
+        for (Class<?> daoClass : daoClasses) {
+            for (Method method : daoClass.getMethods()) {
+                paths.add(SqlFileUtil.buildPath(daoClass.getName(),
+                        method.getName()));
+            }
+        }
+        return preload(dialect, paths);
+    }
+
+    /**
+     * 指定されたパスのSQLファイルを並列に読み込み、キャッシュします。
+     * <p>
+     * 方言に固有のSQLファイルが存在する場合はそのファイルを読み込みます。
+     *
+     * @param dialect
+     *            方言
+     * @param paths
+     *            SQLファイルのパス
+     * @return 読み込みの結果
+     * @throws JdbcException
+     *             SQLファイルの読み込みや解析に失敗した場合
+     * @since 2.20.0
+     */
+    public SqlFilePreloadResult preload(Dialect dialect,
+            Collection<String> paths) {
+        if (dialect == null) {
+            throw new DomaNullPointerException("dialect");
+        }
+        if (paths == null) {
+            throw new DomaNullPointerException("paths");
+        }
+        long start = System.nanoTime();
+        LongAdder loadedCount = new LongAdder();
+        LongAdder missingCount = new LongAdder();
+        // 並列ストリームのワーカースレッドには呼び出し元のコンテキストクラスローダーが
+        // 設定されていないため、タスクごとに設定してから読み込む
+        ClassLoader classLoader = Thread.currentThread()
+                .getContextClassLoader();
+        paths.parallelStream().forEach(path -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader original = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                if (!sqlFileMap.containsKey(path)) {
+                    SqlFile file;
+                    try {
+                        file = createSqlFile(path, dialect);
+                    } catch (SqlFileNotFoundException e) {
+                        missingCount.increment();
+                        return;
+                    }
+                    sqlFileMap.putIfAbsent(path, file);
+                }
+                loadedCount.increment();
+            } finally {
+                thread.setContextClassLoader(original);
+            }
+        });
+        return new SqlFilePreloadResult(loadedCount.intValue(),
+                missingCount.intValue(), System.nanoTime() - start);
+    }
+
     @Override
     public void clearCache() {
         sqlFileMap.clear();
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.seasar.doma.DomaNullPointerException;
+
+/**
+ * メトリクスをメモリ上のヒストグラムに集計する {@link SqlMetricsRecorder} の実装です。
+ * <p>
+ * メトリクスは {@link SqlMetricsTags} ごとに集計され、記録はロックを使用せずに行われます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class InMemorySqlMetricsRecorder implements SqlMetricsRecorder {
+
+    protected final ConcurrentMap<SqlMetricsTags, SqlMetrics> metricsMap = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordPrepare(SqlMetricsTags tags, long nanos) {
+        getOrCreate(tags).recordPrepare(nanos);
+    }
+
+    @Override
+    public void recordExecute(SqlMetricsTags tags, long nanos, long rows) {
+        getOrCreate(tags).recordExecute(nanos, rows);
+    }
+
+    @Override
+    public void recordFetch(SqlMetricsTags tags, long nanos, long rows) {
+        getOrCreate(tags).recordFetch(nanos, rows);
+    }
+
+    @Override
+    public void recordBatch(SqlMetricsTags tags, int chunks, int batchSize) {
+        getOrCreate(tags).recordBatch(chunks);
+    }
+
+    protected SqlMetrics getOrCreate(SqlMetricsTags tags) {
+        if (tags == null) {
+            throw new DomaNullPointerException("tags");
+        }
+        SqlMetrics metrics = metricsMap.get(tags);
+        if (metrics == null) {
+            metrics = metricsMap.computeIfAbsent(tags, k -> new SqlMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * タグに対応するメトリクスを返します。
+     *
+     * @param tags
+     *            タグ
+     * @return メトリクス、記録されていない場合 {@code null}
+     */
+    public SqlMetrics getMetrics(SqlMetricsTags tags) {
+        if (tags == null) {
+            throw new DomaNullPointerException("tags");
+        }
+        return metricsMap.get(tags);
+    }
+
+    /**
+     * すべてのメトリクスを返します。
+     *
+     * @return タグをキー、メトリクスを値とする変更不可能なマップ
+     */
+    public Map<SqlMetricsTags, SqlMetrics> getAllMetrics() {
+        return Collections.unmodifiableMap(metricsMap);
+    }
+
+    /**
+     * すべてのメトリクスを破棄します。
+     */
+    public void clear() {
+        metricsMap.clear();
+    }
+}
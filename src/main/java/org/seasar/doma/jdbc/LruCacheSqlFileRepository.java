@@ -0,0 +1,202 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.jdbc.dialect.Dialect;
+
+/**
+ * SQLの解析結果を最大サイズまでキャッシュし、最も長く使われていないものから追い出す {@link SqlFileRepository}
+ * の実装です。
+ * <p>
+ * デフォルトではキャッシュのサイズはSQLファイルの数で計測されます。 推定したメモリ量などで計測するには
+ * {@link #weigh(SqlFile)} をオーバーライドしてください。
+ * <p>
+ * キャッシュのキーには方言の名前が含まれるため、複数の方言で同じインスタンスを共有できます。
+ * <p>
+ * キャッシュがヒットした場合はロックを取得せず、エントリに最後に使われた順番を記録するだけです。
+ * 追加と追い出しのみを排他し、追い出す際にはエントリを走査して最も長く使われていないものを探します。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class LruCacheSqlFileRepository extends AbstractSqlFileRepository {
+
+    /** キャッシュの最大サイズ */
+    protected final long maxSize;
+
+    /** 方言の名前とSQLのパスをキー、エントリを値とするマップです。 */
+    protected final ConcurrentHashMap<String, Entry> sqlFileMap = new ConcurrentHashMap<String, Entry>(
+            200);
+
+    /** エントリが使われた順番を採番するカウンタ */
+    protected final AtomicLong clock = new AtomicLong();
+
+    /** 追加と追い出しを排他するロック */
+    protected final Object evictionLock = new Object();
+
+    /** 統計情報 */
+    protected final SqlFileCacheStatistics statistics = new SqlFileCacheStatistics();
+
+    /** キャッシュされているSQLファイルのサイズの合計 */
+    protected volatile long totalSize;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param maxSize
+     *            キャッシュの最大サイズ
+     * @throws DomaIllegalArgumentException
+     *             {@code maxSize} が1未満の場合
+     */
+    public LruCacheSqlFileRepository(long maxSize) {
+        if (maxSize < 1) {
+            throw new DomaIllegalArgumentException("maxSize",
+                    "The maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected SqlFile getSqlFileWithCacheControl(Method method, String path,
+            Dialect dialect) {
+        String key = dialect.getName() + ":" + path;
+        Entry entry = sqlFileMap.get(key);
+        if (entry != null) {
+            entry.lastAccess = clock.incrementAndGet();
+            statistics.incrementHitCount();
+            return entry.sqlFile;
+        }
+        statistics.incrementMissCount();
+        long start = System.nanoTime();
+        SqlFile file = createSqlFile(path, dialect);
+        statistics.recordLoad(System.nanoTime() - start);
+        Entry newEntry = new Entry(file, weigh(file));
+        synchronized (evictionLock) {
+            Entry current = sqlFileMap.get(key);
+            if (current != null) {
+                current.lastAccess = clock.incrementAndGet();
+                return current.sqlFile;
+            }
+            newEntry.lastAccess = clock.incrementAndGet();
+            sqlFileMap.put(key, newEntry);
+            totalSize += newEntry.size;
+            evict(newEntry);
+        }
+        return file;
+    }
+
+    /**
+     * 最大サイズを超えている間、最も長く使われていないSQLファイルを追い出します。
+     * <p>
+     * 直前に追加されたSQLファイルは追い出しません。 {@link #evictionLock} を取得した状態で呼び出されます。
+     *
+     * @param added
+     *            直前に追加されたエントリ
+     */
+    protected void evict(Entry added) {
+        while (totalSize > maxSize) {
+            Map.Entry<String, Entry> eldest = null;
+            for (Map.Entry<String, Entry> e : sqlFileMap.entrySet()) {
+                Entry candidate = e.getValue();
+                if (candidate != added
+                        && (eldest == null || candidate.lastAccess < eldest
+                                .getValue().lastAccess)) {
+                    eldest = e;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            sqlFileMap.remove(eldest.getKey());
+            totalSize -= eldest.getValue().size;
+            statistics.incrementEvictionCount();
+        }
+    }
+
+    /**
+     * キャッシュにおけるSQLファイルのサイズを返します。
+     * <p>
+     * 同じSQLファイルに対しては常に同じ値を返さなければいけません。
+     *
+     * @param sqlFile
+     *            SQLファイル
+     * @return サイズ
+     */
+    protected long weigh(SqlFile sqlFile) {
+        return 1;
+    }
+
+    /**
+     * キャッシュされているSQLファイルの数を返します。
+     *
+     * @return SQLファイルの数
+     */
+    public int getCachedFileCount() {
+        return sqlFileMap.size();
+    }
+
+    /**
+     * キャッシュされているSQLファイルのサイズの合計を返します。
+     *
+     * @return サイズの合計
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * 統計情報を返します。
+     *
+     * @return 統計情報
+     */
+    public SqlFileCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void clearCache() {
+        synchronized (evictionLock) {
+            sqlFileMap.clear();
+            totalSize = 0;
+        }
+    }
+
+    /**
+     * キャッシュのエントリです。
+     *
+     * @author nakamura-to
+     */
+    protected static class Entry {
+
+        protected final SqlFile sqlFile;
+
+        protected final long size;
+
+        /** 最後に使われた順番 */
+        protected volatile long lastAccess;
+
+        protected Entry(SqlFile sqlFile, long size) {
+            this.sqlFile = sqlFile;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+import org.seasar.doma.message.Message;
+
+/**
+ * {@link PooledDataSource} が貸し出すコネクションです。
+ * <p>
+ * {@code close()} を呼び出すと、物理的なコネクションをプールへ返却します。 返却後は、
+ * {@code close()} と {@code isClosed()} 以外のメソッドは {@link SQLException} をスローします。
+ * 作成したステートメントのうち、返却時に閉じられていないものはプールが閉じます。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+class PooledConnection implements Connection {
+
+    private final PooledDataSource dataSource;
+
+    private final PooledDataSource.Entry entry;
+
+    private boolean closed;
+
+    PooledConnection(PooledDataSource dataSource,
+            PooledDataSource.Entry entry) {
+        assertNotNull(dataSource, entry);
+        this.dataSource = dataSource;
+        this.entry = entry;
+    }
+
+    private Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException(Message.DOMA5005.getMessage());
+        }
+        return entry.connection;
+    }
+
+    private Connection getClientInfoConnection()
+            throws SQLClientInfoException {
+        if (closed) {
+            throw new SQLClientInfoException(Message.DOMA5005.getMessage(),
+                    null);
+        }
+        return entry.connection;
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        getConnection().clearWarnings();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        dataSource.release(entry);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        getConnection().commit();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements)
+            throws SQLException {
+        return getConnection().createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return getConnection().createBlob();
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return getConnection().createClob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return getConnection().createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return getConnection().createSQLXML();
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return entry.track(getConnection().createStatement());
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType,
+            int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return entry.track(getConnection().createStatement(resultSetType,
+                resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        return entry.track(getConnection().createStatement(resultSetType,
+                resultSetConcurrency));
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes)
+            throws SQLException {
+        return getConnection().createStruct(typeName, attributes);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return getConnection().getAutoCommit();
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return getConnection().getCatalog();
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return getConnection().getClientInfo();
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return getConnection().getClientInfo(name);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return getConnection().getHoldability();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return getConnection().getMetaData();
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return getConnection().getTransactionIsolation();
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return getConnection().getTypeMap();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return getConnection().getWarnings();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || entry.connection.isClosed();
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return getConnection().isReadOnly();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return getConnection().isValid(timeout);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        if (iface == null) {
+            return false;
+        }
+        if (iface.isAssignableFrom(getClass())) {
+            return true;
+        }
+        return getConnection().isWrapperFor(iface);
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return getConnection().nativeSQL(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType,
+            int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return entry.track(getConnection().prepareCall(sql, resultSetType,
+                resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType,
+            int resultSetConcurrency) throws SQLException {
+        return entry.track(getConnection().prepareCall(sql, resultSetType,
+                resultSetConcurrency));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return entry.track(getConnection().prepareCall(sql));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType,
+            int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        return entry.track(getConnection().prepareStatement(sql,
+                resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType,
+            int resultSetConcurrency) throws SQLException {
+        return entry.track(getConnection().prepareStatement(sql,
+                resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
+            throws SQLException {
+        return entry.track(getConnection().prepareStatement(sql,
+                autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes)
+            throws SQLException {
+        return entry.track(getConnection().prepareStatement(sql,
+                columnIndexes));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames)
+            throws SQLException {
+        return entry.track(getConnection().prepareStatement(sql,
+                columnNames));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return entry.track(getConnection().prepareStatement(sql));
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        getConnection().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        getConnection().rollback();
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        getConnection().rollback(savepoint);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        Connection connection = getConnection();
+        if (entry.autoCommit == null) {
+            entry.autoCommit = connection.getAutoCommit();
+        }
+        connection.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        getConnection().setCatalog(catalog);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties)
+            throws SQLClientInfoException {
+        getClientInfoConnection().setClientInfo(properties);
+    }
+
+    @Override
+    public void setClientInfo(String name, String value)
+            throws SQLClientInfoException {
+        getClientInfoConnection().setClientInfo(name, value);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        getConnection().setHoldability(holdability);
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        Connection connection = getConnection();
+        if (entry.readOnly == null) {
+            entry.readOnly = connection.isReadOnly();
+        }
+        connection.setReadOnly(readOnly);
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return getConnection().setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return getConnection().setSavepoint(name);
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        Connection connection = getConnection();
+        if (entry.transactionIsolation == null) {
+            entry.transactionIsolation = connection
+                    .getTransactionIsolation();
+        }
+        connection.setTransactionIsolation(level);
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        getConnection().setTypeMap(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface == null) {
+            throw new SQLException("iface must not be null");
+        }
+        if (iface.isAssignableFrom(getClass())) {
+            return (T) this;
+        }
+        return getConnection().unwrap(iface);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        getConnection().setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return getConnection().getSchema();
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        getConnection().abort(executor);
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds)
+            throws SQLException {
+        getConnection().setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return getConnection().getNetworkTimeout();
+    }
+
+}
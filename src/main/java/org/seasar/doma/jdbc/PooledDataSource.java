@@ -0,0 +1,746 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.DomaNullPointerException;
+import org.seasar.doma.message.Message;
+
+/**
+ * コネクションをプールするデータソースです。
+ * <p>
+ * 物理的なコネクションは、コンストラクタに渡されたデータソース（たとえば {@link SimpleDataSource}
+ * ）から取得します。 {@link #getConnection()} が返すコネクションの {@code close()}
+ * を呼び出すと、物理的なコネクションは閉じられずにプールへ返却されます。
+ * 返却時に、閉じられていないステートメントは閉じられ、自動コミットモードでない場合はロールバックされます。
+ * また、自動コミットモード、読み取り専用モード、およびトランザクション分離レベルは貸し出し時の値に戻されます。
+ * <p>
+ * アイドル状態のコネクションはロックを使用しないキューで管理され、最後に返却されたコネクションから順に貸し出されます。
+ * アイドル状態の時間を超えたコネクションは、コネクションの返却時もしくは {@link #evictIdleConnections()}
+ * の呼び出し時に閉じられます。 アイドル状態のコネクションが {@link #getMinIdle()} より少ない場合は、
+ * {@link #fillIdleConnections()} の呼び出し時に補充されます。 コネクションの返却時にコネクションを作成することはありません。
+ * バックグラウンドのスレッドは使用しません。
+ * <p>
+ * {@link org.seasar.doma.jdbc.tx.LocalTransactionDataSource} の引数に渡して使用できます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class PooledDataSource implements DataSource, AutoCloseable {
+
+    /** 最大サイズのデフォルト値 */
+    public static final int DEFAULT_MAX_SIZE = 10;
+
+    /** 貸し出しの待機時間（ミリ秒）のデフォルト値 */
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 30000L;
+
+    /** アイドル状態の時間（ミリ秒）のデフォルト値 */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600000L;
+
+    /** 検証のタイムアウト（秒）のデフォルト値 */
+    public static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+
+    /** 検証を省略するアイドル状態の時間（ミリ秒）のデフォルト値 */
+    public static final long DEFAULT_VALIDATION_BYPASS_MILLIS = 500L;
+
+    protected static final Logger logger = Logger
+            .getLogger(PooledDataSource.class.getName());
+
+    /** 物理的なコネクションを取得するデータソース */
+    protected final DataSource dataSource;
+
+    /** アイドル状態のコネクション、先頭が最後に返却されたもの */
+    protected final ConcurrentLinkedDeque<Entry> idleEntries =
+            new ConcurrentLinkedDeque<>();
+
+    /** アイドル状態のコネクションの数 */
+    protected final AtomicInteger idleCount = new AtomicInteger();
+
+    /** 貸し出し中のコネクション */
+    protected final Set<Entry> borrowedEntries = ConcurrentHashMap.newKeySet();
+
+    /** 貸し出し可能な数 */
+    protected final Permits permits = new Permits(DEFAULT_MAX_SIZE);
+
+    protected final PooledDataSourceStatistics statistics =
+            new PooledDataSourceStatistics();
+
+    protected volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    protected volatile int minIdle;
+
+    protected volatile long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+
+    protected volatile long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+    protected volatile long leakDetectionThresholdMillis;
+
+    protected volatile boolean validationEnabled = true;
+
+    protected volatile int validationTimeout = DEFAULT_VALIDATION_TIMEOUT;
+
+    protected volatile long validationBypassMillis =
+            DEFAULT_VALIDATION_BYPASS_MILLIS;
+
+    protected volatile boolean closed;
+
+    /**
+     * インスタンスを構築します。
+     * 
+     * @param dataSource
+     *            物理的なコネクションを取得するデータソース
+     */
+    public PooledDataSource(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new DomaNullPointerException("dataSource");
+        }
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * プールするコネクションの最大数を返します。
+     * 
+     * @return 最大数
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * プールするコネクションの最大数を設定します。
+     * <p>
+     * 貸し出し中のコネクションとアイドル状態のコネクションの合計はこの値を超えません。
+     * 
+     * @param maxSize
+     *            最大数
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new DomaIllegalArgumentException("maxSize", "maxSize <= 0");
+        }
+        int diff = maxSize - this.maxSize;
+        if (diff > 0) {
+            permits.release(diff);
+        } else if (diff < 0) {
+            permits.reducePermits(-diff);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * アイドル状態で保持し続けるコネクションの最小数を返します。
+     * 
+     * @return 最小数
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * アイドル状態で保持し続けるコネクションの最小数を設定します。
+     * <p>
+     * アイドル状態のコネクションの数がこの値以下の場合、アイドル状態の時間を超えてもコネクションは閉じられません。
+     * また、アイドル状態のコネクションがこの値より少ない場合、 {@link #fillIdleConnections()}
+     * の呼び出し時に、最大数を超えない範囲でコネクションを作成して補充します。
+     * 起動時にコネクションを作成しておくには、この値を設定した後に {@link #fillIdleConnections()} を呼び出してください。
+     * 
+     * @param minIdle
+     *            最小数
+     */
+    public void setMinIdle(int minIdle) {
+        if (minIdle < 0) {
+            throw new DomaIllegalArgumentException("minIdle", "minIdle < 0");
+        }
+        this.minIdle = minIdle;
+    }
+
+    /**
+     * コネクションの貸し出しを待つ最大の時間をミリ秒で返します。
+     * 
+     * @return 待機時間（ミリ秒）
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * コネクションの貸し出しを待つ最大の時間をミリ秒で設定します。
+     * <p>
+     * この時間を超えても貸し出せない場合、 {@link #getConnection()} は {@link SQLException}
+     * をスローします。
+     * 
+     * @param maxWaitMillis
+     *            待機時間（ミリ秒）
+     */
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        if (maxWaitMillis < 0) {
+            throw new DomaIllegalArgumentException("maxWaitMillis",
+                    "maxWaitMillis < 0");
+        }
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * アイドル状態のコネクションを閉じるまでの時間をミリ秒で返します。
+     * 
+     * @return アイドル状態の時間（ミリ秒）
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * アイドル状態のコネクションを閉じるまでの時間をミリ秒で設定します。
+     * <p>
+     * {@code 0} の場合、アイドル状態のコネクションは閉じられません。
+     * 
+     * @param idleTimeoutMillis
+     *            アイドル状態の時間（ミリ秒）
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        if (idleTimeoutMillis < 0) {
+            throw new DomaIllegalArgumentException("idleTimeoutMillis",
+                    "idleTimeoutMillis < 0");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * リークの可能性があると判断するまでの貸し出し時間をミリ秒で返します。
+     * 
+     * @return 貸し出し時間（ミリ秒）
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    /**
+     * リークの可能性があると判断するまでの貸し出し時間をミリ秒で設定します。
+     * <p>
+     * {@code 0} より大きい場合、貸し出し時のスタックトレースを記録し、この時間を超えて返却されないコネクションを
+     * {@link #getParentLogger()} が返すロガーへ警告として出力します。 検出は、コネクションの貸し出し時と
+     * {@link #evictIdleConnections()} の呼び出し時に行われます。 {@code 0} の場合、検出しません。
+     * 
+     * @param leakDetectionThresholdMillis
+     *            貸し出し時間（ミリ秒）
+     */
+    public void setLeakDetectionThresholdMillis(
+            long leakDetectionThresholdMillis) {
+        if (leakDetectionThresholdMillis < 0) {
+            throw new DomaIllegalArgumentException(
+                    "leakDetectionThresholdMillis",
+                    "leakDetectionThresholdMillis < 0");
+        }
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    /**
+     * 貸し出し時にコネクションを検証するかどうかを返します。
+     * 
+     * @return 検証する場合 {@code true}
+     */
+    public boolean isValidationEnabled() {
+        return validationEnabled;
+    }
+
+    /**
+     * 貸し出し時にコネクションを検証するかどうかを設定します。
+     * <p>
+     * 検証には {@link Connection#isValid(int)} を使用します。 検証に失敗したコネクションは閉じられます。
+     * アイドル状態の時間が {@link #getValidationBypassMillis()} 未満のコネクションは検証しません。
+     * 
+     * @param validationEnabled
+     *            検証する場合 {@code true}
+     */
+    public void setValidationEnabled(boolean validationEnabled) {
+        this.validationEnabled = validationEnabled;
+    }
+
+    /**
+     * 検証のタイムアウトを秒で返します。
+     * 
+     * @return タイムアウト（秒）
+     */
+    public int getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    /**
+     * 検証のタイムアウトを秒で設定します。
+     * 
+     * @param validationTimeout
+     *            タイムアウト（秒）、{@code 0} の場合タイムアウトしない
+     */
+    public void setValidationTimeout(int validationTimeout) {
+        if (validationTimeout < 0) {
+            throw new DomaIllegalArgumentException("validationTimeout",
+                    "validationTimeout < 0");
+        }
+        this.validationTimeout = validationTimeout;
+    }
+
+    /**
+     * 検証を省略するアイドル状態の時間をミリ秒で返します。
+     * 
+     * @return アイドル状態の時間（ミリ秒）
+     */
+    public long getValidationBypassMillis() {
+        return validationBypassMillis;
+    }
+
+    /**
+     * 検証を省略するアイドル状態の時間をミリ秒で設定します。
+     * <p>
+     * 返却されてからこの時間が経過していないコネクションは、貸し出し時に検証しません。
+     * 多くのドライバでは検証のたびにデータベースとの通信が発生するため、
+     * 頻繁に貸し出されるコネクションの検証を省略します。 {@code 0} の場合、常に検証します。
+     * 
+     * @param validationBypassMillis
+     *            アイドル状態の時間（ミリ秒）
+     */
+    public void setValidationBypassMillis(long validationBypassMillis) {
+        if (validationBypassMillis < 0) {
+            throw new DomaIllegalArgumentException("validationBypassMillis",
+                    "validationBypassMillis < 0");
+        }
+        this.validationBypassMillis = validationBypassMillis;
+    }
+
+    /**
+     * 貸し出し中のコネクションの数を返します。
+     * 
+     * @return 貸し出し中のコネクションの数
+     */
+    public int getActiveCount() {
+        return borrowedEntries.size();
+    }
+
+    /**
+     * アイドル状態のコネクションの数を返します。
+     * 
+     * @return アイドル状態のコネクションの数
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * 統計情報を返します。
+     * 
+     * @return 統計情報
+     */
+    public PooledDataSourceStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException(Message.DOMA5006.getMessage());
+        }
+        long start = System.nanoTime();
+        acquirePermit();
+        Entry entry;
+        try {
+            entry = takeEntry();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        long now = System.nanoTime();
+        statistics.recordBorrow(now - start);
+        entry.borrowedAt = now;
+        entry.leakReported = false;
+        entry.borrowStackTrace = leakDetectionThresholdMillis > 0
+                ? new Throwable() : null;
+        borrowedEntries.add(entry);
+        detectLeaks(now);
+        return new PooledConnection(this, entry);
+    }
+
+    /**
+     * 指定されたユーザーのコネクションをプールを使わずに返します。
+     * <p>
+     * 物理的なコネクションを取得するデータソースへ処理を委譲します。
+     */
+    @Override
+    public Connection getConnection(String username, String password)
+            throws SQLException {
+        return dataSource.getConnection(username, password);
+    }
+
+    protected void acquirePermit() throws SQLException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+        if (!acquired) {
+            statistics.incrementTimeoutCount();
+            throw new SQLException(Message.DOMA5003.getMessage(maxWaitMillis,
+                    maxSize));
+        }
+    }
+
+    protected Entry takeEntry() throws SQLException {
+        for (Entry entry; (entry = idleEntries.pollFirst()) != null;) {
+            idleCount.decrementAndGet();
+            if (validate(entry)) {
+                return entry;
+            }
+            destroy(entry);
+        }
+        Connection connection = dataSource.getConnection();
+        statistics.incrementCreatedCount();
+        return new Entry(connection);
+    }
+
+    protected boolean validate(Entry entry) {
+        if (!validationEnabled) {
+            return true;
+        }
+        long bypass = TimeUnit.MILLISECONDS.toNanos(validationBypassMillis);
+        if (System.nanoTime() - entry.lastReturnedAt < bypass) {
+            return true;
+        }
+        try {
+            return entry.connection.isValid(validationTimeout);
+        } catch (SQLException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * 貸し出したコネクションを返却します。
+     * 
+     * @param entry
+     *            返却するコネクション
+     */
+    protected void release(Entry entry) {
+        long now = System.nanoTime();
+        try {
+            borrowedEntries.remove(entry);
+            statistics.recordUsage(now - entry.borrowedAt);
+            entry.borrowStackTrace = null;
+            if (!closed && reset(entry)) {
+                entry.lastReturnedAt = now;
+                idleEntries.offerFirst(entry);
+                idleCount.incrementAndGet();
+            } else {
+                destroy(entry);
+            }
+        } finally {
+            permits.release();
+        }
+        evictIdleConnections();
+    }
+
+    protected boolean reset(Entry entry) {
+        Connection connection = entry.connection;
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            entry.closeStatements();
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            if (entry.autoCommit != null) {
+                connection.setAutoCommit(entry.autoCommit);
+                entry.autoCommit = null;
+            }
+            if (entry.readOnly != null) {
+                connection.setReadOnly(entry.readOnly);
+                entry.readOnly = null;
+            }
+            if (entry.transactionIsolation != null) {
+                connection.setTransactionIsolation(entry.transactionIsolation);
+                entry.transactionIsolation = null;
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    protected void destroy(Entry entry) {
+        statistics.incrementDestroyedCount();
+        try {
+            entry.connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * アイドル状態の時間を超えたコネクションを閉じます。
+     * <p>
+     * リークの検出も行います。
+     */
+    public void evictIdleConnections() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        if (timeout > 0) {
+            for (Entry entry; (entry = idleEntries.peekLast()) != null;) {
+                if (idleCount.get() <= minIdle
+                        || now - entry.lastReturnedAt < timeout) {
+                    break;
+                }
+                if (idleEntries.removeLastOccurrence(entry)) {
+                    idleCount.decrementAndGet();
+                    statistics.incrementEvictedCount();
+                    destroy(entry);
+                }
+            }
+        }
+        detectLeaks(now);
+    }
+
+    /**
+     * アイドル状態のコネクションが {@link #getMinIdle()} より少ない場合、コネクションを作成して補充します。
+     * <p>
+     * 貸し出し中のコネクションとアイドル状態のコネクションの合計が {@link #getMaxSize()} を超える場合は補充しません。
+     * 
+     * @throws SQLException
+     *             コネクションの作成に失敗した場合
+     */
+    public void fillIdleConnections() throws SQLException {
+        while (!closed && idleCount.get() < minIdle) {
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            try {
+                if (idleCount.get() >= minIdle
+                        || idleCount.get() + borrowedEntries.size() >= maxSize) {
+                    return;
+                }
+                Connection connection = dataSource.getConnection();
+                statistics.incrementCreatedCount();
+                Entry entry = new Entry(connection);
+                entry.lastReturnedAt = System.nanoTime();
+                idleEntries.offerLast(entry);
+                idleCount.incrementAndGet();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    protected void detectLeaks(long now) {
+        long threshold = TimeUnit.MILLISECONDS
+                .toNanos(leakDetectionThresholdMillis);
+        if (threshold <= 0) {
+            return;
+        }
+        for (Entry entry : borrowedEntries) {
+            Throwable stackTrace = entry.borrowStackTrace;
+            if (stackTrace == null || entry.leakReported
+                    || now - entry.borrowedAt < threshold) {
+                continue;
+            }
+            entry.leakReported = true;
+            statistics.incrementLeakCount();
+            logger.log(Level.WARNING,
+                    Message.DOMA5004.getMessage(leakDetectionThresholdMillis),
+                    stackTrace);
+        }
+    }
+
+    /**
+     * プールを閉じます。
+     * <p>
+     * アイドル状態のコネクションを閉じます。 貸し出し中のコネクションは返却時に閉じられます。
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Entry entry; (entry = idleEntries.pollFirst()) != null;) {
+            idleCount.decrementAndGet();
+            destroy(entry);
+        }
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        if (iface == null) {
+            return false;
+        }
+        if (iface.isAssignableFrom(getClass())) {
+            return true;
+        }
+        return dataSource.isWrapperFor(iface);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface == null) {
+            throw new SQLException("iface must not be null");
+        }
+        if (iface.isAssignableFrom(getClass())) {
+            return (T) this;
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return logger;
+    }
+
+    /**
+     * プールされる物理的なコネクションです。
+     * 
+     * @author nakamura-to
+     */
+    protected static class Entry {
+
+        protected final Connection connection;
+
+        protected volatile long borrowedAt;
+
+        protected volatile long lastReturnedAt;
+
+        protected volatile Throwable borrowStackTrace;
+
+        protected volatile boolean leakReported;
+
+        /** 貸し出し中に変更される前の自動コミットモード、変更されていない場合 {@code null} */
+        protected Boolean autoCommit;
+
+        /** 貸し出し中に変更される前の読み取り専用モード、変更されていない場合 {@code null} */
+        protected Boolean readOnly;
+
+        /** 貸し出し中に変更される前のトランザクション分離レベル、変更されていない場合 {@code null} */
+        protected Integer transactionIsolation;
+
+        /** 貸し出し中に作成されたステートメント */
+        protected final List<Statement> statements = new ArrayList<>();
+
+        /** 閉じられたステートメントを {@link #statements} から取り除く契機となる数 */
+        protected int purgeThreshold = 16;
+
+        protected Entry(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * 貸し出し中に作成されたステートメントを記録します。
+         * 
+         * @param <STATEMENT>
+         *            ステートメントの型
+         * @param statement
+         *            ステートメント
+         * @return ステートメント
+         */
+        protected <STATEMENT extends Statement> STATEMENT track(
+                STATEMENT statement) {
+            if (statements.size() >= purgeThreshold) {
+                statements.removeIf(Entry::isClosed);
+                purgeThreshold = Math.max(16, statements.size() * 2);
+            }
+            statements.add(statement);
+            return statement;
+        }
+
+        /**
+         * 閉じられていないステートメントを閉じます。
+         * 
+         * @throws SQLException
+         *             ステートメントを閉じられなかった場合
+         */
+        protected void closeStatements() throws SQLException {
+            try {
+                for (Statement statement : statements) {
+                    if (statement != null && !statement.isClosed()) {
+                        statement.close();
+                    }
+                }
+            } finally {
+                statements.clear();
+                purgeThreshold = 16;
+            }
+        }
+
+        private static boolean isClosed(Statement statement) {
+            try {
+                return statement == null || statement.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 許可の数を減らせるセマフォです。
+     * 
+     * @author nakamura-to
+     */
+    protected static class Permits extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        protected Permits(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PooledDataSource} の統計情報です。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see PooledDataSource#getStatistics()
+ */
+public final class PooledDataSourceStatistics {
+
+    private final LongAdder borrowCount = new LongAdder();
+
+    private final LongAdder timeoutCount = new LongAdder();
+
+    private final LongAdder createdCount = new LongAdder();
+
+    private final LongAdder destroyedCount = new LongAdder();
+
+    private final LongAdder evictedCount = new LongAdder();
+
+    private final LongAdder leakCount = new LongAdder();
+
+    private final LongAdder totalBorrowWaitNanos = new LongAdder();
+
+    private final LongAccumulator maxBorrowWaitNanos = new LongAccumulator(
+            Long::max, 0L);
+
+    private final LongAdder totalUsageNanos = new LongAdder();
+
+    private final LongAccumulator maxUsageNanos = new LongAccumulator(
+            Long::max, 0L);
+
+    void recordBorrow(long waitNanos) {
+        borrowCount.increment();
+        totalBorrowWaitNanos.add(waitNanos);
+        maxBorrowWaitNanos.accumulate(waitNanos);
+    }
+
+    void recordUsage(long usageNanos) {
+        totalUsageNanos.add(usageNanos);
+        maxUsageNanos.accumulate(usageNanos);
+    }
+
+    void incrementTimeoutCount() {
+        timeoutCount.increment();
+    }
+
+    void incrementCreatedCount() {
+        createdCount.increment();
+    }
+
+    void incrementDestroyedCount() {
+        destroyedCount.increment();
+    }
+
+    void incrementEvictedCount() {
+        evictedCount.increment();
+    }
+
+    void incrementLeakCount() {
+        leakCount.increment();
+    }
+
+    /**
+     * コネクションを貸し出した回数を返します。
+     *
+     * @return 貸し出した回数
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * 待機時間を超えたためにコネクションを貸し出せなかった回数を返します。
+     *
+     * @return 貸し出せなかった回数
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 物理的なコネクションを作成した回数を返します。
+     *
+     * @return 作成した回数
+     */
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    /**
+     * 物理的なコネクションを閉じた回数を返します。
+     * <p>
+     * 検証に失敗したコネクションやアイドル状態の時間を超えたコネクションを閉じた回数を含みます。
+     *
+     * @return 閉じた回数
+     */
+    public long getDestroyedCount() {
+        return destroyedCount.sum();
+    }
+
+    /**
+     * アイドル状態の時間を超えたためにコネクションを閉じた回数を返します。
+     *
+     * @return 閉じた回数
+     */
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    /**
+     * リークの可能性があるコネクションを検出した回数を返します。
+     *
+     * @return 検出した回数
+     */
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    /**
+     * コネクションの貸し出しを待った時間の合計をナノ秒で返します。
+     *
+     * @return 待った時間の合計（ナノ秒）
+     */
+    public long getTotalBorrowWaitNanos() {
+        return totalBorrowWaitNanos.sum();
+    }
+
+    /**
+     * コネクションの貸し出しを待った時間の最大値をナノ秒で返します。
+     *
+     * @return 待った時間の最大値（ナノ秒）
+     */
+    public long getMaxBorrowWaitNanos() {
+        return maxBorrowWaitNanos.get();
+    }
+
+    /**
+     * コネクションが貸し出されてから返却されるまでの時間の合計をナノ秒で返します。
+     *
+     * @return 使用時間の合計（ナノ秒）
+     */
+    public long getTotalUsageNanos() {
+        return totalUsageNanos.sum();
+    }
+
+    /**
+     * コネクションが貸し出されてから返却されるまでの時間の最大値をナノ秒で返します。
+     *
+     * @return 使用時間の最大値（ナノ秒）
+     */
+    public long getMaxUsageNanos() {
+        return maxUsageNanos.get();
+    }
+
+    /**
+     * 統計情報をリセットします。
+     */
+    public void reset() {
+        borrowCount.reset();
+        timeoutCount.reset();
+        createdCount.reset();
+        destroyedCount.reset();
+        evictedCount.reset();
+        leakCount.reset();
+        totalBorrowWaitNanos.reset();
+        maxBorrowWaitNanos.reset();
+        totalUsageNanos.reset();
+        maxUsageNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{PooledDataSourceStatistics borrowCount=" + getBorrowCount()
+                + ", timeoutCount=" + getTimeoutCount() + ", createdCount="
+                + getCreatedCount() + ", destroyedCount="
+                + getDestroyedCount() + ", evictedCount=" + getEvictedCount()
+                + ", leakCount=" + getLeakCount() + ", totalBorrowWaitNanos="
+                + getTotalBorrowWaitNanos() + ", maxBorrowWaitNanos="
+                + getMaxBorrowWaitNanos() + ", totalUsageNanos="
+                + getTotalUsageNanos() + ", maxUsageNanos="
+                + getMaxUsageNanos() + "}";
+    }
+}
@@ -38,6 +38,13 @@ public class SelectOptions implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 並列に組み立てる単位となる行数のデフォルト値です。
+     * 
+     * @since 2.20.0
+     */
+    public static final int DEFAULT_PARALLEL_FETCH_CHUNK_SIZE = 1024;
+
     /** ページングのオフセット */
     protected long offset = -1;
 
@@ -59,6 +66,21 @@ public class SelectOptions implements Serializable {
     /** 悲観的排他制御のロック対象のエイリアスの配列 */
     protected String[] aliases = new String[] {};
 
+    /** 集計をウィンドウ関数で取得するかどうか */
+    protected boolean countOver;
+
+    /** キーセットページングのキーの値 */
+    protected Object[] seekKeys;
+
+    /** 結果を並列に組み立てるかどうか */
+    protected boolean parallelFetch;
+
+    /** 並列に組み立てる単位となる行数 */
+    protected int parallelFetchChunkSize = DEFAULT_PARALLEL_FETCH_CHUNK_SIZE;
+
+    /** 並列に組み立てる際に行の順序を保持するかどうか */
+    protected boolean parallelFetchOrdered = true;
+
     /**
      * インスタンスを構築します。
      */
@@ -196,6 +218,38 @@ public class SelectOptions implements Serializable {
         return this;
     }
 
+    /**
+     * キーセットページング用のSQLへ変換することを示します。
+     * <p>
+     * 前のページの最後の行のキーの値を、元のSQLのorder by句の項目と同じ順序で指定します。
+     * SQLのwhere句には、指定した値より後ろの行だけを検索する条件が追加されます。
+     * order by句の項目は、カラム名と並び順（ascまたはdesc）のみで構成されている必要があります。
+     * <p>
+     * 取得件数は {@link #limit(int)} で指定します。
+     * オフセットを使用したページングとは異なり、ページの位置に関係なくインデックスを使用して検索できます。
+     * 
+     * @param keys
+     *            前のページの最後の行のキーの値
+     * @return このインスタンス
+     * @since 2.20.0
+     */
+    public SelectOptions seek(Object... keys) {
+        if (keys == null) {
+            throw new DomaNullPointerException("keys");
+        }
+        if (keys.length == 0) {
+            throw new DomaIllegalArgumentException("keys", "keys.length == 0");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new DomaIllegalArgumentException("keys", "keys[" + i
+                        + "] == null");
+            }
+        }
+        this.seekKeys = keys.clone();
+        return this;
+    }
+
     /**
      * 集計することを示します。
      * 
@@ -206,6 +260,67 @@ public class SelectOptions implements Serializable {
         return this;
     }
 
+    /**
+     * ウィンドウ関数を使って集計することを示します。
+     * <p>
+     * ウィンドウ関数をサポートするRDBMSでは、検索のSQLに {@code count(*) over()} を追加し、
+     * 検索結果の最初の行から集計を取得します。集計のためのSQLは別途発行されません。
+     * <p>
+     * 次の場合は {@link #count()} と同様に集計のためのSQLを別途発行します。
+     * <ul>
+     * <li>RDBMSがこの方式をサポートしていない場合
+     * <li>select句が {@code distinct} で始まる場合や {@code *} のみの場合
+     * <li>{@link #seek(Object...)} を指定した場合
+     * <li>検索結果が0件の場合
+     * </ul>
+     * 
+     * @return このインスタンス
+     * @since 2.20.0
+     */
+    public SelectOptions countOver() {
+        this.count = true;
+        this.countOver = true;
+        return this;
+    }
+
+    /**
+     * 結果の {@link java.util.stream.Stream} の要素を並列に組み立てることを示します。
+     * <p>
+     * 行の順序は保持され、 {@link #DEFAULT_PARALLEL_FETCH_CHUNK_SIZE} 行ごとに分割されます。
+     * 
+     * @return このインスタンス
+     * @see #parallelFetch(int, boolean)
+     * @since 2.20.0
+     */
+    public SelectOptions parallelFetch() {
+        return parallelFetch(DEFAULT_PARALLEL_FETCH_CHUNK_SIZE, true);
+    }
+
+    /**
+     * 結果の {@link java.util.stream.Stream} の要素を並列に組み立てることを示します。
+     * <p>
+     * 結果セットからの値の読み込みは1つのスレッドで行われ、読み込まれた値からエンティティやドメインを組み立てる処理は
+     * {@link java.util.concurrent.ForkJoinPool} で並列に行われます。
+     * この指定は {@link org.seasar.doma.SelectType#STREAM} で、エンティティ、ドメイン、基本型を返す検索にのみ有効です。
+     * 
+     * @param chunkSize
+     *            並列に組み立てる単位となる行数
+     * @param ordered
+     *            行の順序を保持する場合 {@code true}
+     * @return このインスタンス
+     * @since 2.20.0
+     */
+    public SelectOptions parallelFetch(int chunkSize, boolean ordered) {
+        if (chunkSize < 1) {
+            throw new DomaIllegalArgumentException("chunkSize",
+                    "chunkSize < 1");
+        }
+        this.parallelFetch = true;
+        this.parallelFetchChunkSize = chunkSize;
+        this.parallelFetchOrdered = ordered;
+        return this;
+    }
+
     /**
      * 集計を返します。
      * <p>
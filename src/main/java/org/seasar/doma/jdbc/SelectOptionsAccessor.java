@@ -102,4 +102,64 @@ public class SelectOptionsAccessor {
     public static long getLimit(SelectOptions options) {
         return options.limit;
     }
+
+    /**
+     * オプションから集計をウィンドウ関数で取得するかどうかを返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 集計をウィンドウ関数で取得するかどうか
+     * @since 2.20.0
+     */
+    public static boolean isCountOver(SelectOptions options) {
+        return options.countOver;
+    }
+
+    /**
+     * オプションからキーセットページングのキーの値を返します。
+     * 
+     * @param options
+     *            オプション
+     * @return キーの値、キーセットページングを行わない場合 {@code null}
+     * @since 2.20.0
+     */
+    public static Object[] getSeekKeys(SelectOptions options) {
+        return options.seekKeys;
+    }
+
+    /**
+     * オプションから結果を並列に組み立てるかどうかを返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 並列に組み立てるかどうか
+     * @since 2.20.0
+     */
+    public static boolean isParallelFetch(SelectOptions options) {
+        return options.parallelFetch;
+    }
+
+    /**
+     * オプションから並列に組み立てる単位となる行数を返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 並列に組み立てる単位となる行数
+     * @since 2.20.0
+     */
+    public static int getParallelFetchChunkSize(SelectOptions options) {
+        return options.parallelFetchChunkSize;
+    }
+
+    /**
+     * オプションから並列に組み立てる際に行の順序を保持するかどうかを返します。
+     * 
+     * @param options
+     *            オプション
+     * @return 行の順序を保持するかどうか
+     * @since 2.20.0
+     */
+    public static boolean isParallelFetchOrdered(SelectOptions options) {
+        return options.parallelFetchOrdered;
+    }
 }
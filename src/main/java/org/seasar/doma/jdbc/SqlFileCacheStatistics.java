@@ -0,0 +1,119 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQLファイルのキャッシュの統計情報です。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see LruCacheSqlFileRepository#getStatistics()
+ */
+public final class SqlFileCacheStatistics {
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    void incrementHitCount() {
+        hitCount.increment();
+    }
+
+    void incrementMissCount() {
+        missCount.increment();
+    }
+
+    void incrementEvictionCount() {
+        evictionCount.increment();
+    }
+
+    void recordLoad(long nanos) {
+        totalLoadNanos.add(nanos);
+    }
+
+    /**
+     * キャッシュされたSQLファイルが返された回数を返します。
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * キャッシュにSQLファイルが存在せず、新たに読み込まれた回数を返します。
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * ヒット率を返します。
+     *
+     * @return ヒット率、一度も要求されていない場合 {@code 1.0}
+     */
+    public double getHitRate() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+
+    /**
+     * キャッシュの最大サイズを超えたためにSQLファイルが追い出された回数を返します。
+     *
+     * @return 追い出し数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * SQLファイルの読み込みと解析に要した時間の合計をナノ秒で返します。
+     *
+     * @return 読み込みに要した時間の合計（ナノ秒）
+     */
+    public long getTotalLoadNanos() {
+        return totalLoadNanos.sum();
+    }
+
+    /**
+     * 統計情報をリセットします。
+     */
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+        totalLoadNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{SqlFileCacheStatistics hitCount=" + getHitCount()
+                + ", missCount=" + getMissCount() + ", evictionCount="
+                + getEvictionCount() + ", totalLoadNanos="
+                + getTotalLoadNanos() + "}";
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+/**
+ * SQLファイルの事前読み込みの結果です。
+ * <p>
+ * このクラスはイミュータブルです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see GreedyCacheSqlFileRepository#preload(org.seasar.doma.jdbc.dialect.Dialect,
+ *      Class...)
+ */
+public final class SqlFilePreloadResult {
+
+    private final int loadedCount;
+
+    private final int missingCount;
+
+    private final long elapsedNanos;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param loadedCount
+     *            読み込んだSQLファイルの数
+     * @param missingCount
+     *            見つからなかったSQLファイルの数
+     * @param elapsedNanos
+     *            読み込みに要した時間（ナノ秒）
+     */
+    public SqlFilePreloadResult(int loadedCount, int missingCount,
+            long elapsedNanos) {
+        this.loadedCount = loadedCount;
+        this.missingCount = missingCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 読み込んだSQLファイルの数を返します。
+     * <p>
+     * すでにキャッシュされていたSQLファイルを含みます。
+     *
+     * @return 読み込んだSQLファイルの数
+     */
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /**
+     * 見つからなかったSQLファイルの数を返します。
+     *
+     * @return 見つからなかったSQLファイルの数
+     */
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    /**
+     * 読み込みに要した時間をナノ秒で返します。
+     *
+     * @return 読み込みに要した時間（ナノ秒）
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "{SqlFilePreloadResult loadedCount=" + loadedCount
+                + ", missingCount=" + missingCount + ", elapsedNanos="
+                + elapsedNanos + "}";
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 1つのタグに対して集計されたメトリクスです。
+ * <p>
+ * 時間はナノ秒で記録されます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see InMemorySqlMetricsRecorder#getMetrics(SqlMetricsTags)
+ */
+public final class SqlMetrics {
+
+    private final SqlMetricsHistogram prepareNanos = new SqlMetricsHistogram();
+
+    private final SqlMetricsHistogram executeNanos = new SqlMetricsHistogram();
+
+    private final SqlMetricsHistogram fetchNanos = new SqlMetricsHistogram();
+
+    private final LongAdder affectedRows = new LongAdder();
+
+    private final LongAdder fetchedRows = new LongAdder();
+
+    private final LongAdder batchChunks = new LongAdder();
+
+    void recordPrepare(long nanos) {
+        prepareNanos.record(nanos);
+    }
+
+    void recordExecute(long nanos, long rows) {
+        executeNanos.record(nanos);
+        if (rows > 0) {
+            affectedRows.add(rows);
+        }
+    }
+
+    void recordFetch(long nanos, long rows) {
+        fetchNanos.record(nanos);
+        fetchedRows.add(rows);
+    }
+
+    void recordBatch(int chunks) {
+        batchChunks.add(chunks);
+    }
+
+    /**
+     * 文の準備とパラメータのバインドに要した時間のヒストグラムを返します。
+     *
+     * @return 準備に要した時間のヒストグラム
+     */
+    public SqlMetricsHistogram getPrepareNanos() {
+        return prepareNanos;
+    }
+
+    /**
+     * 文の実行に要した時間のヒストグラムを返します。
+     *
+     * @return 実行に要した時間のヒストグラム
+     */
+    public SqlMetricsHistogram getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * 結果セットのフェッチに要した時間のヒストグラムを返します。
+     *
+     * @return フェッチに要した時間のヒストグラム
+     */
+    public SqlMetricsHistogram getFetchNanos() {
+        return fetchNanos;
+    }
+
+    /**
+     * 更新された行数の合計を返します。
+     *
+     * @return 更新された行数の合計
+     */
+    public long getAffectedRows() {
+        return affectedRows.sum();
+    }
+
+    /**
+     * 取得された行数の合計を返します。
+     *
+     * @return 取得された行数の合計
+     */
+    public long getFetchedRows() {
+        return fetchedRows.sum();
+    }
+
+    /**
+     * バッチを実行した回数の合計を返します。
+     *
+     * @return バッチを実行した回数の合計
+     */
+    public long getBatchChunks() {
+        return batchChunks.sum();
+    }
+
+    /**
+     * メトリクスをリセットします。
+     */
+    public void reset() {
+        prepareNanos.reset();
+        executeNanos.reset();
+        fetchNanos.reset();
+        affectedRows.reset();
+        fetchedRows.reset();
+        batchChunks.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{SqlMetrics prepareNanos=" + prepareNanos + ", executeNanos="
+                + executeNanos + ", fetchNanos=" + fetchNanos
+                + ", affectedRows=" + getAffectedRows() + ", fetchedRows="
+                + getFetchedRows() + ", batchChunks=" + getBatchChunks() + "}";
+    }
+}
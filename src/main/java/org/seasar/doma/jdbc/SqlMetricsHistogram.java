@@ -0,0 +1,153 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+
+/**
+ * 値の分布を2のべき乗ごとのバケットで集計するヒストグラムです。
+ * <p>
+ * 値の記録はロックを使用せずに行われます。 パーセンタイルは値が属するバケットの上限で近似されます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see InMemorySqlMetricsRecorder
+ */
+public final class SqlMetricsHistogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    void record(long value) {
+        long v = Math.max(value, 0L);
+        buckets.incrementAndGet(bucketIndex(v));
+        count.increment();
+        total.add(v);
+        max.accumulate(v);
+    }
+
+    private static int bucketIndex(long value) {
+        return Math.min(BUCKET_COUNT - Long.numberOfLeadingZeros(value),
+                BUCKET_COUNT - 1);
+    }
+
+    private static long upperBound(int index) {
+        return index >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << index) - 1;
+    }
+
+    /**
+     * 記録された値の数を返します。
+     *
+     * @return 記録された値の数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 記録された値の合計を返します。
+     *
+     * @return 記録された値の合計
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * 記録された値の最大値を返します。
+     *
+     * @return 記録された値の最大値、記録されていない場合 {@literal 0}
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 記録された値の平均を返します。
+     *
+     * @return 記録された値の平均、記録されていない場合 {@literal 0.0}
+     */
+    public double getMean() {
+        long c = getCount();
+        return c == 0 ? 0.0 : (double) getTotal() / c;
+    }
+
+    /**
+     * パーセンタイルの近似値を返します。
+     *
+     * @param percentile
+     *            {@literal 0.0} 以上 {@literal 1.0} 以下のパーセンタイル
+     * @return パーセンタイルの近似値、記録されていない場合 {@literal 0}
+     * @throws DomaIllegalArgumentException
+     *             {@code percentile} が範囲外の場合
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 1.0) {
+            throw new DomaIllegalArgumentException("percentile",
+                    "percentile < 0.0 || percentile > 1.0");
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long c = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            c += snapshot[i];
+        }
+        if (c == 0) {
+            return 0L;
+        }
+        long rank = Math.max((long) Math.ceil(percentile * c), 1L);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * ヒストグラムをリセットします。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{SqlMetricsHistogram count=" + getCount() + ", total="
+                + getTotal() + ", max=" + getMax() + ", p50="
+                + getPercentile(0.5) + ", p99=" + getPercentile(0.99) + "}";
+    }
+}
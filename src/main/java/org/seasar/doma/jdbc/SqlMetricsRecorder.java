@@ -0,0 +1,96 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+/**
+ * SQLの実行に関するメトリクスの記録者です。
+ * <p>
+ * コマンドは、文の準備、実行、結果セットのフェッチに要した時間や、取得または更新した行数、
+ * バッチの実行回数をこのインタフェースに通知します。 各メトリクスは {@link SqlMetricsTags}
+ * によってDAOのクラス、メソッド、SQLファイルのパスで分類されます。
+ * <p>
+ * デフォルトの実装は何も記録しません。 {@link #isEnabled()} が {@code false} を返す場合、
+ * コマンドは時間の計測自体を行いません。
+ * <p>
+ * このインタフェースの実装はスレッドセーフでなければいけません。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see InMemorySqlMetricsRecorder
+ */
+public interface SqlMetricsRecorder {
+
+    /**
+     * メトリクスを記録するかどうかを返します。
+     *
+     * @return 記録する場合 {@code true}
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * 文の準備とパラメータのバインドに要した時間を記録します。
+     *
+     * @param tags
+     *            タグ
+     * @param nanos
+     *            経過時間（ナノ秒）
+     */
+    default void recordPrepare(SqlMetricsTags tags, long nanos) {
+    }
+
+    /**
+     * 文の実行に要した時間と更新された行数を記録します。
+     * <p>
+     * 検索やストアドの実行では {@code rows} に {@literal -1} が渡されます。
+     *
+     * @param tags
+     *            タグ
+     * @param nanos
+     *            経過時間（ナノ秒）
+     * @param rows
+     *            更新された行数
+     */
+    default void recordExecute(SqlMetricsTags tags, long nanos, long rows) {
+    }
+
+    /**
+     * 結果セットのフェッチに要した時間と取得された行数を記録します。
+     *
+     * @param tags
+     *            タグ
+     * @param nanos
+     *            経過時間（ナノ秒）
+     * @param rows
+     *            取得された行数
+     */
+    default void recordFetch(SqlMetricsTags tags, long nanos, long rows) {
+    }
+
+    /**
+     * バッチの実行回数を記録します。
+     *
+     * @param tags
+     *            タグ
+     * @param chunks
+     *            {@link java.sql.Statement#executeBatch()} を呼び出した回数
+     * @param batchSize
+     *            バッチサイズ
+     */
+    default void recordBatch(SqlMetricsTags tags, int chunks, int batchSize) {
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import org.seasar.doma.DomaNullPointerException;
+
+/**
+ * メトリクスを分類するタグです。
+ * <p>
+ * このクラスはイミュータブルです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see SqlMetricsRecorder
+ */
+public final class SqlMetricsTags {
+
+    private final String className;
+
+    private final String methodName;
+
+    private final String sqlFilePath;
+
+    private final SqlKind kind;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param className
+     *            DAOのクラス名
+     * @param methodName
+     *            DAOのメソッド名
+     * @param sqlFilePath
+     *            SQLファイルのパス、SQLファイルを使用しない場合 {@code null}
+     * @param kind
+     *            SQLの種別
+     */
+    public SqlMetricsTags(String className, String methodName,
+            String sqlFilePath, SqlKind kind) {
+        if (className == null) {
+            throw new DomaNullPointerException("className");
+        }
+        if (methodName == null) {
+            throw new DomaNullPointerException("methodName");
+        }
+        if (kind == null) {
+            throw new DomaNullPointerException("kind");
+        }
+        this.className = className;
+        this.methodName = methodName;
+        this.sqlFilePath = sqlFilePath;
+        this.kind = kind;
+    }
+
+    /**
+     * DAOのクラス名を返します。
+     *
+     * @return DAOのクラス名
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * DAOのメソッド名を返します。
+     *
+     * @return DAOのメソッド名
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * SQLファイルのパスを返します。
+     *
+     * @return SQLファイルのパス、SQLファイルを使用しない場合 {@code null}
+     */
+    public String getSqlFilePath() {
+        return sqlFilePath;
+    }
+
+    /**
+     * SQLの種別を返します。
+     *
+     * @return SQLの種別
+     */
+    public SqlKind getKind() {
+        return kind;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = className.hashCode();
+        result = 31 * result + methodName.hashCode();
+        result = 31 * result
+                + (sqlFilePath == null ? 0 : sqlFilePath.hashCode());
+        result = 31 * result + kind.hashCode();
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SqlMetricsTags)) {
+            return false;
+        }
+        SqlMetricsTags other = (SqlMetricsTags) obj;
+        return className.equals(other.className)
+                && methodName.equals(other.methodName)
+                && (sqlFilePath == null ? other.sqlFilePath == null
+                        : sqlFilePath.equals(other.sqlFilePath))
+                && kind == other.kind;
+    }
+
+    @Override
+    public String toString() {
+        return "{SqlMetricsTags className=" + className + ", methodName="
+                + methodName + ", sqlFilePath=" + sqlFilePath + ", kind="
+                + kind + "}";
+    }
+}
@@ -1044,6 +1044,19 @@ public class SelectBuilder {
         query.setResultMappingEnsured(ensureResultMapping);
     }
 
+    /**
+     * 検索結果を読み取り専用として扱うかどうかを設定します。
+     * <p>
+     * {@code true} の場合、結果のエンティティの元の状態は保存されません。
+     * 
+     * @param readOnly
+     *            読み取り専用として扱う場合 {@code true}
+     * @since 2.20.0
+     */
+    public void readOnly(boolean readOnly) {
+        query.setReadOnly(readOnly);
+    }
+
     /**
      * フェッチのタイプを設定します。
      * 
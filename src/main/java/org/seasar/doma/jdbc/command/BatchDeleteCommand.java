@@ -35,6 +35,12 @@ public class BatchDeleteCommand extends BatchModifyCommand<BatchDeleteQuery> {
     @Override
     protected int[] executeInternal(PreparedStatement preparedStatement,
             List<PreparedSql> sqls) throws SQLException {
+        return executeIterable(preparedStatement, sqls);
+    }
+
+    @Override
+    protected int[] executeIterable(PreparedStatement preparedStatement,
+            Iterable<PreparedSql> sqls) throws SQLException {
         return executeBatch(preparedStatement, sqls);
     }
 
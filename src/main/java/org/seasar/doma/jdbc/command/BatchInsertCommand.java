@@ -15,11 +15,18 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import org.seasar.doma.internal.jdbc.util.JdbcUtil;
+import org.seasar.doma.jdbc.BatchSqlExecutionException;
 import org.seasar.doma.jdbc.BatchUniqueConstraintException;
+import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.query.BatchInsertQuery;
@@ -34,27 +41,141 @@ public class BatchInsertCommand extends BatchModifyCommand<BatchInsertQuery> {
         super(query);
     }
 
+    @Override
+    public int[] execute() {
+        if (query.isExecutable() && query.isMultiRowSupported()) {
+            return executeMultiRow();
+        }
+        return super.execute();
+    }
+
+    /**
+     * 複数行を挿入するINSERT文でバッチ挿入を実行します。
+     * <p>
+     * 行ごとのSQLを {@link BatchInsertQuery#getMultiRowSize()} の数ずつまとめて実行します。
+     * 同じ行数を挿入するINSERT文では、準備された文を再利用します。
+     * クエリが複数行を挿入するINSERT文をサポートしていない場合は、行ごとのSQLでバッチ挿入を実行します。
+     * 
+     * @return 行ごとの更新件数
+     */
+    protected int[] executeMultiRow() {
+        if (!query.isMultiRowSupported()) {
+            return super.execute();
+        }
+        JdbcLogger logger = query.getConfig().getJdbcLogger();
+        Connection connection = JdbcUtil.getConnection(query.getConfig()
+                .getDataSource());
+        try {
+            long start = metricsEnabled ? System.nanoTime() : 0L;
+            int multiRowSize = query.getMultiRowSize();
+            Iterable<PreparedSql> sqls = query.getSqlIterable();
+            int[] updatedRows = new int[getInitialCapacity(sqls, multiRowSize)];
+            int rowCount = 0;
+            List<PreparedSql> rowSqls = new ArrayList<>(multiRowSize);
+            PreparedStatement[] preparedStatement = new PreparedStatement[1];
+            try {
+                for (PreparedSql rowSql : sqls) {
+                    rowSqls.add(rowSql);
+                    if (rowSqls.size() == multiRowSize) {
+                        updatedRows = executeMultiRowChunk(connection,
+                                preparedStatement, rowSqls, updatedRows,
+                                rowCount);
+                        rowCount += rowSqls.size();
+                        rowSqls.clear();
+                    }
+                }
+                if (!rowSqls.isEmpty()) {
+                    updatedRows = executeMultiRowChunk(connection,
+                            preparedStatement, rowSqls, updatedRows, rowCount);
+                    rowCount += rowSqls.size();
+                }
+            } finally {
+                JdbcUtil.close(preparedStatement[0], logger);
+            }
+            updatedRows = trim(updatedRows, rowCount);
+            if (metricsEnabled) {
+                recordExecute(System.nanoTime() - start, updatedRows);
+            }
+            return updatedRows;
+        } finally {
+            JdbcUtil.close(connection, logger);
+        }
+    }
+
+    /**
+     * 行ごとのSQLをまとめた1つのINSERT文を実行します。
+     * 
+     * @param connection
+     *            コネクション
+     * @param preparedStatement
+     *            再利用する文を保持する長さ1の配列
+     * @param rowSqls
+     *            行ごとのSQL
+     * @param updatedRows
+     *            更新件数の配列
+     * @param index
+     *            最初の行のインデックス
+     * @return 更新件数の配列
+     */
+    protected int[] executeMultiRowChunk(Connection connection,
+            PreparedStatement[] preparedStatement, List<PreparedSql> rowSqls,
+            int[] updatedRows, int index) {
+        int rowCount = rowSqls.size();
+        PreparedSql sql = query.createMultiRowSql(rowSqls);
+        try {
+            if (preparedStatement[0] == null
+                    || rowCount != query.getMultiRowSize()) {
+                JdbcUtil.close(preparedStatement[0], query.getConfig()
+                        .getJdbcLogger());
+                preparedStatement[0] = null;
+                preparedStatement[0] = prepareStatement(connection, sql);
+                setupOptions(preparedStatement[0]);
+            }
+            log(sql);
+            bindParameters(preparedStatement[0], sql);
+            int rows = executeUpdate(preparedStatement[0], sql);
+            int[] result = ensureCapacity(updatedRows, index + rowCount);
+            Arrays.fill(result, index, index + rowCount,
+                    rows == rowCount ? 1 : Statement.SUCCESS_NO_INFO);
+            query.generateIds(preparedStatement[0], index, rowCount);
+            query.completeRows(index + rowCount);
+            return result;
+        } catch (SQLException e) {
+            Dialect dialect = query.getConfig().getDialect();
+            throw new BatchSqlExecutionException(query.getConfig()
+                    .getExceptionSqlLogType(), sql, e, dialect.getRootCause(e));
+        }
+    }
+
     @Override
     protected int[] executeInternal(PreparedStatement preparedStatement,
             List<PreparedSql> sqls) throws SQLException {
+        return executeIterable(preparedStatement, sqls);
+    }
+
+    @Override
+    protected int[] executeIterable(PreparedStatement preparedStatement,
+            Iterable<PreparedSql> sqls) throws SQLException {
         if (query.isBatchSupported()) {
             return executeBatch(preparedStatement, sqls);
         }
-        int sqlSize = sqls.size();
-        int[] updatedRows = new int[sqlSize];
+        int[] updatedRows = new int[getInitialCapacity(sqls, 16)];
         int i = 0;
         for (PreparedSql sql : sqls) {
             log(sql);
             bindParameters(preparedStatement, sql);
+            updatedRows = ensureCapacity(updatedRows, i + 1);
             updatedRows[i] = executeUpdate(preparedStatement, sql);
             query.generateId(preparedStatement, i);
+            query.completeRows(i + 1);
             i++;
         }
-        return updatedRows;
+        return trim(updatedRows, i);
     }
 
     protected int executeUpdate(PreparedStatement preparedStatement,
             PreparedSql sql) throws SQLException {
+        executedChunks++;
         try {
             return preparedStatement.executeUpdate();
         } catch (SQLException e) {
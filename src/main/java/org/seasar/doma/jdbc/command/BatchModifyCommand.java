@@ -20,7 +20,9 @@ import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import org.seasar.doma.internal.jdbc.command.PreparedSqlParameterBinder;
@@ -31,6 +33,8 @@ import org.seasar.doma.jdbc.BatchUniqueConstraintException;
 import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlMetricsRecorder;
+import org.seasar.doma.jdbc.SqlMetricsTags;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.query.BatchModifyQuery;
 
@@ -44,9 +48,19 @@ public abstract class BatchModifyCommand<QUERY extends BatchModifyQuery>
 
     protected final QUERY query;
 
+    protected final SqlMetricsRecorder metricsRecorder;
+
+    protected final boolean metricsEnabled;
+
+    protected SqlMetricsTags metricsTags;
+
+    protected int executedChunks;
+
     protected BatchModifyCommand(QUERY query) {
         assertNotNull(query);
         this.query = query;
+        this.metricsRecorder = query.getConfig().getSqlMetricsRecorder();
+        this.metricsEnabled = metricsRecorder.isEnabled();
     }
 
     @Override
@@ -61,11 +75,21 @@ public abstract class BatchModifyCommand<QUERY extends BatchModifyQuery>
                 .getDataSource());
         try {
             PreparedSql sql = query.getSql();
+            long start = metricsEnabled ? System.nanoTime() : 0L;
             PreparedStatement preparedStatement = prepareStatement(connection,
                     sql);
             try {
                 setupOptions(preparedStatement);
-                return executeInternal(preparedStatement, query.getSqls());
+                if (!metricsEnabled) {
+                    return executeSqls(preparedStatement,
+                            query.getSqlIterable());
+                }
+                long now = System.nanoTime();
+                metricsRecorder.recordPrepare(getMetricsTags(), now - start);
+                int[] rows = executeSqls(preparedStatement,
+                        query.getSqlIterable());
+                recordExecute(System.nanoTime() - now, rows);
+                return rows;
             } catch (SQLException e) {
                 Dialect dialect = query.getConfig().getDialect();
                 throw new BatchSqlExecutionException(query.getConfig()
@@ -98,10 +122,81 @@ public abstract class BatchModifyCommand<QUERY extends BatchModifyQuery>
         return JdbcUtil.prepareStatement(connection, sql);
     }
 
+    /**
+     * SQLを実行します。
+     * <p>
+     * SQLが {@link List} の場合は {@link #executeInternal(PreparedStatement, List)}
+     * を、そうでない場合は {@link #executeIterable(PreparedStatement, Iterable)}
+     * を呼び出します。
+     * 
+     * @param preparedStatement
+     *            文
+     * @param sqls
+     *            SQL
+     * @return 更新件数の配列
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     * @since 2.20.0
+     */
+    protected int[] executeSqls(PreparedStatement preparedStatement,
+            Iterable<PreparedSql> sqls) throws SQLException {
+        if (sqls instanceof List<?>) {
+            return executeInternal(preparedStatement, (List<PreparedSql>) sqls);
+        }
+        return executeIterable(preparedStatement, sqls);
+    }
+
     protected abstract int[] executeInternal(
             PreparedStatement preparedStatement, List<PreparedSql> sqls)
             throws SQLException;
 
+    /**
+     * {@link List} ではない {@link Iterable} から取り出したSQLを実行します。
+     * <p>
+     * ストリーミングで実行するクエリなど、SQLを走査の中で組み立てるクエリの場合に呼び出されます。
+     * デフォルトの実装はすべてのSQLを {@link List} に集めて
+     * {@link #executeInternal(PreparedStatement, List)} を呼び出します。
+     * 
+     * @param preparedStatement
+     *            文
+     * @param sqls
+     *            SQL
+     * @return 更新件数の配列
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     * @since 2.20.0
+     */
+    protected int[] executeIterable(PreparedStatement preparedStatement,
+            Iterable<PreparedSql> sqls) throws SQLException {
+        List<PreparedSql> list = new ArrayList<>();
+        for (PreparedSql sql : sqls) {
+            list.add(sql);
+        }
+        return executeInternal(preparedStatement, list);
+    }
+
+    protected SqlMetricsTags getMetricsTags() {
+        if (metricsTags == null) {
+            PreparedSql sql = query.getSql();
+            metricsTags = new SqlMetricsTags(query.getClassName(),
+                    query.getMethodName(), sql.getSqlFilePath(), sql.getKind());
+        }
+        return metricsTags;
+    }
+
+    protected void recordExecute(long nanos, int[] rows) {
+        long affectedRows = 0;
+        for (int row : rows) {
+            if (row > 0) {
+                affectedRows += row;
+            }
+        }
+        SqlMetricsTags tags = getMetricsTags();
+        metricsRecorder.recordExecute(tags, nanos, affectedRows);
+        metricsRecorder.recordBatch(tags, executedChunks,
+                query.getBatchSize());
+    }
+
     protected void setupOptions(PreparedStatement preparedStatement)
             throws SQLException {
         if (query.getQueryTimeout() > 0) {
@@ -111,28 +206,98 @@ public abstract class BatchModifyCommand<QUERY extends BatchModifyQuery>
 
     protected int[] executeBatch(PreparedStatement preparedStatement,
             List<PreparedSql> sqls) throws SQLException {
+        return executeBatch(preparedStatement, (Iterable<PreparedSql>) sqls);
+    }
+
+    protected int[] executeBatch(PreparedStatement preparedStatement,
+            Iterable<PreparedSql> sqls) throws SQLException {
         int batchSize = query.getBatchSize() > 0 ? query.getBatchSize() : 1;
-        int sqlSize = sqls.size();
-        int[] updatedRows = new int[sqlSize];
-        int i = 0;
+        int[] updatedRows = new int[getInitialCapacity(sqls, batchSize)];
+        int rowCount = 0;
         int pos = 0;
+        PreparedSql lastSql = null;
         for (PreparedSql sql : sqls) {
             log(sql);
             bindParameters(preparedStatement, sql);
             preparedStatement.addBatch();
-            if (i == sqlSize - 1 || (batchSize > 0 && (i + 1) % batchSize == 0)) {
-                int[] rows = executeBatch(preparedStatement, sql);
-                validateRows(preparedStatement, sql, rows);
-                System.arraycopy(rows, 0, updatedRows, pos, rows.length);
-                pos = i + 1;
+            lastSql = sql;
+            rowCount++;
+            if (rowCount - pos == batchSize) {
+                updatedRows = executeChunk(preparedStatement, sql, updatedRows,
+                        pos, rowCount);
+                pos = rowCount;
             }
-            i++;
         }
-        return updatedRows;
+        if (pos < rowCount) {
+            updatedRows = executeChunk(preparedStatement, lastSql,
+                    updatedRows, pos, rowCount);
+        }
+        return trim(updatedRows, rowCount);
+    }
+
+    /**
+     * 追加済みのバッチを実行し、更新件数を格納します。
+     * 
+     * @param preparedStatement
+     *            文
+     * @param sql
+     *            最後に追加したSQL
+     * @param updatedRows
+     *            更新件数の配列
+     * @param from
+     *            チャンクの最初の行のインデックス
+     * @param to
+     *            チャンクの最後の行の次のインデックス
+     * @return 更新件数の配列
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    protected int[] executeChunk(PreparedStatement preparedStatement,
+            PreparedSql sql, int[] updatedRows, int from, int to)
+            throws SQLException {
+        int[] rows = executeBatch(preparedStatement, sql);
+        validateRows(preparedStatement, sql, rows);
+        int[] result = ensureCapacity(updatedRows, to);
+        System.arraycopy(rows, 0, result, from,
+                Math.min(rows.length, to - from));
+        query.completeRows(to);
+        return result;
+    }
+
+    /**
+     * 更新件数の配列の初期の長さを返します。
+     * 
+     * @param sqls
+     *            SQL
+     * @param defaultCapacity
+     *            件数が分からない場合の長さ
+     * @return 初期の長さ
+     */
+    protected int getInitialCapacity(Iterable<PreparedSql> sqls,
+            int defaultCapacity) {
+        if (sqls instanceof Collection<?>) {
+            return ((Collection<?>) sqls).size();
+        }
+        return defaultCapacity;
+    }
+
+    protected int[] ensureCapacity(int[] rows, int minCapacity) {
+        if (rows.length >= minCapacity) {
+            return rows;
+        }
+        return Arrays.copyOf(rows, Math.max(minCapacity, rows.length * 2));
+    }
+
+    protected int[] trim(int[] rows, int length) {
+        if (rows.length == length) {
+            return rows;
+        }
+        return Arrays.copyOf(rows, length);
     }
 
     protected int[] executeBatch(PreparedStatement preparedStatement,
             PreparedSql sql) throws SQLException {
+        executedChunks++;
         try {
             return preparedStatement.executeBatch();
         } catch (SQLException e) {
@@ -35,6 +35,12 @@ public class BatchUpdateCommand extends BatchModifyCommand<BatchUpdateQuery> {
     @Override
     protected int[] executeInternal(PreparedStatement preparedStatement,
             List<PreparedSql> sqls) throws SQLException {
+        return executeIterable(preparedStatement, sqls);
+    }
+
+    @Override
+    protected int[] executeIterable(PreparedStatement preparedStatement,
+            Iterable<PreparedSql> sqls) throws SQLException {
         int[] rows = executeBatch(preparedStatement, sqls);
         query.incrementVersions();
         return rows;
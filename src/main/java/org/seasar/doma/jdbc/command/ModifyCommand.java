@@ -28,6 +28,8 @@ import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.OptimisticLockException;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlExecutionException;
+import org.seasar.doma.jdbc.SqlMetricsRecorder;
+import org.seasar.doma.jdbc.SqlMetricsTags;
 import org.seasar.doma.jdbc.UniqueConstraintException;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.query.ModifyQuery;
@@ -44,10 +46,18 @@ public abstract class ModifyCommand<QUERY extends ModifyQuery> implements
 
     protected final PreparedSql sql;
 
+    protected final SqlMetricsRecorder metricsRecorder;
+
+    protected final boolean metricsEnabled;
+
+    protected SqlMetricsTags metricsTags;
+
     protected ModifyCommand(QUERY query) {
         assertNotNull(query);
         this.query = query;
         this.sql = query.getSql();
+        this.metricsRecorder = query.getConfig().getSqlMetricsRecorder();
+        this.metricsEnabled = metricsRecorder.isEnabled();
     }
 
     @Override
@@ -61,12 +71,21 @@ public abstract class ModifyCommand<QUERY extends ModifyQuery> implements
         Connection connection = JdbcUtil.getConnection(query.getConfig()
                 .getDataSource());
         try {
+            long start = metricsEnabled ? System.nanoTime() : 0L;
             PreparedStatement preparedStatement = prepareStatement(connection);
             try {
                 log();
                 setupOptions(preparedStatement);
                 bindParameters(preparedStatement);
-                return executeInternal(preparedStatement);
+                if (!metricsEnabled) {
+                    return executeInternal(preparedStatement);
+                }
+                long now = System.nanoTime();
+                metricsRecorder.recordPrepare(getMetricsTags(), now - start);
+                int rows = executeInternal(preparedStatement);
+                metricsRecorder.recordExecute(getMetricsTags(),
+                        System.nanoTime() - now, rows);
+                return rows;
             } catch (SQLException e) {
                 Dialect dialect = query.getConfig().getDialect();
                 throw new SqlExecutionException(query.getConfig()
@@ -100,6 +119,14 @@ public abstract class ModifyCommand<QUERY extends ModifyQuery> implements
     protected abstract int executeInternal(PreparedStatement preparedStatement)
             throws SQLException;
 
+    protected SqlMetricsTags getMetricsTags() {
+        if (metricsTags == null) {
+            metricsTags = new SqlMetricsTags(query.getClassName(),
+                    query.getMethodName(), sql.getSqlFilePath(), sql.getKind());
+        }
+        return metricsTags;
+    }
+
     protected void log() {
         JdbcLogger logger = query.getConfig().getJdbcLogger();
         logger.logSql(query.getClassName(), query.getMethodName(), sql);
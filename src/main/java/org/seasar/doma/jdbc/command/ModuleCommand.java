@@ -27,6 +27,8 @@ import org.seasar.doma.internal.jdbc.util.JdbcUtil;
 import org.seasar.doma.jdbc.CallableSql;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.SqlExecutionException;
+import org.seasar.doma.jdbc.SqlMetricsRecorder;
+import org.seasar.doma.jdbc.SqlMetricsTags;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.query.ModuleQuery;
 
@@ -44,10 +46,18 @@ public abstract class ModuleCommand<QUERY extends ModuleQuery, RESULT>
 
     protected CallableSql sql;
 
+    protected final SqlMetricsRecorder metricsRecorder;
+
+    protected final boolean metricsEnabled;
+
+    protected SqlMetricsTags metricsTags;
+
     protected ModuleCommand(QUERY query) {
         assertNotNull(query);
         this.query = query;
         this.sql = query.getSql();
+        this.metricsRecorder = query.getConfig().getSqlMetricsRecorder();
+        this.metricsEnabled = metricsRecorder.isEnabled();
     }
 
     @Override
@@ -55,13 +65,22 @@ public abstract class ModuleCommand<QUERY extends ModuleQuery, RESULT>
         Connection connection = JdbcUtil.getConnection(query.getConfig()
                 .getDataSource());
         try {
+            long start = metricsEnabled ? System.nanoTime() : 0L;
             CallableStatement callableStatement = JdbcUtil.prepareCall(
                     connection, sql);
             try {
                 log();
                 setupOptions(callableStatement);
                 bindParameters(callableStatement);
-                return executeInternal(callableStatement);
+                if (!metricsEnabled) {
+                    return executeInternal(callableStatement);
+                }
+                long now = System.nanoTime();
+                metricsRecorder.recordPrepare(getMetricsTags(), now - start);
+                RESULT result = executeInternal(callableStatement);
+                metricsRecorder.recordExecute(getMetricsTags(),
+                        System.nanoTime() - now, -1L);
+                return result;
             } catch (SQLException e) {
                 Dialect dialect = query.getConfig().getDialect();
                 throw new SqlExecutionException(query.getConfig()
@@ -100,6 +119,14 @@ public abstract class ModuleCommand<QUERY extends ModuleQuery, RESULT>
         fetcher.fetch(callableStatement, sql.getParameters());
     }
 
+    protected SqlMetricsTags getMetricsTags() {
+        if (metricsTags == null) {
+            metricsTags = new SqlMetricsTags(query.getClassName(),
+                    query.getMethodName(), sql.getSqlFilePath(), sql.getKind());
+        }
+        return metricsTags;
+    }
+
     protected void log() {
         JdbcLogger logger = query.getConfig().getJdbcLogger();
         logger.logSql(query.getClassName(), query.getMethodName(), sql);
@@ -17,10 +17,13 @@ package org.seasar.doma.jdbc.command;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 import org.seasar.doma.internal.jdbc.command.ScriptReader;
@@ -56,37 +59,142 @@ public class ScriptCommand implements Command<Void> {
         try {
             ScriptReader reader = new ScriptReader(query);
             try {
-                for (String script = reader.readSql(); script != null; script = reader
-                        .readSql()) {
-                    ScriptSql sql = new ScriptSql(script,
-                            query.getScriptFilePath(), query.getSqlLogType(),
-                            query::comment);
-                    Statement statement = JdbcUtil.createStatement(connection);
+                if (query.getBatchSize() > 0) {
+                    executeInBatches(connection, reader);
+                } else {
+                    executeOneByOne(connection, reader);
+                }
+            } finally {
+                reader.close();
+            }
+        } finally {
+            JdbcUtil.close(connection, config.getJdbcLogger());
+        }
+        throwSavedScriptExceptionIfExists();
+        return null;
+    }
+
+    protected void executeOneByOne(Connection connection, ScriptReader reader) {
+        Config config = query.getConfig();
+        for (String script = reader.readSql(); script != null; script = reader
+                .readSql()) {
+            ScriptSql sql = new ScriptSql(script, query.getScriptFilePath(),
+                    query.getSqlLogType(), query::comment);
+            Statement statement = JdbcUtil.createStatement(connection);
+            try {
+                log(sql);
+                setupOptions(statement);
+                statement.execute(script);
+            } catch (Exception e) {
+                handleException(e, sql, reader.getLineNumber());
+            } finally {
+                JdbcUtil.close(statement, config.getJdbcLogger());
+            }
+        }
+    }
+
+    protected void executeInBatches(Connection connection, ScriptReader reader) {
+        Config config = query.getConfig();
+        int batchSize = query.getBatchSize();
+        List<ScriptSql> sqls = new ArrayList<>(batchSize);
+        int[] lineNumbers = new int[batchSize];
+        Statement statement = JdbcUtil.createStatement(connection);
+        try {
+            for (String script = reader.readSql(); script != null; script = reader
+                    .readSql()) {
+                ScriptSql sql = new ScriptSql(script,
+                        query.getScriptFilePath(), query.getSqlLogType(),
+                        query::comment);
+                if (reader.isBlock()) {
+                    executeBatch(statement, sqls, lineNumbers);
                     try {
                         log(sql);
                         setupOptions(statement);
                         statement.execute(script);
                     } catch (Exception e) {
-                        if (query.getHaltOnError()) {
-                            throw new ScriptException(e, sql,
-                                    reader.getLineNumber());
-                        }
-                        if (savedScriptException == null) {
-                            savedScriptException = new ScriptException(e, sql,
-                                    reader.getLineNumber());
-                        }
-                    } finally {
-                        JdbcUtil.close(statement, config.getJdbcLogger());
+                        handleException(e, sql, reader.getLineNumber());
                     }
+                    continue;
+                }
+                log(sql);
+                lineNumbers[sqls.size()] = reader.getLineNumber();
+                sqls.add(sql);
+                if (sqls.size() == batchSize) {
+                    executeBatch(statement, sqls, lineNumbers);
                 }
-            } finally {
-                reader.close();
             }
+            executeBatch(statement, sqls, lineNumbers);
         } finally {
-            JdbcUtil.close(connection, config.getJdbcLogger());
+            JdbcUtil.close(statement, config.getJdbcLogger());
+        }
+    }
+
+    /**
+     * 蓄積したステートメントをバッチで実行します。
+     * <p>
+     * ステートメントが失敗した場合、そのステートメントの行番号で例外を報告します。
+     * ドライバが失敗したステートメント以降の実行を中止した場合、エラーで処理を終了しないのであれば、
+     * 残りのステートメントを改めてバッチで実行します。
+     * 
+     * @param statement
+     *            文
+     * @param sqls
+     *            SQLのリスト
+     * @param lineNumbers
+     *            SQLの行番号の配列
+     */
+    protected void executeBatch(Statement statement, List<ScriptSql> sqls,
+            int[] lineNumbers) {
+        int size = sqls.size();
+        for (int offset = 0; offset < size;) {
+            try {
+                setupOptions(statement);
+                for (int i = offset; i < size; i++) {
+                    statement.addBatch(sqls.get(i).getRawSql());
+                }
+                statement.executeBatch();
+                offset = size;
+            } catch (BatchUpdateException e) {
+                clearBatch(statement);
+                int[] updateCounts = e.getUpdateCounts();
+                if (updateCounts != null
+                        && updateCounts.length >= size - offset) {
+                    for (int i = 0; i < size - offset; i++) {
+                        if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                            handleException(e, sqls.get(offset + i),
+                                    lineNumbers[offset + i]);
+                        }
+                    }
+                    offset = size;
+                } else {
+                    int index = offset
+                            + (updateCounts != null ? updateCounts.length : 0);
+                    handleException(e, sqls.get(index), lineNumbers[index]);
+                    offset = index + 1;
+                }
+            } catch (Exception e) {
+                clearBatch(statement);
+                handleException(e, sqls.get(offset), lineNumbers[offset]);
+                offset = size;
+            }
+        }
+        sqls.clear();
+    }
+
+    protected void clearBatch(Statement statement) {
+        try {
+            statement.clearBatch();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    protected void handleException(Exception e, ScriptSql sql, int lineNumber) {
+        if (query.getHaltOnError()) {
+            throw new ScriptException(e, sql, lineNumber);
+        }
+        if (savedScriptException == null) {
+            savedScriptException = new ScriptException(e, sql, lineNumber);
         }
-        throwSavedScriptExceptionIfExists();
-        return null;
     }
 
     protected void log(ScriptSql sql) {
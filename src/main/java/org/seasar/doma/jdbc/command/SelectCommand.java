@@ -15,11 +15,13 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import static org.seasar.doma.internal.Constants.COUNT_COLUMN_NAME;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -30,8 +32,12 @@ import org.seasar.doma.internal.jdbc.util.JdbcUtil;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.NoResultException;
 import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.Sql;
 import org.seasar.doma.jdbc.SqlExecutionException;
+import org.seasar.doma.jdbc.SqlMetricsRecorder;
+import org.seasar.doma.jdbc.SqlMetricsTags;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.query.SelectQuery;
 
@@ -48,12 +54,22 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
 
     protected final ResultSetHandler<RESULT> resultSetHandler;
 
+    protected final SqlMetricsRecorder metricsRecorder;
+
+    protected final boolean metricsEnabled;
+
+    protected SqlMetricsTags metricsTags;
+
+    protected long fetchedRows;
+
     public SelectCommand(SelectQuery query,
             ResultSetHandler<RESULT> resultSetHandler) {
         assertNotNull(query, resultSetHandler);
         this.query = query;
         this.sql = query.getSql();
         this.resultSetHandler = resultSetHandler;
+        this.metricsRecorder = query.getConfig().getSqlMetricsRecorder();
+        this.metricsEnabled = metricsRecorder.isEnabled();
     }
 
     @Override
@@ -62,12 +78,17 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
         Connection connection = JdbcUtil.getConnection(query.getConfig()
                 .getDataSource());
         try {
+            long start = metricsEnabled ? System.nanoTime() : 0L;
             PreparedStatement preparedStatement = JdbcUtil.prepareStatement(
                     connection, sql);
             try {
                 log();
                 setupOptions(preparedStatement);
                 bindParameters(preparedStatement);
+                if (metricsEnabled) {
+                    metricsRecorder.recordPrepare(getMetricsTags(),
+                            System.nanoTime() - start);
+                }
                 supplier = executeQuery(preparedStatement);
             } catch (SQLException e) {
                 Dialect dialect = query.getConfig().getDialect();
@@ -113,9 +134,19 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
     protected Supplier<RESULT> executeQuery(PreparedStatement preparedStatement)
             throws SQLException {
         Supplier<RESULT> supplier = null;
+        long start = metricsEnabled ? System.nanoTime() : 0L;
         ResultSet resultSet = preparedStatement.executeQuery();
+        if (metricsEnabled) {
+            long now = System.nanoTime();
+            metricsRecorder.recordExecute(getMetricsTags(), now - start, -1L);
+            start = now;
+        }
         try {
             supplier = handleResultSet(resultSet);
+            if (metricsEnabled && !isLazyStream()) {
+                metricsRecorder.recordFetch(getMetricsTags(),
+                        System.nanoTime() - start, fetchedRows);
+            }
             return supplier;
         } finally {
             close(supplier, () -> JdbcUtil.close(resultSet, query.getConfig()
@@ -125,7 +156,12 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
 
     protected Supplier<RESULT> handleResultSet(ResultSet resultSet)
             throws SQLException {
+        int countColumnIndex = getCountColumnIndex(resultSet);
         return resultSetHandler.handle(resultSet, query, (index, next) -> {
+            fetchedRows = index + 1;
+            if (index == -1 && next && countColumnIndex > 0) {
+                fetchCount(resultSet, countColumnIndex);
+            }
             if (index == -1 && !next && query.isResultEnsured()) {
                 Sql<?> sql = query.getSql();
                 throw new NoResultException(query.getConfig()
@@ -134,9 +170,58 @@ public class SelectCommand<RESULT> implements Command<RESULT> {
         });
     }
 
+    /**
+     * ウィンドウ関数で計算された集計のカラムのインデックスを返します。
+     * 
+     * @param resultSet
+     *            結果セット
+     * @return カラムのインデックス、存在しない場合 {@code -1}
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    protected int getCountColumnIndex(ResultSet resultSet) throws SQLException {
+        SelectOptions options = query.getOptions();
+        if (options == null || !SelectOptionsAccessor.isCount(options)
+                || !SelectOptionsAccessor.isCountOver(options)) {
+            return -1;
+        }
+        ResultSetMetaData resultSetMeta = resultSet.getMetaData();
+        int count = resultSetMeta.getColumnCount();
+        for (int i = 1; i < count + 1; i++) {
+            if (COUNT_COLUMN_NAME.equalsIgnoreCase(resultSetMeta
+                    .getColumnLabel(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected void fetchCount(ResultSet resultSet, int countColumnIndex) {
+        try {
+            long count = resultSet.getLong(countColumnIndex);
+            SelectOptionsAccessor.setCountSize(query.getOptions(), count);
+        } catch (SQLException e) {
+            Dialect dialect = query.getConfig().getDialect();
+            throw new SqlExecutionException(query.getConfig()
+                    .getExceptionSqlLogType(), sql, e, dialect.getRootCause(e));
+        }
+    }
+
+    protected boolean isLazyStream() {
+        return query.isResultStream()
+                && query.getFetchType() == FetchType.LAZY;
+    }
+
+    protected SqlMetricsTags getMetricsTags() {
+        if (metricsTags == null) {
+            metricsTags = new SqlMetricsTags(query.getClassName(),
+                    query.getMethodName(), sql.getSqlFilePath(), sql.getKind());
+        }
+        return metricsTags;
+    }
+
     protected void close(Supplier<RESULT> supplier, Runnable closeHandler) {
-        if (supplier != null && query.isResultStream()
-                && query.getFetchType() == FetchType.LAZY) {
+        if (supplier != null && isLazyStream()) {
             RESULT result = supplier.get();
             if (result instanceof Stream) {
                 @SuppressWarnings("resource")
@@ -126,6 +126,11 @@ public class Db2Dialect extends StandardDialect {
         return "db2";
     }
 
+    @Override
+    protected boolean supportsCountOver() {
+        return true;
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
@@ -167,6 +172,11 @@ public class Db2Dialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
     @Override
     public boolean supportsSequence() {
         return true;
@@ -123,6 +123,67 @@ public interface Dialect {
      */
     boolean supportsBatchUpdateResults();
 
+    /**
+     * 1つのINSERT文で複数行を挿入する {@code VALUES (...), (...)} 形式をサポートしているかどうかを返します。
+     * <p>
+     * デフォルトの実装は {@code false} を返します。
+     *
+     * @return サポートしている場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean supportsMultiRowInsertStatement() {
+        return false;
+    }
+
+    /**
+     * 複数行を挿入するINSERT文の実行後に、 {@link Statement#getGeneratedKeys()}
+     * がすべての行の自動生成キーを返すことをサポートしているかどうかを返します。
+     * <p>
+     * デフォルトの実装は {@code false} を返します。
+     *
+     * @return サポートしている場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean supportsAutoGeneratedKeysOfMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * 1つのSQLにバインドできるパラメータの最大数を返します。
+     * <p>
+     * デフォルトの実装は上限が不明であることを表す {@code 0} を返します。
+     *
+     * @return パラメータの最大数、上限が不明な場合 {@code 0}
+     * @since 2.20.0
+     */
+    default int getMaxBindParameterCount() {
+        return 0;
+    }
+
+    /**
+     * IN述語の括弧内に指定できる要素の最大数を返します。
+     * <p>
+     * デフォルトの実装は上限がないことを表す {@code 0} を返します。
+     *
+     * @return 要素の最大数、上限がない場合 {@code 0}
+     * @since 2.20.0
+     */
+    default int getMaxInListElementCount() {
+        return 0;
+    }
+
+    /**
+     * 複数行を挿入する1つのINSERT文で挿入できる行の最大数を返します。
+     * <p>
+     * デフォルトの実装は上限がないことを表す {@code 0} を返します。
+     *
+     * @return 行の最大数、上限がない場合 {@code 0}
+     * @since 2.20.0
+     */
+    default int getMaxRowCountOfMultiRowInsert() {
+        return 0;
+    }
+
     /**
      * 悲観的排他制御をサポートしているかどうかを返します。
      * 
@@ -22,6 +22,7 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.H212126ForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.H212126PagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.RowValueSeekTransformer;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -172,6 +173,13 @@ public class H212126Dialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toSeekSqlNode(SqlNode sqlNode, int keyCount) {
+        RowValueSeekTransformer transformer = new RowValueSeekTransformer(
+                keyCount);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
@@ -186,6 +194,11 @@ public class H212126Dialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
     @Override
     public boolean supportsSequence() {
         return true;
@@ -129,6 +129,11 @@ public class H2Dialect extends H212126Dialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected boolean supportsCountOver() {
+        return true;
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
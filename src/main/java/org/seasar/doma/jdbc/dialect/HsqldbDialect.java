@@ -21,6 +21,7 @@ import java.util.Collections;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.HsqldbPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.RowValueSeekTransformer;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -173,6 +174,13 @@ public class HsqldbDialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toSeekSqlNode(SqlNode sqlNode, int keyCount) {
+        RowValueSeekTransformer transformer = new RowValueSeekTransformer(
+                keyCount);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
@@ -185,6 +193,11 @@ public class HsqldbDialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
     @Override
     public boolean supportsSequence() {
         return true;
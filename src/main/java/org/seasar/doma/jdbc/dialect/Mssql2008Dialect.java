@@ -128,6 +128,11 @@ public class Mssql2008Dialect extends StandardDialect {
         return "mssql";
     }
 
+    @Override
+    protected boolean supportsCountOver() {
+        return true;
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
@@ -158,6 +163,21 @@ public class Mssql2008Dialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
+    @Override
+    public int getMaxBindParameterCount() {
+        return 2100;
+    }
+
+    @Override
+    public int getMaxRowCountOfMultiRowInsert() {
+        return 1000;
+    }
+
     @Override
     public boolean supportsSelectForUpdate(SelectForUpdateType type,
             boolean withTargets) {
@@ -26,6 +26,7 @@ import org.seasar.doma.internal.jdbc.dialect.MysqlCountCalculatingTransformer;
 import org.seasar.doma.internal.jdbc.dialect.MysqlCountGettingTransformer;
 import org.seasar.doma.internal.jdbc.dialect.MysqlForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.MysqlPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.RowValueSeekTransformer;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
 import org.seasar.doma.jdbc.ScriptBlockContext;
 import org.seasar.doma.jdbc.SelectForUpdateType;
@@ -151,6 +152,21 @@ public class MysqlDialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsAutoGeneratedKeysOfMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public int getMaxBindParameterCount() {
+        return 65535;
+    }
+
     @Override
     public boolean supportsSelectForUpdate(SelectForUpdateType type,
             boolean withTargets) {
@@ -170,6 +186,13 @@ public class MysqlDialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toSeekSqlNode(SqlNode sqlNode, int keyCount) {
+        RowValueSeekTransformer transformer = new RowValueSeekTransformer(
+                keyCount);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
@@ -154,6 +154,11 @@ public class Oracle11Dialect extends StandardDialect {
         return "oracle";
     }
 
+    @Override
+    protected boolean supportsCountOver() {
+        return true;
+    }
+
     @Override
     public boolean supportsBatchUpdateResults() {
         return false;
@@ -206,6 +211,11 @@ public class Oracle11Dialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public int getMaxInListElementCount() {
+        return 1000;
+    }
+
     @Override
     public boolean supportsSelectForUpdate(SelectForUpdateType type,
             boolean withTargets) {
@@ -25,6 +25,7 @@ import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.PostgresForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.PostgresPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.RowValueSeekTransformer;
 import org.seasar.doma.internal.jdbc.util.DatabaseObjectUtil;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcMappingVisitor;
@@ -136,6 +137,11 @@ public class PostgresDialect extends StandardDialect {
         return "postgres";
     }
 
+    @Override
+    protected boolean supportsCountOver() {
+        return true;
+    }
+
     @Override
     protected SqlNode toForUpdateSqlNode(SqlNode sqlNode,
             SelectForUpdateType forUpdateType, int waitSeconds,
@@ -152,6 +158,13 @@ public class PostgresDialect extends StandardDialect {
         return transformer.transform(sqlNode);
     }
 
+    @Override
+    protected SqlNode toSeekSqlNode(SqlNode sqlNode, int keyCount) {
+        RowValueSeekTransformer transformer = new RowValueSeekTransformer(
+                keyCount);
+        return transformer.transform(sqlNode);
+    }
+
     @Override
     public boolean isUniqueConstraintViolated(SQLException sqlException) {
         if (sqlException == null) {
@@ -234,6 +247,11 @@ public class PostgresDialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
     @Override
     public boolean supportsSequence() {
         return true;
@@ -160,6 +160,21 @@ public class SqliteDialect extends StandardDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return true;
+    }
+
+    @Override
+    public int getMaxBindParameterCount() {
+        return 999;
+    }
+
+    @Override
+    public int getMaxRowCountOfMultiRowInsert() {
+        return 500;
+    }
+
     @Override
     public boolean isUniqueConstraintViolated(SQLException sqlException) {
         if (sqlException == null) {
@@ -35,8 +35,10 @@ import java.util.regex.Pattern;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.expr.ExpressionFunctions;
 import org.seasar.doma.internal.jdbc.dialect.StandardCountGettingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardCountOverTransformer;
 import org.seasar.doma.internal.jdbc.dialect.StandardForUpdateTransformer;
 import org.seasar.doma.internal.jdbc.dialect.StandardPagingTransformer;
+import org.seasar.doma.internal.jdbc.dialect.StandardSeekTransformer;
 import org.seasar.doma.internal.util.AssertionUtil;
 import org.seasar.doma.internal.util.CharSequenceUtil;
 import org.seasar.doma.jdbc.JdbcException;
@@ -70,6 +72,7 @@ import org.seasar.doma.wrapper.DateWrapper;
 import org.seasar.doma.wrapper.DoubleWrapper;
 import org.seasar.doma.wrapper.EnumWrapper;
 import org.seasar.doma.wrapper.FloatWrapper;
+import org.seasar.doma.wrapper.InputStreamWrapper;
 import org.seasar.doma.wrapper.IntegerWrapper;
 import org.seasar.doma.wrapper.LocalDateTimeWrapper;
 import org.seasar.doma.wrapper.LocalDateWrapper;
@@ -77,6 +80,7 @@ import org.seasar.doma.wrapper.LocalTimeWrapper;
 import org.seasar.doma.wrapper.LongWrapper;
 import org.seasar.doma.wrapper.NClobWrapper;
 import org.seasar.doma.wrapper.ObjectWrapper;
+import org.seasar.doma.wrapper.ReaderWrapper;
 import org.seasar.doma.wrapper.SQLXMLWrapper;
 import org.seasar.doma.wrapper.ShortWrapper;
 import org.seasar.doma.wrapper.StringWrapper;
@@ -214,8 +218,17 @@ public class StandardDialect implements Dialect {
             throw new DomaNullPointerException("options");
         }
         SqlNode transformed = sqlNode;
+        Object[] seekKeys = SelectOptionsAccessor.getSeekKeys(options);
         if (SelectOptionsAccessor.isCount(options)) {
-            transformed = toCountCalculatingSqlNode(sqlNode);
+            if (SelectOptionsAccessor.isCountOver(options)
+                    && supportsCountOver() && seekKeys == null) {
+                transformed = toCountOverSqlNode(sqlNode);
+            } else {
+                transformed = toCountCalculatingSqlNode(sqlNode);
+            }
+        }
+        if (seekKeys != null) {
+            transformed = toSeekSqlNode(transformed, seekKeys.length);
         }
         long offset = SelectOptionsAccessor.getOffset(options);
         long limit = SelectOptionsAccessor.getLimit(options);
@@ -270,6 +283,29 @@ public class StandardDialect implements Dialect {
         return sqlNode;
     }
 
+    /**
+     * ウィンドウ関数を使って集計を計算するSQLノードに変換します。
+     * 
+     * @param sqlNode
+     *            SQLノード
+     * @return 変換されたSQLノード
+     * @since 2.20.0
+     */
+    protected SqlNode toCountOverSqlNode(SqlNode sqlNode) {
+        StandardCountOverTransformer transformer = new StandardCountOverTransformer();
+        return transformer.transform(sqlNode);
+    }
+
+    /**
+     * {@code count(*) over()} による集計をサポートする場合 {@code true} を返します。
+     * 
+     * @return {@code count(*) over()} による集計をサポートする場合 {@code true}
+     * @since 2.20.0
+     */
+    protected boolean supportsCountOver() {
+        return false;
+    }
+
     /**
      * ページング用のSQLノードに変換します。
      * 
@@ -287,6 +323,22 @@ public class StandardDialect implements Dialect {
         return transformer.transform(sqlNode);
     }
 
+    /**
+     * キーセットページング用のSQLノードに変換します。
+     * 
+     * @param sqlNode
+     *            SQLノード
+     * @param keyCount
+     *            キーの値の数
+     * @return 変換されたSQLノード
+     * @since 2.20.0
+     */
+    protected SqlNode toSeekSqlNode(SqlNode sqlNode, int keyCount) {
+        StandardSeekTransformer transformer = new StandardSeekTransformer(
+                keyCount);
+        return transformer.transform(sqlNode);
+    }
+
     /**
      * 悲観的排他制御用のSQLノードに変換します。
      * 
@@ -404,6 +456,21 @@ public class StandardDialect implements Dialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowInsertStatement() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsAutoGeneratedKeysOfMultiRowInsert() {
+        return false;
+    }
+
+    @Override
+    public int getMaxBindParameterCount() {
+        return Short.MAX_VALUE;
+    }
+
     @Override
     public boolean supportsIdentity() {
         return false;
@@ -586,6 +653,12 @@ public class StandardDialect implements Dialect {
             return p.apply(wrapper, JdbcTypes.FLOAT);
         }
 
+        @Override
+        public Void visitInputStreamWrapper(InputStreamWrapper wrapper,
+                JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
+            return p.apply(wrapper, JdbcTypes.INPUT_STREAM);
+        }
+
         @Override
         public Void visitIntegerWrapper(IntegerWrapper wrapper,
                 JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
@@ -622,6 +695,12 @@ public class StandardDialect implements Dialect {
             return p.apply(wrapper, JdbcTypes.NCLOB);
         }
 
+        @Override
+        public Void visitReaderWrapper(ReaderWrapper wrapper,
+                JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
+            return p.apply(wrapper, JdbcTypes.READER);
+        }
+
         @Override
         public Void visitShortWrapper(ShortWrapper wrapper,
                 JdbcMappingFunction p, JdbcMappingHint q) throws SQLException {
@@ -748,6 +827,12 @@ public class StandardDialect implements Dialect {
             return p.apply(wrapper, JdbcTypes.FLOAT);
         }
 
+        @Override
+        public String visitInputStreamWrapper(InputStreamWrapper wrapper,
+                SqlLogFormattingFunction p, Void q) throws RuntimeException {
+            return p.apply(wrapper, JdbcTypes.INPUT_STREAM);
+        }
+
         @Override
         public String visitIntegerWrapper(IntegerWrapper wrapper,
                 SqlLogFormattingFunction p, Void q) {
@@ -784,6 +869,12 @@ public class StandardDialect implements Dialect {
             return p.apply(wrapper, JdbcTypes.NCLOB);
         }
 
+        @Override
+        public String visitReaderWrapper(ReaderWrapper wrapper,
+                SqlLogFormattingFunction p, Void q) throws RuntimeException {
+            return p.apply(wrapper, JdbcTypes.READER);
+        }
+
         @Override
         public String visitShortWrapper(ShortWrapper wrapper,
                 SqlLogFormattingFunction p, Void q) throws RuntimeException {
@@ -35,6 +35,7 @@ import org.seasar.doma.internal.jdbc.scalar.OptionalIntScalar;
 import org.seasar.doma.internal.jdbc.scalar.OptionalLongScalar;
 import org.seasar.doma.internal.jdbc.scalar.Scalar;
 import org.seasar.doma.internal.jdbc.sql.ScalarInParameter;
+import org.seasar.doma.internal.jdbc.sql.WrapperInParameter;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.domain.DomainType;
@@ -100,6 +101,9 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
     /** アクセサのサプライヤ */
     protected final Supplier<Property<ENTITY, BASIC>> propertySupplier;
 
+    /** フィールドの値を直接ラッパーに設定できるかどうか */
+    protected final boolean basicField;
+
     /**
      * インスタンスを構築します。
      * 
@@ -168,6 +172,11 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
         this.quoteRequired = quoteRequired;
         this.field = new PropertyField<>(name, entityClass);
         this.propertySupplier = createPropertySupplier();
+        this.basicField = domainType == null
+                && entityPropertyClass != Optional.class
+                && entityPropertyClass != OptionalInt.class
+                && entityPropertyClass != OptionalLong.class
+                && entityPropertyClass != OptionalDouble.class;
     }
 
     @SuppressWarnings("unchecked")
@@ -204,8 +213,38 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
         return propertySupplier.get();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * プロパティの型が基本型の場合、 {@link Property} を作成せずにフィールドの値をラッパーへ直接設定します。
+     */
+    @Override
+    public InParameter<BASIC> createInParameter(ENTITY entity) {
+        if (!basicField) {
+            return createProperty().load(entity).asInParameter();
+        }
+        @SuppressWarnings("unchecked")
+        BASIC value = (BASIC) field.getValue(entity);
+        Wrapper<BASIC> wrapper = wrapperSupplier.get();
+        wrapper.set(value);
+        return new WrapperInParameter<>(wrapper);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * プロパティの型が基本型の場合、 {@link Property} を作成せずにフィールドの値を直接コピーします。
+     */
     @Override
     public void copy(ENTITY destEntity, ENTITY srcEntity) {
+        if (basicField) {
+            @SuppressWarnings("unchecked")
+            BASIC value = (BASIC) field.getValue(srcEntity);
+            Wrapper<BASIC> wrapper = wrapperSupplier.get();
+            wrapper.set(value);
+            field.setValue(destEntity, wrapper.getCopy());
+            return;
+        }
         Property<ENTITY, BASIC> dest = createProperty();
         dest.load(destEntity);
         Property<ENTITY, BASIC> src = createProperty();
@@ -214,6 +253,31 @@ public class DefaultPropertyType<PARENT, ENTITY extends PARENT, BASIC, DOMAIN>
         dest.save(destEntity);
     }
 
+    /**
+     * プロパティの値をエンティティへコピーします。
+     * <p>
+     * {@link #copy(Object, Object)} と同様に deep copy を行いますが、コピー元のエンティティから値を読み込みません。
+     * プロパティの型が基本型の場合、 {@link Property} を作成せずにフィールドへ直接設定します。
+     * 
+     * @param destEntity
+     *            コピー先のエンティティ
+     * @param srcProperty
+     *            コピー元のプロパティ
+     * @since 2.20.0
+     */
+    public void copy(ENTITY destEntity, Property<ENTITY, ?> srcProperty) {
+        @SuppressWarnings("unchecked")
+        Wrapper<BASIC> src = (Wrapper<BASIC>) srcProperty.getWrapper();
+        BASIC value = src.getCopy();
+        if (basicField && (value != null || !field.isPrimitive())) {
+            field.setValue(destEntity, value);
+            return;
+        }
+        Property<ENTITY, BASIC> dest = createProperty();
+        dest.getWrapper().set(value);
+        dest.save(destEntity);
+    }
+
     @Override
     public String getName() {
         return name;
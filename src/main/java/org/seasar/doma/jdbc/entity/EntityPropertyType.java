@@ -18,6 +18,8 @@ package org.seasar.doma.jdbc.entity;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.seasar.doma.jdbc.InParameter;
+
 /**
  * エンティティのプロパティ型を表します。
  * 
@@ -144,4 +146,16 @@ public interface EntityPropertyType<ENTITY, BASIC> {
      */
     void copy(ENTITY dest, ENTITY src);
 
+    /**
+     * エンティティのプロパティの値をもつ入力用パラメータを作成します。
+     * 
+     * @param entity
+     *            エンティティ
+     * @return 入力用パラメータ
+     * @since 2.20.0
+     */
+    default InParameter<BASIC> createInParameter(ENTITY entity) {
+        return createProperty().load(entity).asInParameter();
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package org.seasar.doma.jdbc.entity;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -185,6 +186,32 @@ public interface EntityType<ENTITY> {
      */
     ENTITY newEntity(Map<String, Property<ENTITY, ?>> __args);
 
+    /**
+     * 位置を指定されたプロパティから新しいエンティティをインスタンス化します。
+     * <p>
+     * 配列の要素は {@link #getEntityPropertyTypes()} の要素と同じ順序で並んでいなければいけません。
+     * 値を持たないプロパティに対応する要素は {@code null} です。
+     * <p>
+     * デフォルトの実装は {@link #newEntity(Map)} に処理を委譲します。
+     * 注釈処理で生成される実装は、マップを経由せずに直接エンティティを組み立てます。
+     * 
+     * @param __args
+     *            プロパティの配列
+     * @return 新しいエンティティ
+     * @since 2.20.0
+     */
+    default ENTITY newEntity(Property<ENTITY, ?>[] __args) {
+        List<EntityPropertyType<ENTITY, ?>> propertyTypes = getEntityPropertyTypes();
+        Map<String, Property<ENTITY, ?>> args = new HashMap<>(
+                propertyTypes.size());
+        for (int i = 0; i < __args.length; i++) {
+            if (__args[i] != null) {
+                args.put(propertyTypes.get(i).getName(), __args[i]);
+            }
+        }
+        return newEntity(args);
+    }
+
     /**
      * エンティティのクラスを返します。
      * 
@@ -200,6 +227,24 @@ public interface EntityType<ENTITY> {
      */
     void saveCurrentStates(ENTITY entity);
 
+    /**
+     * 取得したプロパティの値から現在の状態を保存します。
+     * <p>
+     * エンティティから値を読み込み直さないため、 {@link #saveCurrentStates(Object)}
+     * よりも低いコストで保存できます。
+     * 
+     * @param entity
+     *            現在の状態
+     * @param properties
+     *            {@link #getEntityPropertyTypes()} と同じ順序で並んだプロパティ、値をもたない要素は
+     *            {@code null}
+     * @since 2.20.0
+     */
+    default void saveCurrentStates(ENTITY entity,
+            Property<ENTITY, ?>[] properties) {
+        saveCurrentStates(entity);
+    }
+
     /**
      * 元の状態を返します。
      * 
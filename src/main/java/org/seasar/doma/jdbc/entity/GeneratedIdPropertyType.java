@@ -16,6 +16,8 @@
 package org.seasar.doma.jdbc.entity;
 
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.seasar.doma.DomaNullPointerException;
@@ -156,6 +158,18 @@ public class GeneratedIdPropertyType<PARENT, ENTITY extends PARENT, BASIC extend
         return idGenerator.supportsBatch(config);
     }
 
+    /**
+     * 複数行を挿入するINSERT文での識別子生成がサポートされているかどうかを返します。
+     * 
+     * @param config
+     *            識別子の生成に関する設定
+     * @return サポートされている場合 {@code true}
+     * @since 2.20.0
+     */
+    public boolean isMultiRowInsertSupported(IdGenerationConfig config) {
+        return idGenerator.supportsMultiRowInsert(config);
+    }
+
     /**
      * バ{@link Statement#getGeneratedKeys()} をサポートしているかどうかを返します。
      * 
@@ -203,6 +217,37 @@ public class GeneratedIdPropertyType<PARENT, ENTITY extends PARENT, BASIC extend
                 () -> idGenerator.generatePostInsert(config, statement));
     }
 
+    /**
+     * 複数行を挿入するINSERTの実行後に識別子の生成を行います。
+     * 
+     * @param entityType
+     *            エンティティタイプ
+     * @param entities
+     *            挿入した順に並んだエンティティのリスト
+     * @param config
+     *            識別子の生成に関する設定
+     * @param statement
+     *            INSERT文を実行した文
+     * @return エンティティのリスト
+     * @since 2.20.0
+     */
+    public List<ENTITY> postInsert(EntityType<ENTITY> entityType,
+            List<ENTITY> entities, IdGenerationConfig config,
+            Statement statement) {
+        List<Long> values = idGenerator.generatePostInsert(config, statement,
+                entities.size());
+        if (values == null) {
+            return entities;
+        }
+        List<ENTITY> results = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            Long value = values.get(i);
+            results.add(setIfNecessary(entityType, entities.get(i),
+                    () -> value));
+        }
+        return results;
+    }
+
     /**
      * 必要であれば識別子を設定します。
      * 
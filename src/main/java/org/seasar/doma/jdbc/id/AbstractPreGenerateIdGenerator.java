@@ -18,11 +18,17 @@ package org.seasar.doma.jdbc.id;
 import java.sql.Statement;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.seasar.doma.jdbc.JdbcException;
 
 /**
  * INSERT文の実行前に識別子を生成するジェネレータの骨格実装です。
+ * <p>
+ * データベースから割り当てサイズの数だけ識別子をまとめて取得し、その中から識別子を割り当てます。
+ * 識別子の割り当てはロックを使用せずに行われます。 取得した識別子の残りが先読みの閾値に達すると、
+ * 次の識別子のブロックを先読みします。
  * 
  * @author taedium
  * 
@@ -36,6 +42,12 @@ public abstract class AbstractPreGenerateIdGenerator extends
     /** 割り当てサイズ */
     protected long allocationSize;
 
+    /** 先読みの閾値、負の値の場合は割り当てサイズの10分の1 */
+    protected long prefetchThreshold = -1;
+
+    /** 統計情報 */
+    protected final IdAllocationStatistics statistics = new IdAllocationStatistics();
+
     /** データソース名をキー、識別子コンテキストを値とするマップ */
     protected ConcurrentMap<String, IdContext> idContextMap = new ConcurrentHashMap<String, IdContext>();
 
@@ -59,6 +71,30 @@ public abstract class AbstractPreGenerateIdGenerator extends
         this.allocationSize = allocationSize;
     }
 
+    /**
+     * 先読みの閾値を設定します。
+     * <p>
+     * 取得済みの識別子の残りがこの値に達すると、次の識別子のブロックを取得します。 {@code 0}
+     * を指定した場合、先読みを行いません。
+     * 
+     * @param prefetchThreshold
+     *            先読みの閾値
+     * @since 2.20.0
+     */
+    public void setPrefetchThreshold(long prefetchThreshold) {
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    /**
+     * 統計情報を返します。
+     * 
+     * @return 統計情報
+     * @since 2.20.0
+     */
+    public IdAllocationStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public boolean supportsBatch(IdGenerationConfig config) {
         return true;
@@ -118,21 +154,45 @@ public abstract class AbstractPreGenerateIdGenerator extends
      */
     protected abstract long getNewInitialValue(IdGenerationConfig config);
 
+    /**
+     * 新しい識別子のブロックを取得します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param prefetch
+     *            先読みかどうか
+     * @return 識別子のブロック
+     * @throws JdbcException
+     *             新しい初期値の取得に失敗した場合
+     */
+    protected IdBlock fetchIdBlock(IdGenerationConfig config, boolean prefetch) {
+        long start = System.nanoTime();
+        long value = getNewInitialValue(config);
+        statistics.recordRefill(System.nanoTime() - start, prefetch);
+        long size = Math.max(allocationSize, 1);
+        long threshold = prefetchThreshold >= 0 ? prefetchThreshold
+                : allocationSize / 10;
+        long prefetchIndex = threshold > 0 && threshold < size ? size
+                - threshold : -1;
+        return new IdBlock(value, size, prefetchIndex);
+    }
+
     /**
      * 識別子コンテキストです。
      * <p>
-     * 識別子の増分と保持を行います。識別子の増分処理は同期化されます。
+     * 識別子の増分と保持を行います。識別子の増分はロックを使用せずに行われ、識別子のブロックを使い切った場合にのみ同期化されます。
      * 
      * @author taedium
      * 
      */
     public class IdContext {
 
-        /** 初期値 */
-        protected long initValue = AbstractPreGenerateIdGenerator.this.initialValue;
+        /** 現在の識別子のブロック */
+        protected final AtomicReference<IdBlock> currentBlock = new AtomicReference<IdBlock>(
+                new IdBlock(initialValue, 0, -1));
 
-        /** 割り当てサイズ */
-        protected long allocated = Long.MAX_VALUE;
+        /** 先読みした識別子のブロック */
+        protected final AtomicReference<IdBlock> nextBlock = new AtomicReference<IdBlock>();
 
         /**
          * 次の識別子を返します。
@@ -143,14 +203,90 @@ public abstract class AbstractPreGenerateIdGenerator extends
          * @throws JdbcException
          *             次の識別子の生成に失敗した場合
          */
-        public synchronized long getNextValue(IdGenerationConfig config) {
-            if (allocated < allocationSize) {
-                return initValue + allocated++;
+        public long getNextValue(IdGenerationConfig config) {
+            for (;;) {
+                IdBlock block = currentBlock.get();
+                long index = block.counter.getAndIncrement();
+                if (index < block.size) {
+                    statistics.incrementAllocationCount();
+                    if (index == block.prefetchIndex) {
+                        prefetch(config);
+                    }
+                    return block.initialValue + index;
+                }
+                statistics.incrementWaitCount();
+                refill(config, block);
+            }
+        }
+
+        /**
+         * 次の識別子のブロックを先読みします。
+         * 
+         * @param config
+         *            識別子生成の設定
+         */
+        protected void prefetch(IdGenerationConfig config) {
+            if (nextBlock.get() != null) {
+                return;
             }
-            initValue = getNewInitialValue(config);
-            allocated = 1;
-            return initValue;
+            IdBlock block;
+            try {
+                block = fetchIdBlock(config, true);
+            } catch (JdbcException ignored) {
+                // ブロックを使い切った時点で再度取得し、失敗した場合はそこで通知する
+                return;
+            }
+            nextBlock.compareAndSet(null, block);
         }
 
+        /**
+         * 使い切った識別子のブロックを新しいブロックに置き換えます。
+         * 
+         * @param config
+         *            識別子生成の設定
+         * @param exhausted
+         *            使い切った識別子のブロック
+         * @throws JdbcException
+         *             新しい初期値の取得に失敗した場合
+         */
+        protected synchronized void refill(IdGenerationConfig config,
+                IdBlock exhausted) {
+            if (currentBlock.get() != exhausted) {
+                return;
+            }
+            IdBlock block = nextBlock.getAndSet(null);
+            if (block == null) {
+                block = fetchIdBlock(config, false);
+            }
+            currentBlock.set(block);
+        }
+
+    }
+
+    /**
+     * データベースから取得した識別子のブロックです。
+     * 
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected static class IdBlock {
+
+        /** 初期値 */
+        protected final long initialValue;
+
+        /** 識別子の数 */
+        protected final long size;
+
+        /** 先読みを行うインデックス、先読みを行わない場合 {@code -1} */
+        protected final long prefetchIndex;
+
+        /** 次に割り当てるインデックス */
+        protected final AtomicLong counter = new AtomicLong();
+
+        protected IdBlock(long initialValue, long size, long prefetchIndex) {
+            this.initialValue = initialValue;
+            this.size = size;
+            this.prefetchIndex = prefetchIndex;
+        }
     }
 }
@@ -18,11 +18,16 @@ package org.seasar.doma.jdbc.id;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.seasar.doma.GenerationType;
+import org.seasar.doma.internal.jdbc.util.JdbcUtil;
 import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.Sql;
+import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.entity.EntityType;
 import org.seasar.doma.message.Message;
 
@@ -40,6 +45,16 @@ public class BuiltinIdentityIdGenerator extends AbstractIdGenerator implements
         return config.getIdProvider().isAvailable();
     }
 
+    @Override
+    public boolean supportsMultiRowInsert(IdGenerationConfig config) {
+        if (config.getIdProvider().isAvailable()) {
+            return true;
+        }
+        Dialect dialect = config.getDialect();
+        return dialect.supportsAutoGeneratedKeys()
+                && dialect.supportsAutoGeneratedKeysOfMultiRowInsert();
+    }
+
     @Override
     public boolean includesIdentityColumn(IdGenerationConfig config) {
         if (config.getIdProvider().isAvailable()) {
@@ -77,6 +92,18 @@ public class BuiltinIdentityIdGenerator extends AbstractIdGenerator implements
         return getGeneratedValue(config);
     }
 
+    @Override
+    public List<Long> generatePostInsert(IdGenerationConfig config,
+            Statement statement, int rowCount) {
+        if (config.getIdProvider().isAvailable()) {
+            return null;
+        }
+        if (config.getDialect().supportsAutoGeneratedKeys()) {
+            return getGeneratedValues(config, statement, rowCount);
+        }
+        return null;
+    }
+
     /**
      * {@link Statement#getGeneratedKeys()} を使用してデータベースで生成された値を取得します。
      * 
@@ -99,6 +126,43 @@ public class BuiltinIdentityIdGenerator extends AbstractIdGenerator implements
         }
     }
 
+    /**
+     * {@link Statement#getGeneratedKeys()} を使用して、複数行を挿入するINSERT文の実行時にデータベースで生成された値を取得します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param statement
+     *            INSERT文を実行した {@link Statement}
+     * @param rowCount
+     *            挿入した行数
+     * @return 識別子のリスト
+     * @throws JdbcException
+     *             識別子の取得に失敗した場合
+     * @since 2.20.0
+     */
+    protected List<Long> getGeneratedValues(IdGenerationConfig config,
+            Statement statement, int rowCount) {
+        JdbcLogger logger = config.getJdbcLogger();
+        ResultSet resultSet = null;
+        try {
+            resultSet = statement.getGeneratedKeys();
+            List<Long> values = new ArrayList<>(rowCount);
+            while (values.size() < rowCount && resultSet.next()) {
+                values.add(resultSet.getLong(1));
+            }
+            if (values.size() < rowCount) {
+                throw new JdbcException(Message.DOMA2017, config
+                        .getEntityType().getName());
+            }
+            return values;
+        } catch (final SQLException e) {
+            throw new JdbcException(Message.DOMA2018, e, config.getEntityType()
+                    .getName(), e);
+        } finally {
+            JdbcUtil.close(resultSet, logger);
+        }
+    }
+
     /**
      * 専用のSQLを使用してデータベースで生成された値を取得します。
      * 
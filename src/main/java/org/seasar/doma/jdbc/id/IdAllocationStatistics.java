@@ -0,0 +1,139 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.id;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * INSERT文の実行前に生成される識別子の割り当てに関する統計情報です。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ * @see AbstractPreGenerateIdGenerator#getStatistics()
+ */
+public final class IdAllocationStatistics {
+
+    private final LongAdder allocationCount = new LongAdder();
+
+    private final LongAdder refillCount = new LongAdder();
+
+    private final LongAdder prefetchCount = new LongAdder();
+
+    private final LongAdder waitCount = new LongAdder();
+
+    private final LongAdder totalRefillNanos = new LongAdder();
+
+    private final LongAccumulator maxRefillNanos = new LongAccumulator(
+            Long::max, 0L);
+
+    void incrementAllocationCount() {
+        allocationCount.increment();
+    }
+
+    void incrementWaitCount() {
+        waitCount.increment();
+    }
+
+    void recordRefill(long nanos, boolean prefetch) {
+        refillCount.increment();
+        if (prefetch) {
+            prefetchCount.increment();
+        }
+        totalRefillNanos.add(nanos);
+        maxRefillNanos.accumulate(nanos);
+    }
+
+    /**
+     * 割り当てた識別子の数を返します。
+     *
+     * @return 割り当てた識別子の数
+     */
+    public long getAllocationCount() {
+        return allocationCount.sum();
+    }
+
+    /**
+     * データベースから新しい識別子のブロックを取得した回数を返します。
+     * <p>
+     * 先読みによる取得の回数を含みます。
+     *
+     * @return 取得した回数
+     */
+    public long getRefillCount() {
+        return refillCount.sum();
+    }
+
+    /**
+     * 識別子のブロックを使い切る前に先読みで取得した回数を返します。
+     *
+     * @return 先読みで取得した回数
+     */
+    public long getPrefetchCount() {
+        return prefetchCount.sum();
+    }
+
+    /**
+     * 識別子のブロックを使い切ったために、識別子の割り当てが新しいブロックの取得を待った回数を返します。
+     *
+     * @return 待った回数
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    /**
+     * 新しい識別子のブロックの取得に要した時間の合計をナノ秒で返します。
+     *
+     * @return 取得に要した時間の合計（ナノ秒）
+     */
+    public long getTotalRefillNanos() {
+        return totalRefillNanos.sum();
+    }
+
+    /**
+     * 新しい識別子のブロックの取得に要した時間の最大値をナノ秒で返します。
+     *
+     * @return 取得に要した時間の最大値（ナノ秒）
+     */
+    public long getMaxRefillNanos() {
+        return maxRefillNanos.get();
+    }
+
+    /**
+     * 統計情報をリセットします。
+     */
+    public void reset() {
+        allocationCount.reset();
+        refillCount.reset();
+        prefetchCount.reset();
+        waitCount.reset();
+        totalRefillNanos.reset();
+        maxRefillNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{IdAllocationStatistics allocationCount="
+                + getAllocationCount() + ", refillCount=" + getRefillCount()
+                + ", prefetchCount=" + getPrefetchCount() + ", waitCount="
+                + getWaitCount() + ", totalRefillNanos="
+                + getTotalRefillNanos() + ", maxRefillNanos="
+                + getMaxRefillNanos() + "}";
+    }
+}
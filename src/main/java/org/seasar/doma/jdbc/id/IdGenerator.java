@@ -16,6 +16,7 @@
 package org.seasar.doma.jdbc.id;
 
 import java.sql.Statement;
+import java.util.List;
 
 import org.seasar.doma.GenerationType;
 import org.seasar.doma.jdbc.JdbcException;
@@ -87,6 +88,37 @@ public interface IdGenerator {
      */
     Long generatePostInsert(IdGenerationConfig config, Statement statement);
 
+    /**
+     * 複数行を挿入するINSERT文での識別子生成をサポートしているかどうかを返します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @return サポートしている場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean supportsMultiRowInsert(IdGenerationConfig config) {
+        return supportsBatch(config);
+    }
+
+    /**
+     * 複数行を挿入するINSERTの実行後に識別子を生成します。
+     * 
+     * @param config
+     *            識別子生成の設定
+     * @param statement
+     *            INSERT文を実行した文
+     * @param rowCount
+     *            挿入した行数
+     * @return 挿入した行の順に並んだ生成された識別子のリスト、サポートしていない場合 {@code null}
+     * @throws JdbcException
+     *             識別子の生成に失敗した場合
+     * @since 2.20.0
+     */
+    default List<Long> generatePostInsert(IdGenerationConfig config,
+            Statement statement, int rowCount) {
+        return null;
+    }
+
     /**
      * 識別子を生成する方法を返します。
      * 
@@ -15,6 +15,7 @@
  */
 package org.seasar.doma.jdbc.query;
 
+import static org.seasar.doma.internal.Constants.SEEK_KEY_PARAMETER_NAME_PREFIX;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.util.HashMap;
@@ -58,6 +59,8 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
 
     protected boolean resultMappingEnsured;
 
+    protected boolean readOnly;
+
     protected FetchType fetchType;
 
     protected int fetchSize;
@@ -79,6 +82,9 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
     public void prepare() {
         super.prepare();
         prepareOptions();
+        if (SelectOptionsAccessor.isCount(options)) {
+            SelectOptionsAccessor.setCountSize(options, -1);
+        }
         prepareSql();
         assertNotNull(sql);
     }
@@ -99,12 +105,26 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
 
     protected void buildSql(
             BiFunction<ExpressionEvaluator, Function<ExpandNode, List<String>>, PreparedSql> sqlBuilder) {
-        ExpressionEvaluator evaluator = new ExpressionEvaluator(parameters,
-                config.getDialect().getExpressionFunctions(),
-                config.getClassHelper());
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(
+                getEvaluationParameters(), config.getDialect()
+                        .getExpressionFunctions(), config.getClassHelper());
         sql = sqlBuilder.apply(evaluator, this::expandColumns);
     }
 
+    protected Map<String, Value> getEvaluationParameters() {
+        Object[] seekKeys = SelectOptionsAccessor.getSeekKeys(options);
+        if (seekKeys == null) {
+            return parameters;
+        }
+        Map<String, Value> result = new HashMap<String, Value>(parameters);
+        for (int i = 0; i < seekKeys.length; i++) {
+            Object key = seekKeys[i];
+            result.put(SEEK_KEY_PARAMETER_NAME_PREFIX + i,
+                    new Value(key.getClass(), key));
+        }
+        return result;
+    }
+
     protected List<String> expandColumns(ExpandNode node) {
         if (entityType == null) {
             SqlLocation location = node.getLocation();
@@ -118,6 +138,18 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 集計のためのSQLを別途発行する必要があるかどうかを返します。
+     * <p>
+     * ウィンドウ関数によって検索結果から集計を取得できた場合は {@code false} を返します。
+     * 
+     * @return 集計のためのSQLを別途発行する必要がある場合 {@code true}
+     */
+    protected boolean isCountRequired() {
+        return SelectOptionsAccessor.isCount(options)
+                && options.getCount() < 0;
+    }
+
     protected void executeCount(SqlNode sqlNode) {
         CountQuery query = new CountQuery();
         query.setCallerClassName(callerClassName);
@@ -181,6 +213,15 @@ public abstract class AbstractSelectQuery extends AbstractQuery implements
         this.resultMappingEnsured = resultMappingEnsured;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
     @Override
     public FetchType getFetchType() {
         return fetchType;
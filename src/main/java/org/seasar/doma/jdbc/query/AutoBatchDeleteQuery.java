@@ -15,23 +15,19 @@
  */
 package org.seasar.doma.jdbc.query;
 
-import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
-import java.util.ListIterator;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostDeleteContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreDeleteContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
 import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.Naming;
-import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
-import org.seasar.doma.jdbc.entity.Property;
 
 /**
  * @author taedium
@@ -52,28 +48,24 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
     @Override
     public void prepare() {
         super.prepare();
-        assertNotNull(method, entities, sqls);
-        int size = entities.size();
-        if (size == 0) {
+        assertNotNull(method);
+        if (!prepareFirstEntity()) {
             return;
         }
         executable = true;
         executionSkipCause = null;
-        currentEntity = entities.get(0);
         preDelete();
         prepareIdAndVersionPropertyTypes();
         validateIdExistent();
         prepareOptions();
         prepareOptimisticLock();
-        prepareSql();
-        entities.set(0, currentEntity);
-        for (ListIterator<ENTITY> it = entities.listIterator(1); it.hasNext();) {
-            currentEntity = it.next();
-            preDelete();
-            prepareSql();
-            it.set(currentEntity);
-        }
-        assertEquals(size, sqls.size());
+        prepareSqlTemplate(SqlKind.BATCH_DELETE);
+        prepareSqls();
+    }
+
+    @Override
+    protected void prepareEntity() {
+        preDelete();
     }
 
     protected void preDelete() {
@@ -93,11 +85,10 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         }
     }
 
-    protected void prepareSql() {
+    @Override
+    protected void appendSqlTemplate(PreparedSqlBuilder builder) {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
-        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
-                SqlKind.BATCH_DELETE, sqlLogType);
         builder.appendSql("delete from ");
         builder.appendSql(entityType.getQualifiedTableName(naming::apply,
                 dialect::applyQuote));
@@ -106,12 +97,10 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
             builder.appendSql(" where ");
             whereClauseAppended = true;
             for (EntityPropertyType<ENTITY, ?> propertyType : idPropertyTypes) {
-                Property<ENTITY, ?> property = propertyType.createProperty();
-                property.load(currentEntity);
                 builder.appendSql(propertyType.getColumnName(naming::apply,
                         dialect::applyQuote));
                 builder.appendSql(" = ");
-                builder.appendParameter(property.asInParameter());
+                appendParameter(builder, propertyType);
                 builder.appendSql(" and ");
             }
             builder.cutBackSql(5);
@@ -123,12 +112,10 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
                 builder.appendSql(" where ");
                 whereClauseAppended = true;
             }
-            Property<ENTITY, ?> property = versionPropertyType.createProperty();
-            property.load(currentEntity);
             builder.appendSql(versionPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             builder.appendSql(" = ");
-            builder.appendParameter(property.asInParameter());
+            appendParameter(builder, versionPropertyType);
         }
         if (tenantIdPropertyType != null) {
             if (whereClauseAppended) {
@@ -137,26 +124,16 @@ public class AutoBatchDeleteQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
                 builder.appendSql(" where ");
                 whereClauseAppended = true;
             }
-            Property<ENTITY, ?> property = tenantIdPropertyType
-                    .createProperty();
-            property.load(currentEntity);
             builder.appendSql(tenantIdPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             builder.appendSql(" = ");
-            builder.appendParameter(property.asInParameter());
+            appendParameter(builder, tenantIdPropertyType);
         }
-
-        PreparedSql sql = builder.build(this::comment);
-        sqls.add(sql);
     }
 
     @Override
-    public void complete() {
-        for (ListIterator<ENTITY> it = entities.listIterator(); it.hasNext();) {
-            currentEntity = it.next();
-            postDelete();
-            it.set(currentEntity);
-        }
+    protected void completeEntity() {
+        postDelete();
     }
 
     protected void postDelete() {
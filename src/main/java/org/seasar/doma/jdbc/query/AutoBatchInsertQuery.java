@@ -15,18 +15,19 @@
  */
 package org.seasar.doma.jdbc.query;
 
-import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.ListIterator;
+import java.util.List;
 
 import org.seasar.doma.internal.jdbc.entity.AbstractPostInsertContext;
 import org.seasar.doma.internal.jdbc.entity.AbstractPreInsertContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.PreparedSql;
@@ -54,6 +55,14 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
 
     protected boolean batchSupported = true;
 
+    protected boolean multiRowEnabled;
+
+    protected boolean multiRowSupported;
+
+    protected int multiRowSize;
+
+    protected PreparedSqlTemplate multiRowTemplate;
+
     public AutoBatchInsertQuery(EntityType<ENTITY> entityType) {
         super(entityType);
     }
@@ -61,32 +70,28 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
     @Override
     public void prepare() {
         super.prepare();
-        assertNotNull(method, entities, sqls);
-        int size = entities.size();
-        if (size == 0) {
+        assertNotNull(method);
+        if (!prepareFirstEntity()) {
             return;
         }
         executable = true;
         executionSkipCause = null;
-        currentEntity = entities.get(0);
         preInsert();
         prepareIdAndVersionPropertyTypes();
         prepareOptions();
         prepareTargetPropertyTypes();
         prepareIdValue();
         prepareVersionValue();
-        prepareSql();
-        entities.set(0, currentEntity);
-        for (ListIterator<ENTITY> it = entities.listIterator(1); it.hasNext();) {
-            currentEntity = it.next();
-            preInsert();
-            prepareIdValue();
-            prepareVersionValue();
-            prepareSql();
-            it.set(currentEntity);
-        }
-        currentEntity = null;
-        assertEquals(entities.size(), sqls.size());
+        prepareSqlTemplate(SqlKind.BATCH_INSERT);
+        prepareMultiRow();
+        prepareSqls();
+    }
+
+    @Override
+    protected void prepareEntity() {
+        preInsert();
+        prepareIdValue();
+        prepareVersionValue();
     }
 
     protected void preInsert() {
@@ -104,8 +109,10 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         generatedIdPropertyType = entityType.getGeneratedIdPropertyType();
         if (generatedIdPropertyType != null) {
             if (idGenerationConfig == null) {
-                idGenerationConfig = new IdGenerationConfig(config, entityType,
-                        new ReservedIdProvider(config, entityType,
+                // ストリーミングで実行する場合は行数が分からないため識別子を予約しない
+                idGenerationConfig = streamingEnabled ? new IdGenerationConfig(
+                        config, entityType) : new IdGenerationConfig(config,
+                        entityType, new ReservedIdProvider(config, entityType,
                                 entities.size()));
                 generatedIdPropertyType
                         .validateGenerationStrategy(idGenerationConfig);
@@ -164,11 +171,21 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         }
     }
 
-    protected void prepareSql() {
+    @Override
+    protected void appendSqlTemplate(PreparedSqlBuilder builder) {
+        appendInsertClause(builder);
+        builder.appendSql("(");
+        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
+            appendParameter(builder, propertyType);
+            builder.appendSql(", ");
+        }
+        builder.cutBackSql(2);
+        builder.appendSql(")");
+    }
+
+    protected void appendInsertClause(PreparedSqlBuilder builder) {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
-        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
-                SqlKind.BATCH_INSERT, sqlLogType);
         builder.appendSql("insert into ");
         builder.appendSql(entityType.getQualifiedTableName(naming::apply,
                 dialect::applyQuote));
@@ -179,17 +196,82 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
             builder.appendSql(", ");
         }
         builder.cutBackSql(2);
-        builder.appendSql(") values (");
-        for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
-            Property<ENTITY, ?> property = propertyType.createProperty();
-            property.load(currentEntity);
-            builder.appendParameter(property.asInParameter());
-            builder.appendSql(", ");
+        builder.appendSql(") values ");
+    }
+
+    protected void prepareMultiRow() {
+        multiRowSupported = false;
+        multiRowSize = 0;
+        multiRowTemplate = null;
+        sqlsDeferred = false;
+        if (!multiRowEnabled || targetPropertyTypes.isEmpty()) {
+            return;
+        }
+        Dialect dialect = config.getDialect();
+        if (!dialect.supportsMultiRowInsertStatement()) {
+            return;
+        }
+        if (generatedIdPropertyType != null && idGenerationConfig != null
+                && !generatedIdPropertyType
+                        .isMultiRowInsertSupported(idGenerationConfig)) {
+            return;
+        }
+        int maxBindParameterCount = dialect.getMaxBindParameterCount();
+        int size = maxBindParameterCount > 0 ? maxBindParameterCount
+                / targetPropertyTypes.size() : Integer.MAX_VALUE;
+        int maxRowCount = dialect.getMaxRowCountOfMultiRowInsert();
+        if (maxRowCount > 0) {
+            size = Math.min(size, maxRowCount);
+        }
+        if (batchSize > 0) {
+            size = Math.min(size, batchSize);
+        }
+        if (!streamingEnabled) {
+            size = Math.min(size, entities.size());
+        }
+        if (size < 2) {
+            return;
+        }
+        multiRowSize = size;
+        multiRowSupported = true;
+        sqlsDeferred = true;
+    }
+
+    @Override
+    public PreparedSql createMultiRowSql(List<PreparedSql> rowSqls) {
+        int rowCount = rowSqls.size();
+        PreparedSqlTemplate template;
+        if (rowCount == multiRowSize) {
+            if (multiRowTemplate == null) {
+                multiRowTemplate = createMultiRowTemplate(rowCount);
+            }
+            template = multiRowTemplate;
+        } else {
+            template = createMultiRowTemplate(rowCount);
+        }
+        List<InParameter<?>> parameters = new ArrayList<>(rowCount
+                * targetPropertyTypes.size());
+        for (PreparedSql rowSql : rowSqls) {
+            parameters.addAll(rowSql.getParameters());
+        }
+        return template.build(parameters);
+    }
+
+    protected PreparedSqlTemplate createMultiRowTemplate(int rowCount) {
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.BATCH_INSERT, sqlLogType);
+        appendInsertClause(builder);
+        for (int i = 0; i < rowCount; i++) {
+            builder.appendSql("(");
+            for (int j = 0; j < targetPropertyTypes.size(); j++) {
+                builder.appendPlaceholder();
+                builder.appendSql(", ");
+            }
+            builder.cutBackSql(2);
+            builder.appendSql("), ");
         }
         builder.cutBackSql(2);
-        builder.appendSql(")");
-        PreparedSql sql = builder.build(this::comment);
-        sqls.add(sql);
+        return builder.buildTemplate(this::comment);
     }
 
     @Override
@@ -201,20 +283,45 @@ public class AutoBatchInsertQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
     public void generateId(Statement statement, int index) {
         if (generatedIdPropertyType != null && idGenerationConfig != null) {
             ENTITY newEntity = generatedIdPropertyType.postInsert(entityType,
-                    entities.get(index), idGenerationConfig, statement);
-            entities.set(index, newEntity);
+                    getEntity(index), idGenerationConfig, statement);
+            setEntity(index, newEntity);
         }
     }
 
     @Override
-    public void complete() {
-        for (ListIterator<ENTITY> it = entities.listIterator(); it.hasNext();) {
-            currentEntity = it.next();
-            postInsert();
-            it.set(currentEntity);
+    public boolean isMultiRowSupported() {
+        return multiRowSupported;
+    }
+
+    @Override
+    public int getMultiRowSize() {
+        return multiRowSize;
+    }
+
+    @Override
+    public void generateIds(Statement statement, int index, int rowCount) {
+        if (generatedIdPropertyType != null && idGenerationConfig != null) {
+            List<ENTITY> rowEntities = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rowEntities.add(getEntity(index + i));
+            }
+            List<ENTITY> newEntities = generatedIdPropertyType.postInsert(
+                    entityType, rowEntities, idGenerationConfig, statement);
+            for (int i = 0; i < rowCount; i++) {
+                setEntity(index + i, newEntities.get(i));
+            }
         }
     }
 
+    public void setMultiRowEnabled(boolean multiRowEnabled) {
+        this.multiRowEnabled = multiRowEnabled;
+    }
+
+    @Override
+    protected void completeEntity() {
+        postInsert();
+    }
+
     protected void postInsert() {
         AutoBatchPostInsertContext<ENTITY> context = new AutoBatchPostInsertContext<ENTITY>(
                 entityType, method, config);
@@ -17,13 +17,22 @@ package org.seasar.doma.jdbc.query;
 
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.stream.Stream;
 
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.PreparedSqlTemplate;
+import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.JdbcException;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlExecutionSkipCause;
+import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
@@ -63,16 +72,44 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
 
     protected SqlExecutionSkipCause executionSkipCause = SqlExecutionSkipCause.BATCH_TARGET_NONEXISTENT;
 
-    protected List<PreparedSql> sqls;
+    protected List<PreparedSql> sqls = Collections.emptyList();
 
     protected List<ENTITY> entities;
 
+    protected Iterable<ENTITY> entityIterable;
+
     protected ENTITY currentEntity;
 
     protected int batchSize;
 
     protected SqlLogType sqlLogType;
 
+    protected boolean streamingEnabled;
+
+    /** 最初の行のSQLです。 */
+    protected PreparedSql sql;
+
+    /** 行ごとのSQLのテンプレートです。 */
+    protected PreparedSqlTemplate sqlTemplate;
+
+    /** パラメータに対応するプロパティ型のリストです。 */
+    protected List<EntityPropertyType<ENTITY, ?>> parameterPropertyTypes;
+
+    /** ストリーミングで実行する場合の、エンティティのイテレータです。 */
+    protected Iterator<ENTITY> entityIterator;
+
+    /** ストリーミングで実行する場合の、後処理が済んでいないエンティティのリストです。 */
+    protected List<ENTITY> pendingEntities;
+
+    /** ストリーミングで実行する場合の、後処理が済んだ行の数です。 */
+    protected int completedRowCount;
+
+    /** ストリーミングで実行する場合に、最初の行のSQLがまだ返されていないかどうかです。 */
+    protected boolean firstSqlPending;
+
+    /** 2行目以降のSQLの組み立てを、必要になるまで遅延するかどうかです。 */
+    protected boolean sqlsDeferred;
+
     public AutoBatchModifyQuery(EntityType<ENTITY> entityType) {
         assertNotNull(entityType);
         this.entityType = entityType;
@@ -126,17 +163,33 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
 
     public void setEntities(Iterable<ENTITY> entities) {
         assertNotNull(entities);
-        if (entities instanceof Collection<?>) {
-            this.entities = new ArrayList<ENTITY>((Collection<ENTITY>) entities);
-        } else {
-            this.entities = new ArrayList<ENTITY>();
-            for (ENTITY entity : entities) {
-                this.entities.add(entity);
-            }
-        }
-        this.sqls = new ArrayList<PreparedSql>(this.entities.size());
+        this.entityIterable = entities;
+    }
+
+    /**
+     * エンティティのストリームを設定します。
+     * <p>
+     * ストリームは {@link #prepare()} で1度だけ走査されます。
+     * ストリーミングで実行する場合は、実行時に1行ずつ走査されます。
+     * 
+     * @param entities
+     *            エンティティのストリーム
+     * @since 2.20.0
+     */
+    public void setEntities(Stream<ENTITY> entities) {
+        assertNotNull(entities);
+        Iterator<ENTITY> iterator = entities.iterator();
+        setEntities(() -> iterator);
     }
 
+    /**
+     * エンティティのリストを返します。
+     * <p>
+     * ストリーミングで実行する場合は、後処理が済んだエンティティのうち、
+     * イミュータブルなエンティティだけを返します。
+     * 
+     * @return エンティティのリスト
+     */
     public List<ENTITY> getEntities() {
         return entities;
     }
@@ -157,16 +210,269 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
         this.sqlLogType = sqlLogType;
     }
 
+    /**
+     * ストリーミングで実行するかどうかを設定します。
+     * <p>
+     * {@code true} の場合、エンティティを準備の段階でリストにまとめず、実行時に1行ずつ取り出してSQLを組み立てます。
+     * 実行済みの行は、バッチを実行するたびに後処理してから破棄します。
+     * そのため、 {@link #getSqls()} は空のリストを返し、 {@link #getEntities()}
+     * は後処理が済んだイミュータブルなエンティティだけを返します。
+     *
+     * @param streamingEnabled
+     *            ストリーミングで実行する場合 {@code true}
+     * @since 2.20.0
+     */
+    public void setStreamingEnabled(boolean streamingEnabled) {
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    /**
+     * 最初のエンティティを準備します。
+     * <p>
+     * ストリーミングで実行しない場合は、すべてのエンティティをリストにまとめます。
+     *
+     * @return エンティティが存在する場合 {@code true}
+     * @since 2.20.0
+     */
+    protected boolean prepareFirstEntity() {
+        assertNotNull(entityIterable);
+        if (streamingEnabled) {
+            entities = new ArrayList<ENTITY>();
+            pendingEntities = new ArrayList<ENTITY>();
+            completedRowCount = 0;
+            entityIterator = entityIterable.iterator();
+            if (!entityIterator.hasNext()) {
+                return false;
+            }
+            currentEntity = entityIterator.next();
+            return true;
+        }
+        if (entityIterable instanceof Collection<?>) {
+            entities = new ArrayList<ENTITY>(
+                    (Collection<ENTITY>) entityIterable);
+        } else {
+            entities = new ArrayList<ENTITY>();
+            for (ENTITY entity : entityIterable) {
+                entities.add(entity);
+            }
+        }
+        if (entities.isEmpty()) {
+            return false;
+        }
+        currentEntity = entities.get(0);
+        return true;
+    }
+
+    /**
+     * SQLのテンプレートを準備します。
+     * <p>
+     * SQLの文字列はここで1度だけ組み立て、行ごとにはパラメータだけを作成します。
+     *
+     * @param kind
+     *            SQLの種別
+     * @since 2.20.0
+     */
+    protected void prepareSqlTemplate(SqlKind kind) {
+        parameterPropertyTypes = new ArrayList<>();
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config, kind,
+                sqlLogType);
+        appendSqlTemplate(builder);
+        sqlTemplate = builder.buildTemplate(this::comment);
+    }
+
+    /**
+     * SQLのテンプレートを追加します。
+     * <p>
+     * パラメータは {@link #appendParameter(PreparedSqlBuilder, EntityPropertyType)}
+     * で追加します。
+     *
+     * @param builder
+     *            ビルダー
+     * @since 2.20.0
+     */
+    protected abstract void appendSqlTemplate(PreparedSqlBuilder builder);
+
+    /**
+     * プロパティに対応するパラメータのプレースホルダを追加します。
+     *
+     * @param builder
+     *            ビルダー
+     * @param propertyType
+     *            プロパティ型
+     * @since 2.20.0
+     */
+    protected void appendParameter(PreparedSqlBuilder builder,
+            EntityPropertyType<ENTITY, ?> propertyType) {
+        builder.appendPlaceholder();
+        parameterPropertyTypes.add(propertyType);
+    }
+
+    /**
+     * 最初のエンティティを除くエンティティを準備し、行ごとのSQLを組み立てます。
+     * <p>
+     * ストリーミングで実行する場合や {@link #sqlsDeferred} が {@code true}
+     * の場合は、最初の行のSQLだけを組み立てます。
+     *
+     * @since 2.20.0
+     */
+    protected void prepareSqls() {
+        sql = createSql(currentEntity);
+        if (streamingEnabled) {
+            pendingEntities.add(currentEntity);
+            firstSqlPending = true;
+            currentEntity = null;
+            return;
+        }
+        entities.set(0, currentEntity);
+        for (ListIterator<ENTITY> it = entities.listIterator(1); it.hasNext();) {
+            currentEntity = it.next();
+            prepareEntity();
+            it.set(currentEntity);
+        }
+        currentEntity = null;
+        sqls = sqlsDeferred ? null : createSqls();
+    }
+
+    /**
+     * 準備済みのすべてのエンティティに対応するSQLを組み立てます。
+     *
+     * @return SQLのリスト
+     * @since 2.20.0
+     */
+    protected List<PreparedSql> createSqls() {
+        List<PreparedSql> results = new ArrayList<PreparedSql>(entities.size());
+        results.add(sql);
+        for (ListIterator<ENTITY> it = entities.listIterator(1); it.hasNext();) {
+            results.add(createSql(it.next()));
+        }
+        return results;
+    }
+
+    /**
+     * 2行目以降の {@link #currentEntity} を準備します。
+     *
+     * @since 2.20.0
+     */
+    protected abstract void prepareEntity();
+
+    /**
+     * 実行済みの {@link #currentEntity} を後処理します。
+     *
+     * @since 2.20.0
+     */
+    protected abstract void completeEntity();
+
+    /**
+     * エンティティに対応するSQLを組み立てます。
+     * <p>
+     * SQLの文字列はテンプレートと共有し、パラメータだけを作成します。
+     *
+     * @param entity
+     *            エンティティ
+     * @return SQL
+     * @since 2.20.0
+     */
+    protected PreparedSql createSql(ENTITY entity) {
+        List<InParameter<?>> parameters = new ArrayList<>(
+                parameterPropertyTypes.size());
+        for (EntityPropertyType<ENTITY, ?> propertyType : parameterPropertyTypes) {
+            parameters.add(propertyType.createInParameter(entity));
+        }
+        return sqlTemplate.build(parameters);
+    }
+
+    /**
+     * インデックスに対応するエンティティを返します。
+     * <p>
+     * ストリーミングで実行する場合は、後処理が済んでいないエンティティだけを返せます。
+     *
+     * @param index
+     *            行のインデックス
+     * @return エンティティ
+     * @since 2.20.0
+     */
+    protected ENTITY getEntity(int index) {
+        if (streamingEnabled) {
+            return pendingEntities.get(index - completedRowCount);
+        }
+        return entities.get(index);
+    }
+
+    /**
+     * インデックスに対応するエンティティを置き換えます。
+     *
+     * @param index
+     *            行のインデックス
+     * @param entity
+     *            エンティティ
+     * @since 2.20.0
+     */
+    protected void setEntity(int index, ENTITY entity) {
+        if (streamingEnabled) {
+            pendingEntities.set(index - completedRowCount, entity);
+        } else {
+            entities.set(index, entity);
+        }
+    }
+
     @Override
     public PreparedSql getSql() {
-        return sqls.get(0);
+        return sql;
     }
 
     @Override
     public List<PreparedSql> getSqls() {
+        if (sqls == null) {
+            sqls = createSqls();
+        }
         return sqls;
     }
 
+    @Override
+    public Iterable<PreparedSql> getSqlIterable() {
+        if (streamingEnabled) {
+            return () -> new StreamingSqlIterator();
+        }
+        if (sqls == null) {
+            return new DeferredSqlList();
+        }
+        return sqls;
+    }
+
+    @Override
+    public void completeRows(int executedRowCount) {
+        if (!streamingEnabled) {
+            return;
+        }
+        int count = executedRowCount - completedRowCount;
+        for (int i = 0; i < count; i++) {
+            currentEntity = pendingEntities.get(i);
+            completeEntity();
+            if (entityType.isImmutable()) {
+                entities.add(currentEntity);
+            }
+        }
+        currentEntity = null;
+        pendingEntities.subList(0, count).clear();
+        completedRowCount = executedRowCount;
+    }
+
+    @Override
+    public void complete() {
+        if (streamingEnabled) {
+            if (pendingEntities != null) {
+                completeRows(completedRowCount + pendingEntities.size());
+            }
+            return;
+        }
+        for (ListIterator<ENTITY> it = entities.listIterator(); it.hasNext();) {
+            currentEntity = it.next();
+            completeEntity();
+            it.set(currentEntity);
+        }
+        currentEntity = null;
+    }
+
     @Override
     public boolean isOptimisticLockCheckRequired() {
         return optimisticLockCheckRequired;
@@ -199,7 +505,59 @@ public abstract class AutoBatchModifyQuery<ENTITY> extends AbstractQuery
 
     @Override
     public String toString() {
+        if (streamingEnabled || sqls == null) {
+            return String.valueOf(sql);
+        }
         return sqls.toString();
     }
 
+    /**
+     * エンティティを1行ずつ取り出して準備し、SQLを組み立てるイテレータです。
+     *
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected class StreamingSqlIterator implements Iterator<PreparedSql> {
+
+        @Override
+        public boolean hasNext() {
+            return firstSqlPending || entityIterator.hasNext();
+        }
+
+        @Override
+        public PreparedSql next() {
+            if (firstSqlPending) {
+                firstSqlPending = false;
+                return sql;
+            }
+            currentEntity = entityIterator.next();
+            prepareEntity();
+            ENTITY entity = currentEntity;
+            currentEntity = null;
+            pendingEntities.add(entity);
+            return createSql(entity);
+        }
+    }
+
+    /**
+     * 準備済みのエンティティから、要素を取り出すたびにSQLを組み立てるリストです。
+     * <p>
+     * 組み立てたSQLは保持しません。
+     *
+     * @author nakamura-to
+     * @since 2.20.0
+     */
+    protected class DeferredSqlList extends AbstractList<PreparedSql> {
+
+        @Override
+        public PreparedSql get(int index) {
+            return index == 0 ? sql : createSql(entities.get(index));
+        }
+
+        @Override
+        public int size() {
+            return entities.size();
+        }
+    }
+
 }
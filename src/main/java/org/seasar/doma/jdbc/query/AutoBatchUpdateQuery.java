@@ -15,7 +15,6 @@
  */
 package org.seasar.doma.jdbc.query;
 
-import static org.seasar.doma.internal.util.AssertionUtil.assertEquals;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import java.lang.reflect.Method;
@@ -26,12 +25,10 @@ import org.seasar.doma.internal.jdbc.entity.AbstractPreUpdateContext;
 import org.seasar.doma.internal.jdbc.sql.PreparedSqlBuilder;
 import org.seasar.doma.jdbc.Config;
 import org.seasar.doma.jdbc.Naming;
-import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
-import org.seasar.doma.jdbc.entity.Property;
 
 /**
  * @author taedium
@@ -54,14 +51,12 @@ public class AutoBatchUpdateQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
     @Override
     public void prepare() {
         super.prepare();
-        assertNotNull(method, entities, sqls);
-        int size = entities.size();
-        if (size == 0) {
+        assertNotNull(method);
+        if (!prepareFirstEntity()) {
             return;
         }
         executable = true;
         executionSkipCause = null;
-        currentEntity = entities.get(0);
         setupHelper();
         preUpdate();
         prepareIdAndVersionPropertyTypes();
@@ -69,15 +64,13 @@ public class AutoBatchUpdateQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         prepareOptions();
         prepareOptimisticLock();
         prepareTargetPropertyTypes();
-        prepareSql();
-        entities.set(0, currentEntity);
-        for (ListIterator<ENTITY> it = entities.listIterator(1); it.hasNext();) {
-            currentEntity = it.next();
-            preUpdate();
-            prepareSql();
-            it.set(currentEntity);
-        }
-        assertEquals(entities.size(), sqls.size());
+        prepareSqlTemplate(SqlKind.BATCH_UPDATE);
+        prepareSqls();
+    }
+
+    @Override
+    protected void prepareEntity() {
+        preUpdate();
     }
 
     protected void setupHelper() {
@@ -107,28 +100,25 @@ public class AutoBatchUpdateQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
         targetPropertyTypes = helper.getTargetPropertyTypes();
     }
 
-    protected void prepareSql() {
+    @Override
+    protected void appendSqlTemplate(PreparedSqlBuilder builder) {
         Naming naming = config.getNaming();
         Dialect dialect = config.getDialect();
-        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
-                SqlKind.BATCH_UPDATE, sqlLogType);
         builder.appendSql("update ");
         builder.appendSql(entityType.getQualifiedTableName(naming::apply,
                 dialect::applyQuote));
         builder.appendSql(" set ");
-        helper.populateValues(currentEntity, targetPropertyTypes,
-                versionPropertyType, builder);
+        helper.populateValues(targetPropertyTypes, versionPropertyType,
+                builder, propertyType -> appendParameter(builder, propertyType));
         boolean whereClauseAppended = false;
         if (idPropertyTypes.size() > 0) {
             builder.appendSql(" where ");
             whereClauseAppended = true;
             for (EntityPropertyType<ENTITY, ?> propertyType : idPropertyTypes) {
-                Property<ENTITY, ?> property = propertyType.createProperty();
-                property.load(currentEntity);
                 builder.appendSql(propertyType.getColumnName(naming::apply,
                         dialect::applyQuote));
                 builder.appendSql(" = ");
-                builder.appendParameter(property.asInParameter());
+                appendParameter(builder, propertyType);
                 builder.appendSql(" and ");
             }
             builder.cutBackSql(5);
@@ -140,12 +130,10 @@ public class AutoBatchUpdateQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
                 builder.appendSql(" where ");
                 whereClauseAppended = true;
             }
-            Property<ENTITY, ?> property = versionPropertyType.createProperty();
-            property.load(currentEntity);
             builder.appendSql(versionPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             builder.appendSql(" = ");
-            builder.appendParameter(property.asInParameter());
+            appendParameter(builder, versionPropertyType);
         }
         if (tenantIdPropertyType != null) {
             if (whereClauseAppended) {
@@ -154,21 +142,19 @@ public class AutoBatchUpdateQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
                 builder.appendSql(" where ");
                 whereClauseAppended = true;
             }
-            Property<ENTITY, ?> property = tenantIdPropertyType
-                    .createProperty();
-            property.load(currentEntity);
             builder.appendSql(tenantIdPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             builder.appendSql(" = ");
-            builder.appendParameter(property.asInParameter());
+            appendParameter(builder, tenantIdPropertyType);
         }
-
-        PreparedSql sql = builder.build(this::comment);
-        sqls.add(sql);
     }
 
     @Override
     public void incrementVersions() {
+        if (streamingEnabled) {
+            // ストリーミングで実行する場合は行ごとの後処理でインクリメントする
+            return;
+        }
         if (versionPropertyType != null && !versionIgnored) {
             for (ListIterator<ENTITY> it = entities.listIterator(); it
                     .hasNext();) {
@@ -180,12 +166,13 @@ public class AutoBatchUpdateQuery<ENTITY> extends AutoBatchModifyQuery<ENTITY>
     }
 
     @Override
-    public void complete() {
-        for (ListIterator<ENTITY> it = entities.listIterator(); it.hasNext();) {
-            currentEntity = it.next();
-            postUpdate();
-            it.set(currentEntity);
+    protected void completeEntity() {
+        if (streamingEnabled && versionPropertyType != null
+                && !versionIgnored) {
+            currentEntity = versionPropertyType.increment(entityType,
+                    currentEntity);
         }
+        postUpdate();
     }
 
     protected void postUpdate() {
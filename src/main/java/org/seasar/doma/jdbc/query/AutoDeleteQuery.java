@@ -28,7 +28,6 @@ import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
-import org.seasar.doma.jdbc.entity.Property;
 
 /**
  * @author taedium
@@ -90,12 +89,10 @@ public class AutoDeleteQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
             builder.appendSql(" where ");
             whereClauseAppended = true;
             for (EntityPropertyType<ENTITY, ?> propertyType : idPropertyTypes) {
-                Property<ENTITY, ?> property = propertyType.createProperty();
-                property.load(entity);
                 builder.appendSql(propertyType.getColumnName(naming::apply,
                         dialect::applyQuote));
                 builder.appendSql(" = ");
-                builder.appendParameter(property.asInParameter());
+                builder.appendParameter(propertyType.createInParameter(entity));
                 builder.appendSql(" and ");
             }
             builder.cutBackSql(5);
@@ -107,12 +104,11 @@ public class AutoDeleteQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
                 builder.appendSql(" where ");
                 whereClauseAppended = true;
             }
-            Property<ENTITY, ?> property = versionPropertyType.createProperty();
-            property.load(entity);
             builder.appendSql(versionPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             builder.appendSql(" = ");
-            builder.appendParameter(property.asInParameter());
+            builder.appendParameter(versionPropertyType
+                    .createInParameter(entity));
         }
         if (tenantIdPropertyType != null) {
             if (whereClauseAppended) {
@@ -121,12 +117,11 @@ public class AutoDeleteQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
                 builder.appendSql(" where ");
                 whereClauseAppended = true;
             }
-            Property<ENTITY, ?> property = tenantIdPropertyType.createProperty();
-            property.load(entity);
             builder.appendSql(tenantIdPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             builder.appendSql(" = ");
-            builder.appendParameter(property.asInParameter());
+            builder.appendParameter(tenantIdPropertyType
+                    .createInParameter(entity));
         }
         sql = builder.build(this::comment);
     }
@@ -161,9 +161,7 @@ public class AutoInsertQuery<ENTITY> extends AutoModifyQuery<ENTITY> implements
         builder.cutBackSql(2);
         builder.appendSql(") values (");
         for (EntityPropertyType<ENTITY, ?> propertyType : targetPropertyTypes) {
-            Property<ENTITY, ?> property = propertyType.createProperty();
-            property.load(entity);
-            builder.appendParameter(property.asInParameter());
+            builder.appendParameter(propertyType.createInParameter(entity));
             builder.appendSql(", ");
         }
         builder.cutBackSql(2);
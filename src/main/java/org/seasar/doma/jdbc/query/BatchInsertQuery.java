@@ -16,6 +16,11 @@
 package org.seasar.doma.jdbc.query;
 
 import java.sql.Statement;
+import java.util.List;
+
+import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.message.Message;
 
 /**
  * @author taedium
@@ -27,4 +32,55 @@ public interface BatchInsertQuery extends BatchModifyQuery {
 
     void generateId(Statement statement, int index);
 
+    /**
+     * 複数行を挿入するINSERT文で実行するかどうかを返します。
+     * 
+     * @return 複数行を挿入するINSERT文で実行する場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean isMultiRowSupported() {
+        return false;
+    }
+
+    /**
+     * 行ごとのSQLをまとめて、複数行を挿入するINSERT文を組み立てます。
+     * <p>
+     * このメソッドは {@link #isMultiRowSupported()} が {@code true} を返す場合にのみ呼び出されます。
+     * デフォルトの実装は {@link JdbcException} をスローします。
+     * 
+     * @param sqls
+     *            {@link #getMultiRowSize()} 以下の数の行ごとのSQL
+     * @return 複数行を挿入するINSERT文
+     * @throws JdbcException
+     *             複数行を挿入するINSERT文をサポートしていない場合
+     * @since 2.20.0
+     */
+    default PreparedSql createMultiRowSql(List<PreparedSql> sqls) {
+        throw new JdbcException(Message.DOMA2237, getClass().getName());
+    }
+
+    /**
+     * 1つのINSERT文で挿入する行の最大数を返します。
+     * 
+     * @return 1つのINSERT文で挿入する行の最大数
+     * @since 2.20.0
+     */
+    default int getMultiRowSize() {
+        return 0;
+    }
+
+    /**
+     * 複数行を挿入するINSERT文の実行後に識別子を生成します。
+     * 
+     * @param statement
+     *            INSERT文を実行した文
+     * @param index
+     *            最初の行のインデックス
+     * @param rowCount
+     *            挿入した行数
+     * @since 2.20.0
+     */
+    default void generateIds(Statement statement, int index, int rowCount) {
+    }
+
 }
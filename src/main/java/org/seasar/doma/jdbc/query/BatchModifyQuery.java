@@ -43,4 +43,34 @@ public interface BatchModifyQuery extends Query {
     int getBatchSize();
 
     SqlLogType getSqlLogType();
+
+    /**
+     * 実行するSQLを行の順に返す {@link Iterable} を返します。
+     * <p>
+     * ストリーミングで実行するクエリは、走査の中でSQLを1行ずつ組み立てます。
+     * その場合、走査できるのは1度だけです。
+     * <p>
+     * デフォルトの実装は {@link #getSqls()} を返します。
+     * 
+     * @return 実行するSQLの {@link Iterable}
+     * @since 2.20.0
+     */
+    default Iterable<PreparedSql> getSqlIterable() {
+        return getSqls();
+    }
+
+    /**
+     * 実行済みの行を後処理します。
+     * <p>
+     * コマンドはバッチを実行するたびにこのメソッドを呼び出します。
+     * ストリーミングで実行するクエリは、実行済みの行を後処理してから破棄します。
+     * <p>
+     * デフォルトの実装は何も行いません。
+     * 
+     * @param executedRowCount
+     *            実行済みの行の累計数
+     * @since 2.20.0
+     */
+    default void completeRows(int executedRowCount) {
+    }
 }
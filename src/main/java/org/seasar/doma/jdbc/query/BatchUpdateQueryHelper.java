@@ -17,6 +17,7 @@ package org.seasar.doma.jdbc.query;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.seasar.doma.internal.jdbc.sql.SqlContext;
 import org.seasar.doma.jdbc.Config;
@@ -24,7 +25,6 @@ import org.seasar.doma.jdbc.Naming;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.entity.EntityPropertyType;
 import org.seasar.doma.jdbc.entity.EntityType;
-import org.seasar.doma.jdbc.entity.Property;
 
 /**
  * @author nakamura-to
@@ -108,15 +108,37 @@ public class BatchUpdateQueryHelper<E> {
     public void populateValues(E entity,
             List<EntityPropertyType<E, ?>> targetPropertyTypes,
             EntityPropertyType<E, ?> versionPropertyType, SqlContext context) {
+        populateValues(targetPropertyTypes, versionPropertyType, context,
+                propertyType -> context.appendParameter(propertyType
+                        .createInParameter(entity)));
+    }
+
+    /**
+     * 更新対象のカラムと値の組を追加します。
+     * <p>
+     * 値の追加は {@code parameterAppender} に委譲します。
+     * 
+     * @param targetPropertyTypes
+     *            更新対象のプロパティ型
+     * @param versionPropertyType
+     *            バージョンのプロパティ型
+     * @param context
+     *            コンテキスト
+     * @param parameterAppender
+     *            プロパティ型に対応する値を追加する処理
+     * @since 2.20.0
+     */
+    public void populateValues(
+            List<EntityPropertyType<E, ?>> targetPropertyTypes,
+            EntityPropertyType<E, ?> versionPropertyType, SqlContext context,
+            Consumer<EntityPropertyType<E, ?>> parameterAppender) {
         Dialect dialect = config.getDialect();
         Naming naming = config.getNaming();
         for (EntityPropertyType<E, ?> propertyType : targetPropertyTypes) {
-            Property<E, ?> property = propertyType.createProperty();
-            property.load(entity);
             context.appendSql(propertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             context.appendSql(" = ");
-            context.appendParameter(property.asInParameter());
+            parameterAppender.accept(propertyType);
             if (propertyType.isVersion() && !versionIgnored) {
                 context.appendSql(" + 1");
             }
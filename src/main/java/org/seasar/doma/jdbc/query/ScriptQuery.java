@@ -34,4 +34,14 @@ public interface ScriptQuery extends Query {
     boolean getHaltOnError();
 
     SqlLogType getSqlLogType();
+
+    /**
+     * バッチサイズを返します。
+     * 
+     * @return バッチサイズ、ステートメントを1つずつ実行する場合 {@literal 0} 以下の値
+     * @since 2.20.0
+     */
+    default int getBatchSize() {
+        return 0;
+    }
 }
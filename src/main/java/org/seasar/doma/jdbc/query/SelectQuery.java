@@ -44,4 +44,14 @@ public interface SelectQuery extends Query {
     SqlLogType getSqlLogType();
 
     boolean isResultStream();
+
+    /**
+     * 検索結果を読み取り専用として扱うかどうかを返します。
+     * 
+     * @return 読み取り専用として扱う場合 {@code true}
+     * @since 2.20.0
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
 }
@@ -18,7 +18,6 @@ package org.seasar.doma.jdbc.query;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
-import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.SqlFile;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlNode;
@@ -54,7 +53,7 @@ public class SqlFileSelectQuery extends AbstractSelectQuery {
 
     @Override
     public void complete() {
-        if (SelectOptionsAccessor.isCount(options)) {
+        if (isCountRequired()) {
             executeCount(sqlFile.getSqlNode());
         }
     }
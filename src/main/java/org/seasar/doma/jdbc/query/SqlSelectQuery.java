@@ -18,7 +18,6 @@ package org.seasar.doma.jdbc.query;
 import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
 
 import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
-import org.seasar.doma.jdbc.SelectOptionsAccessor;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlNode;
 
@@ -50,7 +49,7 @@ public class SqlSelectQuery extends AbstractSelectQuery {
 
     @Override
     public void complete() {
-        if (SelectOptionsAccessor.isCount(options)) {
+        if (isCountRequired()) {
             executeCount(sqlNode);
         }
     }
@@ -129,10 +129,10 @@ public class UpdateQueryHelper<E> {
 
     protected boolean isChanged(E entity, E originalStates,
             EntityPropertyType<E, ?> propertyType) {
-        Wrapper<?> wrapper = propertyType.createProperty().load(entity)
+        Wrapper<?> wrapper = propertyType.createInParameter(entity)
                 .getWrapper();
-        Wrapper<?> originalWrapper = propertyType.createProperty()
-                .load(originalStates).getWrapper();
+        Wrapper<?> originalWrapper = propertyType.createInParameter(
+                originalStates).getWrapper();
         return !wrapper.hasEqualValue(originalWrapper.get());
     }
 
@@ -143,21 +143,18 @@ public class UpdateQueryHelper<E> {
         Dialect dialect = config.getDialect();
         Naming naming = config.getNaming();
         for (EntityPropertyType<E, ?> propertyType : targetPropertyTypes) {
-            Property<E, ?> property = propertyType.createProperty();
-            property.load(entity);
             context.appendSql(propertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             context.appendSql(" = ");
-            context.appendParameter(property.asInParameter());
+            context.appendParameter(propertyType.createInParameter(entity));
             context.appendSql(", ");
         }
         if (!versionIgnored && versionPropertyType != null) {
-            Property<E, ?> property = versionPropertyType.createProperty();
-            property.load(entity);
             context.appendSql(versionPropertyType.getColumnName(naming::apply,
                     dialect::applyQuote));
             context.appendSql(" = ");
-            context.appendParameter(property.asInParameter());
+            context.appendParameter(versionPropertyType
+                    .createInParameter(entity));
             context.appendSql(" + 1");
         } else {
             context.cutBackSql(2);
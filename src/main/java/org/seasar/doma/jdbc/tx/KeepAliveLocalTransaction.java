@@ -97,6 +97,36 @@ public class KeepAliveLocalTransaction extends LocalTransaction {
                 defaultTransactionIsolationLevel);
     }
 
+    /**
+     * ステートメントキャッシュの設定を指定してインスタンスを構築します。
+     * <p>
+     * キャッシュされたステートメントはトランザクションをまたいで維持され、 {@link #destroy()} で閉じられます。
+     * 
+     * @param dataSource
+     *            データソース
+     * @param localTxContextHolder
+     *            ローカルトランザクションコンテキストのホルダー
+     * @param jdbcLogger
+     *            JDBCに関するロガー
+     * @param defaultTransactionIsolationLevel
+     *            デフォルトのトランザクション分離レベル、指定しない場合 {@code null}
+     * @param statementCacheSize
+     *            キャッシュする準備されたステートメントの最大数、キャッシュしない場合 {@code 0}
+     * @param statementCacheStatistics
+     *            ステートメントキャッシュの統計情報
+     * @since 2.20.0
+     */
+    protected KeepAliveLocalTransaction(DataSource dataSource,
+            LocalTransactionContextHolder localTxContextHolder,
+            JdbcLogger jdbcLogger,
+            TransactionIsolationLevel defaultTransactionIsolationLevel,
+            int statementCacheSize,
+            StatementCacheStatistics statementCacheStatistics) {
+        super(dataSource, localTxContextHolder, jdbcLogger,
+                defaultTransactionIsolationLevel, statementCacheSize,
+                statementCacheStatistics);
+    }
+
     /**
      * トランザクションコンテキストを初期化します。
      * <p>
@@ -93,7 +93,7 @@ public class LocalTransaction {
     protected final DataSource dataSource;
 
     /** ローカルトランザクションコンテキストのホルダー */
-    protected final ThreadLocal<LocalTransactionContext> localTxContextHolder;
+    protected final LocalTransactionContextHolder localTxContextHolder;
 
     /** JDBCに関するロガー */
     protected final JdbcLogger jdbcLogger;
@@ -104,6 +104,20 @@ public class LocalTransaction {
     /** クラス名 */
     protected final String className;
 
+    /**
+     * トランザクションごとにキャッシュする準備されたステートメントの最大数、キャッシュしない場合 {@code 0}
+     * 
+     * @since 2.20.0
+     */
+    protected final int statementCacheSize;
+
+    /**
+     * ステートメントキャッシュの統計情報
+     * 
+     * @since 2.20.0
+     */
+    protected final StatementCacheStatistics statementCacheStatistics;
+
     /**
      * インスタンスを構築します。
      * 
@@ -136,12 +150,44 @@ public class LocalTransaction {
             ThreadLocal<LocalTransactionContext> localTxContextHolder,
             JdbcLogger jdbcLogger,
             TransactionIsolationLevel defaultTransactionIsolationLevel) {
-        assertNotNull(dataSource, localTxContextHolder, jdbcLogger);
+        this(dataSource, new ThreadLocalTransactionContextHolder(
+                localTxContextHolder), jdbcLogger,
+                defaultTransactionIsolationLevel, 0,
+                new StatementCacheStatistics());
+    }
+
+    /**
+     * デフォルトのトランザクション分離レベルとステートメントキャッシュの設定を指定してインスタンスを構築します。
+     * 
+     * @param dataSource
+     *            データソース
+     * @param localTxContextHolder
+     *            ローカルトランザクションコンテキストのホルダー
+     * @param jdbcLogger
+     *            JDBCに関するロガー
+     * @param defaultTransactionIsolationLevel
+     *            デフォルトのトランザクション分離レベル、指定しない場合 {@code null}
+     * @param statementCacheSize
+     *            トランザクションごとにキャッシュする準備されたステートメントの最大数、キャッシュしない場合 {@code 0}
+     * @param statementCacheStatistics
+     *            ステートメントキャッシュの統計情報
+     * @since 2.20.0
+     */
+    protected LocalTransaction(DataSource dataSource,
+            LocalTransactionContextHolder localTxContextHolder,
+            JdbcLogger jdbcLogger,
+            TransactionIsolationLevel defaultTransactionIsolationLevel,
+            int statementCacheSize,
+            StatementCacheStatistics statementCacheStatistics) {
+        assertNotNull(dataSource, localTxContextHolder, jdbcLogger,
+                statementCacheStatistics);
         this.dataSource = dataSource;
         this.localTxContextHolder = localTxContextHolder;
         this.jdbcLogger = jdbcLogger;
         this.defaultTransactionIsolationLevel = defaultTransactionIsolationLevel;
         this.className = getClass().getName();
+        this.statementCacheSize = statementCacheSize;
+        this.statementCacheStatistics = statementCacheStatistics;
     }
 
     /**
@@ -228,8 +274,10 @@ public class LocalTransaction {
                 closeConnection(connection);
                 throw new JdbcException(Message.DOMA2041, e, e);
             }
+            StatementCache statementCache = statementCacheSize > 0 ? new StatementCache(
+                    statementCacheSize, statementCacheStatistics) : null;
             return new LocalTransactionConnection(connection,
-                    transactionIsolation);
+                    transactionIsolation, statementCache);
         });
         jdbcLogger.logTransactionBegun(className, callerMethodName,
                 context.getId());
@@ -568,6 +616,12 @@ public class LocalTransaction {
             return;
         }
         LocalTransactionConnection connection = context.getConnection();
+        try {
+            connection.closeStatementCache();
+        } catch (SQLException ignored) {
+            jdbcLogger.logStatementClosingFailure(className, callerMethodName,
+                    ignored);
+        }
         int isolationLevel = connection.getPreservedTransactionIsolation();
         if (isolationLevel != Connection.TRANSACTION_NONE) {
             try {
@@ -53,6 +53,9 @@ class LocalTransactionConnection implements Connection {
 
     private final int preservedTransactionIsolation;
 
+    /** ステートメントのキャッシュ、キャッシュしない場合 {@code null} */
+    private final StatementCache statementCache;
+
     /**
      * インスタンスを構築します。
      * 
@@ -61,10 +64,27 @@ class LocalTransactionConnection implements Connection {
      */
     public LocalTransactionConnection(Connection connection,
             int preservedTransactionIsolation) {
+        this(connection, preservedTransactionIsolation, null);
+    }
+
+    /**
+     * ステートメントのキャッシュを指定してインスタンスを構築します。
+     * 
+     * @param connection
+     *            コネクション
+     * @param preservedTransactionIsolation
+     *            トランザクション開始前のトランザクション分離レベル
+     * @param statementCache
+     *            ステートメントのキャッシュ、キャッシュしない場合 {@code null}
+     * @since 2.20.0
+     */
+    public LocalTransactionConnection(Connection connection,
+            int preservedTransactionIsolation, StatementCache statementCache) {
         assertNotNull(connection);
         assertTrue(!(connection instanceof LocalTransactionConnection));
         this.connection = connection;
         this.preservedTransactionIsolation = preservedTransactionIsolation;
+        this.statementCache = statementCache;
     }
 
     protected int getPreservedTransactionIsolation() {
@@ -80,6 +100,21 @@ class LocalTransactionConnection implements Connection {
         return connection;
     }
 
+    /**
+     * キャッシュされたステートメントをすべて閉じます。
+     * <p>
+     * 使用中のステートメントは、返却された時点で閉じられます。
+     * 
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     * @since 2.20.0
+     */
+    protected void closeStatementCache() throws SQLException {
+        if (statementCache != null) {
+            statementCache.close();
+        }
+    }
+
     @Override
     public void clearWarnings() throws SQLException {
         connection.clearWarnings();
@@ -259,13 +294,33 @@ class LocalTransactionConnection implements Connection {
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
             throws SQLException {
-        return connection.prepareStatement(sql, autoGeneratedKeys);
+        if (statementCache == null || sql == null) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+        StatementCache.Key key = new StatementCache.Key(sql,
+                autoGeneratedKeys, null);
+        PreparedStatement statement = statementCache.get(key);
+        if (statement != null) {
+            return statement;
+        }
+        return statementCache.wrap(key,
+                connection.prepareStatement(sql, autoGeneratedKeys));
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes)
             throws SQLException {
-        return connection.prepareStatement(sql, columnIndexes);
+        if (statementCache == null || sql == null || columnIndexes == null) {
+            return connection.prepareStatement(sql, columnIndexes);
+        }
+        StatementCache.Key key = new StatementCache.Key(sql, -1,
+                columnIndexes.clone());
+        PreparedStatement statement = statementCache.get(key);
+        if (statement != null) {
+            return statement;
+        }
+        return statementCache.wrap(key,
+                connection.prepareStatement(sql, columnIndexes));
     }
 
     @Override
@@ -276,7 +331,15 @@ class LocalTransactionConnection implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
-        return connection.prepareStatement(sql);
+        if (statementCache == null || sql == null) {
+            return connection.prepareStatement(sql);
+        }
+        StatementCache.Key key = new StatementCache.Key(sql, -1, null);
+        PreparedStatement statement = statementCache.get(key);
+        if (statement != null) {
+            return statement;
+        }
+        return statementCache.wrap(key, connection.prepareStatement(sql));
     }
 
     @Override
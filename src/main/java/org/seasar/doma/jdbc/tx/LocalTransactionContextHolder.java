@@ -0,0 +1,160 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.seasar.doma.DomaNullPointerException;
+
+/**
+ * ローカルトランザクションコンテキストのホルダーです。
+ * <p>
+ * ローカルトランザクションを実行中の処理とトランザクションコンテキストを関連付けます。デフォルトの実装は
+ * {@link ThreadLocalTransactionContextHolder} です。 仮想スレッドのスコープ付きの値など、
+ * スレッドローカル変数以外の仕組みでコンテキストを保持する場合はこのインタフェースを実装し、
+ * {@link LocalTransactionDataSource} のコンストラクタに渡してください。
+ * <p>
+ * {@code wrap} メソッドを使用すると、ローカルトランザクションを別のスレッドで実行される処理に明示的に引き継げます。
+ * 
+ * <pre>
+ * LocalTransactionContextHolder holder = dataSource.getLocalTransactionContextHolder();
+ * tx.begin();
+ * try {
+ *     CompletableFuture.supplyAsync(holder.wrap(() -&gt; dao.selectById(1)))
+ *             .thenApply(holder.wrap(employee -&gt; dao.update(employee)))
+ *             .join();
+ *     tx.commit();
+ * } finally {
+ *     tx.rollback();
+ * }
+ * </pre>
+ * 
+ * JDBCのコネクションはスレッドセーフではないため、同じトランザクションを引き継いだ処理を並行して実行してはいけません。
+ * また、トランザクションは開始したスレッドで終了してください。
+ * <p>
+ * このインタフェースの実装はスレッドセーフでなければいけません。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public interface LocalTransactionContextHolder {
+
+    /**
+     * 現在の処理に関連付けられたトランザクションコンテキストを返します。
+     * 
+     * @return トランザクションコンテキスト、関連付けられていない場合 {@code null}
+     */
+    LocalTransactionContext get();
+
+    /**
+     * 現在の処理にトランザクションコンテキストを関連付けます。
+     * 
+     * @param context
+     *            トランザクションコンテキスト、関連付けを解除する場合 {@code null}
+     */
+    void set(LocalTransactionContext context);
+
+    /**
+     * 現在のトランザクションコンテキストを引き継いで処理を実行する {@link Runnable} を返します。
+     * <p>
+     * 返される {@link Runnable} は、実行中だけ呼び出し時点のトランザクションコンテキストを関連付け、
+     * 終了後に元の関連付けを復元します。
+     * 
+     * @param task
+     *            処理
+     * @return トランザクションコンテキストを引き継ぐ処理
+     * @throws DomaNullPointerException
+     *             引数が {@code null} の場合
+     */
+    default Runnable wrap(Runnable task) {
+        if (task == null) {
+            throw new DomaNullPointerException("task");
+        }
+        LocalTransactionContext context = get();
+        return () -> {
+            LocalTransactionContext previous = get();
+            set(context);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * 現在のトランザクションコンテキストを引き継いで処理を実行する {@link Supplier} を返します。
+     * <p>
+     * 返される {@link Supplier} は、実行中だけ呼び出し時点のトランザクションコンテキストを関連付け、
+     * 終了後に元の関連付けを復元します。
+     * 
+     * @param <RESULT>
+     *            処理の結果の型
+     * @param task
+     *            処理
+     * @return トランザクションコンテキストを引き継ぐ処理
+     * @throws DomaNullPointerException
+     *             引数が {@code null} の場合
+     */
+    default <RESULT> Supplier<RESULT> wrap(Supplier<RESULT> task) {
+        if (task == null) {
+            throw new DomaNullPointerException("task");
+        }
+        LocalTransactionContext context = get();
+        return () -> {
+            LocalTransactionContext previous = get();
+            set(context);
+            try {
+                return task.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * 現在のトランザクションコンテキストを引き継いで処理を実行する {@link Function} を返します。
+     * <p>
+     * 返される {@link Function} は、実行中だけ呼び出し時点のトランザクションコンテキストを関連付け、
+     * 終了後に元の関連付けを復元します。
+     * 
+     * @param <T>
+     *            処理の引数の型
+     * @param <RESULT>
+     *            処理の結果の型
+     * @param task
+     *            処理
+     * @return トランザクションコンテキストを引き継ぐ処理
+     * @throws DomaNullPointerException
+     *             引数が {@code null} の場合
+     */
+    default <T, RESULT> Function<T, RESULT> wrap(Function<T, RESULT> task) {
+        if (task == null) {
+            throw new DomaNullPointerException("task");
+        }
+        LocalTransactionContext context = get();
+        return t -> {
+            LocalTransactionContext previous = get();
+            set(context);
+            try {
+                return task.apply(t);
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
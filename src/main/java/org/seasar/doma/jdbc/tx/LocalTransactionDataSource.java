@@ -23,6 +23,7 @@ import java.util.logging.Logger;
 
 import javax.sql.DataSource;
 
+import org.seasar.doma.DomaIllegalArgumentException;
 import org.seasar.doma.DomaNullPointerException;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.SimpleDataSource;
@@ -39,12 +40,18 @@ import org.seasar.doma.message.Message;
  */
 public final class LocalTransactionDataSource implements DataSource {
 
-    /** コネクションのホルダー */
-    private final ThreadLocal<LocalTransactionContext> localTxContextHolder = new ThreadLocal<LocalTransactionContext>();
+    /** ローカルトランザクションコンテキストのホルダー */
+    private final LocalTransactionContextHolder localTxContextHolder;
 
     /** データソース */
     private final DataSource dataSource;
 
+    /** トランザクションごとにキャッシュする準備されたステートメントの最大数 */
+    private final int statementCacheSize;
+
+    /** ステートメントキャッシュの統計情報 */
+    private final StatementCacheStatistics statementCacheStatistics = new StatementCacheStatistics();
+
     /**
      * インスタンスを構築します。
      * 
@@ -54,10 +61,83 @@ public final class LocalTransactionDataSource implements DataSource {
      *             {@code dataSource} が {@code null} の場合
      */
     public LocalTransactionDataSource(DataSource dataSource) {
+        this(dataSource, 0);
+    }
+
+    /**
+     * ステートメントキャッシュの最大サイズを指定してインスタンスを構築します。
+     * <p>
+     * {@code statementCacheSize} に {@literal 1} 以上の値を指定した場合、ローカルトランザクションの中で
+     * {@link Connection#prepareStatement(String)} などにより準備されたステートメントは、閉じられた後もSQLと
+     * 自動生成キーの取得方法をキーとしてキャッシュされ、同じトランザクションの中で再利用されます。
+     * キャッシュされたステートメントはトランザクションの終了時に閉じられます。
+     * 
+     * @param dataSource
+     *            データソース
+     * @param statementCacheSize
+     *            トランザクションごとにキャッシュする準備されたステートメントの最大数、キャッシュしない場合
+     *            {@literal 0}
+     * @throws DomaNullPointerException
+     *             {@code dataSource} が {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code statementCacheSize} が負の値の場合
+     * @since 2.20.0
+     */
+    public LocalTransactionDataSource(DataSource dataSource,
+            int statementCacheSize) {
+        this(dataSource, statementCacheSize,
+                new ThreadLocalTransactionContextHolder());
+    }
+
+    /**
+     * ローカルトランザクションコンテキストのホルダーを指定してインスタンスを構築します。
+     * 
+     * @param dataSource
+     *            データソース
+     * @param localTxContextHolder
+     *            ローカルトランザクションコンテキストのホルダー
+     * @throws DomaNullPointerException
+     *             引数のいずれかが {@code null} の場合
+     * @since 2.20.0
+     */
+    public LocalTransactionDataSource(DataSource dataSource,
+            LocalTransactionContextHolder localTxContextHolder) {
+        this(dataSource, 0, localTxContextHolder);
+    }
+
+    /**
+     * ステートメントキャッシュの最大サイズとローカルトランザクションコンテキストのホルダーを指定してインスタンスを構築します。
+     * 
+     * @param dataSource
+     *            データソース
+     * @param statementCacheSize
+     *            トランザクションごとにキャッシュする準備されたステートメントの最大数、キャッシュしない場合
+     *            {@literal 0}
+     * @param localTxContextHolder
+     *            ローカルトランザクションコンテキストのホルダー
+     * @throws DomaNullPointerException
+     *             {@code dataSource} もしくは {@code localTxContextHolder} が
+     *             {@code null} の場合
+     * @throws DomaIllegalArgumentException
+     *             {@code statementCacheSize} が負の値の場合
+     * @since 2.20.0
+     */
+    public LocalTransactionDataSource(DataSource dataSource,
+            int statementCacheSize,
+            LocalTransactionContextHolder localTxContextHolder) {
         if (dataSource == null) {
             throw new DomaNullPointerException("dataSource");
         }
+        if (statementCacheSize < 0) {
+            throw new DomaIllegalArgumentException("statementCacheSize",
+                    "statementCacheSize < 0");
+        }
+        if (localTxContextHolder == null) {
+            throw new DomaNullPointerException("localTxContextHolder");
+        }
         this.dataSource = dataSource;
+        this.statementCacheSize = statementCacheSize;
+        this.localTxContextHolder = localTxContextHolder;
     }
 
     /**
@@ -85,6 +165,31 @@ public final class LocalTransactionDataSource implements DataSource {
             simpleDataSource.setPassword(password);
         }
         this.dataSource = simpleDataSource;
+        this.statementCacheSize = 0;
+        this.localTxContextHolder = new ThreadLocalTransactionContextHolder();
+    }
+
+    /**
+     * ステートメントキャッシュの統計情報を返します。
+     * 
+     * @return ステートメントキャッシュの統計情報
+     * @since 2.20.0
+     */
+    public StatementCacheStatistics getStatementCacheStatistics() {
+        return statementCacheStatistics;
+    }
+
+    /**
+     * ローカルトランザクションコンテキストのホルダーを返します。
+     * <p>
+     * ローカルトランザクションを別のスレッドで実行される処理に引き継ぐ場合に使用します。
+     * 
+     * @return ローカルトランザクションコンテキストのホルダー
+     * @see LocalTransactionContextHolder#wrap(Runnable)
+     * @since 2.20.0
+     */
+    public LocalTransactionContextHolder getLocalTransactionContextHolder() {
+        return localTxContextHolder;
     }
 
     /**
@@ -181,7 +286,7 @@ public final class LocalTransactionDataSource implements DataSource {
             throw new DomaNullPointerException("jdbcLogger");
         }
         return new LocalTransaction(dataSource, localTxContextHolder,
-                jdbcLogger);
+                jdbcLogger, null, statementCacheSize, statementCacheStatistics);
     }
 
     /**
@@ -204,7 +309,8 @@ public final class LocalTransactionDataSource implements DataSource {
             throw new DomaNullPointerException("transactionIsolationLevel");
         }
         return new LocalTransaction(dataSource, localTxContextHolder,
-                jdbcLogger, transactionIsolationLevel);
+                jdbcLogger, transactionIsolationLevel, statementCacheSize,
+                statementCacheStatistics);
     }
 
     /**
@@ -222,7 +328,7 @@ public final class LocalTransactionDataSource implements DataSource {
             throw new DomaNullPointerException("jdbcLogger");
         }
         return new KeepAliveLocalTransaction(dataSource, localTxContextHolder,
-                jdbcLogger);
+                jdbcLogger, null, statementCacheSize, statementCacheStatistics);
     }
 
     /**
@@ -246,7 +352,8 @@ public final class LocalTransactionDataSource implements DataSource {
             throw new DomaNullPointerException("transactionIsolationLevel");
         }
         return new KeepAliveLocalTransaction(dataSource, localTxContextHolder,
-                jdbcLogger, transactionIsolationLevel);
+                jdbcLogger, transactionIsolationLevel, statementCacheSize,
+                statementCacheStatistics);
     }
 
     @Override
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import static org.seasar.doma.internal.util.AssertionUtil.assertNotNull;
+import static org.seasar.doma.internal.util.AssertionUtil.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * ローカルトランザクションのコネクションに結び付けられた準備されたステートメントのキャッシュです。
+ * <p>
+ * 未使用のステートメントをLRUで保持します。キャッシュから取り出されたステートメントは、
+ * {@code close()} が呼び出されるまでキャッシュから取り除かれます。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+class StatementCache {
+
+    /** キャッシュの最大サイズ */
+    private final int maxSize;
+
+    /** 統計情報 */
+    private final StatementCacheStatistics statistics;
+
+    /** 未使用のステートメント */
+    private final LinkedHashMap<Key, CachedPreparedStatement> idleStatementMap;
+
+    /** キャッシュが閉じられたかどうか */
+    private boolean closed;
+
+    /**
+     * インスタンスを構築します。
+     *
+     * @param maxSize
+     *            キャッシュの最大サイズ
+     * @param statistics
+     *            統計情報
+     */
+    StatementCache(int maxSize, StatementCacheStatistics statistics) {
+        assertTrue(maxSize > 0, maxSize);
+        assertNotNull(statistics);
+        this.maxSize = maxSize;
+        this.statistics = statistics;
+        this.idleStatementMap = new LinkedHashMap<Key, CachedPreparedStatement>(
+                16, 0.75f, true);
+    }
+
+    /**
+     * キャッシュされたステートメントを返します。
+     *
+     * @param key
+     *            キー
+     * @return ステートメント、存在しない場合 {@code null}
+     */
+    synchronized CachedPreparedStatement get(Key key) {
+        assertNotNull(key);
+        if (closed) {
+            return null;
+        }
+        CachedPreparedStatement statement = idleStatementMap.remove(key);
+        if (statement == null) {
+            statistics.incrementMissCount();
+            return null;
+        }
+        statistics.incrementHitCount();
+        statement.reopen();
+        return statement;
+    }
+
+    /**
+     * ステートメントをキャッシュの管理下に置きます。
+     *
+     * @param key
+     *            キー
+     * @param statement
+     *            ステートメント
+     * @return キャッシュの管理下に置かれたステートメント
+     */
+    CachedPreparedStatement wrap(Key key, PreparedStatement statement) {
+        return new CachedPreparedStatement(statement, this, key);
+    }
+
+    /**
+     * 使用済みのステートメントを返却します。
+     * <p>
+     * 再利用のための初期化に失敗したステートメントは、キャッシュせずに閉じます。
+     *
+     * @param statement
+     *            ステートメント
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    void release(CachedPreparedStatement statement) throws SQLException {
+        assertNotNull(statement);
+        List<CachedPreparedStatement> garbage = new ArrayList<>(2);
+        boolean reusable = statement.reset();
+        synchronized (this) {
+            if (closed || !reusable) {
+                garbage.add(statement);
+            } else {
+                CachedPreparedStatement previous = idleStatementMap.put(
+                        statement.getKey(), statement);
+                if (previous != null) {
+                    garbage.add(previous);
+                }
+                if (idleStatementMap.size() > maxSize) {
+                    Iterator<CachedPreparedStatement> it = idleStatementMap
+                            .values().iterator();
+                    garbage.add(it.next());
+                    it.remove();
+                    statistics.incrementEvictionCount();
+                }
+            }
+        }
+        closeAll(garbage);
+    }
+
+    /**
+     * キャッシュを閉じ、未使用のステートメントをすべて閉じます。
+     * <p>
+     * 使用中のステートメントは、返却された時点で閉じられます。
+     *
+     * @throws SQLException
+     *             SQL例外が発生した場合
+     */
+    void close() throws SQLException {
+        List<CachedPreparedStatement> garbage;
+        synchronized (this) {
+            closed = true;
+            garbage = new ArrayList<>(idleStatementMap.values());
+            idleStatementMap.clear();
+        }
+        closeAll(garbage);
+    }
+
+    /**
+     * 未使用のステートメントの数を返します。
+     *
+     * @return 未使用のステートメントの数
+     */
+    synchronized int size() {
+        return idleStatementMap.size();
+    }
+
+    private void closeAll(List<CachedPreparedStatement> statements)
+            throws SQLException {
+        SQLException exception = null;
+        for (CachedPreparedStatement statement : statements) {
+            try {
+                statement.closePhysically();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.setNextException(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * キャッシュのキーです。
+     *
+     * @author nakamura-to
+     */
+    static class Key {
+
+        private final String sql;
+
+        private final int autoGeneratedKeys;
+
+        private final int[] columnIndexes;
+
+        private final int hashCode;
+
+        /**
+         * インスタンスを構築します。
+         *
+         * @param sql
+         *            SQL
+         * @param autoGeneratedKeys
+         *            自動生成されたキーを返すかどうかを示すフラグ、指定しない場合 {@code -1}
+         * @param columnIndexes
+         *            自動生成されたキーを返すカラムのインデックス、指定しない場合 {@code null}
+         */
+        Key(String sql, int autoGeneratedKeys, int[] columnIndexes) {
+            assertNotNull(sql);
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.columnIndexes = columnIndexes;
+            int result = sql.hashCode();
+            result = 31 * result + autoGeneratedKeys;
+            result = 31 * result + Arrays.hashCode(columnIndexes);
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode
+                    && autoGeneratedKeys == other.autoGeneratedKeys
+                    && sql.equals(other.sql)
+                    && Arrays.equals(columnIndexes, other.columnIndexes);
+        }
+    }
+
+}
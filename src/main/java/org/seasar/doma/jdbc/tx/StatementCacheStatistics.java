@@ -0,0 +1,92 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ローカルトランザクションにおけるステートメントキャッシュの統計情報です。
+ * <p>
+ * 同じ {@link LocalTransactionDataSource} から開始されたすべてのトランザクションの値が集計されます。
+ * <p>
+ * このクラスはスレッドセーフです。
+ *
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public final class StatementCacheStatistics {
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    void incrementHitCount() {
+        hitCount.increment();
+    }
+
+    void incrementMissCount() {
+        missCount.increment();
+    }
+
+    void incrementEvictionCount() {
+        evictionCount.increment();
+    }
+
+    /**
+     * キャッシュされたステートメントが再利用された回数を返します。
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * キャッシュにステートメントが存在せず、新たに準備された回数を返します。
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * キャッシュの最大サイズを超えたためにステートメントが閉じられた回数を返します。
+     *
+     * @return 追い出し数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 統計情報をリセットします。
+     */
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "{StatementCacheStatistics hitCount=" + getHitCount()
+                + ", missCount=" + getMissCount() + ", evictionCount="
+                + getEvictionCount() + "}";
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import org.seasar.doma.DomaNullPointerException;
+
+/**
+ * スレッドローカル変数を使用するローカルトランザクションコンテキストのホルダーです。
+ * <p>
+ * 関連付けを解除する際にはスレッドローカル変数のエントリを削除します。また、{@link ThreadLocal#get()}
+ * はエントリが存在しない場合に空のエントリを作成するため、コンテキストが関連付けられていないスレッドで取得した場合も
+ * そのエントリを直ちに削除します。したがって、トランザクションを実行していないスレッドにエントリは残りません。
+ * <p>
+ * このクラスはスレッドセーフです。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class ThreadLocalTransactionContextHolder implements
+        LocalTransactionContextHolder {
+
+    /** スレッドローカル変数 */
+    protected final ThreadLocal<LocalTransactionContext> threadLocal;
+
+    /**
+     * インスタンスを構築します。
+     */
+    public ThreadLocalTransactionContextHolder() {
+        this(new ThreadLocal<>());
+    }
+
+    /**
+     * スレッドローカル変数を指定してインスタンスを構築します。
+     * 
+     * @param threadLocal
+     *            スレッドローカル変数
+     * @throws DomaNullPointerException
+     *             引数が {@code null} の場合
+     */
+    public ThreadLocalTransactionContextHolder(
+            ThreadLocal<LocalTransactionContext> threadLocal) {
+        if (threadLocal == null) {
+            throw new DomaNullPointerException("threadLocal");
+        }
+        this.threadLocal = threadLocal;
+    }
+
+    @Override
+    public LocalTransactionContext get() {
+        LocalTransactionContext context = threadLocal.get();
+        if (context == null) {
+            threadLocal.remove();
+        }
+        return context;
+    }
+
+    @Override
+    public void set(LocalTransactionContext context) {
+        if (context == null) {
+            threadLocal.remove();
+        } else {
+            threadLocal.set(context);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.type;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * {@link InputStream} 用の {@link JdbcType} の実装です。
+ * <p>
+ * 値を {@link PreparedStatement#setBinaryStream(int, InputStream)} でバインドし、
+ * {@link ResultSet#getBinaryStream(int)} で取得します。値全体をメモリに読み込むことはありません。
+ * <p>
+ * {@link CallableStatement} にはバイナリストリームを取得するメソッドがないため、OUTパラメータの値は
+ * {@link CallableStatement#getBlob(int)} で取得した {@link Blob} のストリームとして返します。
+ * {@link CallableStatement#getBytes(int)} を使用すると値全体をメモリに読み込むことになるためです。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class InputStreamType extends AbstractJdbcType<InputStream> {
+
+    public InputStreamType() {
+        super(Types.LONGVARBINARY);
+    }
+
+    @Override
+    protected InputStream doGetValue(ResultSet resultSet, int index)
+            throws SQLException {
+        return resultSet.getBinaryStream(index);
+    }
+
+    @Override
+    protected void doSetValue(PreparedStatement preparedStatement, int index,
+            InputStream value) throws SQLException {
+        preparedStatement.setBinaryStream(index, value);
+    }
+
+    @Override
+    protected InputStream doGetValue(CallableStatement callableStatement,
+            int index) throws SQLException {
+        Blob blob = callableStatement.getBlob(index);
+        return blob != null ? blob.getBinaryStream() : null;
+    }
+
+    @Override
+    protected String doConvertToLogFormat(InputStream value) {
+        return value.toString();
+    }
+}
@@ -39,6 +39,7 @@ public enum Message implements MessageResource {
     // wrapper
     DOMA1006("ドメインの値をラップするのに失敗しました。原因は次のものです。{0}"),
     DOMA1007("型[{0}]の値[{1}]に対応するラッパークラスが見つかりません。"),
+    DOMA1008("ビジター[{0}]はラッパー[{1}]をサポートしていません。このラッパーを処理するメソッドをオーバーライドしてください。"),
 
     // jdbc
     DOMA2001("SQLの実行結果が1件ではありませんでした。\nSQLファイルパス=[{0}]。\nログ用SQL=[{1}]。"),
@@ -170,6 +171,10 @@ public enum Message implements MessageResource {
     DOMA2231("パラメータの数が異なります。バッチ実行されるクエリは全て同一でなければいけません。"),
     DOMA2232("パラメータの要素が空です。"),
     DOMA2233("要素Mapのキーに[{0}]が含まれていないものがあります。"),
+    DOMA2234("キーセットページング用SQLに変換するには元のSQLにorder by句が指定されている必要があります。"),
+    DOMA2235("キーセットページング用SQLに変換できません。order by句の項目[{0}]はカラム名と並び順（ascまたはdesc）のみで構成されている必要があります。"),
+    DOMA2236("キーセットページング用SQLに変換できません。キーの値の数[{0}]がorder by句の項目の数[{1}]と一致しません。"),
+    DOMA2237("クエリ[{0}]は複数行を挿入するINSERT文をサポートしていません。isMultiRowSupportedがtrueを返す場合はcreateMultiRowSqlをオーバーライドしてください。"),
 
     // expression
     DOMA3001("式[{0}]の評価に失敗しました（[{1}]番目の文字付近）。クラス[{2}]のメソッド[{3}]の実行に失敗しました。原因は次のものです。{4}"),
@@ -484,7 +489,11 @@ public enum Message implements MessageResource {
 
     // other
     DOMA5001("JDBCドライバがロードされていない可能性があります。まず、JDBCドライバがクラスパスにあることを確認してください。次に、JDBCドライバが自動でロードされない場合は、Class.forNameで明示的にロードしてください。 ex) Class.forName(\"oracle.jdbc.driver.OracleDriver\")"),
-    DOMA5002("urlプロパティが設定されていません。"),;
+    DOMA5002("urlプロパティが設定されていません。"),
+    DOMA5003("コネクションプールからコネクションを取得できません。待機時間[{0}]ミリ秒を超えました。プールの最大サイズは[{1}]です。"),
+    DOMA5004("コネクションが貸し出されてから[{0}]ミリ秒を超えて返却されていません。コネクションがリークしている可能性があります。スタックトレースは貸し出し時のものです。"),
+    DOMA5005("コネクションはすでにプールへ返却されています。"),
+    DOMA5006("コネクションプールはすでに閉じられています。"),;
 
     private final String messagePattern;
 
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.wrapper;
+
+import java.io.Reader;
+
+import org.seasar.doma.DomaNullPointerException;
+
+/**
+ * {@link Reader} のラッパーです。
+ * <p>
+ * 大きな文字データをストリームとしてバインドしたり取得したりするために使用します。
+ * 検索で取得したストリームは結果セットが閉じられるまでの間だけ読み取れます。
+ * 値全体をメモリに読み込まずに処理するには、 {@link org.seasar.doma.SelectType#STREAM} などを指定した検索の中で読み取ってください。
+ * 
+ * @author nakamura-to
+ * @since 2.20.0
+ */
+public class ReaderWrapper extends AbstractWrapper<Reader> {
+
+    /**
+     * インスタンスを構築します。
+     */
+    public ReaderWrapper() {
+        super(Reader.class);
+    }
+
+    /**
+     * 値を指定してインスタンスを構築します。
+     * 
+     * @param value
+     *            値
+     */
+    public ReaderWrapper(Reader value) {
+        super(Reader.class, value);
+    }
+
+    @Override
+    protected Reader doGetCopy() {
+        return null;
+    }
+
+    @Override
+    protected boolean doHasEqualValue(Object otherValue) {
+        return false;
+    }
+
+    @Override
+    public <R, P, Q, TH extends Throwable> R accept(
+            WrapperVisitor<R, P, Q, TH> visitor, P p, Q q) throws TH {
+        if (visitor == null) {
+            throw new DomaNullPointerException("visitor");
+        }
+        return visitor.visitReaderWrapper(this, p, q);
+    }
+}
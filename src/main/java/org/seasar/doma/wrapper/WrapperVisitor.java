@@ -15,6 +15,9 @@
  */
 package org.seasar.doma.wrapper;
 
+import org.seasar.doma.DomaException;
+import org.seasar.doma.message.Message;
+
 /**
  * {@link Wrapper} のビジターです。
  * 
@@ -82,6 +85,30 @@ public interface WrapperVisitor<R, P, Q, TH extends Throwable> {
         return null;
     }
 
+    /**
+     * {@link InputStreamWrapper} を処理します。
+     * <p>
+     * 値を読み飛ばすとバインドやフェッチが行われないため、デフォルトの実装は例外をスローします。
+     * 
+     * @param wrapper
+     *            ラッパー
+     * @param p
+     *            1番目のパラメータ
+     * @param q
+     *            2番目のパラメータ
+     * @return 戻り値
+     * @throws TH
+     *             例外
+     * @throws DomaException
+     *             このメソッドがオーバーライドされていない場合
+     * @since 2.20.0
+     */
+    default R visitInputStreamWrapper(InputStreamWrapper wrapper, P p, Q q)
+            throws TH {
+        throw new DomaException(Message.DOMA1008, getClass().getName(),
+                wrapper.getClass().getName());
+    }
+
     default R visitIntegerWrapper(IntegerWrapper wrapper, P p, Q q) throws TH {
         return null;
     }
@@ -113,6 +140,29 @@ public interface WrapperVisitor<R, P, Q, TH extends Throwable> {
         return null;
     }
 
+    /**
+     * {@link ReaderWrapper} を処理します。
+     * <p>
+     * 値を読み飛ばすとバインドやフェッチが行われないため、デフォルトの実装は例外をスローします。
+     * 
+     * @param wrapper
+     *            ラッパー
+     * @param p
+     *            1番目のパラメータ
+     * @param q
+     *            2番目のパラメータ
+     * @return 戻り値
+     * @throws TH
+     *             例外
+     * @throws DomaException
+     *             このメソッドがオーバーライドされていない場合
+     * @since 2.20.0
+     */
+    default R visitReaderWrapper(ReaderWrapper wrapper, P p, Q q) throws TH {
+        throw new DomaException(Message.DOMA1008, getClass().getName(),
+                wrapper.getClass().getName());
+    }
+
     default R visitShortWrapper(ShortWrapper wrapper, P p, Q q) throws TH {
         return null;
     }
@@ -146,6 +146,16 @@ public class _Emp extends AbstractEntityType<Emp> {
         __originalStatesAccessor.set(__entity, __currentStates);
     }
 
+    @Override
+    public void saveCurrentStates(Emp __entity, Property<Emp, ?>[] __args) {
+        Emp __currentStates = new Emp();
+        if (__args[0] != null) id.copy(__currentStates, __args[0]); else id.copy(__currentStates, __entity);
+        if (__args[1] != null) name.copy(__currentStates, __args[1]); else name.copy(__currentStates, __entity);
+        if (__args[2] != null) salary.copy(__currentStates, __args[2]); else salary.copy(__currentStates, __entity);
+        if (__args[3] != null) version.copy(__currentStates, __args[3]); else version.copy(__currentStates, __entity);
+        __originalStatesAccessor.set(__entity, __currentStates);
+    }
+
     @Override
     public Emp getOriginalStates(Emp entity) {
         if (entity.originalStates instanceof Emp) {
@@ -999,6 +999,16 @@ public class DaoProcessorTest extends AptTestCase {
         assertTrue(getCompiledResult());
     }
 
+    public void testReadOnly() throws Exception {
+        Class<?> target = ReadOnlyDao.class;
+        DaoProcessor processor = new DaoProcessor();
+        addProcessor(processor);
+        addCompilationUnit(target);
+        compile();
+        assertGeneratedSource(target);
+        assertTrue(getCompiledResult());
+    }
+
     public void testPlainSingletonConfig() throws Exception {
         Class<?> target = PlainSingletonConfigDao.class;
         DaoProcessor processor = new DaoProcessor();
@@ -28,6 +28,8 @@ import java.util.OptionalLong;
 
 import junit.framework.TestCase;
 
+import org.seasar.doma.internal.expr.ExpressionEvaluator.MethodCandidates;
+import org.seasar.doma.internal.expr.ExpressionEvaluator.MethodKey;
 import org.seasar.doma.internal.expr.node.ExpressionLocation;
 
 /**
@@ -185,6 +187,33 @@ public class ExpressionEvaluatorTest extends TestCase {
         assertNull(method);
     }
 
+    public void testFindMethod_cached() throws Exception {
+        Method method = new ExpressionEvaluator().findMethod("indexOf",
+                "string", String.class, new Class[] { String.class });
+        Method method2 = new ExpressionEvaluator().findMethod("indexOf",
+                "string", String.class, new Class[] { String.class });
+        assertSame(method, method2);
+        Method method3 = new ExpressionEvaluator().findMethod("indexOf",
+                "string", String.class, new Class[] { int.class });
+        assertNotSame(method, method3);
+        assertEquals(int.class, method3.getParameterTypes()[0]);
+        MethodCandidates candidates = ExpressionEvaluator.methodCache.get(
+                String.class).get(new MethodKey("indexOf", 1));
+        assertNotNull(candidates);
+        assertTrue(candidates.classMethods.contains(method));
+        assertTrue(candidates.classMethods.contains(method3));
+    }
+
+    public void testFindField_cached() throws Exception {
+        Field field = new ExpressionEvaluator().findField("name",
+                Person.class);
+        Field field2 = new ExpressionEvaluator().findField("name",
+                Person.class);
+        assertSame(field, field2);
+        assertNull(new ExpressionEvaluator().findField("inexistentField",
+                Person.class));
+    }
+
     public void testForClassName() throws Exception {
         ExpressionEvaluator evaluator = new ExpressionEvaluator();
         Class<?> clazz = evaluator.forClassName(location, "java.lang.String");
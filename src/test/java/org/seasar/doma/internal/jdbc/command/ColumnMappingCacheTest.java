@@ -0,0 +1,102 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.jdbc.mock.ColumnMetaData;
+import org.seasar.doma.internal.jdbc.mock.MockResultSetMetaData;
+
+/**
+ * @author nakamura-to
+ *
+ */
+public class ColumnMappingCacheTest extends TestCase {
+
+    public void testGet() throws Exception {
+        ColumnMappingCache cache = new ColumnMappingCache(10);
+        ColumnMappingCache.Key key = ColumnMappingCache.createKey(
+                new String[] { "id", "name" }, "emp");
+        cache.put(key, "mapping");
+
+        assertEquals("mapping", cache.get(ColumnMappingCache.createKey(
+                new String[] { "id", "name" }, "emp")));
+        assertNull(cache.get(ColumnMappingCache.createKey(new String[] {
+                "id", "name" }, "dept")));
+    }
+
+    public void testGet_columnLabelsChanged() throws Exception {
+        ColumnMappingCache cache = new ColumnMappingCache(10);
+        cache.put(ColumnMappingCache.createKey(new String[] { "id", "name" },
+                "emp"), "mapping");
+
+        assertNull(cache.get(ColumnMappingCache.createKey(new String[] {
+                "name", "id" }, "emp")));
+        assertNull(cache.get(ColumnMappingCache.createKey(
+                new String[] { "id" }, "emp")));
+    }
+
+    public void testPut_maxSize() throws Exception {
+        ColumnMappingCache cache = new ColumnMappingCache(2);
+        for (int i = 0; i < 5; i++) {
+            cache.put(ColumnMappingCache.createKey(new String[] { "id" }, i),
+                    "mapping" + i);
+        }
+        assertEquals(2, cache.size());
+    }
+
+    public void testPut_leastRecentlyUsed() throws Exception {
+        ColumnMappingCache cache = new ColumnMappingCache(2);
+        String[] labels = new String[] { "id" };
+        cache.put(ColumnMappingCache.createKey(labels, "a"), "a");
+        cache.put(ColumnMappingCache.createKey(labels, "b"), "b");
+        assertEquals("a", cache.get(ColumnMappingCache.createKey(labels, "a")));
+        cache.put(ColumnMappingCache.createKey(labels, "c"), "c");
+
+        assertEquals("a", cache.get(ColumnMappingCache.createKey(labels, "a")));
+        assertNull(cache.get(ColumnMappingCache.createKey(labels, "b")));
+        assertEquals("c", cache.get(ColumnMappingCache.createKey(labels, "c")));
+    }
+
+    public void testPut_replace() throws Exception {
+        ColumnMappingCache cache = new ColumnMappingCache(2);
+        String[] labels = new String[] { "id" };
+        cache.put(ColumnMappingCache.createKey(labels, "a"), "a");
+        cache.put(ColumnMappingCache.createKey(labels, "b"), "b");
+        cache.put(ColumnMappingCache.createKey(labels, "a"), "a2");
+
+        assertEquals(2, cache.size());
+        assertEquals("a2", cache.get(ColumnMappingCache.createKey(labels, "a")));
+        assertEquals("b", cache.get(ColumnMappingCache.createKey(labels, "b")));
+    }
+
+    public void testGet_owner() throws Exception {
+        assertSame(ColumnMappingCache.get(getClass()),
+                ColumnMappingCache.get(getClass()));
+        assertNotSame(ColumnMappingCache.get(getClass()),
+                ColumnMappingCache.get(String.class));
+    }
+
+    public void testGetColumnLabels() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("ID"));
+        metaData.columns.add(new ColumnMetaData("NAME"));
+        String[] labels = ColumnMappingCache.getColumnLabels(metaData);
+        assertEquals(2, labels.length);
+        assertEquals("ID", labels[0]);
+        assertEquals("NAME", labels[1]);
+    }
+}
@@ -35,11 +35,14 @@ import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.UnknownColumnException;
 import org.seasar.doma.jdbc.UnknownColumnHandler;
 import org.seasar.doma.jdbc.entity.EntityType;
+import org.seasar.doma.jdbc.entity.Property;
 import org.seasar.doma.jdbc.query.Query;
 import org.seasar.doma.jdbc.query.SelectQuery;
 
 import example.entity.Emp;
+import example.entity.ImmutableEmp;
 import example.entity._Emp;
+import example.entity._ImmutableEmp;
 
 /**
  * @author taedium
@@ -68,6 +71,191 @@ public class EntityProviderTest extends TestCase {
         assertEquals(new Integer(100), emp.getVersion());
     }
 
+    public void testGetEntity_multipleRows() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa", new BigDecimal(10), 100));
+        resultSet.rows.add(new RowData(2, null, null, 200));
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        Emp emp1 = provider.get(resultSet);
+        resultSet.next();
+        Emp emp2 = provider.get(resultSet);
+
+        assertEquals(new Integer(1), emp1.getId());
+        assertEquals("aaa", emp1.getName());
+        assertEquals(new BigDecimal(10), emp1.getSalary());
+        assertEquals(new Integer(100), emp1.getVersion());
+        assertEquals(new Integer(2), emp2.getId());
+        assertNull(emp2.getName());
+        assertNull(emp2.getSalary());
+        assertEquals(new Integer(200), emp2.getVersion());
+    }
+
+    public void testGetEntity_originalStates() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa"));
+        resultSet.next();
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        Emp emp = provider.get(resultSet);
+
+        Emp originalStates = entityType.getOriginalStates(emp);
+        assertNotNull(originalStates);
+        assertNotSame(emp, originalStates);
+        assertEquals(new Integer(1), originalStates.getId());
+        assertEquals("aaa", originalStates.getName());
+        assertNull(originalStates.getSalary());
+        assertNull(originalStates.getVersion());
+    }
+
+    public void testGetEntity_readOnly() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa"));
+        resultSet.next();
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false, true);
+        Emp emp = provider.get(resultSet);
+
+        assertEquals(new Integer(1), emp.getId());
+        assertEquals("aaa", emp.getName());
+        assertNull(entityType.getOriginalStates(emp));
+    }
+
+    public void testFetchRowAndBuild() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa", new BigDecimal(10), 100));
+        resultSet.rows.add(new RowData(2, null, null, 200));
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        Object[] row1 = provider.fetchRow(resultSet);
+        resultSet.next();
+        Object[] row2 = provider.fetchRow(resultSet);
+        Emp emp2 = provider.build(row2);
+        Emp emp1 = provider.build(row1);
+
+        assertNotSame(emp1, emp2);
+        assertEquals(new Integer(1), emp1.getId());
+        assertEquals("aaa", emp1.getName());
+        assertEquals(new BigDecimal(10), emp1.getSalary());
+        assertEquals(new Integer(100), emp1.getVersion());
+        assertEquals(new Integer(2), emp2.getId());
+        assertNull(emp2.getName());
+        assertNull(emp2.getSalary());
+        assertEquals(new Integer(200), emp2.getVersion());
+        assertNotNull(entityType.getOriginalStates(emp1));
+    }
+
+    public void testRelease() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa", new BigDecimal(10), 100));
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        Emp emp = provider.build(provider.fetchRow(resultSet));
+        assertEquals("aaa", emp.getName());
+        Thread thread = new Thread(() -> provider.build(new Object[] { 2,
+                "bbb", new BigDecimal(20), 200 }));
+        thread.start();
+        thread.join();
+        assertEquals(2, provider.allRowProperties.size());
+
+        provider.release();
+        assertTrue(provider.allRowProperties.isEmpty());
+        for (Property<Emp, ?> property : provider.rowProperties.get().mappedProperties) {
+            assertNull(property.getWrapper().get());
+        }
+        assertEquals("aaa", emp.getName());
+    }
+
+    public void testGetEntity_immutable() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("version"));
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(100, 1, "aaa"));
+        resultSet.rows.add(new RowData(200, 2, "bbb"));
+
+        _ImmutableEmp entityType = _ImmutableEmp.getSingletonInternal();
+        EntityProvider<ImmutableEmp> provider = new EntityProvider<>(
+                entityType, new MySelectQuery(new MockConfig()), false);
+        resultSet.next();
+        ImmutableEmp emp1 = provider.get(resultSet);
+        resultSet.next();
+        ImmutableEmp emp2 = provider.get(resultSet);
+
+        assertEquals(new Integer(1), emp1.getId());
+        assertEquals("aaa", emp1.getName());
+        assertNull(emp1.getSalary());
+        assertEquals(new Integer(100), emp1.getVersion());
+        assertEquals(new Integer(2), emp2.getId());
+        assertEquals("bbb", emp2.getName());
+        assertNull(emp2.getSalary());
+        assertEquals(new Integer(200), emp2.getVersion());
+    }
+
+    public void testGetEntity_columnLayoutChanged() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "aaa"));
+        resultSet.next();
+
+        _Emp entityType = _Emp.getSingletonInternal();
+        EntityProvider<Emp> provider = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        Emp emp = provider.get(resultSet);
+        assertEquals(new Integer(1), emp.getId());
+        assertEquals("aaa", emp.getName());
+
+        MockResultSetMetaData metaData2 = new MockResultSetMetaData();
+        metaData2.columns.add(new ColumnMetaData("name"));
+        metaData2.columns.add(new ColumnMetaData("id"));
+        MockResultSet resultSet2 = new MockResultSet(metaData2);
+        resultSet2.rows.add(new RowData("bbb", 2));
+        resultSet2.next();
+
+        EntityProvider<Emp> provider2 = new EntityProvider<>(entityType,
+                new MySelectQuery(new MockConfig()), false);
+        Emp emp2 = provider2.get(resultSet2);
+        assertEquals(new Integer(2), emp2.getId());
+        assertEquals("bbb", emp2.getName());
+    }
+
     public void testGetEntity_UnknownColumnException() throws Exception {
         MockResultSetMetaData metaData = new MockResultSetMetaData();
         metaData.columns.add(new ColumnMetaData("id"));
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.command;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class MappedScriptFileReaderTest extends TestCase {
+
+    private Path path;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        path = Files.createTempFile("doma", ".script");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Files.deleteIfExists(path);
+        super.tearDown();
+    }
+
+    public void testReadLine() throws Exception {
+        write("aaa\nbbb\r\nccc\rddd");
+        try (MappedScriptFileReader reader = new MappedScriptFileReader(
+                path, StandardCharsets.UTF_8)) {
+            assertEquals("aaa", reader.readLine().toString());
+            assertEquals("bbb", reader.readLine().toString());
+            assertEquals("ccc", reader.readLine().toString());
+            assertEquals("ddd", reader.readLine().toString());
+            assertNull(reader.readLine());
+        }
+    }
+
+    public void testReadLine_emptyLines() throws Exception {
+        write("\n\naaa\n");
+        try (MappedScriptFileReader reader = new MappedScriptFileReader(
+                path, StandardCharsets.UTF_8)) {
+            assertEquals("", reader.readLine().toString());
+            assertEquals("", reader.readLine().toString());
+            assertEquals("aaa", reader.readLine().toString());
+            assertNull(reader.readLine());
+        }
+    }
+
+    public void testReadLine_emptyFile() throws Exception {
+        write("");
+        try (MappedScriptFileReader reader = new MappedScriptFileReader(
+                path, StandardCharsets.UTF_8)) {
+            assertNull(reader.readLine());
+        }
+    }
+
+    public void testReadLine_smallWindow() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            buf.append("insert into 表 values (").append(i).append(", 'あいう');\r\n");
+        }
+        write(buf.toString());
+        try (MappedScriptFileReader reader = new MappedScriptFileReader(
+                path, StandardCharsets.UTF_8, 17, 4)) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals("insert into 表 values (" + i + ", 'あいう');",
+                        reader.readLine().toString());
+            }
+            assertNull(reader.readLine());
+        }
+    }
+
+    private void write(String content) throws Exception {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -15,6 +15,10 @@
  */
 package org.seasar.doma.internal.jdbc.command;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -56,6 +60,30 @@ public class PreparedSqlParameterBinderTest extends TestCase {
         assertEquals(new BigDecimal(10), bindValue.getValue());
     }
 
+    public void testBind_stream() throws Exception {
+        MockPreparedStatement preparedStatement = new MockPreparedStatement();
+        InputStream inputStream = new ByteArrayInputStream(new byte[] { 1 });
+        Reader reader = new StringReader("aaa");
+        List<BasicInParameter<?>> parameters = new ArrayList<BasicInParameter<?>>();
+        parameters.add(new BasicInParameter<InputStream>(
+                () -> new org.seasar.doma.wrapper.InputStreamWrapper(
+                        inputStream)));
+        parameters.add(new BasicInParameter<Reader>(
+                () -> new org.seasar.doma.wrapper.ReaderWrapper(reader)));
+        PreparedSqlParameterBinder binder = new PreparedSqlParameterBinder(
+                new MyQuery());
+        binder.bind(preparedStatement, parameters);
+
+        List<BindValue> bindValues = preparedStatement.bindValues;
+        assertEquals(2, bindValues.size());
+        BindValue bindValue = bindValues.get(0);
+        assertEquals("InputStream", bindValue.getTypeName());
+        assertSame(inputStream, bindValue.getValue());
+        bindValue = bindValues.get(1);
+        assertEquals("Reader", bindValue.getTypeName());
+        assertSame(reader, bindValue.getValue());
+    }
+
     protected class MyQuery implements Query {
 
         @Override
@@ -18,6 +18,9 @@ package org.seasar.doma.internal.jdbc.command;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import junit.framework.TestCase;
 
@@ -135,6 +138,33 @@ public class ScriptReaderTest extends TestCase {
         assertEquals("end", reader.readSql());
     }
 
+    public void testIsBlock() throws Exception {
+        ScriptReader reader = new ScriptReader(query) {
+
+            @Override
+            protected BufferedReader createBufferedReader() throws IOException {
+                StringBuilder buf = new StringBuilder();
+                buf.append("aaa;\n");
+                buf.append("bbb\n");
+                buf.append("go\n");
+                buf.append("begin ccc; end\n");
+                buf.append("go\n");
+                buf.append("ddd;\n");
+                StringReader reader = new StringReader(buf.toString());
+                return new BufferedReader(reader);
+            }
+        };
+        assertEquals("aaa", reader.readSql());
+        assertFalse(reader.isBlock());
+        assertEquals("bbb", reader.readSql());
+        assertTrue(reader.isBlock());
+        assertEquals("begin ccc; end", reader.readSql());
+        assertTrue(reader.isBlock());
+        assertEquals("ddd", reader.readSql());
+        assertFalse(reader.isBlock());
+        assertNull(reader.readSql());
+    }
+
     public void testReadSql_commentBlock() throws Exception {
         ScriptReader reader = new ScriptReader(query) {
 
@@ -171,4 +201,49 @@ public class ScriptReaderTest extends TestCase {
         assertNotNull(reader.readSql());
         assertEquals(4, reader.getLineNumber());
     }
+
+    public void testReadSql_smallFile() throws Exception {
+        Path path = Files.createTempFile("ScriptReaderTest", ".sql");
+        try {
+            Files.write(path, "aaa;\nbbb;\n".getBytes("UTF-8"));
+            URL url = path.toUri().toURL();
+            SqlFileScriptQuery fileQuery = new SqlFileScriptQuery() {
+
+                @Override
+                public void prepare() {
+                }
+
+                @Override
+                public URL getScriptFileUrl() {
+                    return url;
+                }
+            };
+            fileQuery.setConfig(query.getConfig());
+            fileQuery.setBlockDelimiter(query.getBlockDelimiter());
+            ScriptReader reader = new ScriptReader(fileQuery);
+            try {
+                assertEquals("aaa", reader.readSql());
+                assertNull(reader.mappedReader);
+                assertNotNull(reader.reader);
+                assertEquals("bbb", reader.readSql());
+                assertNull(reader.readSql());
+            } finally {
+                reader.close();
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public void testIsBufferedReaderCustomized() throws Exception {
+        assertFalse(new ScriptReader(query).isBufferedReaderCustomized());
+        ScriptReader reader = new ScriptReader(query) {
+
+            @Override
+            protected BufferedReader createBufferedReader() throws IOException {
+                return new BufferedReader(new StringReader(""));
+            }
+        };
+        assertTrue(reader.isBufferedReaderCustomized());
+    }
 }
@@ -16,6 +16,9 @@
 package org.seasar.doma.internal.jdbc.command;
 
 import static org.seasar.doma.internal.jdbc.command.ScriptTokenType.*;
+
+import java.nio.CharBuffer;
+
 import junit.framework.TestCase;
 
 /**
@@ -55,6 +58,21 @@ public class ScriptTokenizerTest extends TestCase {
         assertNull(tokenizer.getToken());
     }
 
+    public void testGetToken_charSequence() {
+        ScriptTokenizer tokenizer = new ScriptTokenizer("GO");
+        char[] chars = "xaaa;\n go \n".toCharArray();
+        tokenizer.addLine(CharBuffer.wrap(chars, 1, 4));
+        assertEquals(WORD, tokenizer.nextToken());
+        assertEquals("aaa", tokenizer.getToken());
+        assertEquals(STATEMENT_DELIMITER, tokenizer.nextToken());
+        assertEquals(";", tokenizer.getToken());
+        assertEquals(END_OF_LINE, tokenizer.nextToken());
+
+        tokenizer.addLine(CharBuffer.wrap(chars, 6, 4));
+        assertEquals(BLOCK_DELIMITER, tokenizer.nextToken());
+        assertEquals(" go ", tokenizer.getToken());
+    }
+
     public void testGetToken_lineComment() {
         tokenizer.addLine("aaa -- bbb /* ; ");
         assertEquals(WORD, tokenizer.nextToken());
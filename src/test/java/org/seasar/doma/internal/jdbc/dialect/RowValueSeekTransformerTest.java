@@ -0,0 +1,52 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.jdbc.PreparedSql;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class RowValueSeekTransformerTest extends TestCase {
+
+    public void testMultipleKeys() throws Exception {
+        String expected = "select * from emp where (name, id) > (?, ?) order by name, id";
+        PreparedSql sql = StandardSeekTransformerTest.build(
+                new RowValueSeekTransformer(2),
+                "select * from emp order by name, id", "aaa", 10);
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(2, sql.getParameters().size());
+    }
+
+    public void testDescending() throws Exception {
+        String expected = "select * from emp where (name, id) < (?, ?) order by name desc, id desc";
+        PreparedSql sql = StandardSeekTransformerTest.build(
+                new RowValueSeekTransformer(2),
+                "select * from emp order by name desc, id desc", "aaa", 10);
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testMixedOrder() throws Exception {
+        String expected = "select * from emp where name >= ? and (name > ? or (name = ? and id < ?)) order by name, id desc";
+        PreparedSql sql = StandardSeekTransformerTest.build(
+                new RowValueSeekTransformer(2),
+                "select * from emp order by name, id desc", "aaa", 10);
+        assertEquals(expected, sql.getRawSql());
+    }
+}
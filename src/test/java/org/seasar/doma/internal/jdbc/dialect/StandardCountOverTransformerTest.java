@@ -0,0 +1,87 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlNode;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class StandardCountOverTransformerTest extends TestCase {
+
+    public void testTransform() throws Exception {
+        assertTransformed(
+                "select e.id, e.name, count(*) over() as doma_count_ from emp e where e.id > 10 order by e.id",
+                "select e.id, e.name from emp e where e.id > 10 order by e.id");
+    }
+
+    public void testTransform_qualifiedAsterisk() throws Exception {
+        assertTransformed(
+                "select e.*, count(*) over() as doma_count_ from emp e",
+                "select e.* from emp e");
+    }
+
+    public void testTransform_groupBy() throws Exception {
+        assertTransformed(
+                "select name, count(*), count(*) over() as doma_count_ from emp group by name",
+                "select name, count(*) from emp group by name");
+    }
+
+    public void testTransform_distinct() throws Exception {
+        assertTransformed("select distinct name from emp",
+                "select distinct name from emp");
+    }
+
+    public void testTransform_asteriskOnly() throws Exception {
+        assertTransformed("select * from emp", "select * from emp");
+    }
+
+    public void testTransform_union() throws Exception {
+        assertTransformed("select a from x union select a from y",
+                "select a from x union select a from y");
+    }
+
+    public void testTransform_intersect() throws Exception {
+        assertTransformed("select a from x intersect select a from y",
+                "select a from x intersect select a from y");
+    }
+
+    public void testTransform_subqueryUnion() throws Exception {
+        assertTransformed(
+                "select t.a, count(*) over() as doma_count_ from (select a from x union select a from y) t",
+                "select t.a from (select a from x union select a from y) t");
+    }
+
+    private void assertTransformed(String expected, String original) {
+        StandardCountOverTransformer transformer = new StandardCountOverTransformer();
+        SqlParser parser = new SqlParser(original);
+        SqlNode sqlNode = transformer.transform(parser.parse());
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath");
+        PreparedSql sql = sqlBuilder.build(sqlNode, Function.identity());
+        assertEquals(expected, sql.getRawSql());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.dialect;
+
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
+import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.message.Message;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class StandardSeekTransformerTest extends TestCase {
+
+    public void testSingleKey() throws Exception {
+        String expected = "select emp.id from emp where emp.id > ? order by emp.id";
+        PreparedSql sql = build(new StandardSeekTransformer(1),
+                "select emp.id from emp order by emp.id", 10);
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(1, sql.getParameters().size());
+        assertEquals(10, sql.getParameters().get(0).getWrapper().get());
+    }
+
+    public void testMultipleKeys() throws Exception {
+        String expected = "select * from emp where name >= ? and (name > ? or (name = ? and id > ?)) order by name, id";
+        PreparedSql sql = build(new StandardSeekTransformer(2),
+                "select * from emp order by name, id", "aaa", 10);
+        assertEquals(expected, sql.getRawSql());
+        assertEquals(
+                "select * from emp where name >= 'aaa' and (name > 'aaa' or (name = 'aaa' and id > 10)) order by name, id",
+                sql.getFormattedSql());
+    }
+
+    public void testDescending() throws Exception {
+        String expected = "select * from emp where name <= ? and (name < ? or (name = ? and id > ?)) order by name desc, id asc";
+        PreparedSql sql = build(new StandardSeekTransformer(2),
+                "select * from emp order by name desc, id asc", "aaa", 10);
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testWhere() throws Exception {
+        String expected = "select * from emp where ( salary > 1000 or age < 30 ) and id > ? order by id";
+        PreparedSql sql = build(new StandardSeekTransformer(1),
+                "select * from emp where salary > 1000 or age < 30 order by id",
+                10);
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testWhere_removed() throws Exception {
+        String expected = "select * from emp where id > ? order by id";
+        PreparedSql sql = build(new StandardSeekTransformer(1),
+                "select * from emp where /*%if false*/salary > 1000/*%end*/ order by id",
+                10);
+        assertEquals(expected, sql.getRawSql());
+    }
+
+    public void testOrderByClauseUnspecified() throws Exception {
+        StandardSeekTransformer transformer = new StandardSeekTransformer(1);
+        SqlParser parser = new SqlParser("select * from emp");
+        try {
+            transformer.transform(parser.parse());
+            fail();
+        } catch (JdbcException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals(Message.DOMA2234, expected.getMessageResource());
+        }
+    }
+
+    public void testOrderByClauseUnsupported() throws Exception {
+        StandardSeekTransformer transformer = new StandardSeekTransformer(1);
+        SqlParser parser = new SqlParser(
+                "select * from emp order by id nulls last");
+        try {
+            transformer.transform(parser.parse());
+            fail();
+        } catch (JdbcException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals(Message.DOMA2235, expected.getMessageResource());
+        }
+    }
+
+    public void testKeyCountMismatched() throws Exception {
+        StandardSeekTransformer transformer = new StandardSeekTransformer(1);
+        SqlParser parser = new SqlParser("select * from emp order by name, id");
+        try {
+            transformer.transform(parser.parse());
+            fail();
+        } catch (JdbcException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals(Message.DOMA2236, expected.getMessageResource());
+        }
+    }
+
+    static PreparedSql build(StandardSeekTransformer transformer,
+            String original, Object... keys) {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        for (int i = 0; i < keys.length; i++) {
+            evaluator.add("doma_seekkey_" + i,
+                    new Value(keys[i].getClass(), keys[i]));
+        }
+        SqlNode sqlNode = transformer.transform(new SqlParser(original)
+                .parse());
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath", evaluator,
+                SqlLogType.FORMATTED);
+        return sqlBuilder.build(sqlNode, Function.identity());
+    }
+}
@@ -20,12 +20,14 @@ import javax.sql.DataSource;
 import org.seasar.doma.jdbc.ClassHelper;
 import org.seasar.doma.jdbc.CommandImplementors;
 import org.seasar.doma.jdbc.Config;
+import org.seasar.doma.jdbc.ConfigSupport;
 import org.seasar.doma.jdbc.GreedyCacheSqlFileRepository;
 import org.seasar.doma.jdbc.JdbcLogger;
 import org.seasar.doma.jdbc.QueryImplementors;
 import org.seasar.doma.jdbc.RequiresNewController;
 import org.seasar.doma.jdbc.SqlFileRepository;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlMetricsRecorder;
 import org.seasar.doma.jdbc.UtilLoggingJdbcLogger;
 import org.seasar.doma.jdbc.dialect.Dialect;
 import org.seasar.doma.jdbc.dialect.StandardDialect;
@@ -58,6 +60,10 @@ public class MockConfig implements Config {
 
     protected SqlLogType exceptionSqlLogType = SqlLogType.FORMATTED;
 
+    protected SqlMetricsRecorder sqlMetricsRecorder = ConfigSupport.defaultSqlMetricsRecorder;
+
+    protected boolean inListPaddingEnabled;
+
     @Override
     public DataSource getDataSource() {
         return dataSource;
@@ -108,6 +114,16 @@ public class MockConfig implements Config {
         return SqlLogType.FORMATTED;
     }
 
+    @Override
+    public SqlMetricsRecorder getSqlMetricsRecorder() {
+        return sqlMetricsRecorder;
+    }
+
+    @Override
+    public boolean isInListPaddingEnabled() {
+        return inListPaddingEnabled;
+    }
+
     @Override
     public int getFetchSize() {
         return 0;
@@ -140,4 +156,12 @@ public class MockConfig implements Config {
         this.dialect = dialect;
     }
 
+    public void setSqlMetricsRecorder(SqlMetricsRecorder sqlMetricsRecorder) {
+        this.sqlMetricsRecorder = sqlMetricsRecorder;
+    }
+
+    public void setInListPaddingEnabled(boolean inListPaddingEnabled) {
+        this.inListPaddingEnabled = inListPaddingEnabled;
+    }
+
 }
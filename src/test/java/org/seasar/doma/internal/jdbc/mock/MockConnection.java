@@ -65,6 +65,10 @@ public class MockConnection extends MockWrapper implements Connection {
 
     public int isolationLevel = Connection.TRANSACTION_READ_COMMITTED;
 
+    public boolean readOnly;
+
+    public boolean valid = true;
+
     public MockConnection() {
     }
 
@@ -210,14 +214,12 @@ public class MockConnection extends MockWrapper implements Connection {
 
     @Override
     public boolean isReadOnly() throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return false;
+        return readOnly;
     }
 
     @Override
     public boolean isValid(int timeout) throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return false;
+        return valid;
     }
 
     @Override
@@ -344,8 +346,7 @@ public class MockConnection extends MockWrapper implements Connection {
 
     @Override
     public void setReadOnly(boolean readOnly) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        this.readOnly = readOnly;
     }
 
     @Override
@@ -72,8 +72,7 @@ public class MockPreparedStatement extends MockStatement implements
 
     @Override
     public void clearParameters() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        bindValues.clear();
     }
 
     @Override
@@ -159,8 +158,8 @@ public class MockPreparedStatement extends MockStatement implements
     @Override
     public void setBinaryStream(int parameterIndex, InputStream x)
             throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        assertTrue(!closed);
+        bindValues.add(new BindValue("InputStream", parameterIndex, x));
     }
 
     @Override
@@ -218,8 +217,8 @@ public class MockPreparedStatement extends MockStatement implements
     @Override
     public void setCharacterStream(int parameterIndex, Reader reader)
             throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        assertTrue(!closed);
+        bindValues.add(new BindValue("Reader", parameterIndex, reader));
     }
 
     @Override
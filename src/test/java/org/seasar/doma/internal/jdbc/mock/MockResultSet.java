@@ -183,8 +183,7 @@ public class MockResultSet extends MockWrapper implements ResultSet {
 
     @Override
     public InputStream getBinaryStream(int columnIndex) throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return null;
+        return (InputStream) getObject(columnIndex);
     }
 
     @Override
@@ -243,8 +242,7 @@ public class MockResultSet extends MockWrapper implements ResultSet {
 
     @Override
     public Reader getCharacterStream(int columnIndex) throws SQLException {
-        AssertionUtil.notYetImplemented();
-        return null;
+        return (Reader) getObject(columnIndex);
     }
 
     @Override
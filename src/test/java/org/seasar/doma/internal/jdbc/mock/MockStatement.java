@@ -39,8 +39,7 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public void addBatch(String sql) throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        addBatchCount++;
     }
 
     @Override
@@ -51,14 +50,11 @@ public class MockStatement extends MockWrapper implements Statement {
 
     @Override
     public void clearBatch() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
+        addBatchCount = 0;
     }
 
     @Override
     public void clearWarnings() throws SQLException {
-        AssertionUtil.notYetImplemented();
-
     }
 
     @Override
@@ -15,6 +15,8 @@
  */
 package org.seasar.doma.internal.jdbc.scalar;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Array;
@@ -93,6 +95,8 @@ public class ScalarsTest extends TestCase {
                 false, classHelper));
         assertNotNull(Scalars.wrap(null, Array.class, false, classHelper));
         assertNotNull(Scalars.wrap(null, Blob.class, false, classHelper));
+        assertNotNull(Scalars.wrap(null, InputStream.class, false, classHelper));
+        assertNotNull(Scalars.wrap(null, Reader.class, false, classHelper));
         assertNotNull(Scalars.wrap(null, Clob.class, false, classHelper));
         assertNotNull(Scalars.wrap(null, NClob.class, false, classHelper));
     }
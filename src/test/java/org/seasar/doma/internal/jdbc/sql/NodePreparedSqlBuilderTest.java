@@ -16,12 +16,16 @@
 package org.seasar.doma.internal.jdbc.sql;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
 
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.expr.ExpressionEvaluator;
 import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.expr.node.ExpressionNode;
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
 import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
 import org.seasar.doma.internal.jdbc.sql.node.BindVariableNode;
@@ -43,6 +47,8 @@ import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.SqlNode;
+import org.seasar.doma.jdbc.dialect.OracleDialect;
+import org.seasar.doma.jdbc.dialect.StandardDialect;
 import org.seasar.doma.message.Message;
 
 /**
@@ -134,6 +140,33 @@ public class NodePreparedSqlBuilderTest extends TestCase {
         assertEquals("select * from aaa where bbb = ccc", sql.getRawSql());
     }
 
+    public void testIfNode_parsedExpression() throws Exception {
+        WhereClauseNode where = new WhereClauseNode("where");
+        where.appendNode(WhitespaceNode.of(" "));
+        IfNode ifNode = new IfNode(location, "name != null",
+                "/*if name != null*/");
+        ifNode.appendNode(new WordNode("bbb"));
+        IfBlockNode ifBlockNode = new IfBlockNode();
+        ifBlockNode.setIfNode(ifNode);
+        ifBlockNode.setEndNode(new EndNode("/*end*/"));
+        where.appendNode(ifBlockNode);
+        assertNull(ifNode.getParsedExpression());
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("name", new Value(String.class, "hoge"));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        PreparedSql sql = builder.build(where, Function.identity());
+        assertEquals("where bbb", sql.getRawSql());
+        ExpressionNode parsedExpression = ifNode.getParsedExpression();
+        assertNotNull(parsedExpression);
+
+        evaluator.putValue("name", new Value(String.class, null));
+        sql = builder.build(where, Function.identity());
+        assertEquals("", sql.getRawSql());
+        assertSame(parsedExpression, ifNode.getParsedExpression());
+    }
+
     public void testIfNode_false() throws Exception {
         SelectClauseNode select = new SelectClauseNode("select");
         select.appendNode(OtherNode.of(" * "));
@@ -457,4 +490,119 @@ public class NodePreparedSqlBuilderTest extends TestCase {
         }
     }
 
+    public void testFormattedSql_nestedContext() throws Exception {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("name", new Value(String.class, "hoge"));
+        evaluator.add("names",
+                new Value(List.class, Arrays.asList("x", "y")));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "select * from aaa where (bbb = /*name*/'a' or ccc = '?') and ddd in /*names*/('a')");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals(
+                "select * from aaa where (bbb = ? or ccc = '?') and ddd in (?, ?)",
+                sql.getRawSql());
+        assertEquals(
+                "select * from aaa where (bbb = 'hoge' or ccc = '?') and ddd in ('x', 'y')",
+                sql.getFormattedSql());
+    }
+
+    public void testInListPadding() throws Exception {
+        config.setInListPaddingEnabled(true);
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("ids",
+                new Value(List.class, Arrays.asList(1, 2, 3, 4, 5)));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "select * from aaa where id in /*ids*/(1)");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals(
+                "select * from aaa where id in (?, ?, ?, ?, ?, ?, ?, ?)",
+                sql.getRawSql());
+        assertEquals(8, sql.getParameters().size());
+        assertEquals(5, sql.getParameters().get(7).getWrapper().get());
+        assertEquals(
+                "select * from aaa where id in (1, 2, 3, 4, 5, 5, 5, 5)",
+                sql.getFormattedSql());
+    }
+
+    public void testInListPadding_powerOfTwo() throws Exception {
+        config.setInListPaddingEnabled(true);
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("ids", new Value(List.class, Arrays.asList(1, 2)));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "select * from aaa where id in /*ids*/(1)");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals("select * from aaa where id in (?, ?)", sql.getRawSql());
+    }
+
+    public void testInListPadding_literal() throws Exception {
+        config.setInListPaddingEnabled(true);
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("ids", new Value(List.class, Arrays.asList(1, 2, 3)));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "select * from aaa where id in /*^ids*/(1)");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals("select * from aaa where id in (1, 2, 3)",
+                sql.getRawSql());
+    }
+
+    public void testInListPadding_notInOperand() throws Exception {
+        config.setInListPaddingEnabled(true);
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("list", new Value(List.class, Arrays.asList(1, 2, 3)));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.INSERT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "insert into aaa (x, y, z) values /*list*/(1)");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals("insert into aaa (x, y, z) values (?, ?, ?)",
+                sql.getRawSql());
+    }
+
+    public void testInListPadding_maxInListElementCount() throws Exception {
+        config.setInListPaddingEnabled(true);
+        config.setDialect(new OracleDialect());
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            ids.add(i);
+        }
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("ids", new Value(List.class, ids));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "select * from aaa where id in /*ids*/(1)");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals(600, sql.getParameters().size());
+    }
+
+    public void testInListPadding_boundParameterCount() throws Exception {
+        config.setInListPaddingEnabled(true);
+        config.setDialect(new StandardDialect() {
+
+            @Override
+            public int getMaxBindParameterCount() {
+                return 8;
+            }
+        });
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("name", new Value(String.class, "hoge"));
+        evaluator.add("ids",
+                new Value(List.class, Arrays.asList(1, 2, 3, 4, 5)));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+        SqlParser parser = new SqlParser(
+                "select * from aaa where name = /*name*/'a' and (id in /*ids*/(1))");
+        PreparedSql sql = builder.build(parser.parse(), Function.identity());
+        assertEquals(
+                "select * from aaa where name = ? and (id in (?, ?, ?, ?, ?))",
+                sql.getRawSql());
+    }
 }
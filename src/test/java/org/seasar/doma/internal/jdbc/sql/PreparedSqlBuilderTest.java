@@ -16,6 +16,7 @@
 package org.seasar.doma.internal.jdbc.sql;
 
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import junit.framework.TestCase;
@@ -30,6 +31,7 @@ import org.seasar.doma.jdbc.domain.DomainTypeFactory;
 import org.seasar.doma.wrapper.BigDecimalWrapper;
 import org.seasar.doma.wrapper.StringWrapper;
 import org.seasar.doma.wrapper.Wrapper;
+import org.seasar.doma.wrapper.WrapperVisitor;
 
 import example.domain.PhoneNumber;
 
@@ -81,4 +83,50 @@ public class PreparedSqlBuilderTest extends TestCase {
         PreparedSql sql = builder.build(Function.identity());
         assertEquals("select * from aaa", sql.toString());
     }
+
+    public void testBuild_formattedSqlDeferred() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        Wrapper<String> stringWrapper = new StringWrapper("hoge") {
+
+            @Override
+            public <R, P, Q, TH extends Throwable> R accept(
+                    WrapperVisitor<R, P, Q, TH> visitor, P p, Q q) throws TH {
+                count.incrementAndGet();
+                return super.accept(visitor, p, q);
+            }
+        };
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.SELECT, SqlLogType.FORMATTED);
+        builder.appendSql("select * from aaa where name = ");
+        builder.appendParameter(new BasicInParameter<String>(
+                () -> stringWrapper));
+        PreparedSql sql = builder.build(s -> "/* comment */" + s);
+        assertEquals(0, count.get());
+        assertEquals("/* comment */select * from aaa where name = 'hoge'",
+                sql.getFormattedSql());
+        assertEquals(1, count.get());
+        sql.getFormattedSql();
+        assertEquals(1, count.get());
+    }
+
+    public void testCutBackSql_formatted() throws Exception {
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(config,
+                SqlKind.INSERT, SqlLogType.FORMATTED);
+        builder.appendSql("insert into aaa values (");
+        Wrapper<String> stringWrapper = new StringWrapper("a?b");
+        builder.appendParameter(new BasicInParameter<String>(
+                () -> stringWrapper));
+        builder.appendSql(", ");
+        Wrapper<BigDecimal> bigDecimalWrapper = new BigDecimalWrapper(
+                new BigDecimal(100));
+        builder.appendParameter(new BasicInParameter<BigDecimal>(
+                () -> bigDecimalWrapper));
+        builder.appendSql(", ");
+        builder.cutBackSql(2);
+        builder.appendSql(")");
+        PreparedSql sql = builder.build(Function.identity());
+        assertEquals("insert into aaa values (?, ?)", sql.getRawSql());
+        assertEquals("insert into aaa values ('a?b', 100)",
+                sql.getFormattedSql());
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.internal.jdbc.sql;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.expr.ExpressionEvaluator;
+import org.seasar.doma.internal.expr.Value;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.SqlPlan.Segment;
+import org.seasar.doma.internal.jdbc.sql.node.AnonymousNode;
+import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlLogType;
+
+/**
+ * @author nakamura-to
+ *
+ */
+public class SqlPlanTest extends TestCase {
+
+    private final MockConfig config = new MockConfig();
+
+    public void testCompile_static() throws Exception {
+        SqlParser parser = new SqlParser(
+                "select * from aaa where bbb = 1 and (ccc = 2 or ddd = 3) order by eee");
+        SqlPlan plan = SqlPlan.compile(parser.parse());
+        Segment[] segments = plan.getSegments();
+        assertEquals(1, segments.length);
+        assertEquals(
+                "select * from aaa where bbb = 1 and (ccc = 2 or ddd = 3) order by eee",
+                segments[0].getText());
+    }
+
+    public void testCompile_dynamic() throws Exception {
+        SqlParser parser = new SqlParser(
+                "select * from aaa where /*%if name != null*/bbb = /*name*/'a'/*%end*/ and ccc = 1");
+        SqlPlan plan = SqlPlan.compile(parser.parse());
+        Segment[] segments = plan.getSegments();
+        assertEquals(2, segments.length);
+        assertEquals("select * from aaa ", segments[0].getText());
+        assertNotNull(segments[1].getNode());
+        assertNotNull(plan.getChildSegments(segments[1].getNode()));
+    }
+
+    public void testGetPlan() throws Exception {
+        AnonymousNode root = (AnonymousNode) new SqlParser(
+                "select * from aaa").parse();
+        assertNull(root.getPlan());
+        SqlPlan plan = root.getPlan();
+        assertNotNull(plan);
+        assertSame(plan, root.getPlan());
+    }
+
+    public void testBuild_where() throws Exception {
+        String sql = "select * from aaa where /*%if name != null*/bbb = /*name*/'a'/*%end*/ and ccc = /*salary*/1";
+        assertSameSql(sql, "hoge", 100);
+        assertSameSql(sql, null, 100);
+    }
+
+    public void testBuild_whereRemoved() throws Exception {
+        String sql = "select * from aaa where /*%if name != null*/bbb = /*name*/'a'/*%end*/ order by ccc";
+        assertSameSql(sql, "hoge", 100);
+        assertSameSql(sql, null, 100);
+    }
+
+    public void testBuild_logicalOperatorRemoved() throws Exception {
+        String sql = "select * from aaa where /*%if name != null*/bbb = /*name*/'a'/*%end*/ /*%if salary != null*/and ccc = /*salary*/1/*%end*/ or ddd = 1";
+        assertSameSql(sql, "hoge", 100);
+        assertSameSql(sql, null, 100);
+        assertSameSql(sql, null, null);
+    }
+
+    public void testBuild_parens() throws Exception {
+        String sql = "select * from aaa where (/*%if name != null*/bbb = /*name*/'a'/*%end*/) and ccc in /*names*/('a', 'b') and ()";
+        assertSameSql(sql, "hoge", 100);
+        assertSameSql(sql, null, 100);
+    }
+
+    public void testBuild_for() throws Exception {
+        String sql = "select * from aaa where /*%for n : names*/bbb = /*n*/'a'/*%if n_has_next*/ /*# \"or\" */ /*%end*//*%end*/";
+        assertSameSql(sql, "hoge", 100);
+    }
+
+    public void testBuild_embeddedVariable() throws Exception {
+        String sql = "select * from aaa /*#orderBy*/ for update";
+        assertSameSql(sql, "hoge", 100);
+    }
+
+    public void testBuild_update() throws Exception {
+        String sql = "update aaa set /*%if name != null*/bbb = /*name*/'a',/*%end*/ ccc = /*salary*/1 where ddd = 1";
+        assertSameSql(sql, "hoge", 100);
+        assertSameSql(sql, null, 100);
+    }
+
+    private void assertSameSql(String sql, String name, Integer salary) {
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        evaluator.add("name", new Value(String.class, name));
+        evaluator.add("salary", new Value(Integer.class, salary));
+        evaluator.add("names", new Value(List.class, Arrays.asList("x", "y")));
+        evaluator.add("orderBy", new Value(String.class, "order by bbb"));
+        NodePreparedSqlBuilder builder = new NodePreparedSqlBuilder(config,
+                SqlKind.SELECT, "dummyPath", evaluator, SqlLogType.FORMATTED);
+
+        AnonymousNode root = (AnonymousNode) new SqlParser(sql).parse();
+        PreparedSql expected = builder.build(root, Function.identity());
+        for (int i = 0; i < 2; i++) {
+            PreparedSql actual = builder.build(root, Function.identity());
+            assertNotNull(root.getPlan());
+            assertEquals(expected.getRawSql(), actual.getRawSql());
+            assertEquals(expected.getFormattedSql(), actual.getFormattedSql());
+            assertEquals(expected.getParameters().size(), actual
+                    .getParameters().size());
+            for (int j = 0; j < expected.getParameters().size(); j++) {
+                assertEquals(expected.getParameters().get(j).getWrapper()
+                        .get(), actual.getParameters().get(j).getWrapper()
+                        .get());
+            }
+        }
+    }
+}
@@ -16,9 +16,14 @@
 package org.seasar.doma.jdbc;
 
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import junit.framework.TestCase;
 
+import org.seasar.doma.jdbc.command.SelectCommandTest;
 import org.seasar.doma.jdbc.dialect.OracleDialect;
 import org.seasar.doma.jdbc.dialect.PostgresDialect;
 import org.seasar.doma.jdbc.dialect.StandardDialect;
@@ -80,4 +85,70 @@ public class GreedyCacheSqlFileRepositoryTest extends TestCase {
         assertEquals(path, sqlFile.getPath());
     }
 
+    public void testPreload() throws Exception {
+        StandardDialect dialect = new StandardDialect();
+        GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+        SqlFilePreloadResult result = repository.preload(dialect,
+                SelectCommandTest.class);
+        assertEquals(4, result.getLoadedCount());
+        assertTrue(result.getMissingCount() > 0);
+        assertTrue(result.getElapsedNanos() > 0);
+
+        String path = "META-INF/"
+                + SelectCommandTest.class.getName().replace(".", "/")
+                + "/testExecute_singleResult.sql";
+        assertTrue(repository.sqlFileMap.containsKey(path));
+        SqlFile sqlFile = repository.sqlFileMap.get(path);
+        assertSame(sqlFile, repository.getSqlFile(method, path, dialect));
+    }
+
+    public void testPreload_paths() throws Exception {
+        OracleDialect dialect = new OracleDialect();
+        String path = "META-INF/" + getClass().getName().replace(".", "/")
+                + ".sql";
+        String missingPath = "META-INF/" + getClass().getName().replace(".", "/")
+                + "/inexistent.sql";
+        GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+        SqlFilePreloadResult result = repository.preload(dialect,
+                Arrays.asList(path, missingPath));
+        assertEquals(1, result.getLoadedCount());
+        assertEquals(1, result.getMissingCount());
+        SqlFile sqlFile = repository.getSqlFile(method, path, dialect);
+        assertEquals("META-INF/" + getClass().getName().replace(".", "/")
+                + "-oracle.sql", sqlFile.getPath());
+        assertSame(sqlFile, repository.sqlFileMap.get(path));
+    }
+
+    public void testPreload_contextClassLoader() throws Exception {
+        StandardDialect dialect = new StandardDialect();
+        String path = "META-INF/" + getClass().getName().replace(".", "/")
+                + ".sql";
+        URL url = getClass().getClassLoader().getResource(path);
+        List<String> paths = new ArrayList<String>();
+        for (int i = 0; i < 64; i++) {
+            paths.add("META-INF/contextClassLoaderOnly/" + i + ".sql");
+        }
+        ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public URL getResource(String name) {
+                if (name.startsWith("META-INF/contextClassLoaderOnly/")) {
+                    return url;
+                }
+                return super.getResource(name);
+            }
+        };
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            GreedyCacheSqlFileRepository repository = new GreedyCacheSqlFileRepository();
+            SqlFilePreloadResult result = repository.preload(dialect, paths);
+            assertEquals(64, result.getLoadedCount());
+            assertEquals(0, result.getMissingCount());
+            assertSame(loader, thread.getContextClassLoader());
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+
+/**
+ * @author nakamura-to
+ *
+ */
+public class InMemorySqlMetricsRecorderTest extends TestCase {
+
+    private final SqlMetricsTags tags = new SqlMetricsTags("aaa", "bbb",
+            "META-INF/aaa/bbb.sql", SqlKind.SELECT);
+
+    public void testDefault() throws Exception {
+        SqlMetricsRecorder recorder = ConfigSupport.defaultSqlMetricsRecorder;
+        assertFalse(recorder.isEnabled());
+        recorder.recordExecute(tags, 100L, 1L);
+    }
+
+    public void testRecord() throws Exception {
+        InMemorySqlMetricsRecorder recorder = new InMemorySqlMetricsRecorder();
+        assertTrue(recorder.isEnabled());
+        recorder.recordPrepare(tags, 10L);
+        recorder.recordExecute(tags, 100L, 3L);
+        recorder.recordExecute(new SqlMetricsTags("aaa", "bbb",
+                "META-INF/aaa/bbb.sql", SqlKind.SELECT), 300L, -1L);
+        recorder.recordFetch(tags, 50L, 5L);
+        recorder.recordBatch(tags, 2, 10);
+
+        assertEquals(1, recorder.getAllMetrics().size());
+        SqlMetrics metrics = recorder.getMetrics(tags);
+        assertEquals(1, metrics.getPrepareNanos().getCount());
+        assertEquals(2, metrics.getExecuteNanos().getCount());
+        assertEquals(400L, metrics.getExecuteNanos().getTotal());
+        assertEquals(300L, metrics.getExecuteNanos().getMax());
+        assertEquals(3L, metrics.getAffectedRows());
+        assertEquals(5L, metrics.getFetchedRows());
+        assertEquals(2L, metrics.getBatchChunks());
+
+        assertNull(recorder.getMetrics(new SqlMetricsTags("aaa", "ccc", null,
+                SqlKind.SELECT)));
+        recorder.clear();
+        assertTrue(recorder.getAllMetrics().isEmpty());
+    }
+
+    public void testHistogram() throws Exception {
+        SqlMetricsHistogram histogram = new SqlMetricsHistogram();
+        assertEquals(0L, histogram.getPercentile(0.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100L, histogram.getCount());
+        assertEquals(5050L, histogram.getTotal());
+        assertEquals(100L, histogram.getMax());
+        assertEquals(50.5, histogram.getMean());
+        assertEquals(63L, histogram.getPercentile(0.5));
+        assertEquals(100L, histogram.getPercentile(0.99));
+        assertEquals(1L, histogram.getPercentile(0.0));
+        histogram.reset();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMax());
+    }
+
+    public void testHistogram_illegalPercentile() throws Exception {
+        SqlMetricsHistogram histogram = new SqlMetricsHistogram();
+        try {
+            histogram.getPercentile(1.5);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+        }
+    }
+}
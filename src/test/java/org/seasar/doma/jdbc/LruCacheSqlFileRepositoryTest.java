@@ -0,0 +1,125 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.DomaIllegalArgumentException;
+import org.seasar.doma.jdbc.command.SelectCommandTest;
+import org.seasar.doma.jdbc.dialect.OracleDialect;
+import org.seasar.doma.jdbc.dialect.StandardDialect;
+
+/**
+ * @author nakamura-to
+ *
+ */
+public class LruCacheSqlFileRepositoryTest extends TestCase {
+
+    private final StandardDialect dialect = new StandardDialect();
+
+    private final String pathPrefix = "META-INF/"
+            + SelectCommandTest.class.getName().replace(".", "/") + "/";
+
+    private final String path1 = pathPrefix + "testExecute_singleResult.sql";
+
+    private final String path2 = pathPrefix + "testExecute_resultList.sql";
+
+    private final String path3 = pathPrefix + "testExecute_resultStream.sql";
+
+    private Method method;
+
+    @Override
+    protected void setUp() throws Exception {
+        method = getClass().getMethod(getName());
+    }
+
+    public void testGetSqlFile() throws Exception {
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                10);
+        SqlFile sqlFile = repository.getSqlFile(method, path1, dialect);
+        assertNotNull(sqlFile);
+        assertSame(sqlFile, repository.getSqlFile(method, path1, dialect));
+        SqlFileCacheStatistics statistics = repository.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.5, statistics.getHitRate());
+        assertTrue(statistics.getTotalLoadNanos() > 0);
+    }
+
+    public void testGetSqlFile_evict() throws Exception {
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                2);
+        SqlFile sqlFile1 = repository.getSqlFile(method, path1, dialect);
+        SqlFile sqlFile2 = repository.getSqlFile(method, path2, dialect);
+        assertSame(sqlFile1, repository.getSqlFile(method, path1, dialect));
+        repository.getSqlFile(method, path3, dialect);
+        assertEquals(2, repository.getCachedFileCount());
+        assertEquals(1, repository.getStatistics().getEvictionCount());
+
+        assertSame(sqlFile1, repository.getSqlFile(method, path1, dialect));
+        assertNotSame(sqlFile2, repository.getSqlFile(method, path2, dialect));
+        assertEquals(2, repository.getStatistics().getEvictionCount());
+    }
+
+    public void testGetSqlFile_weigh() throws Exception {
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                1000) {
+
+            @Override
+            protected long weigh(SqlFile sqlFile) {
+                return 600;
+            }
+        };
+        repository.getSqlFile(method, path1, dialect);
+        repository.getSqlFile(method, path2, dialect);
+        assertEquals(1, repository.getCachedFileCount());
+        assertEquals(600, repository.getTotalSize());
+        assertEquals(1, repository.getStatistics().getEvictionCount());
+    }
+
+    public void testGetSqlFile_dialect() throws Exception {
+        String path = "META-INF/"
+                + GreedyCacheSqlFileRepositoryTest.class.getName().replace(
+                        ".", "/") + ".sql";
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                10);
+        SqlFile sqlFile = repository.getSqlFile(method, path, dialect);
+        SqlFile oracleSqlFile = repository.getSqlFile(method, path,
+                new OracleDialect());
+        assertEquals(path, sqlFile.getPath());
+        assertFalse(path.equals(oracleSqlFile.getPath()));
+    }
+
+    public void testClearCache() throws Exception {
+        LruCacheSqlFileRepository repository = new LruCacheSqlFileRepository(
+                10);
+        SqlFile sqlFile = repository.getSqlFile(method, path1, dialect);
+        repository.clearCache();
+        assertEquals(0, repository.getCachedFileCount());
+        assertEquals(0, repository.getTotalSize());
+        assertNotSame(sqlFile, repository.getSqlFile(method, path1, dialect));
+    }
+
+    public void testConstructor_illegalMaxSize() throws Exception {
+        try {
+            new LruCacheSqlFileRepository(0);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+        }
+    }
+}
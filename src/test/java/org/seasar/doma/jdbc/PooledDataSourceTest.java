@@ -0,0 +1,247 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.jdbc.mock.MockConnection;
+import org.seasar.doma.internal.jdbc.mock.MockDataSource;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class PooledDataSourceTest extends TestCase {
+
+    private final List<MockConnection> connections = new ArrayList<>();
+
+    private final MockDataSource mockDataSource = new MockDataSource() {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            MockConnection connection = new MockConnection();
+            connections.add(connection);
+            return connection;
+        }
+    };
+
+    public void testReuse() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            Connection connection = dataSource.getConnection();
+            assertEquals(1, dataSource.getActiveCount());
+            connection.close();
+            assertTrue(connection.isClosed());
+            assertFalse(connections.get(0).closed);
+            assertEquals(0, dataSource.getActiveCount());
+            assertEquals(1, dataSource.getIdleCount());
+
+            dataSource.getConnection().close();
+            assertEquals(1, connections.size());
+            PooledDataSourceStatistics statistics = dataSource
+                    .getStatistics();
+            assertEquals(2, statistics.getBorrowCount());
+            assertEquals(1, statistics.getCreatedCount());
+        }
+        assertTrue(connections.get(0).closed);
+    }
+
+    public void testClosedConnection() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            Connection connection = dataSource.getConnection();
+            connection.close();
+            connection.close();
+            assertEquals(1, dataSource.getIdleCount());
+            try {
+                connection.getAutoCommit();
+                fail();
+            } catch (SQLException expected) {
+                System.out.println(expected.getMessage());
+            }
+        }
+    }
+
+    public void testMaxSize() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setMaxSize(1);
+            dataSource.setMaxWaitMillis(0);
+            Connection connection = dataSource.getConnection();
+            try {
+                dataSource.getConnection();
+                fail();
+            } catch (SQLException expected) {
+                System.out.println(expected.getMessage());
+            }
+            assertEquals(1, dataSource.getStatistics().getTimeoutCount());
+            connection.close();
+            dataSource.getConnection().close();
+        }
+    }
+
+    public void testValidation() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setValidationBypassMillis(0);
+            dataSource.getConnection().close();
+            connections.get(0).valid = false;
+            dataSource.getConnection().close();
+            assertEquals(2, connections.size());
+            assertTrue(connections.get(0).closed);
+            assertEquals(1, dataSource.getStatistics().getDestroyedCount());
+        }
+    }
+
+    public void testValidation_bypass() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setValidationBypassMillis(60000);
+            dataSource.getConnection().close();
+            connections.get(0).valid = false;
+            dataSource.getConnection().close();
+            assertEquals(1, connections.size());
+            assertEquals(0, dataSource.getStatistics().getDestroyedCount());
+        }
+    }
+
+    public void testEvictIdleConnections() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setIdleTimeoutMillis(1);
+            Connection connection1 = dataSource.getConnection();
+            Connection connection2 = dataSource.getConnection();
+            connection1.close();
+            connection2.close();
+            Thread.sleep(10);
+            dataSource.setMinIdle(1);
+            dataSource.evictIdleConnections();
+            assertEquals(1, dataSource.getIdleCount());
+            assertEquals(1, dataSource.getStatistics().getEvictedCount());
+        }
+    }
+
+    public void testReset() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            Connection connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(
+                    Connection.TRANSACTION_SERIALIZABLE);
+            connection.close();
+            MockConnection mockConnection = connections.get(0);
+            assertTrue(mockConnection.rolledback);
+            assertTrue(mockConnection.autoCommit);
+            assertFalse(mockConnection.readOnly);
+            assertEquals(Connection.TRANSACTION_READ_COMMITTED,
+                    mockConnection.isolationLevel);
+        }
+    }
+
+    public void testReset_rollback() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            Connection connection = dataSource.getConnection();
+            MockConnection mockConnection = connections.get(0);
+            mockConnection.autoCommit = false;
+            connection.close();
+            assertTrue(mockConnection.rolledback);
+            assertFalse(mockConnection.autoCommit);
+        }
+    }
+
+    public void testReset_closeStatements() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            PreparedStatement preparedStatement = connection
+                    .prepareStatement("select 1");
+            assertFalse(statement.isClosed());
+            connection.close();
+            assertTrue(statement.isClosed());
+            assertTrue(preparedStatement.isClosed());
+            assertEquals(1, dataSource.getIdleCount());
+        }
+    }
+
+    public void testFillIdleConnections() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setMaxSize(3);
+            dataSource.setMinIdle(2);
+            dataSource.fillIdleConnections();
+            assertEquals(2, dataSource.getIdleCount());
+            assertEquals(2, connections.size());
+
+            Connection connection1 = dataSource.getConnection();
+            Connection connection2 = dataSource.getConnection();
+            assertEquals(2, connections.size());
+            dataSource.fillIdleConnections();
+            assertEquals(1, dataSource.getIdleCount());
+            assertEquals(3, connections.size());
+            connection1.close();
+            connection2.close();
+            assertEquals(3, dataSource.getIdleCount());
+            assertEquals(3, dataSource.getStatistics().getCreatedCount());
+        }
+    }
+
+    public void testRelease_noFill() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setMinIdle(2);
+            dataSource.getConnection().close();
+            assertEquals(1, dataSource.getIdleCount());
+            assertEquals(1, connections.size());
+        }
+    }
+
+    public void testLeakDetection() throws Exception {
+        try (PooledDataSource dataSource = new PooledDataSource(
+                mockDataSource)) {
+            dataSource.setLeakDetectionThresholdMillis(1);
+            Connection connection = dataSource.getConnection();
+            Thread.sleep(10);
+            dataSource.evictIdleConnections();
+            dataSource.evictIdleConnections();
+            assertEquals(1, dataSource.getStatistics().getLeakCount());
+            connection.close();
+        }
+    }
+
+    public void testClose() throws Exception {
+        PooledDataSource dataSource = new PooledDataSource(mockDataSource);
+        Connection connection = dataSource.getConnection();
+        dataSource.close();
+        try {
+            dataSource.getConnection();
+            fail();
+        } catch (SQLException expected) {
+            System.out.println(expected.getMessage());
+        }
+        connection.close();
+        assertTrue(connections.get(0).closed);
+    }
+}
@@ -101,4 +101,31 @@ public class SelectOptionsTest extends TestCase {
             assertEquals("limit < 0", expected.getDescription());
         }
     }
+
+    public void testParallelFetchParameter() throws Exception {
+        int chunkSize = 0;
+        try {
+            SelectOptions.get().parallelFetch(chunkSize, true);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+            assertEquals("chunkSize", expected.getParameterName());
+            assertEquals("chunkSize < 1", expected.getDescription());
+        }
+    }
+
+    public void testSeekParameter() throws Exception {
+        try {
+            SelectOptions.get().seek();
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+            assertEquals("keys", expected.getParameterName());
+        }
+        try {
+            SelectOptions.get().seek(1, null);
+            fail();
+        } catch (DomaIllegalArgumentException expected) {
+            assertEquals("keys", expected.getParameterName());
+            assertEquals("keys[1] == null", expected.getDescription());
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.seasar.doma.DomaIllegalArgumentException;
 import org.seasar.doma.MapKeyNamingType;
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
 import org.seasar.doma.jdbc.JdbcException;
+import org.seasar.doma.jdbc.SelectOptions;
 import org.seasar.doma.jdbc.Sql;
 import org.seasar.doma.jdbc.SqlParameter;
 import org.seasar.doma.message.Message;
@@ -59,6 +60,21 @@ public class SelectBuilderTest extends TestCase {
         assertNull(emp);
     }
 
+    public void testGetSql_seek() throws Exception {
+        SelectBuilder builder = SelectBuilder.newInstance(new MockConfig());
+        builder.sql("select * from Emp");
+        builder.sql("where");
+        builder.sql("age > ").param(int.class, 20);
+        builder.sql("order by name, id");
+        builder.options(SelectOptions.get().seek("aaa", 10));
+
+        String sql = String.format("select * from Emp%n" + "where (%n"
+                + "age > ?%n" + ") and name >= ? and "
+                + "(name > ? or (name = ? and id > ?)) order by name, id");
+        assertEquals(sql, builder.getSql().getRawSql());
+        assertEquals(5, builder.getSql().getParameters().size());
+    }
+
     public void testRmoveLast() throws Exception {
         SelectBuilder builder = SelectBuilder.newInstance(new MockConfig());
         builder.sql("aaa").sql("bbb");
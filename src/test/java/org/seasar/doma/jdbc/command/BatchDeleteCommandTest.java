@@ -15,11 +15,16 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlLogType;
 import org.seasar.doma.jdbc.query.AutoBatchDeleteQuery;
 
@@ -62,4 +67,43 @@ public class BatchDeleteCommandTest extends TestCase {
         assertEquals("delete from EMP where ID = ? and VERSION = ?", sql);
     }
 
+    public void testExecute_executeInternalOverridden() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(1);
+        emp1.setName("hoge");
+        emp1.setVersion(10);
+
+        Emp emp2 = new Emp();
+        emp2.setId(2);
+        emp2.setName("foo");
+        emp2.setVersion(20);
+
+        AutoBatchDeleteQuery<Emp> query = new AutoBatchDeleteQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setEntities(Arrays.asList(emp1, emp2));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+        List<PreparedSql> executed = new ArrayList<PreparedSql>();
+        int[] rows = new BatchDeleteCommand(query) {
+
+            @Override
+            protected int[] executeInternal(
+                    PreparedStatement preparedStatement, List<PreparedSql> sqls)
+                    throws SQLException {
+                executed.addAll(sqls);
+                return super.executeInternal(preparedStatement, sqls);
+            }
+        }.execute();
+        query.complete();
+
+        assertEquals(2, rows.length);
+        assertEquals(2, executed.size());
+        assertEquals(Integer.valueOf(2), executed.get(1).getParameters()
+                .get(0).getWrapper().get());
+    }
+
 }
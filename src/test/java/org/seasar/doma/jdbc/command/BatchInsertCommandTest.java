@@ -16,11 +16,13 @@
 package org.seasar.doma.jdbc.command;
 
 import java.util.Arrays;
+import java.util.stream.Stream;
 
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.dialect.MysqlDialect;
 import org.seasar.doma.jdbc.query.AutoBatchInsertQuery;
 
 import example.entity.Emp;
@@ -64,4 +66,115 @@ public class BatchInsertCommandTest extends TestCase {
                 sql);
     }
 
+    public void testExecute_streaming() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(1);
+        emp1.setName("hoge");
+
+        Emp emp2 = new Emp();
+        emp2.setId(2);
+        emp2.setName("foo");
+
+        Emp emp3 = new Emp();
+        emp3.setId(3);
+        emp3.setName("bar");
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setEntities(Stream.of(emp1, emp2, emp3));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.setStreamingEnabled(true);
+        query.prepare();
+        int[] rows = new BatchInsertCommand(query).execute();
+        query.complete();
+
+        assertEquals(3, rows.length);
+        assertTrue(query.getSqls().isEmpty());
+        assertEquals(Integer.valueOf(1), emp1.getVersion());
+        assertEquals(Integer.valueOf(1), emp2.getVersion());
+        assertEquals(Integer.valueOf(1), emp3.getVersion());
+        String sql = runtimeConfig.dataSource.connection.preparedStatement.sql;
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?)",
+                sql);
+        assertEquals(0,
+                runtimeConfig.dataSource.connection.preparedStatement.addBatchCount);
+    }
+
+    public void testExecute_multiRow() throws Exception {
+        runtimeConfig.setDialect(new MysqlDialect());
+        runtimeConfig.dataSource.connection.preparedStatement.updatedRows = 2;
+
+        Emp emp1 = new Emp();
+        emp1.setId(1);
+        emp1.setName("hoge");
+
+        Emp emp2 = new Emp();
+        emp2.setId(2);
+        emp2.setName("foo");
+
+        Emp emp3 = new Emp();
+        emp3.setId(3);
+        emp3.setName("bar");
+
+        Emp emp4 = new Emp();
+        emp4.setId(4);
+        emp4.setName("baz");
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setEntities(Arrays.asList(emp1, emp2, emp3, emp4));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.setMultiRowEnabled(true);
+        query.prepare();
+        int[] rows = new BatchInsertCommand(query).execute();
+        query.complete();
+
+        assertTrue(Arrays.equals(new int[] { 1, 1, 1, 1 }, rows));
+        String sql = runtimeConfig.dataSource.connection.preparedStatement.sql;
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?), (?, ?, ?, ?)",
+                sql);
+        assertEquals(0,
+                runtimeConfig.dataSource.connection.preparedStatement.addBatchCount);
+    }
+
+    public void testExecuteMultiRow_unsupported() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(1);
+        emp1.setName("hoge");
+
+        Emp emp2 = new Emp();
+        emp2.setId(2);
+        emp2.setName("foo");
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setEntities(Arrays.asList(emp1, emp2));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+        assertFalse(query.isMultiRowSupported());
+        int[] rows = new BatchInsertCommand(query).executeMultiRow();
+        query.complete();
+
+        assertEquals(2, rows.length);
+        String sql = runtimeConfig.dataSource.connection.preparedStatement.sql;
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?)",
+                sql);
+    }
 }
@@ -20,8 +20,12 @@ import java.util.Arrays;
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.jdbc.InMemorySqlMetricsRecorder;
 import org.seasar.doma.jdbc.OptimisticLockException;
+import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlMetrics;
+import org.seasar.doma.jdbc.SqlMetricsTags;
 import org.seasar.doma.jdbc.query.AutoBatchUpdateQuery;
 
 import example.entity.Emp;
@@ -67,6 +71,48 @@ public class BatchUpdateCommandTest extends TestCase {
         assertEquals(new Integer(21), emp2.getVersion());
     }
 
+    public void testExecute_metrics() throws Exception {
+        InMemorySqlMetricsRecorder recorder = new InMemorySqlMetricsRecorder();
+        runtimeConfig.setSqlMetricsRecorder(recorder);
+
+        Emp emp1 = new Emp();
+        emp1.setId(1);
+        emp1.setName("hoge");
+        emp1.setVersion(10);
+
+        Emp emp2 = new Emp();
+        emp2.setId(2);
+        emp2.setName("foo");
+        emp2.setVersion(20);
+
+        Emp emp3 = new Emp();
+        emp3.setId(3);
+        emp3.setName("bar");
+        emp3.setVersion(30);
+
+        AutoBatchUpdateQuery<Emp> query = new AutoBatchUpdateQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setEntities(Arrays.asList(emp1, emp2, emp3));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.prepare();
+        int[] rows = new BatchUpdateCommand(query).execute();
+        query.complete();
+
+        assertEquals(3, rows.length);
+        SqlMetrics metrics = recorder.getMetrics(new SqlMetricsTags("aaa",
+                "bbb", null, SqlKind.BATCH_UPDATE));
+        assertNotNull(metrics);
+        assertEquals(1, metrics.getPrepareNanos().getCount());
+        assertEquals(1, metrics.getExecuteNanos().getCount());
+        assertEquals(3, metrics.getAffectedRows());
+        assertEquals(2, metrics.getBatchChunks());
+    }
+
     public void testExecute_throwsOptimisticLockException() throws Exception {
         Emp emp = new Emp();
         emp.setId(1);
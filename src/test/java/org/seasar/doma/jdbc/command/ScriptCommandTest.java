@@ -15,7 +15,11 @@
  */
 package org.seasar.doma.jdbc.command;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import junit.framework.TestCase;
 
@@ -75,4 +79,79 @@ public class ScriptCommandTest extends TestCase {
             System.out.println(expected.getMessage());
         }
     }
+
+    public void testExecute_batch() throws Exception {
+        List<String> log = new ArrayList<>();
+        MockConfig config = new MockConfig();
+        config.dataSource.connection.statement = new MockStatement() {
+
+            @Override
+            public boolean execute(String sql) throws SQLException {
+                log.add("execute");
+                return false;
+            }
+
+            @Override
+            public int[] executeBatch() throws SQLException {
+                log.add("executeBatch:" + addBatchCount);
+                return super.executeBatch();
+            }
+
+        };
+
+        SqlFileScriptQuery query = new SqlFileScriptQuery();
+        query.setConfig(config);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setScriptFilePath(ScriptFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.setBlockDelimiter("/");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.prepare();
+        ScriptCommand command = new ScriptCommand(query);
+        command.execute();
+        assertEquals(Arrays.asList("executeBatch:2", "executeBatch:1",
+                "execute", "executeBatch:1"), log);
+    }
+
+    public void testExecute_batch_ScriptException() throws Exception {
+        List<Integer> log = new ArrayList<>();
+        MockConfig config = new MockConfig();
+        config.dataSource.connection.statement = new MockStatement() {
+
+            @Override
+            public int[] executeBatch() throws SQLException {
+                log.add(addBatchCount);
+                if (addBatchCount == 3) {
+                    throw new BatchUpdateException(new int[] { 1 });
+                }
+                return super.executeBatch();
+            }
+
+        };
+
+        SqlFileScriptQuery query = new SqlFileScriptQuery();
+        query.setConfig(config);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setScriptFilePath(ScriptFileUtil.buildPath(getClass().getName(),
+                getName()));
+        query.setBlockDelimiter("");
+        query.setHaltOnError(false);
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(3);
+        query.prepare();
+        ScriptCommand command = new ScriptCommand(query);
+        try {
+            command.execute();
+            fail();
+        } catch (ScriptException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals(3, expected.getLineNumber());
+            assertEquals("insert into dept (a, b) value (3, 4)",
+                    expected.getRawSql());
+        }
+        assertEquals(Arrays.asList(3, 1), log);
+    }
 }
@@ -36,7 +36,12 @@ import org.seasar.doma.internal.jdbc.mock.MockResultSet;
 import org.seasar.doma.internal.jdbc.mock.MockResultSetMetaData;
 import org.seasar.doma.internal.jdbc.mock.RowData;
 import org.seasar.doma.internal.jdbc.util.SqlFileUtil;
+import org.seasar.doma.jdbc.InMemorySqlMetricsRecorder;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SqlKind;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlMetrics;
+import org.seasar.doma.jdbc.SqlMetricsTags;
 import org.seasar.doma.jdbc.query.SqlFileSelectQuery;
 
 import example.entity.Emp;
@@ -147,6 +152,88 @@ public class SelectCommandTest extends TestCase {
         assertEquals(1, bindValue.getIndex());
     }
 
+    public void testExecute_countOver() throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        metaData.columns.add(new ColumnMetaData("doma_count_"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "hoge", new BigDecimal(10000), 100,
+                30L));
+        resultSet.rows.add(new RowData(2, "foo", new BigDecimal(20000), 200,
+                30L));
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+
+        SelectOptions options = SelectOptions.get().countOver();
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(SqlFileUtil.buildPath(getClass().getName(),
+                "testExecute_resultList"));
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setOptions(options);
+        query.prepare();
+        assertEquals(-1, options.getCount());
+
+        SelectCommand<List<Emp>> command = new SelectCommand<List<Emp>>(query,
+                new EntityResultListHandler<Emp>(_Emp.getSingletonInternal()));
+        List<Emp> entities = command.execute();
+        query.complete();
+
+        assertEquals(2, entities.size());
+        assertEquals(new Integer(1), entities.get(0).getId());
+        assertEquals(new Integer(2), entities.get(1).getId());
+        assertEquals(30, options.getCount());
+    }
+
+    public void testExecute_metrics() throws Exception {
+        InMemorySqlMetricsRecorder recorder = new InMemorySqlMetricsRecorder();
+        runtimeConfig.setSqlMetricsRecorder(recorder);
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        resultSet.rows.add(new RowData(1, "hoge", new BigDecimal(10000), 100));
+        resultSet.rows.add(new RowData(2, "foo", new BigDecimal(20000), 200));
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+
+        String path = SqlFileUtil.buildPath(getClass().getName(),
+                "testExecute_resultList");
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(path);
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+
+        SelectCommand<List<Emp>> command = new SelectCommand<List<Emp>>(query,
+                new EntityResultListHandler<Emp>(_Emp.getSingletonInternal()));
+        List<Emp> entities = command.execute();
+        query.complete();
+
+        assertEquals(2, entities.size());
+        SqlMetrics metrics = recorder.getMetrics(new SqlMetricsTags("aaa",
+                "bbb", path, SqlKind.SELECT));
+        assertNotNull(metrics);
+        assertEquals(1, metrics.getPrepareNanos().getCount());
+        assertEquals(1, metrics.getExecuteNanos().getCount());
+        assertEquals(1, metrics.getFetchNanos().getCount());
+        assertEquals(2, metrics.getFetchedRows());
+        assertEquals(0, metrics.getAffectedRows());
+    }
+
     public void testExecute_NoResultException() throws Exception {
         MockResultSetMetaData metaData = new MockResultSetMetaData();
         metaData.columns.add(new ColumnMetaData("id"));
@@ -250,4 +337,60 @@ public class SelectCommandTest extends TestCase {
         assertTrue(runtimeConfig.dataSource.connection.isClosed());
     }
 
+    public void testExecute_resultStream_parallelFetch() throws Exception {
+        assertParallelFetch(FetchType.LAZY);
+    }
+
+    public void testExecute_resultStream_parallelFetch_eager()
+            throws Exception {
+        assertParallelFetch(FetchType.EAGER);
+    }
+
+    private void assertParallelFetch(FetchType fetchType) throws Exception {
+        MockResultSetMetaData metaData = new MockResultSetMetaData();
+        metaData.columns.add(new ColumnMetaData("id"));
+        metaData.columns.add(new ColumnMetaData("name"));
+        metaData.columns.add(new ColumnMetaData("salary"));
+        metaData.columns.add(new ColumnMetaData("version"));
+        MockResultSet resultSet = new MockResultSet(metaData);
+        for (int i = 1; i <= 10; i++) {
+            resultSet.rows.add(new RowData(i, "name" + i, new BigDecimal(i),
+                    i * 100));
+        }
+        runtimeConfig.dataSource.connection = new MockConnection(
+                new MockPreparedStatement(resultSet));
+
+        SqlFileSelectQuery query = new SqlFileSelectQuery();
+        query.setConfig(runtimeConfig);
+        query.setSqlFilePath(SqlFileUtil.buildPath(getClass().getName(),
+                "testExecute_resultStream"));
+        query.addParameter("salary", BigDecimal.class, new BigDecimal(5000));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setMethod(getClass().getMethod(getName()));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setFetchType(fetchType);
+        query.setResultStream(true);
+        query.setOptions(SelectOptions.get().parallelFetch(3, true));
+        query.prepare();
+
+        SelectCommand<Stream<Emp>> command = new SelectCommand<Stream<Emp>>(
+                query, new EntityStreamHandler<Emp, Stream<Emp>>(
+                        _Emp.getSingletonInternal(), Function.identity()));
+        try (Stream<Emp> stream = command.execute()) {
+            query.complete();
+
+            assertTrue(stream.isParallel());
+            List<Emp> entities = stream.collect(Collectors.toList());
+            assertEquals(10, entities.size());
+            for (int i = 0; i < entities.size(); i++) {
+                Emp entity = entities.get(i);
+                assertEquals(new Integer(i + 1), entity.getId());
+                assertEquals("name" + (i + 1), entity.getName());
+                assertEquals(new BigDecimal(i + 1), entity.getSalary());
+                assertEquals(new Integer((i + 1) * 100), entity.getVersion());
+            }
+        }
+    }
+
 }
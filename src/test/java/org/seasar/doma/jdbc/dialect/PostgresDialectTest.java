@@ -15,7 +15,15 @@
  */
 package org.seasar.doma.jdbc.dialect;
 
+import java.util.function.Function;
+
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.sql.NodePreparedSqlBuilder;
+import org.seasar.doma.internal.jdbc.sql.SqlParser;
 import org.seasar.doma.jdbc.PreparedSql;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.seasar.doma.jdbc.SqlKind;
+import org.seasar.doma.jdbc.SqlNode;
 
 import junit.framework.TestCase;
 
@@ -57,4 +65,17 @@ public class PostgresDialectTest extends TestCase {
         assertEquals("select currval(pg_catalog.pg_get_serial_sequence('\"aaa\".\"bbb\".\"ccc\"', 'DDD'))",
                 sql.getRawSql());
     }
+
+    public void testTransformSelectSqlNode_countOver() throws Exception {
+        PostgresDialect dialect = new PostgresDialect();
+        SqlParser parser = new SqlParser("select e.id from emp e order by e.id");
+        SqlNode sqlNode = dialect.transformSelectSqlNode(parser.parse(),
+                SelectOptions.get().limit(10).countOver());
+        NodePreparedSqlBuilder sqlBuilder = new NodePreparedSqlBuilder(
+                new MockConfig(), SqlKind.SELECT, "dummyPath");
+        PreparedSql sql = sqlBuilder.build(sqlNode, Function.identity());
+        assertEquals(
+                "select e.id, count(*) over() as doma_count_ from emp e order by e.id limit 10",
+                sql.getRawSql());
+    }
 }
@@ -15,8 +15,12 @@
  */
 package org.seasar.doma.jdbc.entity;
 
+import java.util.Optional;
+
 import junit.framework.TestCase;
 
+import org.seasar.doma.jdbc.InParameter;
+
 import org.seasar.doma.wrapper.IntegerWrapper;
 import org.seasar.doma.wrapper.StringWrapper;
 
@@ -38,6 +42,9 @@ public class DefaultPropertyTypeTest extends TestCase {
     @SuppressWarnings("unused")
     private Integer integer;
 
+    @SuppressWarnings("unused")
+    private Optional<String> optionalString;
+
     public void testIsQuoteRequired_true() throws Exception {
         boolean isQuoteRequired = true;
         DefaultPropertyType<Object, DefaultPropertyTypeTest, String, Object> propertyType = new DefaultPropertyType<>(
@@ -165,6 +172,81 @@ public class DefaultPropertyTypeTest extends TestCase {
         assertNull(property.get());
     }
 
+    public void testCreateInParameter() throws Exception {
+        DefaultPropertyType<Object, DefaultPropertyTypeTest, String, Object> propertyType = new DefaultPropertyType<>(
+                DefaultPropertyTypeTest.class, String.class, String.class,
+                () -> new StringWrapper(), null, null, "hoge", "hoge",
+                NamingType.NONE, true, true, false);
+        hoge = "aaa";
+        InParameter<String> parameter = propertyType.createInParameter(this);
+        assertEquals("aaa", parameter.getValue());
+        assertEquals("aaa", parameter.getWrapper().get());
+        assertFalse(parameter.getDomainClass().isPresent());
+    }
+
+    public void testCreateInParameter_primitive() throws Exception {
+        DefaultPropertyType<Object, DefaultPropertyTypeTest, Integer, Object> propertyType = new DefaultPropertyType<>(
+                DefaultPropertyTypeTest.class, Integer.class, Integer.class,
+                () -> new IntegerWrapper(), null, null, "primitiveInt",
+                "primitiveInt", NamingType.NONE, true, true, false);
+        primitiveInt = 10;
+        InParameter<Integer> parameter = propertyType.createInParameter(this);
+        assertEquals(10, parameter.getValue());
+        assertEquals(new Integer(10), parameter.getWrapper().get());
+    }
+
+    public void testCreateInParameter_optional() throws Exception {
+        DefaultPropertyType<Object, DefaultPropertyTypeTest, String, Object> propertyType = new DefaultPropertyType<>(
+                DefaultPropertyTypeTest.class, Optional.class, String.class,
+                () -> new StringWrapper(), null, null, "optionalString",
+                "optionalString", NamingType.NONE, true, true, false);
+        optionalString = Optional.of("bbb");
+        InParameter<String> parameter = propertyType.createInParameter(this);
+        assertEquals(Optional.of("bbb"), parameter.getValue());
+        assertEquals("bbb", parameter.getWrapper().get());
+    }
+
+    public void testCopy() throws Exception {
+        DefaultPropertyType<Object, DefaultPropertyTypeTest, String, Object> propertyType = new DefaultPropertyType<>(
+                DefaultPropertyTypeTest.class, String.class, String.class,
+                () -> new StringWrapper(), null, null, "hoge", "hoge",
+                NamingType.NONE, true, true, false);
+        hoge = "aaa";
+        DefaultPropertyTypeTest dest = new DefaultPropertyTypeTest();
+        propertyType.copy(dest, this);
+        assertEquals("aaa", dest.hoge);
+    }
+
+    public void testCopy_property() throws Exception {
+        DefaultPropertyType<Object, DefaultPropertyTypeTest, Integer, Object> propertyType = new DefaultPropertyType<>(
+                DefaultPropertyTypeTest.class, Integer.class, Integer.class,
+                () -> new IntegerWrapper(), null, null, "primitiveInt",
+                "primitiveInt", NamingType.NONE, true, true, false);
+        Property<DefaultPropertyTypeTest, Integer> property = propertyType
+                .createProperty();
+        property.getWrapper().set(10);
+        DefaultPropertyTypeTest dest = new DefaultPropertyTypeTest();
+        propertyType.copy(dest, property);
+        assertEquals(10, dest.primitiveInt);
+
+        property.getWrapper().set(null);
+        propertyType.copy(dest, property);
+        assertEquals(0, dest.primitiveInt);
+    }
+
+    public void testCopy_optional() throws Exception {
+        DefaultPropertyType<Object, DefaultPropertyTypeTest, String, Object> propertyType = new DefaultPropertyType<>(
+                DefaultPropertyTypeTest.class, Optional.class, String.class,
+                () -> new StringWrapper(), null, null, "optionalString",
+                "optionalString", NamingType.NONE, true, true, false);
+        Property<DefaultPropertyTypeTest, String> property = propertyType
+                .createProperty();
+        property.getWrapper().set("bbb");
+        DefaultPropertyTypeTest dest = new DefaultPropertyTypeTest();
+        propertyType.copy(dest, property);
+        assertEquals(Optional.of("bbb"), dest.optionalString);
+    }
+
     public static class Foo {
         String hoge;
     }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.internal.jdbc.mock.MockConfig;
+
+import example.entity._IdGeneratedEmp;
+
+/**
+ * @author nakamura-to
+ *
+ */
+public class AbstractPreGenerateIdGeneratorTest extends TestCase {
+
+    private final IdGenerationConfig config = new IdGenerationConfig(
+            new MockConfig(), _IdGeneratedEmp.getSingletonInternal());
+
+    public void testGeneratePreInsert() throws Exception {
+        MyIdGenerator idGenerator = new MyIdGenerator();
+        idGenerator.setAllocationSize(3);
+        for (long i = 1; i <= 7; i++) {
+            assertEquals(new Long(i), idGenerator.generatePreInsert(config));
+        }
+        IdAllocationStatistics statistics = idGenerator.getStatistics();
+        assertEquals(7, statistics.getAllocationCount());
+        assertEquals(3, statistics.getRefillCount());
+        assertEquals(0, statistics.getPrefetchCount());
+        assertEquals(3, statistics.getWaitCount());
+    }
+
+    public void testGeneratePreInsert_prefetch() throws Exception {
+        MyIdGenerator idGenerator = new MyIdGenerator();
+        idGenerator.setAllocationSize(10);
+        for (long i = 1; i <= 9; i++) {
+            assertEquals(new Long(i), idGenerator.generatePreInsert(config));
+        }
+        assertEquals(1, idGenerator.getStatistics().getRefillCount());
+        assertEquals(new Long(10), idGenerator.generatePreInsert(config));
+        assertEquals(2, idGenerator.getStatistics().getRefillCount());
+        assertEquals(1, idGenerator.getStatistics().getPrefetchCount());
+
+        assertEquals(new Long(11), idGenerator.generatePreInsert(config));
+        assertEquals(2, idGenerator.getStatistics().getRefillCount());
+        assertEquals(2, idGenerator.getStatistics().getWaitCount());
+    }
+
+    public void testGeneratePreInsert_prefetchDisabled() throws Exception {
+        MyIdGenerator idGenerator = new MyIdGenerator();
+        idGenerator.setAllocationSize(10);
+        idGenerator.setPrefetchThreshold(0);
+        for (long i = 1; i <= 11; i++) {
+            assertEquals(new Long(i), idGenerator.generatePreInsert(config));
+        }
+        assertEquals(2, idGenerator.getStatistics().getRefillCount());
+        assertEquals(0, idGenerator.getStatistics().getPrefetchCount());
+    }
+
+    public void testGeneratePreInsert_concurrent() throws Exception {
+        MyIdGenerator idGenerator = new MyIdGenerator();
+        idGenerator.setAllocationSize(20);
+        int threadCount = 8;
+        int valueCount = 1000;
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(idGenerator.generatePreInsert(config));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * valueCount, values.size());
+        assertEquals(threadCount * valueCount, idGenerator.getStatistics()
+                .getAllocationCount());
+    }
+
+    private static class MyIdGenerator extends AbstractPreGenerateIdGenerator {
+
+        private final AtomicLong sequence = new AtomicLong(1);
+
+        @Override
+        protected long getNewInitialValue(IdGenerationConfig config) {
+            return sequence.getAndAdd(allocationSize);
+        }
+
+        @Override
+        public GenerationType getGenerationType() {
+            return GenerationType.SEQUENCE;
+        }
+    }
+}
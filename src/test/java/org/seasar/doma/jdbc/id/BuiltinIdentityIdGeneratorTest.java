@@ -15,11 +15,18 @@
  */
 package org.seasar.doma.jdbc.id;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
 import junit.framework.TestCase;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
+import org.seasar.doma.internal.jdbc.mock.MockPreparedStatement;
 import org.seasar.doma.internal.jdbc.mock.MockResultSet;
 import org.seasar.doma.internal.jdbc.mock.RowData;
+import org.seasar.doma.jdbc.dialect.MysqlDialect;
 import org.seasar.doma.jdbc.dialect.PostgresDialect;
 import org.seasar.doma.jdbc.entity.EntityType;
 
@@ -79,4 +86,38 @@ public class BuiltinIdentityIdGeneratorTest extends TestCase {
         }
     }
 
+    public void test_generatedKeysOfMultiRowInsert() throws Exception {
+        MockConfig config = new MockConfig();
+        config.setDialect(new MysqlDialect());
+        MockResultSet generatedKeys = new MockResultSet();
+        generatedKeys.rows.add(new RowData(11L));
+        generatedKeys.rows.add(new RowData(12L));
+        MockPreparedStatement statement = new MockPreparedStatement() {
+
+            @Override
+            public ResultSet getGeneratedKeys() throws SQLException {
+                return generatedKeys;
+            }
+        };
+
+        BuiltinIdentityIdGenerator identityIdGenerator = new BuiltinIdentityIdGenerator();
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal());
+        assertTrue(identityIdGenerator.supportsMultiRowInsert(idGenerationConfig));
+        List<Long> values = identityIdGenerator.generatePostInsert(
+                idGenerationConfig, statement, 2);
+        assertEquals(Arrays.asList(11L, 12L), values);
+    }
+
+    public void test_generatedKeysOfMultiRowInsert_unsupported()
+            throws Exception {
+        MockConfig config = new MockConfig();
+        config.setDialect(new PostgresDialect());
+
+        BuiltinIdentityIdGenerator identityIdGenerator = new BuiltinIdentityIdGenerator();
+        IdGenerationConfig idGenerationConfig = new IdGenerationConfig(config,
+                _IdGeneratedEmp.getSingletonInternal());
+        assertFalse(identityIdGenerator
+                .supportsMultiRowInsert(idGenerationConfig));
+    }
 }
@@ -16,8 +16,11 @@
 package org.seasar.doma.jdbc.query;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import junit.framework.TestCase;
 
@@ -25,6 +28,7 @@ import org.seasar.doma.internal.jdbc.mock.MockConfig;
 import org.seasar.doma.jdbc.InParameter;
 import org.seasar.doma.jdbc.PreparedSql;
 import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.dialect.MysqlDialect;
 
 import example.entity.Emp;
 import example.entity._Emp;
@@ -103,4 +107,226 @@ public class AutoBatchInsertQueryTest extends TestCase {
         assertEquals(new BigDecimal(2000), parameters.get(2).getWrapper().get());
         assertEquals(new Integer(10), parameters.get(3).getWrapper().get());
     }
+
+    public void testPrepare_multiRow() throws Exception {
+        runtimeConfig.setDialect(new MysqlDialect());
+
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+        emp1.setName("aaa");
+
+        Emp emp2 = new Emp();
+        emp2.setId(20);
+        emp2.setName("bbb");
+
+        Emp emp3 = new Emp();
+        emp3.setId(30);
+        emp3.setName("ccc");
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Arrays.asList(emp1, emp2, emp3));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.setMultiRowEnabled(true);
+        query.prepare();
+
+        assertTrue(query.isMultiRowSupported());
+        assertEquals(2, query.getMultiRowSize());
+        assertNull(query.sqls);
+        List<PreparedSql> rowSqls = new ArrayList<PreparedSql>();
+        for (PreparedSql rowSql : query.getSqlIterable()) {
+            rowSqls.add(rowSql);
+        }
+        assertNull(query.sqls);
+        assertEquals(3, rowSqls.size());
+        assertSame(query.getSql(), rowSqls.get(0));
+        assertEquals(3, query.getSqls().size());
+        PreparedSql sql = query.createMultiRowSql(rowSqls.subList(0, 2));
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?), (?, ?, ?, ?)",
+                sql.getRawSql());
+        List<InParameter<?>> parameters = sql.getParameters();
+        assertEquals(8, parameters.size());
+        assertEquals(new Integer(10), parameters.get(0).getWrapper().get());
+        assertEquals(new Integer(20), parameters.get(4).getWrapper().get());
+        assertEquals("bbb", parameters.get(5).getWrapper().get());
+
+        sql = query.createMultiRowSql(rowSqls.subList(2, 3));
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (?, ?, ?, ?)",
+                sql.getRawSql());
+        assertEquals(new Integer(30), sql.getParameters().get(0).getWrapper()
+                .get());
+        assertSame(query.createMultiRowSql(rowSqls.subList(0, 2)).getRawSql(),
+                query.createMultiRowSql(rowSqls.subList(1, 3)).getRawSql());
+    }
+
+    public void testPrepare_multiRow_maxRowCount() throws Exception {
+        runtimeConfig.setDialect(new MysqlDialect() {
+            @Override
+            public int getMaxRowCountOfMultiRowInsert() {
+                return 2;
+            }
+        });
+
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+
+        Emp emp2 = new Emp();
+        emp2.setId(20);
+
+        Emp emp3 = new Emp();
+        emp3.setId(30);
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Arrays.asList(emp1, emp2, emp3));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(100);
+        query.setMultiRowEnabled(true);
+        query.prepare();
+
+        assertTrue(query.isMultiRowSupported());
+        assertEquals(2, query.getMultiRowSize());
+    }
+
+    public void testPrepare_multiRow_unsupportedDialect() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+
+        Emp emp2 = new Emp();
+        emp2.setId(20);
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Arrays.asList(emp1, emp2));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setMultiRowEnabled(true);
+        query.prepare();
+
+        assertFalse(query.isMultiRowSupported());
+        assertEquals(0, query.getMultiRowSize());
+    }
+
+    public void testPrepare_sharedSqlText() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+
+        Emp emp2 = new Emp();
+        emp2.setId(20);
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Arrays.asList(emp1, emp2));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.prepare();
+
+        List<PreparedSql> sqls = query.getSqls();
+        assertSame(sqls.get(0), query.getSql());
+        assertSame(sqls.get(0).getRawSql(), sqls.get(1).getRawSql());
+        assertEquals(
+                "insert into EMP (ID, NAME, SALARY, VERSION) values (20, null, null, 1)",
+                sqls.get(1).getFormattedSql());
+    }
+
+    public void testPrepare_streaming() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+        emp1.setName("aaa");
+
+        Emp emp2 = new Emp();
+        emp2.setId(20);
+        emp2.setName("bbb");
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Stream.of(emp1, emp2));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setStreamingEnabled(true);
+        query.prepare();
+
+        assertTrue(query.isExecutable());
+        assertTrue(query.getSqls().isEmpty());
+        assertNull(emp2.getVersion());
+
+        Iterator<PreparedSql> it = query.getSqlIterable().iterator();
+        assertTrue(it.hasNext());
+        PreparedSql sql = it.next();
+        assertSame(query.getSql(), sql);
+        assertEquals(new Integer(10), sql.getParameters().get(0).getWrapper()
+                .get());
+        assertTrue(it.hasNext());
+        PreparedSql sql2 = it.next();
+        assertSame(sql.getRawSql(), sql2.getRawSql());
+        assertEquals(new Integer(20), sql2.getParameters().get(0)
+                .getWrapper().get());
+        assertEquals(new Integer(1), sql2.getParameters().get(3).getWrapper()
+                .get());
+        assertEquals(new Integer(1), emp2.getVersion());
+        assertFalse(it.hasNext());
+
+        query.completeRows(2);
+        query.complete();
+        assertTrue(query.getEntities().isEmpty());
+    }
+
+    public void testPrepare_streaming_empty() throws Exception {
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Stream.<Emp> empty());
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setStreamingEnabled(true);
+        query.prepare();
+
+        assertFalse(query.isExecutable());
+        query.complete();
+    }
+
+    public void testPrepare_streaming_multiRow() throws Exception {
+        runtimeConfig.setDialect(new MysqlDialect());
+
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+
+        AutoBatchInsertQuery<Emp> query = new AutoBatchInsertQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setEntities(Arrays.asList(emp1));
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setBatchSize(2);
+        query.setMultiRowEnabled(true);
+        query.setStreamingEnabled(true);
+        query.prepare();
+
+        assertTrue(query.isMultiRowSupported());
+        assertEquals(2, query.getMultiRowSize());
+    }
 }
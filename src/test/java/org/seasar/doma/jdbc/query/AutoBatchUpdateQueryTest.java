@@ -18,6 +18,7 @@ package org.seasar.doma.jdbc.query;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.seasar.doma.internal.jdbc.mock.MockConfig;
@@ -308,4 +309,49 @@ public class AutoBatchUpdateQueryTest extends TestCase {
         assertEquals("bbb", parameters.get(5).getWrapper().get());
     }
 
+    public void testPrepare_streaming() throws Exception {
+        Emp emp1 = new Emp();
+        emp1.setId(10);
+        emp1.setName("aaa");
+        emp1.setVersion(100);
+
+        Emp emp2 = new Emp();
+        emp2.setId(20);
+        emp2.setName("bbb");
+        emp2.setVersion(200);
+
+        AutoBatchUpdateQuery<Emp> query = new AutoBatchUpdateQuery<Emp>(
+                _Emp.getSingletonInternal());
+        query.setMethod(getClass().getDeclaredMethod(getName()));
+        query.setConfig(runtimeConfig);
+        query.setEntities(Arrays.asList(emp1, emp2));
+        query.setCallerClassName("aaa");
+        query.setCallerMethodName("bbb");
+        query.setSqlLogType(SqlLogType.FORMATTED);
+        query.setStreamingEnabled(true);
+        query.prepare();
+
+        assertTrue(query.getSqls().isEmpty());
+        assertEquals(query.getSql().toString(), query.toString());
+        Iterator<PreparedSql> it = query.getSqlIterable().iterator();
+        assertSame(query.getSql(), it.next());
+        PreparedSql sql = it.next();
+        assertFalse(it.hasNext());
+        assertEquals(
+                "update EMP set NAME = ?, SALARY = ?, VERSION = ? + 1 where ID = ? and VERSION = ?",
+                sql.getRawSql());
+        List<InParameter<?>> parameters = sql.getParameters();
+        assertEquals(5, parameters.size());
+        assertEquals("bbb", parameters.get(0).getWrapper().get());
+        assertEquals(new Integer(20), parameters.get(3).getWrapper().get());
+        assertEquals(new Integer(200), parameters.get(4).getWrapper().get());
+
+        query.completeRows(1);
+        assertEquals(new Integer(101), emp1.getVersion());
+        assertEquals(new Integer(200), emp2.getVersion());
+        query.incrementVersions();
+        query.complete();
+        assertEquals(new Integer(101), emp1.getVersion());
+        assertEquals(new Integer(201), emp2.getVersion());
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.jdbc.mock.MockConnection;
+import org.seasar.doma.internal.jdbc.mock.MockDataSource;
+import org.seasar.doma.jdbc.UtilLoggingJdbcLogger;
+
+/**
+ * @author nakamura-to
+ *
+ */
+public class LocalTransactionContextHolderTest extends TestCase {
+
+    private final MockConnection connection = new MockConnection();
+
+    private final LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+            new MockDataSource(connection));
+
+    private final LocalTransaction transaction = dataSource
+            .getLocalTransaction(new UtilLoggingJdbcLogger());
+
+    public void testThreadLocal() throws Exception {
+        ThreadLocal<LocalTransactionContext> threadLocal = new ThreadLocal<>();
+        ThreadLocalTransactionContextHolder holder = new ThreadLocalTransactionContextHolder(
+                threadLocal);
+        LocalTransactionContext context = new LocalTransactionContext(
+                () -> connection);
+        holder.set(context);
+        assertSame(context, threadLocal.get());
+        holder.set(null);
+        assertNull(threadLocal.get());
+    }
+
+    public void testThreadLocal_noEntry() throws Exception {
+        AtomicInteger initialValueCount = new AtomicInteger();
+        ThreadLocal<LocalTransactionContext> threadLocal = new ThreadLocal<LocalTransactionContext>() {
+
+            @Override
+            protected LocalTransactionContext initialValue() {
+                initialValueCount.incrementAndGet();
+                return null;
+            }
+        };
+        ThreadLocalTransactionContextHolder holder = new ThreadLocalTransactionContextHolder(
+                threadLocal);
+        assertNull(holder.get());
+        assertNull(holder.get());
+        assertEquals(2, initialValueCount.get());
+    }
+
+    public void testWrap() throws Exception {
+        LocalTransactionContextHolder holder = dataSource
+                .getLocalTransactionContextHolder();
+        transaction.begin();
+        try {
+            Connection result = CompletableFuture
+                    .supplyAsync(holder.wrap(() -> {
+                        assertTrue(transaction.isActive());
+                        return getConnection();
+                    })).thenApply(holder.wrap(c -> {
+                        assertTrue(transaction.isActive());
+                        return c;
+                    })).join();
+            assertSame(result, dataSource.getConnection());
+            transaction.commit();
+        } finally {
+            transaction.rollback();
+        }
+        assertTrue(connection.committed);
+        assertFalse(transaction.isActive());
+    }
+
+    public void testWrap_notPropagated() throws Exception {
+        transaction.begin();
+        try {
+            CompletableFuture.runAsync(() -> getConnection()).join();
+            fail();
+        } catch (CompletionException expected) {
+            assertTrue(expected.getCause() instanceof TransactionNotYetBegunException);
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    public void testWrap_restore() throws Exception {
+        LocalTransactionContextHolder holder = dataSource
+                .getLocalTransactionContextHolder();
+        Runnable task = holder.wrap(() -> assertFalse(transaction.isActive()));
+        transaction.begin();
+        try {
+            task.run();
+            assertTrue(transaction.isActive());
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    public void testCustomHolder() throws Exception {
+        AtomicReference<LocalTransactionContext> reference = new AtomicReference<>();
+        LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+                new MockDataSource(connection),
+                new LocalTransactionContextHolder() {
+
+                    @Override
+                    public LocalTransactionContext get() {
+                        return reference.get();
+                    }
+
+                    @Override
+                    public void set(LocalTransactionContext context) {
+                        reference.set(context);
+                    }
+                });
+        TransactionManager manager = new LocalTransactionManager(
+                dataSource.getLocalTransaction(new UtilLoggingJdbcLogger()));
+        manager.required(() -> {
+            assertNotNull(reference.get());
+            manager.requiresNew(() -> {
+                assertNotNull(reference.get());
+            });
+        });
+        assertNull(reference.get());
+    }
+
+    private Connection getConnection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
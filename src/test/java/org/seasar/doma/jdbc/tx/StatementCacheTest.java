@@ -0,0 +1,203 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.jdbc.tx;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.internal.jdbc.mock.MockConnection;
+import org.seasar.doma.internal.jdbc.mock.MockDataSource;
+import org.seasar.doma.internal.jdbc.mock.MockPreparedStatement;
+import org.seasar.doma.jdbc.UtilLoggingJdbcLogger;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class StatementCacheTest extends TestCase {
+
+    private final MyConnection connection = new MyConnection();
+
+    private final LocalTransactionDataSource dataSource = new LocalTransactionDataSource(
+            new MockDataSource(connection), 2);
+
+    private final LocalTransaction transaction = dataSource
+            .getLocalTransaction(new UtilLoggingJdbcLogger());
+
+    public void testReuse() throws Exception {
+        transaction.begin();
+        try {
+            Connection con = dataSource.getConnection();
+            PreparedStatement ps1 = con.prepareStatement("select 1");
+            ps1.close();
+            assertTrue(ps1.isClosed());
+            PreparedStatement ps2 = con.prepareStatement("select 1");
+            assertSame(ps1, ps2);
+            assertFalse(ps2.isClosed());
+            ps2.close();
+            assertEquals(1, connection.statements.size());
+            assertFalse(connection.statements.get(0).closed);
+        } finally {
+            transaction.rollback();
+        }
+        assertTrue(connection.statements.get(0).closed);
+        StatementCacheStatistics statistics = dataSource
+                .getStatementCacheStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+    }
+
+    public void testInUse() throws Exception {
+        transaction.begin();
+        try {
+            Connection con = dataSource.getConnection();
+            PreparedStatement ps1 = con.prepareStatement("select 1");
+            PreparedStatement ps2 = con.prepareStatement("select 1");
+            assertNotSame(ps1, ps2);
+            ps1.close();
+            ps2.close();
+            assertEquals(2, connection.statements.size());
+            assertTrue(connection.statements.get(0).closed);
+            assertFalse(connection.statements.get(1).closed);
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    public void testAutoGeneratedKeys() throws Exception {
+        transaction.begin();
+        try {
+            Connection con = dataSource.getConnection();
+            PreparedStatement ps1 = con.prepareStatement("insert",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps1.close();
+            PreparedStatement ps2 = con.prepareStatement("insert");
+            ps2.close();
+            PreparedStatement ps3 = con.prepareStatement("insert",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps3.close();
+            assertSame(ps1, ps3);
+            assertNotSame(ps1, ps2);
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    public void testEviction() throws Exception {
+        transaction.begin();
+        try {
+            Connection con = dataSource.getConnection();
+            con.prepareStatement("select 1").close();
+            con.prepareStatement("select 2").close();
+            con.prepareStatement("select 3").close();
+            assertTrue(connection.statements.get(0).closed);
+            assertFalse(connection.statements.get(1).closed);
+            assertFalse(connection.statements.get(2).closed);
+            assertEquals(1, dataSource.getStatementCacheStatistics()
+                    .getEvictionCount());
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    public void testClosedOnTransactionEnd_inUse() throws Exception {
+        PreparedStatement ps;
+        transaction.begin();
+        try {
+            ps = dataSource.getConnection().prepareStatement("select 1");
+            transaction.commit();
+        } finally {
+            transaction.rollback();
+        }
+        assertFalse(connection.statements.get(0).closed);
+        ps.close();
+        assertTrue(connection.statements.get(0).closed);
+    }
+
+    public void testReset() throws Exception {
+        transaction.begin();
+        try {
+            Connection con = dataSource.getConnection();
+            PreparedStatement ps = con.prepareStatement("select 1");
+            ResultSet resultSet = ps.executeQuery();
+            ps.addBatch();
+            ps.close();
+            MockPreparedStatement statement = connection.statements.get(0);
+            assertTrue(resultSet.isClosed());
+            assertEquals(0, statement.addBatchCount);
+            assertFalse(statement.closed);
+            assertEquals(1, dataSource.getStatementCacheStatistics()
+                    .getMissCount());
+            assertSame(ps, con.prepareStatement("select 1"));
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    public void testReset_failure() throws Exception {
+        connection.clearParametersFailure = true;
+        transaction.begin();
+        try {
+            Connection con = dataSource.getConnection();
+            PreparedStatement ps1 = con.prepareStatement("select 1");
+            ps1.close();
+            assertTrue(connection.statements.get(0).closed);
+            PreparedStatement ps2 = con.prepareStatement("select 1");
+            assertNotSame(ps1, ps2);
+            ps2.close();
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    private static class MyConnection extends MockConnection {
+
+        private final List<MockPreparedStatement> statements = new ArrayList<>();
+
+        private boolean clearParametersFailure;
+
+        @Override
+        public PreparedStatement prepareStatement(String sql)
+                throws SQLException {
+            MockPreparedStatement statement = new MockPreparedStatement() {
+
+                @Override
+                public void clearParameters() throws SQLException {
+                    if (clearParametersFailure) {
+                        throw new SQLException("clearParameters");
+                    }
+                    super.clearParameters();
+                }
+            };
+            statement.sql = sql;
+            statements.add(statement);
+            return statement;
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql,
+                int autoGeneratedKeys) throws SQLException {
+            return prepareStatement(sql);
+        }
+    }
+}
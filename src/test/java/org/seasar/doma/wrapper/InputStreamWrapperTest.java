@@ -0,0 +1,47 @@
+/*
+ * Copyright 2004-2010 the Seasar Foundation and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.seasar.doma.wrapper;
+
+import java.io.ByteArrayInputStream;
+
+import junit.framework.TestCase;
+
+import org.seasar.doma.DomaException;
+import org.seasar.doma.message.Message;
+
+/**
+ * @author nakamura-to
+ * 
+ */
+public class InputStreamWrapperTest extends TestCase {
+
+    /**
+     * 
+     */
+    public void testAccept_unsupported() {
+        InputStreamWrapper wrapper = new InputStreamWrapper(
+                new ByteArrayInputStream(new byte[] { 1 }));
+        WrapperVisitor<Object, Void, Void, RuntimeException> visitor = new WrapperVisitor<Object, Void, Void, RuntimeException>() {
+        };
+        try {
+            wrapper.accept(visitor, null, null);
+            fail();
+        } catch (DomaException expected) {
+            System.out.println(expected.getMessage());
+            assertEquals(Message.DOMA1008, expected.getMessageResource());
+        }
+    }
+}
@@ -0,0 +1 @@
+select * from Emp where name = /*name*/'aaa'
\ No newline at end of file
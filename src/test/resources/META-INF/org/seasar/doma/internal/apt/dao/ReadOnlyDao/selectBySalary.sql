@@ -0,0 +1 @@
+select * from Emp where salary > /*salary*/100
\ No newline at end of file